@@ -0,0 +1,54 @@
+package org.beanio.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.beanio.annotation.Field;
+import org.beanio.annotation.Record;
+
+/**
+ * An {@link Order} mapped using annotations.  Annotated classes take precedence
+ * over a record configured in a mapping file, so annotations are kept off the
+ * <code>Order</code> class itself.
+ *
+ * @since 3.3.0
+ */
+@Record(name = "order")
+public class AnnotatedOrder extends Order {
+
+    @Override
+    @Field(at = 0)
+    public int getId() {
+        return super.getId();
+    }
+
+    @Override
+    @Field(at = 1)
+    public String getCustomer() {
+        return super.getCustomer();
+    }
+
+    @Override
+    @Field(at = 2)
+    public int getQuantity() {
+        return super.getQuantity();
+    }
+
+    @Override
+    @Field(at = 3)
+    public BigDecimal getAmount() {
+        return super.getAmount();
+    }
+
+    @Override
+    @Field(at = 4, format = "yyyyMMdd")
+    public Date getOrderDate() {
+        return super.getOrderDate();
+    }
+
+    @Override
+    @Field(at = 5)
+    public String getStatus() {
+        return super.getStatus();
+    }
+}
@@ -0,0 +1,170 @@
+package org.beanio.benchmark;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.util.*;
+
+import org.beanio.*;
+import org.beanio.builder.*;
+
+/**
+ * Creates the stream factories and generated data sets shared by the BeanIO benchmarks.
+ * <p>
+ * Every benchmarked stream is named after its format (<code>csv</code>, <code>delimited</code>,
+ * <code>fixedlength</code>, <code>xml</code> or <code>json</code>) and maps a single
+ * {@link Order} record.  Streams are either loaded from the <code>benchmark.xml</code>
+ * mapping file, or defined using the {@link StreamBuilder} API and the annotations on
+ * the {@link AnnotatedOrder} class.
+ *
+ * @since 3.3.0
+ */
+public final class BenchmarkSupport {
+
+    /** Stream configuration loaded from an XML mapping file */
+    public static final String MAPPING = "mapping";
+    /** Stream configuration defined using a <code>StreamBuilder</code> and annotations */
+    public static final String BUILDER = "builder";
+
+    private static final String MAPPING_FILE = "org/beanio/benchmark/benchmark.xml";
+
+    /* the number of distinct orders cycled through when generating data */
+    private static final int DISTINCT_ORDERS = 1024;
+
+    private BenchmarkSupport() { }
+
+    /**
+     * Creates a new {@link StreamFactory} with a stream mapping for the given format.
+     * @param format the stream format, which is also used as the stream name
+     * @param config {@link #MAPPING} or {@link #BUILDER}
+     * @return the new {@link StreamFactory}
+     */
+    public static StreamFactory createFactory(String format, String config) {
+        StreamFactory factory = StreamFactory.newInstance();
+        if (MAPPING.equals(config)) {
+            factory.loadResource(MAPPING_FILE);
+        }
+        else if (BUILDER.equals(config)) {
+            factory.define(createBuilder(format));
+        }
+        else {
+            throw new IllegalArgumentException("Invalid stream configuration '" + config + "'");
+        }
+        return factory;
+    }
+
+    /*
+     * Fixed length fields require a length, so the fixed length stream is defined
+     * field by field, while other formats use the annotated order class.
+     */
+    private static StreamBuilder createBuilder(String format) {
+        StreamBuilder builder = new StreamBuilder(format, format);
+        if ("fixedlength".equals(format)) {
+            builder.addRecord(new RecordBuilder("order", Order.class)
+                .addField(new FieldBuilder("id").length(10).padding('0').align(Align.RIGHT))
+                .addField(new FieldBuilder("customer").length(20))
+                .addField(new FieldBuilder("quantity").length(6).padding('0').align(Align.RIGHT))
+                .addField(new FieldBuilder("amount").length(12).align(Align.RIGHT))
+                .addField(new FieldBuilder("orderDate").length(8).format("yyyyMMdd"))
+                .addField(new FieldBuilder("status").length(8)));
+        }
+        else {
+            builder.addRecord(AnnotatedOrder.class);
+        }
+        return builder;
+    }
+
+    /**
+     * Returns a list of generated orders.  Benchmarks cycle through the list to
+     * produce an arbitrary number of records without holding them all in memory.
+     * @param format the stream format
+     * @param config {@link #MAPPING} or {@link #BUILDER}
+     * @return the list of generated orders
+     */
+    public static List<Order> createOrders(String format, String config) {
+        boolean annotated = BUILDER.equals(config) && !"fixedlength".equals(format);
+
+        String[] statuses = { "NEW", "SHIPPED", "RETURNED", "CLOSED" };
+        Random random = new Random(1234L);
+        Calendar cal = Calendar.getInstance();
+
+        List<Order> list = new ArrayList<>(DISTINCT_ORDERS);
+        for (int i = 0; i < DISTINCT_ORDERS; i++) {
+            cal.clear();
+            cal.set(2000 + random.nextInt(25), random.nextInt(12), 1 + random.nextInt(28));
+
+            Order order = annotated ? new AnnotatedOrder() : new Order();
+            order.setId(i + 1);
+            order.setCustomer("Customer " + random.nextInt(100000));
+            order.setQuantity(random.nextInt(1000));
+            order.setAmount(BigDecimal.valueOf(random.nextInt(10000000), 2));
+            order.setOrderDate(cal.getTime());
+            order.setStatus(statuses[random.nextInt(statuses.length)]);
+            list.add(order);
+        }
+        return list;
+    }
+
+    /**
+     * Writes a generated input file for a stream.
+     * @param factory the {@link StreamFactory}
+     * @param format the stream format
+     * @param config {@link #MAPPING} or {@link #BUILDER}
+     * @param records the number of records to write
+     * @return the generated file
+     * @throws IOException if the file could not be created
+     */
+    public static File createInputFile(StreamFactory factory, String format, String config, int records) throws IOException {
+        File file = File.createTempFile("beanio-" + format + "-", ".txt");
+        file.deleteOnExit();
+
+        List<Order> orders = createOrders(format, config);
+        BeanWriter out = factory.createWriter(format, file);
+        try {
+            for (int i = 0; i < records; i++) {
+                out.write(orders.get(i % orders.size()));
+            }
+        }
+        finally {
+            out.close();
+        }
+        return file;
+    }
+
+    /**
+     * A {@link Writer} that discards its output, and counts the number of
+     * characters written so the output cannot be optimized away.
+     */
+    public static final class NullWriter extends Writer {
+
+        private long count;
+
+        @Override
+        public void write(int c) {
+            ++count;
+        }
+
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void write(String str, int off, int len) {
+            count += len;
+        }
+
+        @Override
+        public void flush() { }
+
+        @Override
+        public void close() { }
+
+        /**
+         * Returns the number of characters written.
+         * @return the character count
+         */
+        public long getCount() {
+            return count;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.beanio.benchmark;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+/**
+ * Bean object used by the benchmarks.
+ *
+ * @since 3.3.0
+ * @see AnnotatedOrder
+ */
+public class Order {
+
+    private int id;
+    private String customer;
+    private int quantity;
+    private BigDecimal amount;
+    private Date orderDate;
+    private String status;
+
+    public int getId() {
+        return id;
+    }
+    public void setId(int id) {
+        this.id = id;
+    }
+    public String getCustomer() {
+        return customer;
+    }
+    public void setCustomer(String customer) {
+        this.customer = customer;
+    }
+    public int getQuantity() {
+        return quantity;
+    }
+    public void setQuantity(int quantity) {
+        this.quantity = quantity;
+    }
+    public BigDecimal getAmount() {
+        return amount;
+    }
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+    public Date getOrderDate() {
+        return orderDate;
+    }
+    public void setOrderDate(Date orderDate) {
+        this.orderDate = orderDate;
+    }
+    public String getStatus() {
+        return status;
+    }
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,71 @@
+package org.beanio.benchmark;
+
+import java.io.*;
+import java.util.concurrent.TimeUnit;
+
+import org.beanio.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the time taken by {@link BeanReader#read()} to unmarshal a generated input
+ * file from start to finish, for each stream format and configuration method.
+ * <p>
+ * The number of records can be changed using <code>-p records=N</code>.
+ *
+ * @since 3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ReadBenchmark {
+
+    @Param({ "csv", "delimited", "fixedlength", "xml", "json" })
+    public String format;
+
+    @Param({ BenchmarkSupport.MAPPING, BenchmarkSupport.BUILDER })
+    public String config;
+
+    @Param({ "2000000" })
+    public int records;
+
+    private StreamFactory factory;
+    private File file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        factory = BenchmarkSupport.createFactory(format, config);
+        file = BenchmarkSupport.createInputFile(factory, format, config, records);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (file != null) {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    public int read(Blackhole blackhole) {
+        int count = 0;
+        BeanReader in = factory.createReader(format, file);
+        try {
+            Object bean;
+            while ((bean = in.read()) != null) {
+                blackhole.consume(bean);
+                ++count;
+            }
+        }
+        finally {
+            in.close();
+        }
+
+        if (count != records) {
+            throw new IllegalStateException("Expected " + records + " records, read " + count);
+        }
+        return count;
+    }
+}
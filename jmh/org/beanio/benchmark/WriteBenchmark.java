@@ -0,0 +1,60 @@
+package org.beanio.benchmark;
+
+import java.io.BufferedWriter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.beanio.*;
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * Measures the time taken by {@link BeanWriter#write(Object)} to marshal a generated
+ * set of records, for each stream format and configuration method.  Output is buffered
+ * and then discarded so that only BeanIO is measured.
+ * <p>
+ * The number of records can be changed using <code>-p records=N</code>.
+ *
+ * @since 3.3.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 3)
+@Fork(1)
+public class WriteBenchmark {
+
+    @Param({ "csv", "delimited", "fixedlength", "xml", "json" })
+    public String format;
+
+    @Param({ BenchmarkSupport.MAPPING, BenchmarkSupport.BUILDER })
+    public String config;
+
+    @Param({ "2000000" })
+    public int records;
+
+    private StreamFactory factory;
+    private List<Order> orders;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        factory = BenchmarkSupport.createFactory(format, config);
+        orders = BenchmarkSupport.createOrders(format, config);
+    }
+
+    @Benchmark
+    public long write() {
+        BenchmarkSupport.NullWriter nullWriter = new BenchmarkSupport.NullWriter();
+        BeanWriter out = factory.createWriter(format, new BufferedWriter(nullWriter));
+        try {
+            int size = orders.size();
+            for (int i = 0; i < records; i++) {
+                out.write(orders.get(i % size));
+            }
+        }
+        finally {
+            out.close();
+        }
+        return nullWriter.getCount();
+    }
+}
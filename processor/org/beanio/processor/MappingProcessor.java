@@ -0,0 +1,1120 @@
+package org.beanio.processor;
+
+import java.io.*;
+import java.util.*;
+
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor that generates a mapping class for each class annotated with
+ * BeanIO annotations, so that annotated classes are neither scanned using reflection
+ * nor accessed using reflective method calls at runtime.
+ *
+ * <p>The mapping class is generated in the same package as the annotated class and
+ * is named by appending <code>_BeanIO</code> to its binary name.  It extends
+ * <code>org.beanio.internal.config.annotation.GeneratedMapping</code> and:
+ * <ul>
+ * <li>creates the record or group configuration for a class annotated with
+ *   <code>@Record</code> or <code>@Group</code>, exactly as BeanIO would create it
+ *   from the annotations using reflection, and</li>
+ * <li>provides functions that call the public getter and setter methods, and access
+ *   the fields, that are accessible from the package of the class.</li>
+ * </ul>
+ *
+ * <p>The processor never fails a compilation.  Anything it does not support, such
+ * as invalid annotations, a class that is not a concrete top level or static nested
+ * class, or a wildcard or generic type argument, is simply not generated, and BeanIO
+ * falls back to reflection at runtime.
+ *
+ * <p>The processor is registered as a service, and is enabled by adding the BeanIO
+ * processor jar to the annotation processor path of the compiler.  It does not depend
+ * on BeanIO itself.
+ *
+ * @since 3.3.0
+ */
+@SupportedAnnotationTypes({
+    MappingProcessor.RECORD,
+    MappingProcessor.GROUP,
+    MappingProcessor.FIELD,
+    MappingProcessor.FIELDS,
+    MappingProcessor.SEGMENT
+})
+public class MappingProcessor extends AbstractProcessor {
+
+    static final String RECORD = "org.beanio.annotation.Record";
+    static final String GROUP = "org.beanio.annotation.Group";
+    static final String FIELD = "org.beanio.annotation.Field";
+    static final String FIELDS = "org.beanio.annotation.Fields";
+    static final String SEGMENT = "org.beanio.annotation.Segment";
+
+    private static final String SUFFIX = "_BeanIO";
+    private static final String UNDEFINED = "{undefined}";
+    private static final String MAPPING_CLASS = "org.beanio.internal.config.annotation.GeneratedMapping";
+    private static final String CONFIG_PACKAGE = "org.beanio.internal.config.";
+
+    private static final String BEAN = "$b";
+    private static final String VALUE = "$v";
+
+    private Elements elements;
+    private Types types;
+    private Set<String> generated = new HashSet<>();
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnv) {
+        super.init(processingEnv);
+        elements = processingEnv.getElementUtils();
+        types = processingEnv.getTypeUtils();
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Set<TypeElement> classes = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                // the class declaring an annotated member or constructor parameter
+                while (element != null && !(element instanceof TypeElement)) {
+                    element = element.getEnclosingElement();
+                }
+                if (element != null) {
+                    classes.add((TypeElement) element);
+                }
+            }
+        }
+
+        for (TypeElement type : classes) {
+            if (isMappable(type) && generated.add(elements.getBinaryName(type).toString())) {
+                try {
+                    generate(type);
+                }
+                catch (IOException ex) {
+                    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                        "Failed to generate BeanIO mapping class: " + ex, type);
+                }
+            }
+        }
+
+        // other processors may also process BeanIO annotations
+        return false;
+    }
+
+    /*
+     * Returns whether a mapping class can be generated for a class, which must be a
+     * concrete top level or static nested class that is not private.
+     */
+    private boolean isMappable(TypeElement type) {
+        if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT)) {
+            return false;
+        }
+        return isStatic(type) && isAccessible(type, elements.getPackageOf(type));
+    }
+
+    private void generate(TypeElement type) throws IOException {
+        PackageElement pkg = elements.getPackageOf(type);
+        String packageName = pkg.getQualifiedName().toString();
+        String binaryName = elements.getBinaryName(type).toString();
+        String className = (packageName.isEmpty() ? binaryName :
+            binaryName.substring(packageName.length() + 1)) + SUFFIX;
+
+        StringBuilder out = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            out.append("package ").append(packageName).append(";\n\n");
+        }
+        out.append("/**\n");
+        out.append(" * BeanIO mapping for {@link ").append(type.getQualifiedName()).append("}.\n");
+        out.append(" * Generated by the BeanIO annotation processor.\n");
+        out.append(" */\n");
+        out.append("@SuppressWarnings({ \"rawtypes\", \"unchecked\" })\n");
+        out.append("public final class ").append(className).append(" extends ").append(MAPPING_CLASS).append(" {\n");
+
+        // the configuration is not generated if it cannot be created exactly as
+        // it would be created using reflection
+        String name = type.getSimpleName().toString();
+        AnnotationMirror record = getAnnotation(type, RECORD);
+        if (record != null) {
+            try {
+                Values values = new Values(record);
+                TypeInfo info = new TypeInfo();
+                info.name = values.string("name");
+                if (info.name == null) {
+                    info.name = decapitalize(name);
+                }
+                info.type = type.asType();
+                appendConfig(out, "RecordConfig", "createRecordConfig", createRecord(info, values));
+            }
+            catch (UnsupportedMappingException ex) {
+                note(type, "@Record", ex);
+            }
+        }
+        AnnotationMirror group = getAnnotation(type, GROUP);
+        if (group != null) {
+            try {
+                Values values = new Values(group);
+                TypeInfo info = new TypeInfo();
+                info.name = values.string("name");
+                if (info.name == null) {
+                    info.name = decapitalize(name);
+                }
+                info.type = type.asType();
+                appendConfig(out, "GroupConfig", "createGroupConfig", createGroup(info, values));
+            }
+            catch (UnsupportedMappingException ex) {
+                note(type, "@Group", ex);
+            }
+        }
+
+        appendAccessors(out, type, pkg);
+        out.append("}\n");
+
+        Writer writer = processingEnv.getFiler().createSourceFile(
+            (packageName.isEmpty() ? "" : packageName + ".") + className, type).openWriter();
+        try {
+            writer.write(out.toString());
+        }
+        finally {
+            writer.close();
+        }
+    }
+
+    private void note(TypeElement type, String annotation, UnsupportedMappingException ex) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "The BeanIO " + annotation +
+            " configuration for class '" + type.getQualifiedName() + "' will be created using " +
+            "reflection: " + ex.getMessage(), type);
+    }
+
+    /*
+     * The following methods mirror org.beanio.internal.config.annotation.AnnotationParser.
+     */
+
+    private void addAllChildren(Node config, TypeMirror type) throws UnsupportedMappingException {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        TypeElement clazz = (TypeElement) types.asElement(type);
+        TypeMirror superclass = clazz.getSuperclass();
+        if (superclass.getKind() == TypeKind.DECLARED &&
+            !((TypeElement) types.asElement(superclass)).getQualifiedName().contentEquals("java.lang.Object")) {
+            addAllChildren(config, types.erasure(superclass));
+        }
+        for (TypeMirror intf : clazz.getInterfaces()) {
+            addAllChildren(config, types.erasure(intf));
+        }
+        if (superclass.getKind() == TypeKind.ERROR) {
+            throw new UnsupportedMappingException("the superclass of '" + clazz + "' is undefined");
+        }
+        addChildren(config, clazz);
+    }
+
+    private void handleConstructor(Node config, TypeMirror type) throws UnsupportedMappingException {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        TypeElement clazz = (TypeElement) types.asElement(type);
+        for (ExecutableElement constructor : ElementFilter.constructorsIn(clazz.getEnclosedElements())) {
+            List<? extends VariableElement> parameters = constructor.getParameters();
+            for (int i = 0; i < parameters.size(); i++) {
+                AnnotationMirror fa = getAnnotation(parameters.get(i), FIELD);
+                if (fa == null) {
+                    continue;
+                }
+
+                // reflection includes synthetic parameters for enums and inner classes
+                if (clazz.getKind() != ElementKind.CLASS || !isStatic(clazz)) {
+                    throw new UnsupportedMappingException("@Field constructor parameter in class '" +
+                        clazz + "'");
+                }
+
+                Values values = new Values(fa);
+                TypeInfo info = new TypeInfo();
+                info.carg = i + 1;
+                info.name = values.string("name");
+                info.type = parameters.get(i).asType();
+                info.generic = true;
+                config.children.add(createField(info, values));
+            }
+        }
+    }
+
+    private void addChildren(Node config, TypeElement parent) throws UnsupportedMappingException {
+        String first = config.group ? GROUP : FIELD;
+        String second = config.group ? RECORD : SEGMENT;
+
+        for (VariableElement field : ElementFilter.fieldsIn(parent.getEnclosedElements())) {
+            AnnotationMirror a1 = getAnnotation(field, first);
+            AnnotationMirror a2 = getAnnotation(field, second);
+            if (a1 == null && a2 == null) {
+                continue;
+            }
+            if (a1 != null && a2 != null) {
+                throw new UnsupportedMappingException("field '" + field.getSimpleName() + "' has both annotations");
+            }
+
+            TypeInfo info = new TypeInfo();
+            info.bound = config.group;
+            info.name = field.getSimpleName().toString();
+            info.type = field.asType();
+            info.generic = true;
+            config.children.add(createChild(config, info, a1, a2, field));
+        }
+
+        for (ExecutableElement method : ElementFilter.methodsIn(parent.getEnclosedElements())) {
+            AnnotationMirror a1 = getAnnotation(method, first);
+            AnnotationMirror a2 = getAnnotation(method, second);
+            if (a1 == null && a2 == null) {
+                continue;
+            }
+            if (a1 != null && a2 != null) {
+                throw new UnsupportedMappingException("method '" + method.getSimpleName() + "' has both annotations");
+            }
+            if (hasBridge(method, parent)) {
+                // reflection also finds the annotated bridge method
+                throw new UnsupportedMappingException("method '" + method.getSimpleName() + "' has a bridge method");
+            }
+
+            TypeMirror type;
+            String name = method.getSimpleName().toString();
+            String getter = null;
+            String setter = null;
+
+            // is this a getter or setter?
+            if (method.getReturnType().getKind() != TypeKind.VOID && method.getParameters().isEmpty()) {
+                getter = name;
+                type = method.getReturnType();
+                if (name.startsWith("get")) {
+                    name = name.substring(3);
+                }
+                else if (name.startsWith("is")) {
+                    name = name.substring(2);
+                }
+            }
+            else if (method.getReturnType().getKind() == TypeKind.VOID && method.getParameters().size() == 1) {
+                setter = name;
+                type = method.getParameters().get(0).asType();
+                if (name.startsWith("set")) {
+                    name = name.substring(3);
+                }
+            }
+            else {
+                throw new UnsupportedMappingException("method '" + name + "' is not a valid getter or setter");
+            }
+
+            TypeInfo info = new TypeInfo();
+            info.bound = config.group;
+            info.name = decapitalize(name);
+            info.type = type;
+            info.generic = true;
+            info.getter = getter;
+            info.setter = setter;
+            config.children.add(createChild(config, info, a1, a2, method));
+        }
+    }
+
+    private Node createChild(Node config, TypeInfo info, AnnotationMirror a1, AnnotationMirror a2, Element member)
+        throws UnsupportedMappingException {
+
+        if (config.group) {
+            return a2 != null ? createRecord(info, new Values(a2)) : createGroup(info, new Values(a1));
+        }
+        else if (a1 != null) {
+            return createField(info, new Values(a1));
+        }
+        else {
+            AnnotationMirror fields = getAnnotation(member, FIELDS);
+            return createSegment(info, new Values(a2), fields != null ? new Values(fields) : null);
+        }
+    }
+
+    private Node createGroup(TypeInfo info, Values group) throws UnsupportedMappingException {
+        updateTypeInfo(info, group.type("type"), group.type("collection"));
+
+        Node gc = new Node("GroupConfig", true);
+        gc.set("Name", info.name);
+        gc.set("Type", info.propertyName);
+        gc.set("Order", group.integer("order"));
+        gc.set("Collection", info.collectionName);
+
+        Integer minOccurs = group.integer("minOccurs");
+        Integer maxOccurs = group.unbounded("maxOccurs");
+        if (maxOccurs == null && info.collectionName == null && info.bound) {
+            maxOccurs = 1;
+        }
+        gc.set("MinOccurs", minOccurs);
+        gc.set("MaxOccurs", maxOccurs);
+        setXml(gc, group);
+
+        addAllChildren(gc, info.propertyType);
+        return gc;
+    }
+
+    private Node createRecord(TypeInfo info, Values record) throws UnsupportedMappingException {
+        updateTypeInfo(info, record.type("type"), record.type("collection"));
+
+        Node rc = new Node("RecordConfig", false);
+        rc.set("Name", info.name);
+
+        String target = record.string("value");
+        if (target == null) {
+            rc.set("Type", info.propertyName);
+        }
+        else {
+            rc.set("Target", target);
+        }
+        rc.set("Collection", info.collectionName);
+        rc.set("Order", record.integer("order"));
+
+        Integer minOccurs = record.integer("minOccurs");
+        Integer maxOccurs = record.unbounded("maxOccurs");
+        if (info.bound && maxOccurs == null && info.collectionName == null) {
+            maxOccurs = 1;
+        }
+        rc.set("MinOccurs", minOccurs);
+        rc.set("MaxOccurs", maxOccurs);
+        rc.set("MinLength", record.integer("minLength"));
+        rc.set("MaxLength", record.unbounded("maxLength"));
+        rc.set("MinMatchLength", record.integer("minRidLength"));
+        rc.set("MaxMatchLength", record.unbounded("maxRidLength"));
+        setXml(rc, record);
+
+        addFields(rc, getAnnotation(info.propertyType, FIELDS));
+        handleConstructor(rc, info.propertyType);
+        addAllChildren(rc, info.propertyType);
+        rc.sort = true;
+        return rc;
+    }
+
+    private Node createSegment(TypeInfo info, Values sa, Values fields) throws UnsupportedMappingException {
+        updateTypeInfo(info, sa.type("type"), sa.type("collection"));
+
+        if ("java.lang.String".equals(info.propertyName)) {
+            throw new UnsupportedMappingException("segment '" + info.name + "' type is undefined");
+        }
+
+        String target = sa.string("value");
+
+        Node sc = new Node("SegmentConfig", false);
+        sc.set("Name", info.name);
+        sc.set("Label", sa.string("name"));
+        if (target == null) {
+            sc.set("Type", info.propertyName);
+        }
+        else {
+            sc.set("Target", target);
+        }
+        sc.set("Collection", info.collectionName);
+        String getter = sa.string("getter");
+        sc.set("Getter", getter != null ? getter : info.getter);
+        String setter = sa.string("setter");
+        sc.set("Setter", setter != null ? setter : info.setter);
+        sc.set("Position", sa.integer("at"));
+        sc.set("Until", sa.integer("until"));
+        sc.set("Ordinal", sa.integer("ordinal"));
+        sc.set("MinOccurs", sa.integer("minOccurs"));
+        sc.set("MaxOccurs", sa.unbounded("maxOccurs"));
+        sc.set("OccursRef", sa.string("occursRef"));
+        sc.set("Key", sa.string("key"));
+        sc.set("Lazy", sa.bool("lazy"));
+        setXml(sc, sa);
+        sc.set("Nillable", sa.bool("nillable"));
+
+        if (fields != null) {
+            addFields(sc, fields.mirror);
+        }
+        addFields(sc, getAnnotation(info.propertyType, FIELDS));
+
+        handleConstructor(sc, info.propertyType);
+        addAllChildren(sc, info.propertyType);
+        return sc;
+    }
+
+    private void addFields(Node config, AnnotationMirror fields) throws UnsupportedMappingException {
+        if (fields != null) {
+            for (Values field : new Values(fields).annotations("value")) {
+                config.children.add(createField(null, field));
+            }
+        }
+    }
+
+    private Node createField(TypeInfo info, Values fa) throws UnsupportedMappingException {
+        Node fc = new Node("FieldConfig", false);
+
+        String name;
+        if (info != null) {
+            updateTypeInfo(info, fa.type("type"), fa.type("collection"));
+
+            name = info.name;
+            fc.set("Name", name);
+            fc.set("Label", fa.string("name"));
+            fc.set("Type", info.propertyName);
+            fc.set("Collection", info.collectionName);
+            fc.set("Bound", true);
+
+            String getter = fa.string("getter");
+            fc.set("Getter", getter != null ? getter : info.getter);
+
+            String setter = fa.string("setter");
+            if (info.carg != null) {
+                if (setter != null) {
+                    throw new UnsupportedMappingException("setter not allowed");
+                }
+                fc.set("Setter", "#" + info.carg);
+            }
+            else {
+                fc.set("Setter", setter != null ? setter : info.setter);
+            }
+        }
+        else {
+            name = fa.string("name");
+            fc.set("Name", name);
+            fc.set("Label", name);
+        }
+        if (name == null) {
+            throw new UnsupportedMappingException("field name is required");
+        }
+
+        fc.set("Literal", fa.string("literal"));
+        fc.set("Position", fa.integer("at"));
+        fc.set("Until", fa.integer("until"));
+        fc.set("Ordinal", fa.integer("ordinal"));
+        fc.set("Regex", fa.string("regex"));
+        fc.set("Format", fa.string("format"));
+        fc.set("Required", fa.bool("required"));
+        fc.set("Default", fa.string("defaultValue"));
+        fc.set("Identifier", fa.bool("rid"));
+        fc.set("Trim", fa.bool("trim"));
+        fc.set("Lazy", fa.bool("lazy"));
+        fc.set("MinLength", fa.integer("minLength"));
+        fc.set("MaxLength", fa.unbounded("maxLength"));
+        fc.set("MinOccurs", fa.integer("minOccurs"));
+        fc.set("MaxOccurs", fa.unbounded("maxOccurs"));
+        fc.set("OccursRef", fa.string("occursRef"));
+
+        fc.set("Length", fa.integer("length"));
+        int padding = fa.get("padding", Integer.class);
+        if (padding >= Character.MIN_VALUE && padding <= Character.MAX_VALUE) {
+            fc.set("Padding", (char) padding);
+        }
+        fc.set("Justify", fa.constant("align").toLowerCase());
+        fc.set("KeepPadding", fa.bool("keepPadding"));
+        fc.set("LenientPadding", fa.bool("lenientPadding"));
+
+        String typeHandler = fa.string("handlerName");
+        fc.set("TypeHandler", typeHandler);
+        TypeMirror handler = fa.type("handlerClass");
+        if (handler != null && typeHandler == null) {
+            fc.set("TypeHandler", getName(handler));
+        }
+
+        setXml(fc, fa);
+        fc.set("Nillable", fa.bool("nillable"));
+        return fc;
+    }
+
+    private void setXml(Node config, Values values) throws UnsupportedMappingException {
+        String xmlType = values.constant("xmlType");
+        if (!"DEFAULT".equals(xmlType)) {
+            config.setCode("XmlType", "org.beanio.builder.XmlType." + xmlType + ".toValue()");
+        }
+        config.set("XmlName", values.xml("xmlName"));
+        config.set("XmlNamespace", values.xml("xmlNamespace"));
+        config.set("XmlPrefix", values.xml("xmlPrefix"));
+    }
+
+    private void updateTypeInfo(TypeInfo info, TypeMirror annotatedType, TypeMirror annotatedCollection)
+        throws UnsupportedMappingException {
+
+        String collectionName = null;
+        TypeMirror propertyType = types.erasure(info.type);
+
+        if (propertyType.getKind() == TypeKind.ARRAY) {
+            if (annotatedType != null) {
+                propertyType = annotatedType;
+            }
+            else {
+                propertyType = ((ArrayType) propertyType).getComponentType();
+                if (propertyType.getKind().isPrimitive()) {
+                    propertyType = types.boxedClass((PrimitiveType) propertyType).asType();
+                }
+            }
+            collectionName = "array";
+        }
+        else if (isAssignable(propertyType, "java.util.Map") || isAssignable(propertyType, "java.util.Collection")) {
+            int index = isAssignable(propertyType, "java.util.Map") ? 1 : 0;
+
+            TypeMirror collectionType = annotatedCollection;
+            if (collectionType == null) {
+                collectionType = propertyType;
+                propertyType = null;
+            }
+
+            if (annotatedType != null) {
+                propertyType = annotatedType;
+            }
+            else {
+                List<? extends TypeMirror> arguments = Collections.emptyList();
+                if (info.generic && info.type.getKind() == TypeKind.DECLARED) {
+                    arguments = ((DeclaredType) info.type).getTypeArguments();
+                }
+                if (arguments.size() > index) {
+                    // reflection only supports a class type argument
+                    TypeMirror argument = arguments.get(index);
+                    if (argument.getKind() != TypeKind.DECLARED ||
+                        !((DeclaredType) argument).getTypeArguments().isEmpty()) {
+                        throw new UnsupportedMappingException("unsupported type argument '" + argument + "'");
+                    }
+                    propertyType = argument;
+                }
+                if (propertyType == null) {
+                    propertyType = elements.getTypeElement("java.lang.String").asType();
+                }
+            }
+            collectionName = getName(collectionType);
+        }
+        else {
+            if (annotatedType != null) {
+                propertyType = annotatedType;
+            }
+            else if (propertyType.getKind().isPrimitive()) {
+                propertyType = types.boxedClass((PrimitiveType) propertyType).asType();
+            }
+        }
+
+        info.propertyType = propertyType;
+        info.propertyName = getName(propertyType);
+        info.collectionName = collectionName;
+    }
+
+    private boolean isAssignable(TypeMirror type, String name) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        TypeElement element = elements.getTypeElement(name);
+        return types.isSubtype(type, types.erasure(element.asType()));
+    }
+
+    /*
+     * Returns whether a method overrides a method with a different erasure, in
+     * which case the compiler copies its annotations to a bridge method.
+     */
+    private boolean hasBridge(ExecutableElement method, TypeElement parent) {
+        for (TypeMirror supertype : types.directSupertypes(parent.asType())) {
+            if (hasBridge(method, parent, (TypeElement) types.asElement(supertype))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasBridge(ExecutableElement method, TypeElement parent, TypeElement type) {
+        for (ExecutableElement m : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (elements.overrides(method, m, parent) && !isSameErasure(method, m)) {
+                return true;
+            }
+        }
+        for (TypeMirror supertype : types.directSupertypes(type.asType())) {
+            if (hasBridge(method, parent, (TypeElement) types.asElement(supertype))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isSameErasure(ExecutableElement m1, ExecutableElement m2) {
+        if (!types.isSameType(types.erasure(m1.getReturnType()), types.erasure(m2.getReturnType()))) {
+            return false;
+        }
+        for (int i = 0; i < m1.getParameters().size(); i++) {
+            if (!types.isSameType(types.erasure(m1.getParameters().get(i).asType()),
+                types.erasure(m2.getParameters().get(i).asType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void appendConfig(StringBuilder out, String type, String method, Node config) {
+        out.append("\n    @Override\n");
+        out.append("    public ").append(CONFIG_PACKAGE).append(type).append(' ').append(method).append("() {\n");
+        String var = appendNode(out, config, new int[1]);
+        out.append("        return ").append(var).append(";\n");
+        out.append("    }\n");
+    }
+
+    private String appendNode(StringBuilder out, Node node, int[] count) {
+        String var = "c" + count[0]++;
+        out.append("        ").append(CONFIG_PACKAGE).append(node.type).append(' ').append(var)
+            .append(" = new ").append(CONFIG_PACKAGE).append(node.type).append("();\n");
+        for (String property : node.properties) {
+            out.append("        ").append(var).append('.').append(property).append(";\n");
+        }
+        for (Node child : node.children) {
+            String childVar = appendNode(out, child, count);
+            out.append("        ").append(var).append(".add(").append(childVar).append(");\n");
+        }
+        if (node.sort) {
+            out.append("        sort(").append(var).append(");\n");
+        }
+        return var;
+    }
+
+    /*
+     * Appends the functions for accessing the public methods and accessible fields of a class.
+     */
+    private void appendAccessors(StringBuilder out, TypeElement type, PackageElement pkg) {
+        Map<String, String> getters = new TreeMap<>();
+        Map<String, String> setters = new TreeMap<>();
+        Map<String, String> primitiveSetters = new TreeMap<>();
+
+        DeclaredType beanType = (DeclaredType) types.erasure(type.asType());
+        String bean = "((" + getSourceName(beanType) + ") " + BEAN + ")";
+
+        List<ExecutableElement> methods = new ArrayList<>();
+        Map<String, Integer> setterCount = new HashMap<>();
+        for (ExecutableElement method : ElementFilter.methodsIn(elements.getAllMembers(type))) {
+            TypeElement declaringType = (TypeElement) method.getEnclosingElement();
+            if (!method.getModifiers().contains(Modifier.PUBLIC) ||
+                method.getModifiers().contains(Modifier.STATIC) ||
+                declaringType.getQualifiedName().contentEquals("java.lang.Object")) {
+                continue;
+            }
+            methods.add(method);
+            if (method.getParameters().size() == 1) {
+                setterCount.merge(method.getSimpleName().toString(), 1, Integer::sum);
+            }
+        }
+
+        for (ExecutableElement method : methods) {
+            String name = method.getSimpleName().toString();
+            if (!isAccessible((TypeElement) method.getEnclosingElement(), pkg)) {
+                continue;
+            }
+
+            ExecutableType methodType = (ExecutableType) types.asMemberOf(beanType, method);
+            if (method.getParameters().isEmpty() && method.getReturnType().getKind() != TypeKind.VOID) {
+                if (isAccessible(methodType.getReturnType(), pkg)) {
+                    getters.put(name, BEAN + " -> " + bean + "." + name + "()");
+                }
+            }
+            else if (method.getParameters().size() == 1 && method.getReturnType().getKind() == TypeKind.VOID &&
+                setterCount.get(name) == 1) {
+
+                // the argument must have the same type as the reflected method
+                TypeMirror parameterType = types.erasure(methodType.getParameterTypes().get(0));
+                if (!types.isSameType(parameterType, types.erasure(method.getParameters().get(0).asType())) ||
+                    !isAccessible(parameterType, pkg)) {
+                    continue;
+                }
+
+                setters.put(name, "(" + BEAN + ", " + VALUE + ") -> " + bean + "." + name +
+                    "((" + getSourceName(box(parameterType)) + ") " + VALUE + ")");
+                String consumer = getConsumer(parameterType);
+                if (consumer != null) {
+                    primitiveSetters.put(name, "(" + consumer + ") (" + BEAN + ", " + VALUE + ") -> " +
+                        bean + "." + name + "(" + VALUE + ")");
+                }
+            }
+        }
+
+        Map<String, String> fieldGetters = new TreeMap<>();
+        Map<String, String> fieldSetters = new TreeMap<>();
+        Map<String, String> primitiveFieldSetters = new TreeMap<>();
+
+        Set<String> names = new LinkedHashSet<>();
+        for (TypeElement c = type; c != null; c = getSuperclass(c)) {
+            for (VariableElement field : ElementFilter.fieldsIn(c.getEnclosedElements())) {
+                names.add(field.getSimpleName().toString());
+            }
+        }
+        for (String name : names) {
+            VariableElement field = getField(type, name);
+            if (field == null || !isAccessible(field, pkg)) {
+                continue;
+            }
+
+            TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+            String target = "((" + getSourceName(types.erasure(declaringType.asType())) + ") " + BEAN + ")." + name;
+            TypeMirror fieldType = types.erasure(field.asType());
+            if (!isAccessible(fieldType, pkg)) {
+                continue;
+            }
+            fieldGetters.put(name, BEAN + " -> " + target);
+            if (!field.getModifiers().contains(Modifier.FINAL)) {
+                fieldSetters.put(name, "(" + BEAN + ", " + VALUE + ") -> " + target + " = (" +
+                    getSourceName(box(fieldType)) + ") " + VALUE);
+                String consumer = getConsumer(fieldType);
+                if (consumer != null) {
+                    primitiveFieldSetters.put(name, "(" + consumer + ") (" + BEAN + ", " + VALUE + ") -> " +
+                        target + " = " + VALUE);
+                }
+            }
+        }
+
+        appendSwitch(out, "java.util.function.Function<Object, Object>", "getGetter", "method", getters);
+        appendSwitch(out, "java.util.function.BiConsumer<Object, Object>", "getSetter", "method", setters);
+        appendSwitch(out, "Object", "getPrimitiveSetter", "method", primitiveSetters);
+        appendSwitch(out, "java.util.function.Function<Object, Object>", "getFieldGetter", "field", fieldGetters);
+        appendSwitch(out, "java.util.function.BiConsumer<Object, Object>", "getFieldSetter", "field", fieldSetters);
+        appendSwitch(out, "Object", "getPrimitiveFieldSetter", "field", primitiveFieldSetters);
+    }
+
+    private void appendSwitch(StringBuilder out, String returnType, String method, String parameter,
+        Map<String, String> cases) {
+
+        if (cases.isEmpty()) {
+            return;
+        }
+        out.append("\n    @Override\n");
+        out.append("    public ").append(returnType).append(' ').append(method)
+            .append("(String ").append(parameter).append(") {\n");
+        out.append("        switch (").append(parameter).append(") {\n");
+        for (Map.Entry<String, String> entry : cases.entrySet()) {
+            out.append("        case ").append(toLiteral(entry.getKey())).append(":\n");
+            out.append("            return ").append(entry.getValue()).append(";\n");
+        }
+        out.append("        default:\n");
+        out.append("            return null;\n");
+        out.append("        }\n");
+        out.append("    }\n");
+    }
+
+    /*
+     * Returns the field BeanIO would access for a property name, searching the
+     * interfaces of a class before the class itself, and then its superclass.
+     */
+    private VariableElement getField(TypeElement type, String name) {
+        for (TypeElement c = type; c != null; c = getSuperclass(c)) {
+            for (TypeMirror intf : c.getInterfaces()) {
+                VariableElement field = getDeclaredField((TypeElement) types.asElement(intf), name);
+                if (field != null) {
+                    return field;
+                }
+            }
+            VariableElement field = getDeclaredField(c, name);
+            if (field != null) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private VariableElement getDeclaredField(TypeElement type, String name) {
+        for (VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+            if (field.getSimpleName().contentEquals(name)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private TypeElement getSuperclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        return superclass.getKind() == TypeKind.DECLARED ? (TypeElement) types.asElement(superclass) : null;
+    }
+
+    private boolean isAccessible(VariableElement field, PackageElement pkg) {
+        Set<Modifier> modifiers = field.getModifiers();
+        TypeElement declaringType = (TypeElement) field.getEnclosingElement();
+        if (modifiers.contains(Modifier.STATIC) || !isAccessible(declaringType, pkg)) {
+            return false;
+        }
+        return modifiers.contains(Modifier.PUBLIC) ||
+            (!modifiers.contains(Modifier.PRIVATE) && elements.getPackageOf(declaringType).equals(pkg));
+    }
+
+    private boolean isAccessible(TypeElement type, PackageElement pkg) {
+        boolean samePackage = elements.getPackageOf(type).equals(pkg);
+        Element element = type;
+        while (element instanceof TypeElement) {
+            TypeElement t = (TypeElement) element;
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+            Set<Modifier> modifiers = t.getModifiers();
+            if (!modifiers.contains(Modifier.PUBLIC) && (modifiers.contains(Modifier.PRIVATE) || !samePackage)) {
+                return false;
+            }
+            element = t.getEnclosingElement();
+        }
+        return true;
+    }
+
+    private boolean isAccessible(TypeMirror type, PackageElement pkg) {
+        switch (type.getKind()) {
+        case ARRAY:
+            return isAccessible(((ArrayType) type).getComponentType(), pkg);
+        case DECLARED:
+            return isAccessible((TypeElement) types.asElement(type), pkg);
+        default:
+            return type.getKind().isPrimitive();
+        }
+    }
+
+    private static boolean isStatic(TypeElement type) {
+        for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+            TypeElement t = (TypeElement) e;
+            if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC) &&
+                t.getKind() == ElementKind.CLASS) {
+                return false;
+            }
+            if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private TypeMirror box(TypeMirror type) {
+        return type.getKind().isPrimitive() ? types.boxedClass((PrimitiveType) type).asType() : type;
+    }
+
+    private static String getConsumer(TypeMirror type) {
+        switch (type.getKind()) {
+        case INT:
+            return "java.util.function.ObjIntConsumer<Object>";
+        case LONG:
+            return "java.util.function.ObjLongConsumer<Object>";
+        case DOUBLE:
+            return "java.util.function.ObjDoubleConsumer<Object>";
+        default:
+            return null;
+        }
+    }
+
+    /*
+     * Returns the name of an erased type as it is referenced in source code.
+     */
+    private String getSourceName(TypeMirror type) {
+        switch (type.getKind()) {
+        case ARRAY:
+            return getSourceName(((ArrayType) type).getComponentType()) + "[]";
+        case DECLARED:
+            return ((TypeElement) types.asElement(type)).getQualifiedName().toString();
+        default:
+            return type.toString();
+        }
+    }
+
+    /*
+     * Returns the name of a type as returned by Class.getName().
+     */
+    private String getName(TypeMirror type) throws UnsupportedMappingException {
+        if (type.getKind() == TypeKind.DECLARED) {
+            return elements.getBinaryName((TypeElement) types.asElement(type)).toString();
+        }
+        else if (type.getKind().isPrimitive()) {
+            return type.toString();
+        }
+        throw new UnsupportedMappingException("unsupported type '" + type + "'");
+    }
+
+    private AnnotationMirror getAnnotation(TypeMirror type, String name) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return getAnnotation(types.asElement(type), name);
+    }
+
+    private static AnnotationMirror getAnnotation(Element element, String name) {
+        for (AnnotationMirror annotation : element.getAnnotationMirrors()) {
+            TypeElement type = (TypeElement) annotation.getAnnotationType().asElement();
+            if (type.getQualifiedName().contentEquals(name)) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
+    /*
+     * Same as java.beans.Introspector.decapitalize(String).
+     */
+    private static String decapitalize(String name) {
+        if (name == null || name.isEmpty()) {
+            return name;
+        }
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static String toLiteral(Object value) {
+        if (value instanceof Character) {
+            return "(char) " + (int) (Character) value;
+        }
+        if (!(value instanceof String)) {
+            return String.valueOf(value);
+        }
+
+        String s = (String) value;
+        StringBuilder literal = new StringBuilder(s.length() + 2).append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') {
+                literal.append('\\').append(c);
+            }
+            // unicode escapes are translated before the source is lexed, so line
+            // terminators and other control characters must use escape sequences
+            else if (c == '\n') {
+                literal.append("\\n");
+            }
+            else if (c == '\r') {
+                literal.append("\\r");
+            }
+            else if (c == '\t') {
+                literal.append("\\t");
+            }
+            else if (c == '\b') {
+                literal.append("\\b");
+            }
+            else if (c == '\f') {
+                literal.append("\\f");
+            }
+            else if (c < ' ') {
+                literal.append(String.format("\\%03o", (int) c));
+            }
+            else if (c > '~') {
+                literal.append(String.format("\\u%04x", (int) c));
+            }
+            else {
+                literal.append(c);
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    /*
+     * A configuration to generate.
+     */
+    private static class Node {
+        final String type;
+        final boolean group;
+        final List<String> properties = new ArrayList<>();
+        final List<Node> children = new ArrayList<>();
+        boolean sort;
+
+        Node(String type, boolean group) {
+            this.type = type;
+            this.group = group;
+        }
+
+        void set(String property, Object value) {
+            // the default value of every property is null or false
+            if (value != null && !Boolean.FALSE.equals(value)) {
+                setCode(property, toLiteral(value));
+            }
+        }
+
+        void setCode(String property, String code) {
+            properties.add("set" + property + "(" + code + ")");
+        }
+    }
+
+    private static class TypeInfo {
+        boolean bound;
+        Integer carg;
+        String name;
+        TypeMirror type;
+        boolean generic; // whether type was declared by a field, method or parameter
+
+        String propertyName; // the class name of propertyType
+        String collectionName;
+        TypeMirror propertyType;
+        String getter;
+        String setter;
+    }
+
+    /*
+     * The values of an annotation, including its defaults.
+     */
+    private class Values {
+        final AnnotationMirror mirror;
+        final Map<String, Object> values = new HashMap<>();
+
+        Values(AnnotationMirror mirror) {
+            this.mirror = mirror;
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry :
+                elements.getElementValuesWithDefaults(mirror).entrySet()) {
+                values.put(entry.getKey().getSimpleName().toString(), entry.getValue().getValue());
+            }
+        }
+
+        <T> T get(String name, Class<T> type) throws UnsupportedMappingException {
+            Object value = values.get(name);
+            if (!type.isInstance(value)) {
+                throw new UnsupportedMappingException("invalid annotation value '" + name + "'");
+            }
+            return type.cast(value);
+        }
+
+        String string(String name) throws UnsupportedMappingException {
+            String s = get(name, String.class);
+            return s.isEmpty() ? null : s;
+        }
+
+        String xml(String name) throws UnsupportedMappingException {
+            String s = get(name, String.class);
+            return UNDEFINED.equals(s) ? null : s;
+        }
+
+        Integer integer(String name) throws UnsupportedMappingException {
+            int n = get(name, Integer.class);
+            return n == Integer.MIN_VALUE ? null : n;
+        }
+
+        Integer unbounded(String name) throws UnsupportedMappingException {
+            Integer n = integer(name);
+            if (n != null && n < 0) {
+                return Integer.MAX_VALUE;
+            }
+            return n;
+        }
+
+        boolean bool(String name) throws UnsupportedMappingException {
+            return get(name, Boolean.class);
+        }
+
+        String constant(String name) throws UnsupportedMappingException {
+            return get(name, VariableElement.class).getSimpleName().toString();
+        }
+
+        TypeMirror type(String name) throws UnsupportedMappingException {
+            TypeMirror type = get(name, TypeMirror.class);
+            if (type.getKind() == TypeKind.DECLARED &&
+                ((TypeElement) types.asElement(type)).getQualifiedName().contentEquals("java.lang.Void")) {
+                return null;
+            }
+            if (type.getKind() != TypeKind.DECLARED && !type.getKind().isPrimitive()) {
+                throw new UnsupportedMappingException("unsupported type '" + type + "'");
+            }
+            return types.erasure(type);
+        }
+
+        List<Values> annotations(String name) throws UnsupportedMappingException {
+            List<Values> list = new ArrayList<>();
+            for (Object value : get(name, List.class)) {
+                Object annotation = ((AnnotationValue) value).getValue();
+                if (!(annotation instanceof AnnotationMirror)) {
+                    throw new UnsupportedMappingException("invalid annotation value '" + name + "'");
+                }
+                list.add(new Values((AnnotationMirror) annotation));
+            }
+            return list;
+        }
+    }
+
+    private static class UnsupportedMappingException extends Exception {
+        private static final long serialVersionUID = 1L;
+
+        UnsupportedMappingException(String message) {
+            super(message);
+        }
+    }
+}
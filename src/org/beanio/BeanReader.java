@@ -17,6 +17,9 @@ package org.beanio;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.*;
+import java.util.function.Consumer;
+import java.util.stream.*;
 
 import org.beanio.internal.util.Debuggable;
 
@@ -117,4 +120,33 @@ public interface BeanReader extends Debuggable, Closeable {
      * @param errorHandler the {@link BeanReaderErrorHandler}
      */
     public void setErrorHandler(BeanReaderErrorHandler errorHandler);
+    
+    /**
+     * Returns a sequential {@link Stream} of the beans read from this reader.  Beans
+     * are read using {@link #read()}, so errors are passed to the configured error handler,
+     * or otherwise thrown by the terminal operation of the stream.  Closing the returned
+     * stream closes this reader.
+     * <p>
+     * The stream may be made parallel, in which case beans are read in batches by the 
+     * thread that splits the stream and processed by other threads.  A file can be
+     * unmarshalled in parallel using {@link StreamFactory#createStream(String, java.nio.file.Path, 
+     * java.nio.charset.Charset, BeanReaderErrorHandler)}.
+     * @return a new {@link Stream} of beans
+     * @since 3.3.0
+     */
+    public default Stream<Object> stream() {
+        Spliterator<Object> spliterator = new Spliterators.AbstractSpliterator<Object>(Long.MAX_VALUE,
+            Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Object> action) {
+                Object bean = read();
+                if (bean == null) {
+                    return false;
+                }
+                action.accept(bean);
+                return true;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(this::close);
+    }
 }
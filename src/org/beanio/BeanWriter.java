@@ -56,6 +56,26 @@ public interface BeanWriter extends Debuggable, AutoCloseable {
      */
     public void write(String recordName, Object bean) throws BeanWriterException;
 
+    /**
+     * Writes each bean object in the given order to this output stream.  Implementations
+     * may buffer records and write them to the underlying output stream in blocks, 
+     * but all records are written before this method returns.  If a bean fails to
+     * marshal, records for the preceding beans are still written.
+     * @param beans the bean objects to write
+     * @throws BeanWriterException if a record could not be identified for marshalling, 
+     *   or in a few other rare (but fatal) cases
+     * @throws BeanWriterIOException if the underlying output stream throws an {@link IOException},
+     *   or if this writer is closed
+     * @throws InvalidBeanException if BeanIO is configured to validate fields during marshalling,
+     *   and a field does not meet the configured validation rules
+     * @since 3.3.0
+     */
+    public default void writeAll(Iterable<?> beans) throws BeanWriterException, BeanWriterIOException {
+        for (Object bean : beans) {
+            write(bean);
+        }
+    }
+
     /**
      * Flushes this output stream.
      * @throws BeanWriterIOException if the underlying output stream throws an {@link IOException},
@@ -16,9 +16,15 @@
 package org.beanio;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
 
 import org.beanio.builder.StreamBuilder;
+import org.beanio.internal.compiler.StreamCompiler;
 import org.beanio.internal.util.*;
 
 /**
@@ -81,6 +87,166 @@ public abstract class StreamFactory {
         }
     }
 
+    /**
+     * Creates a new <code>BeanReader</code> for reading from a memory mapped file.
+     * <p>
+     * Delimited and fixed length streams encoded using an ASCII compatible character set
+     * are parsed directly from the mapped file without first being decoded.  If a fixed length 
+     * stream is configured with a <code>recordLength</code> and a single byte character set, 
+     * records are located by their offset in the file.
+     * @param name the name of the stream in the mapping file
+     * @param file the {@link Path} of the file to read
+     * @param charset the character set used to decode the file
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @throws BeanReaderIOException if the file could not be opened for reading
+     * @since 3.3.0
+     */
+    public BeanReader createReader(String name, Path file, Charset charset) 
+        throws IllegalArgumentException, BeanReaderIOException {
+        return createReader(name, file, charset, Locale.getDefault());
+    }
+    
+    /**
+     * Creates a new <code>BeanReader</code> for reading from a memory mapped file.
+     * @param name the name of the stream in the mapping file
+     * @param file the {@link Path} of the file to read
+     * @param charset the character set used to decode the file
+     * @param locale the {@link Locale} used to format error messages, or null to use {@link Locale#getDefault()}
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @throws BeanReaderIOException if the file could not be opened for reading
+     * @since 3.3.0
+     * @see #createReader(String, Path, Charset)
+     */
+    public BeanReader createReader(String name, Path file, Charset charset, Locale locale) 
+        throws IllegalArgumentException, BeanReaderIOException {
+        if (!isMapped(name)) {
+            throw new IllegalArgumentException("No stream mapping configured for name '" + name + "'");
+        }
+        
+        InputStream in = null;
+        try {
+            in = new MappedFileInputStream(file);
+            return createReader(name, in, charset, locale);
+        }
+        catch (IOException ex) {
+            IOUtil.closeQuietly(in);
+            throw new BeanReaderException("Failed to open file '" + file + "' for reading", ex);
+        }
+        catch (RuntimeException ex) {
+            IOUtil.closeQuietly(in);
+            throw ex;            
+        }
+    }
+
+    /**
+     * Creates a new <code>BeanReader</code> that reads a file in parallel using the common
+     * {@link ForkJoinPool}.
+     * @param name the name of the stream in the mapping file
+     * @param file the {@link Path} of the file to read
+     * @param charset the character set used to decode the file
+     * @param ordered true to return beans in the order they appear in the file, or false
+     *   to return beans as soon as they are read
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping does not support reading in parallel
+     * @throws BeanReaderIOException if the file could not be opened for reading
+     * @since 3.3.0
+     * @see #createParallelReader(String, Path, Charset, boolean, ForkJoinPool)
+     */
+    public BeanReader createParallelReader(String name, Path file, Charset charset, boolean ordered)
+        throws IllegalArgumentException, BeanReaderIOException {
+        return createParallelReader(name, file, charset, ordered, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * Creates a new <code>BeanReader</code> that reads a file in parallel.  The file is split
+     * into chunks on record boundaries, and each chunk is unmarshalled by a separate task
+     * submitted to the given pool.  Errors are passed to the reader's error handler, or thrown, 
+     * from the thread that calls {@link BeanReader#read()}.
+     * <p>
+     * Parallel reading is only supported for delimited, CSV, fixed length and JSON Lines streams that
+     * only contain records without ordering or occurrence constraints, and where records can
+     * be located without parsing the file.
+     * <p>
+     * Error messages are formatted using {@link Locale#getDefault()}.
+     * @param name the name of the stream in the mapping file
+     * @param file the {@link Path} of the file to read
+     * @param charset the character set used to decode the file
+     * @param ordered true to return beans in the order they appear in the file, or false
+     *   to return beans as soon as they are read
+     * @param pool the {@link ForkJoinPool} for reading the file
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping does not support reading in parallel
+     * @throws BeanReaderIOException if the file could not be opened for reading
+     * @since 3.3.0
+     * @see #createParallelReader(String, Path, Charset, boolean, ForkJoinPool, Locale)
+     */
+    public BeanReader createParallelReader(String name, Path file, Charset charset, boolean ordered,
+        ForkJoinPool pool) throws IllegalArgumentException, BeanReaderIOException {
+        return createParallelReader(name, file, charset, ordered, pool, Locale.getDefault());
+    }
+    
+    /**
+     * Creates a new <code>BeanReader</code> that reads a file in parallel and formats error
+     * messages using the given locale.
+     * <p>
+     * This implementation does not read in parallel.  It ignores <code>ordered</code> and 
+     * <code>pool</code>, and returns a sequential reader created using 
+     * {@link #createReader(String, Path, Charset, Locale)}.  Stream factories that support
+     * parallel reading, such as the default stream factory, override this method.
+     * @param name the name of the stream in the mapping file
+     * @param file the {@link Path} of the file to read
+     * @param charset the character set used to decode the file
+     * @param ordered true to return beans in the order they appear in the file, or false
+     *   to return beans as soon as they are read
+     * @param pool the {@link ForkJoinPool} for reading the file
+     * @param locale the {@link Locale} used to format error messages, or null to use {@link Locale#getDefault()}
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping does not support reading in parallel
+     * @throws BeanReaderIOException if the file could not be opened for reading
+     * @since 3.3.0
+     */
+    public BeanReader createParallelReader(String name, Path file, Charset charset, boolean ordered,
+        ForkJoinPool pool, Locale locale) throws IllegalArgumentException, BeanReaderIOException {
+        return createReader(name, file, charset, locale);
+    }
+
+    /**
+     * Creates a new {@link Stream} of the beans unmarshalled from a file.  If the stream 
+     * mapping supports it (see {@link #createParallelReader(String, Path, Charset, boolean, ForkJoinPool)}), 
+     * the returned stream can be split on record boundaries so that a parallel stream
+     * reads each part of the file on a different thread.  Otherwise, beans are read
+     * sequentially using {@link BeanReader#stream()}.
+     * <p>
+     * Errors are passed to the given error handler, which may be called concurrently if the
+     * stream is parallel, or otherwise thrown by the terminal operation of the stream.  The
+     * returned stream should be closed to release the file.
+     * @param name the name of the stream in the mapping file
+     * @param file the {@link Path} of the file to read
+     * @param charset the character set used to decode the file
+     * @param errorHandler the {@link BeanReaderErrorHandler} for handling errors, or null
+     *   to throw errors from the stream
+     * @return the created {@link Stream}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @throws BeanReaderIOException if the file could not be opened for reading
+     * @since 3.3.0
+     */
+    public Stream<Object> createStream(String name, Path file, Charset charset, 
+        BeanReaderErrorHandler errorHandler) throws IllegalArgumentException, BeanReaderIOException {
+        BeanReader in = createReader(name, file, charset);
+        if (errorHandler != null) {
+            in.setErrorHandler(errorHandler);
+        }
+        return in.stream();
+    }
+
     /**
      * Creates a new <code>BeanReader</code> for reading from the given input stream.
      * @param name the name of the stream in the mapping file
@@ -105,6 +271,74 @@ public abstract class StreamFactory {
     public abstract BeanReader createReader(String name, Reader in, Locale locale)
         throws IllegalArgumentException;
 
+    /**
+     * Creates a new <code>BeanReader</code> for reading from a byte stream.
+     * <p>
+     * Delimited and fixed length streams encoded using an ASCII compatible character set, 
+     * such as UTF-8 or ISO-8859-1, are parsed directly from bytes, and only field text is decoded.
+     * Other streams are decoded using a {@link Reader}.
+     * @param name the name of the stream in the mapping file
+     * @param in the input stream to read from
+     * @param charset the character set used to decode the input stream
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @since 3.3.0
+     */
+    public BeanReader createReader(String name, InputStream in, Charset charset) throws IllegalArgumentException {
+        return createReader(name, in, charset, Locale.getDefault());
+    }
+    
+    /**
+     * Creates a new <code>BeanReader</code> for reading from a byte stream.
+     * <p>
+     * This implementation decodes the input stream using an {@link InputStreamReader},
+     * and should be overridden by stream factories that can parse bytes directly.
+     * @param name the name of the stream in the mapping file
+     * @param in the input stream to read from
+     * @param charset the character set used to decode the input stream
+     * @param locale the {@link Locale} used to format error messages, or null to use {@link Locale#getDefault()}
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @since 3.3.0
+     */
+    public BeanReader createReader(String name, InputStream in, Charset charset, Locale locale) 
+        throws IllegalArgumentException {
+        return createReader(name, new BufferedReader(new InputStreamReader(in, charset)), locale);
+    }
+    
+    /**
+     * Creates a new <code>BeanReader</code> for reading from a byte array.
+     * @param name the name of the stream in the mapping file
+     * @param data the bytes to read
+     * @param charset the character set used to decode the bytes
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @since 3.3.0
+     * @see #createReader(String, InputStream, Charset)
+     */
+    public BeanReader createReader(String name, byte[] data, Charset charset) throws IllegalArgumentException {
+        return createReader(name, new ByteArrayInputStream(data), charset);
+    }
+    
+    /**
+     * Creates a new <code>BeanReader</code> for reading the remaining bytes of a buffer.  The
+     * buffer position is advanced as records are read.
+     * @param name the name of the stream in the mapping file
+     * @param buffer the {@link ByteBuffer} to read
+     * @param charset the character set used to decode the bytes
+     * @return the created {@link BeanReader}
+     * @throws IllegalArgumentException if there is no stream configured for the given name, or
+     *   if the stream mapping mode does not support reading an input stream
+     * @since 3.3.0
+     * @see #createReader(String, InputStream, Charset)
+     */
+    public BeanReader createReader(String name, ByteBuffer buffer, Charset charset) throws IllegalArgumentException {
+        return createReader(name, new ByteBufferInputStream(buffer), charset);
+    }
+
     /**
      * Creates a new {@link Unmarshaller} for unmarshalling records.
      * @param name the name of the stream in the mapping file
@@ -288,6 +522,59 @@ public abstract class StreamFactory {
      */
     public abstract void load(InputStream in, Properties properties) throws IOException, BeanIOConfigurationException;
 
+    /**
+     * Loads a BeanIO mapping file using a snapshot previously written by
+     * {@link #exportSnapshot(InputStream, Properties, OutputStream)}, and adds the
+     * configured streams to this factory.
+     * 
+     * <p>If the snapshot matches the mapping file, the properties and any imported
+     * mapping files, the mapping configuration is read from the snapshot instead of
+     * parsing and validating the mapping file.  Otherwise the mapping file is loaded
+     * as if by calling {@link #load(InputStream, Properties)}.
+     * 
+     * <p>Snapshots are read using Java serialization, and should only be read from a
+     * trusted source.
+     * 
+     * <p>By default, the snapshot is ignored.
+     * 
+     * @param in the input stream to read the mapping file from
+     * @param properties user {@link Properties} for property substitution
+     * @param snapshot the input stream to read the snapshot from
+     * @return true if the snapshot was loaded, or false if the mapping file was loaded
+     *   because the snapshot did not match
+     * @throws IOException if an I/O error occurs reading the mapping file or snapshot
+     * @throws BeanIOConfigurationException if the mapping file is invalid
+     * @since 3.3.0
+     */
+    public boolean load(InputStream in, Properties properties, InputStream snapshot) 
+        throws IOException, BeanIOConfigurationException {
+        load(in, properties);
+        return false;
+    }
+    
+    /**
+     * Loads a BeanIO mapping file and writes a snapshot of its configuration, which
+     * can be used to load the mapping file faster using 
+     * {@link #load(InputStream, Properties, InputStream)}.  The configured streams
+     * are not added to this factory.
+     * 
+     * <p>The snapshot includes annotation based configurations for classes referenced
+     * by the mapping file, but those classes are not checked when the snapshot is loaded,
+     * so the snapshot must be exported again when they change.
+     * 
+     * @param in the input stream to read the mapping file from
+     * @param properties user {@link Properties} for property substitution
+     * @param out the output stream to write the snapshot to
+     * @throws IOException if an I/O error occurs reading the mapping file or writing the snapshot
+     * @throws BeanIOConfigurationException if the mapping file is invalid
+     * @since 3.3.0
+     */
+    public void exportSnapshot(InputStream in, Properties properties, OutputStream out)
+        throws IOException, BeanIOConfigurationException {
+        ClassLoader cl = classLoader != null ? classLoader : StreamFactory.class.getClassLoader();
+        new StreamCompiler(cl).exportSnapshot(in, properties, out);
+    }
+
     /**
      * Returns a new <code>StreamFactory</code> instance.  The implementation class is resolved
      * using the the BeanIO configuration setting <code>org.beanio.streamFactory</code>.
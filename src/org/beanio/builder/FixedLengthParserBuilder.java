@@ -59,6 +59,17 @@ public class FixedLengthParserBuilder extends ParserBuilder {
         return this;
     }
     
+    /**
+     * Sets the number of characters in every record, for records that are not terminated.
+     * @param length the record length
+     * @return this
+     * @since 3.3.0
+     */
+    public FixedLengthParserBuilder recordLength(int length) {
+        parser.setRecordLength(length);
+        return this;
+    }
+    
     @Override
     public BeanConfig<RecordParserFactory> build() {
         BeanConfig<RecordParserFactory> config = new BeanConfig<>();
@@ -187,6 +187,20 @@ public class StreamBuilder extends GroupBuilderSupport<StreamBuilder> {
         return this;
     }
     
+    /**
+     * Overrides a BeanIO configuration setting for this stream only, for example
+     * <code>org.beanio.errorIfNullPrimitive</code>.  Settings that are global to the
+     * class loader, such as <code>org.beanio.streamFactory</code>, cannot be overridden.
+     * @param name the setting name
+     * @param value the setting value
+     * @return this
+     * @since 3.3.0
+     */
+    public StreamBuilder setting(String name, String value) {
+        config.setSetting(name, value);
+        return this;
+    }
+    
     /**
      * Builds the stream configuration.
      * @return the stream configuration
@@ -63,6 +63,17 @@ public class XmlParserBuilder extends ParserBuilder {
         return this;
     }
     
+    /**
+     * Reads records from XML stream events without building a document object
+     * model for each record.
+     * @return this
+     * @since 3.3.0
+     */
+    public XmlParserBuilder eventMode() {
+        parser.setEventMode(true);
+        return this;
+    }
+    
     @Override
     public BeanConfig<RecordParserFactory> build() {
         BeanConfig<RecordParserFactory> config = new BeanConfig<>();
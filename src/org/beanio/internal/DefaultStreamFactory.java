@@ -16,13 +16,17 @@
 package org.beanio.internal;
 
 import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.stream.StreamSupport;
 
 import org.beanio.*;
 import org.beanio.builder.StreamBuilder;
 import org.beanio.internal.compiler.StreamCompiler;
-import org.beanio.internal.parser.Stream;
+import org.beanio.internal.parser.*;
+import org.beanio.internal.util.IOUtil;
 
 /**
  * The <code>DefaultStreamFactory</code> stores configured stream definitions used
@@ -56,6 +60,30 @@ public class DefaultStreamFactory extends StreamFactory {
         }
     }
     
+    @Override
+    public boolean load(InputStream in, Properties properties, InputStream snapshot) 
+        throws IOException, BeanIOConfigurationException {
+        // buffer the mapping file so that it can be loaded if the snapshot is stale
+        byte[] mapping = IOUtil.toByteArray(in);
+        
+        boolean loaded = true;
+        Collection<Stream> streams = compiler.loadSnapshot(snapshot, new ByteArrayInputStream(mapping), properties);
+        if (streams == null) {
+            streams = compiler.loadMapping(new ByteArrayInputStream(mapping), properties);
+            loaded = false;
+        }
+        for (Stream stream : streams) {
+            addStream(stream);
+        }
+        return loaded;
+    }
+    
+    @Override
+    public void exportSnapshot(InputStream in, Properties properties, OutputStream out)
+        throws IOException, BeanIOConfigurationException {
+        compiler.exportSnapshot(in, properties, out);
+    }
+    
     @Override
     public BeanReader createReader(String name, Reader in, Locale locale) {
         if (locale == null) {
@@ -72,6 +100,72 @@ public class DefaultStreamFactory extends StreamFactory {
         }
     }
     
+    @Override
+    public BeanReader createReader(String name, InputStream in, Charset charset, Locale locale) {
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        
+        Stream stream = getStream(name);
+        switch (stream.getMode()) {
+            case Stream.READ_WRITE_MODE:
+            case Stream.READ_ONLY_MODE:
+                return stream.createBeanReader(in, charset, locale);
+            default:
+                throw new IllegalArgumentException("Read mode not supported for stream mapping '" + name + "'");
+        }
+    }
+    
+    @Override
+    public BeanReader createParallelReader(String name, Path file, Charset charset, boolean ordered,
+        ForkJoinPool pool, Locale locale) throws IllegalArgumentException, BeanReaderIOException {
+        
+        if (locale == null) {
+            locale = Locale.getDefault();
+        }
+        
+        Stream stream = getStream(name);
+        switch (stream.getMode()) {
+            case Stream.READ_WRITE_MODE:
+            case Stream.READ_ONLY_MODE:
+                try {
+                    return new ParallelBeanReader(stream, file, charset, locale, ordered, pool);
+                }
+                catch (IOException ex) {
+                    throw new BeanReaderException("Failed to open file '" + file + "' for reading", ex);
+                }
+            default:
+                throw new IllegalArgumentException("Read mode not supported for stream mapping '" + name + "'");
+        }
+    }
+    
+    @Override
+    public java.util.stream.Stream<Object> createStream(String name, Path file, Charset charset,
+        BeanReaderErrorHandler errorHandler) throws IllegalArgumentException, BeanReaderIOException {
+        
+        Stream stream = getStream(name);
+        switch (stream.getMode()) {
+            case Stream.READ_WRITE_MODE:
+            case Stream.READ_ONLY_MODE:
+                break;
+            default:
+                throw new IllegalArgumentException("Read mode not supported for stream mapping '" + name + "'");
+        }
+        
+        FileBeanSpliterator spliterator;
+        try {
+            spliterator = new FileBeanSpliterator(stream, file, charset, Locale.getDefault(), errorHandler);
+        }
+        catch (IllegalArgumentException ex) {
+            // the file cannot be split, so read it sequentially
+            return super.createStream(name, file, charset, errorHandler);
+        }
+        catch (IOException ex) {
+            throw new BeanReaderException("Failed to open file '" + file + "' for reading", ex);
+        }
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+    
     @Override
     public Unmarshaller createUnmarshaller(String name, Locale locale) {
         if (locale == null) {
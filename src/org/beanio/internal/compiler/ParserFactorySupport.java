@@ -50,9 +50,6 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
 
     private static final String CONSTRUCTOR_PREFIX = "#";
     
-    private static final boolean allowProtectedPropertyAccess = "true".equalsIgnoreCase(
-        Settings.getInstance().getProperty(Settings.ALLOW_PROTECTED_PROPERTY_ACCESS));
-    
     private static final Component unbound = new Component() {{ setName("unbound"); }};
     
     private Stream stream;
@@ -62,6 +59,8 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
     private TypeHandlerFactory typeHandlerFactory;
     private PropertyAccessorFactory accessorFactory;
     private ClassLoader classLoader;
+    private Settings settings;
+    private boolean allowProtectedPropertyAccess;
     
     private LinkedList<Component> parserStack = new LinkedList<>();
     private LinkedList<Component> propertyStack = new LinkedList<>();
@@ -78,10 +77,14 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
             throw new BeanIOConfigurationException("stream name not configured");
         }
         
+        // resolve the settings for this stream once, so they are not looked up while reading or writing
+        settings = Settings.getInstance(classLoader).override(config.getSettings());
+        allowProtectedPropertyAccess = settings.getBoolean(Settings.ALLOW_PROTECTED_PROPERTY_ACCESS);
+        
         // pre-process configuration settings to set defaults and validate as much as possible 
         createPreprocessor(config).process(config);
         
-        accessorFactory = new ReflectionAccessorFactory();
+        accessorFactory = createAccessorFactory();
         
         try {
         	process(config);
@@ -111,6 +114,32 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
         return new Preprocessor(config);
     }
     
+    /**
+     * Returns the BeanIO configuration settings for the stream being compiled, including
+     * any settings overridden by the stream configuration.
+     * @return the {@link Settings}
+     * @since 3.3.0
+     */
+    protected Settings getSettings() {
+        return settings;
+    }
+    
+    /**
+     * Creates the {@link PropertyAccessorFactory} used to access bean properties, as
+     * configured by the <code>org.beanio.propertyAccessorFactory</code> setting.  Bean
+     * classes with a mapping class generated by the BeanIO annotation processor are
+     * accessed using the generated functions instead.
+     * @return the new {@link PropertyAccessorFactory}
+     * @since 3.3.0
+     */
+    protected PropertyAccessorFactory createAccessorFactory() {
+        String method = settings.getProperty(Settings.PROPERTY_ACCESSOR_METHOD);
+        if ("lambda".equalsIgnoreCase(method)) {
+            return new GeneratedAccessorFactory(new LambdaAccessorFactory());
+        }
+        return new GeneratedAccessorFactory(new ReflectionAccessorFactory());
+    }
+    
     /**
      * Creates a format specific {@link StreamFormat}. 
      * @param config the stream configuration
@@ -333,7 +362,7 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
         ResourceBundleMessageFactory messageFactory = new ResourceBundleMessageFactory();
         
         // load the stream's default resource bundle
-        String bundleName = Settings.getInstance().getProperty(
+        String bundleName = settings.getProperty(
             "org.beanio." + config.getFormat() + ".messages");
         if (bundleName != null) {
             try {
@@ -796,6 +825,10 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
         field.setMinLength(config.getMinLength());
         field.setMaxLength(config.getMaxLength());
         field.setBound(config.isBound());
+        field.setErrorIfNullPrimitive(settings.getBoolean(Settings.ERROR_IF_NULL_PRIMITIVE));
+        field.setUseDefaultIfMissing(settings.getBoolean(Settings.USE_DEFAULT_IF_MISSING));
+        field.setValidateOnMarshal(settings.getBoolean(Settings.VALIDATE_ON_MARSHAL));
+        field.setMarshalDefault(settings.getBoolean(Settings.DEFAULT_MARSHALLING_ENABLED));
 
         try {
             field.setRegex(config.getRegex());
@@ -970,6 +1003,7 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
             aggregation.setMaxOccurs(config.getMaxOccurs());
         }
         aggregation.setLazy(config.isLazy());
+        aggregation.setLazyIfEmpty(settings.getBoolean(Settings.LAZY_IF_EMPTY));
         aggregation.setType(collectionType);
         return aggregation;
     }
@@ -1060,6 +1094,7 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
         aggregation.setName(config.getName());
         aggregation.setType(collectionType);
         aggregation.setLazy(config.isLazy());
+        aggregation.setLazyIfEmpty(settings.getBoolean(Settings.LAZY_IF_EMPTY));
         return aggregation;
     }
    
@@ -1532,6 +1567,7 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
             collection.setType(beanClass);
             collection.setRequired(required);
             collection.setMatchNull(matchNull);
+            collection.setCreateMissingBeans(settings.getBoolean(Settings.CREATE_MISSING_BEANS));
             property = collection;
         }
         else {
@@ -1542,8 +1578,10 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
             bean.setName(config.getName());
             bean.setType(beanClass);
             bean.setLazy(config.isLazy());
+            bean.setLazyIfEmpty(settings.getBoolean(Settings.LAZY_IF_EMPTY));
             bean.setRequired(required);
             bean.setMatchNull(matchNull);
+            bean.setCreateMissingBeans(settings.getBoolean(Settings.CREATE_MISSING_BEANS));
             property = bean;
         }
         
@@ -1704,7 +1742,7 @@ public abstract class ParserFactorySupport extends ProcessorSupport implements P
                 factory = (RecordParserFactory) object;
             }
             
-            BeanUtil.configure(factory, parserFactoryBean.getProperties());
+            BeanUtil.configure(factory, parserFactoryBean.getProperties(), settings);
         }
         
         try {
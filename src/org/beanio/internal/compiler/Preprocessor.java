@@ -31,10 +31,9 @@ import org.beanio.internal.util.Settings;
  */
 public class Preprocessor extends ProcessorSupport {
 
-    private static final Settings settings = Settings.getInstance();
-    private static final boolean SORT_XML_COMPONENTS = settings.getBoolean(Settings.SORT_XML_COMPONENTS_BY_POSITION);
-    
     protected StreamConfig stream;
+    // the settings for the stream, including settings overridden by the stream configuration
+    protected Settings settings;
     protected PropertyConfig propertyRoot;
     private boolean recordIgnored;
     
@@ -44,6 +43,7 @@ public class Preprocessor extends ProcessorSupport {
      */
     public Preprocessor(StreamConfig stream) {
         this.stream = stream;
+        this.settings = Settings.getInstance().override(stream.getSettings());
     }
     
     /**
@@ -74,7 +74,7 @@ public class Preprocessor extends ProcessorSupport {
         finalizeGroup(stream);
         
         boolean sorted = true;
-        if ("xml".equals(stream.getFormat()) && !SORT_XML_COMPONENTS) {
+        if ("xml".equals(stream.getFormat()) && !settings.getBoolean(Settings.SORT_XML_COMPONENTS_BY_POSITION)) {
             sorted = false;
         }
         
@@ -24,7 +24,7 @@ import org.beanio.internal.config.*;
 import org.beanio.internal.config.xml.XmlConfigurationLoader;
 import org.beanio.internal.parser.Stream;
 import org.beanio.internal.util.*;
-import org.beanio.types.TypeHandler;
+import org.beanio.types.*;
 
 /**
  * Compiles a mapping file read from an {@link InputStream} into a collection of 
@@ -56,8 +56,9 @@ public class StreamCompiler {
      * @since 2.0.5
      */
     public Stream build(StreamConfig config) throws BeanIOConfigurationException {
+        Settings settings = Settings.getInstance(classLoader).override(config.getSettings());
         TypeHandlerFactory typeHandlerFactory = createTypeHandlerFactory(
-            TypeHandlerFactory.getDefault(), config.getHandlerList());
+            TypeHandlerFactory.getDefault(settings), config.getHandlerList(), settings);
         
         ParserFactory factory = createParserFactory(config.getFormat());
         factory.setClassLoader(classLoader);
@@ -75,6 +76,63 @@ public class StreamCompiler {
      * @throws BeanIOConfigurationException if the mapping file is invalid
      */
     public Collection<Stream> loadMapping(InputStream in, Properties properties) throws IOException,
+        BeanIOConfigurationException {
+        return createStreamDefinitions(loadConfiguration(in, properties));
+    }
+    
+    /**
+     * Loads a mapping file and writes a snapshot of its configuration, which can be
+     * loaded using {@link #loadSnapshot(InputStream, InputStream, Properties)} while
+     * the mapping file and properties are unchanged.
+     * @param in the {@link InputStream} to load the mapping file from
+     * @param properties the {@link Properties}
+     * @param out the {@link OutputStream} to write the snapshot to
+     * @throws IOException if an I/O error occurs reading the mapping file or writing the snapshot
+     * @throws BeanIOConfigurationException if the mapping file is invalid
+     * @since 3.3.0
+     */
+    public void exportSnapshot(InputStream in, Properties properties, OutputStream out) throws IOException,
+        BeanIOConfigurationException {
+        byte[] mapping = IOUtil.toByteArray(in);
+        Collection<BeanIOConfig> configList = loadConfiguration(new ByteArrayInputStream(mapping), properties);
+        
+        // the snapshot must be taken before the configuration is modified by compiling it
+        MappingSnapshot snapshot = new MappingSnapshot(classLoader);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        snapshot.write(buffer, snapshot.fingerprint(mapping, properties), configList);
+        
+        createStreamDefinitions(configList);
+        buffer.writeTo(out);
+    }
+    
+    /**
+     * Loads a mapping file from a snapshot written by 
+     * {@link #exportSnapshot(InputStream, Properties, OutputStream)}.
+     * @param snapshot the {@link InputStream} to read the snapshot from
+     * @param in the {@link InputStream} to load the mapping file from, which is
+     *   only read to verify the snapshot
+     * @param properties the {@link Properties}
+     * @return the {@link Stream} parsers configured in the mapping file, or <code>null</code>
+     *   if the snapshot does not match the mapping file and properties
+     * @throws IOException if an I/O error occurs reading the snapshot or the mapping file
+     * @throws BeanIOConfigurationException if the mapping file is invalid
+     * @since 3.3.0
+     */
+    public Collection<Stream> loadSnapshot(InputStream snapshot, InputStream in, Properties properties)
+        throws IOException, BeanIOConfigurationException {
+        MappingSnapshot reader = new MappingSnapshot(classLoader);
+        Collection<BeanIOConfig> configList = reader.read(snapshot, 
+            reader.fingerprint(IOUtil.toByteArray(in), properties));
+        if (configList == null) {
+            return null;
+        }
+        return createStreamDefinitions(configList);
+    }
+    
+    /*
+     * Loads the configurations from a mapping file and checks for duplicate stream names.
+     */
+    private Collection<BeanIOConfig> loadConfiguration(InputStream in, Properties properties) throws IOException,
         BeanIOConfigurationException {
         ConfigurationLoader loader = configurationLoader;
         if (loader == null) {
@@ -96,10 +154,18 @@ public class StreamCompiler {
                 }
             }
         }
-        set = null;
-        
-        // create the stream definitions
-        if (configList.size() == 1) {
+        return configList;
+    }
+    
+    /*
+     * Creates the stream definitions for the configurations loaded from a mapping file.
+     */
+    private Collection<Stream> createStreamDefinitions(Collection<BeanIOConfig> configList)
+        throws BeanIOConfigurationException {
+        if (configList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        else if (configList.size() == 1) {
             return createStreamDefinitions(configList.iterator().next());
         }
         else {
@@ -131,15 +197,25 @@ public class StreamCompiler {
             throw new BeanIOConfigurationException("null configuration");
         }
         
+        Settings defaults = Settings.getInstance(classLoader);
         TypeHandlerFactory parent = createTypeHandlerFactory(TypeHandlerFactory.getDefault(), 
-            config.getTypeHandlerList());
+            config.getTypeHandlerList(), defaults);
         
         Collection<StreamConfig> streamConfigList = config.getStreamList();
         Collection<Stream> streamDefinitionList = new ArrayList<>(streamConfigList.size());
         
         for (StreamConfig streamConfig : streamConfigList) {
             
-            TypeHandlerFactory typeHandlerFactory = createTypeHandlerFactory(parent, streamConfig.getHandlerList());
+            // global type handlers are created again if the stream overrides any settings
+            Settings settings = defaults.override(streamConfig.getSettings());
+            TypeHandlerFactory streamParent = parent;
+            if (settings != defaults) {
+                streamParent = createTypeHandlerFactory(TypeHandlerFactory.getDefault(settings), 
+                    config.getTypeHandlerList(), settings);
+            }
+            
+            TypeHandlerFactory typeHandlerFactory = createTypeHandlerFactory(streamParent, 
+                streamConfig.getHandlerList(), settings);
             
             ParserFactory factory = createParserFactory(streamConfig.getFormat());
             factory.setClassLoader(classLoader);
@@ -188,10 +264,12 @@ public class StreamCompiler {
      * Creates a type handler factory for a list of configured type handlers. 
      * @param parent the parent {@link TypeHandlerFactory}
      * @param configList the list of type handler configurations
+     * @param settings the {@link Settings} of the stream
      * @return the new {@link TypeHandlerFactory}, or <code>parent</code> if the configuration list was empty
      * @since 2.0
      */
-    private TypeHandlerFactory createTypeHandlerFactory(TypeHandlerFactory parent, List<TypeHandlerConfig> configList) {
+    private TypeHandlerFactory createTypeHandlerFactory(TypeHandlerFactory parent, List<TypeHandlerConfig> configList,
+        Settings settings) {
         if (configList == null || configList.isEmpty()) {
             return parent;
         }
@@ -209,7 +287,11 @@ public class StreamCompiler {
             if (h == null) {
                 Object bean;
                 try {
-                    bean = BeanUtil.createBean(classLoader, hc.getClassName(), hc.getProperties());
+                    bean = BeanUtil.createBean(classLoader, hc.getClassName());
+                    if (bean instanceof LocaleSupport && settings != Settings.getInstance(classLoader)) {
+                        ((LocaleSupport) bean).setLocale(LocaleUtil.getDefaultLocale(settings).toString());
+                    }
+                    BeanUtil.configure(bean, hc.getProperties(), settings);
                 }
                 catch (BeanIOConfigurationException ex) {
                     if (hc.getName() != null) {
@@ -0,0 +1,101 @@
+package org.beanio.internal.compiler.accessor;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.*;
+import java.util.function.*;
+
+import org.beanio.internal.compiler.PropertyAccessorFactory;
+import org.beanio.internal.config.annotation.GeneratedMapping;
+import org.beanio.internal.parser.PropertyAccessor;
+import org.beanio.internal.parser.accessor.LambdaAccessor;
+
+/**
+ * {@link PropertyAccessorFactory} implementation that accesses bean properties using the
+ * functions of a {@link GeneratedMapping}, if the BeanIO annotation processor generated
+ * one for the bean class.  Otherwise, and for methods or fields the mapping class cannot
+ * access, accessors are created by another factory.
+ * 
+ * @since 3.3.0
+ */
+public class GeneratedAccessorFactory implements PropertyAccessorFactory {
+
+    private PropertyAccessorFactory factory;
+    
+    /**
+     * Constructs a new <code>GeneratedAccessorFactory</code>.
+     * @param factory the {@link PropertyAccessorFactory} to use when a generated
+     *   accessor is not available
+     */
+    public GeneratedAccessorFactory(PropertyAccessorFactory factory) {
+        this.factory = factory;
+    }
+    
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.compiler.PropertyAccessorFactory#getPropertyAccessor(java.lang.Class, java.beans.PropertyDescriptor, int)
+     */
+    @Override
+    public PropertyAccessor getPropertyAccessor(
+        Class<?> parent, PropertyDescriptor descriptor, int carg) {
+        
+        GeneratedMapping mapping = GeneratedMapping.forClass(parent);
+        if (mapping != null) {
+            Method getter = descriptor.getReadMethod();
+            Method setter = descriptor.getWriteMethod();
+            
+            Function<Object, Object> getterFunction = null;
+            BiConsumer<Object, Object> setterFunction = null;
+            if (getter != null) {
+                getterFunction = mapping.getGetter(getter.getName());
+            }
+            if (setter != null) {
+                setterFunction = mapping.getSetter(setter.getName());
+            }
+            
+            if ((getter == null || getterFunction != null) && (setter == null || setterFunction != null)) {
+                LambdaAccessor accessor = new LambdaAccessor(descriptor.getName(),
+                    getter != null ? getter.getName() : null, getterFunction,
+                    setter != null ? setter.getName() : null, setterFunction, carg);
+                if (setter != null) {
+                    setPrimitiveSetter(accessor, mapping.getPrimitiveSetter(setter.getName()));
+                }
+                return accessor;
+            }
+        }
+        return factory.getPropertyAccessor(parent, descriptor, carg);
+    }
+    
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.compiler.PropertyAccessorFactory#getPropertyAccessor(java.lang.Class, java.lang.reflect.Field, int)
+     */
+    @Override
+    public PropertyAccessor getPropertyAccessor(
+        Class<?> parent, Field field, int carg) {
+        
+        GeneratedMapping mapping = GeneratedMapping.forClass(parent);
+        if (mapping != null) {
+            Function<Object, Object> getter = mapping.getFieldGetter(field.getName());
+            BiConsumer<Object, Object> setter = mapping.getFieldSetter(field.getName());
+            if (getter != null && (setter != null || Modifier.isFinal(field.getModifiers()))) {
+                LambdaAccessor accessor = new LambdaAccessor(field.getName(), getter, setter, carg);
+                setPrimitiveSetter(accessor, mapping.getPrimitiveFieldSetter(field.getName()));
+                return accessor;
+            }
+        }
+        return factory.getPropertyAccessor(parent, field, carg);
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void setPrimitiveSetter(LambdaAccessor accessor, Object function) {
+        if (function instanceof ObjIntConsumer) {
+            accessor.setIntSetter((ObjIntConsumer<Object>) function);
+        }
+        else if (function instanceof ObjLongConsumer) {
+            accessor.setLongSetter((ObjLongConsumer<Object>) function);
+        }
+        else if (function instanceof ObjDoubleConsumer) {
+            accessor.setDoubleSetter((ObjDoubleConsumer<Object>) function);
+        }
+    }
+}
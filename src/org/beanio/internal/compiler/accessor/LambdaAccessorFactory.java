@@ -0,0 +1,248 @@
+package org.beanio.internal.compiler.accessor;
+
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.function.*;
+
+import org.beanio.internal.compiler.PropertyAccessorFactory;
+import org.beanio.internal.parser.PropertyAccessor;
+import org.beanio.internal.parser.accessor.*;
+
+/**
+ * {@link PropertyAccessorFactory} implementation that generates a class for each getter
+ * and setter method using {@link LambdaMetafactory}, so that bean properties are accessed
+ * without reflection or boxing arguments into arrays.  Enabled by setting
+ * <code>org.beanio.propertyAccessorFactory</code> to <code>lambda</code>.
+ * <p>
+ * Generated classes are defined by the class loader that loaded BeanIO, so a bean class 
+ * must be public and visible to that class loader.  Otherwise, and for public fields,
+ * the property is accessed using a {@link MethodHandleAccessor}.  If a method handle
+ * cannot be created either, this factory falls back to reflection.
+ * 
+ * @since 3.3.0
+ */
+public class LambdaAccessorFactory extends ReflectionAccessorFactory {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    
+    private static final MethodType GETTER_FACTORY = MethodType.methodType(Function.class);
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_FACTORY = MethodType.methodType(BiConsumer.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.compiler.accessor.ReflectionAccessorFactory#getPropertyAccessor(java.lang.Class, java.beans.PropertyDescriptor, int)
+     */
+    @Override
+    public PropertyAccessor getPropertyAccessor(
+        Class<?> parent, PropertyDescriptor descriptor, int carg) {
+        
+        Method getter = descriptor.getReadMethod();
+        Method setter = descriptor.getWriteMethod();
+        String getterName = getter != null ? getter.getName() : null;
+        String setterName = setter != null ? setter.getName() : null;
+        
+        MethodHandle getterHandle = null;
+        MethodHandle setterHandle = null;
+        try {
+            if (getter != null) {
+                getterHandle = lookup.unreflect(getter);
+            }
+            if (setter != null) {
+                setterHandle = lookup.unreflect(setter);
+            }
+        }
+        catch (IllegalAccessException ex) {
+            return super.getPropertyAccessor(parent, descriptor, carg);
+        }
+        
+        if (isLinkable(getter) && isLinkable(setter)) {
+            try {
+                LambdaAccessor accessor = new LambdaAccessor(descriptor.getName(),
+                    getterName, createGetter(getter, getterHandle),
+                    setterName, createSetter(setter, setterHandle), carg);
+                if (setter != null) {
+                    setPrimitiveSetter(accessor, setter, setterHandle);
+                }
+                return accessor;
+            }
+            catch (LambdaConversionException ex) {
+                // fall back to the method handles
+            }
+        }
+        
+        return new MethodHandleAccessor(descriptor.getName(), 
+            getterName, getterHandle, setterName, setterHandle, carg);
+    }
+    
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.compiler.accessor.ReflectionAccessorFactory#getPropertyAccessor(java.lang.Class, java.lang.reflect.Field, int)
+     */
+    @Override
+    public PropertyAccessor getPropertyAccessor(
+        Class<?> parent, Field field, int carg) {
+        
+        try {
+            return new MethodHandleAccessor(field.getName(), 
+                lookup.unreflectGetter(field), lookup.unreflectSetter(field), carg);
+        }
+        catch (IllegalAccessException ex) {
+            return super.getPropertyAccessor(parent, field, carg);
+        }
+    }
+    
+    /**
+     * Generates a function that invokes a getter method.
+     * @param getter the getter method, or null
+     * @param handle the getter method handle, or null
+     * @return the new function, or null if <code>getter</code> is null
+     * @throws LambdaConversionException if the function could not be generated
+     */
+    @SuppressWarnings("unchecked")
+    private Function<Object, Object> createGetter(Method getter, MethodHandle handle) 
+        throws LambdaConversionException {
+        
+        if (getter == null) {
+            return null;
+        }
+        
+        MethodType instantiatedType = MethodType.methodType(
+            Object.class, getter.getDeclaringClass());
+        
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", GETTER_FACTORY, 
+            GETTER_TYPE, handle, instantiatedType);
+        try {
+            return (Function<Object, Object>) site.getTarget().invokeExact();
+        }
+        catch (Throwable t) {
+            throw new LambdaConversionException(t);
+        }
+    }
+    
+    /**
+     * Generates a function that invokes a setter method.
+     * @param setter the setter method, or null
+     * @param handle the setter method handle, or null
+     * @return the new function, or null if <code>setter</code> is null
+     * @throws LambdaConversionException if the function could not be generated
+     */
+    @SuppressWarnings("unchecked")
+    private BiConsumer<Object, Object> createSetter(Method setter, MethodHandle handle) 
+        throws LambdaConversionException {
+        
+        if (setter == null) {
+            return null;
+        }
+        
+        // primitive arguments are unboxed from their wrapper type
+        Class<?> argumentType = MethodType.methodType(setter.getParameterTypes()[0]).wrap().returnType();
+        MethodType instantiatedType = MethodType.methodType(
+            void.class, setter.getDeclaringClass(), argumentType);
+        
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept", SETTER_FACTORY, 
+            SETTER_TYPE, handle, instantiatedType);
+        try {
+            return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+        }
+        catch (Throwable t) {
+            throw new LambdaConversionException(t);
+        }
+    }
+    
+    /**
+     * Generates a function that invokes a setter method with a primitive <code>int</code>,
+     * <code>long</code> or <code>double</code> argument without boxing it.
+     * @param accessor the {@link LambdaAccessor} to set the function on
+     * @param setter the setter method
+     * @param handle the setter method handle
+     * @throws LambdaConversionException if the function could not be generated
+     */
+    @SuppressWarnings("unchecked")
+    private void setPrimitiveSetter(LambdaAccessor accessor, Method setter, MethodHandle handle) 
+        throws LambdaConversionException {
+        
+        Class<?> argumentType = setter.getParameterTypes()[0];
+        Class<?> functionType;
+        if (argumentType == int.class) {
+            functionType = ObjIntConsumer.class;
+        }
+        else if (argumentType == long.class) {
+            functionType = ObjLongConsumer.class;
+        }
+        else if (argumentType == double.class) {
+            functionType = ObjDoubleConsumer.class;
+        }
+        else {
+            return;
+        }
+        
+        CallSite site = LambdaMetafactory.metafactory(lookup, "accept", 
+            MethodType.methodType(functionType), 
+            MethodType.methodType(void.class, Object.class, argumentType), handle, 
+            MethodType.methodType(void.class, setter.getDeclaringClass(), argumentType));
+        
+        Object function;
+        try {
+            function = site.getTarget().invoke();
+        }
+        catch (Throwable t) {
+            throw new LambdaConversionException(t);
+        }
+        
+        if (argumentType == int.class) {
+            accessor.setIntSetter((ObjIntConsumer<Object>) function);
+        }
+        else if (argumentType == long.class) {
+            accessor.setLongSetter((ObjLongConsumer<Object>) function);
+        }
+        else {
+            accessor.setDoubleSetter((ObjDoubleConsumer<Object>) function);
+        }
+    }
+    
+    /**
+     * Returns whether a class generated for this factory can invoke a method directly,
+     * which requires the types referenced by its signature to be public and visible to 
+     * the class loader that loaded BeanIO.
+     * @param method the method to test, may be null
+     * @return true if the method can be invoked by a generated class
+     */
+    private static boolean isLinkable(Method method) {
+        if (method == null) {
+            return true;
+        }
+        if (Modifier.isStatic(method.getModifiers()) || !isVisible(method.getDeclaringClass()) ||
+            !isVisible(method.getReturnType())) {
+            return false;
+        }
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    private static boolean isVisible(Class<?> type) {
+        while (type.isArray()) {
+            type = type.getComponentType();
+        }
+        if (type.isPrimitive()) {
+            return true;
+        }
+        for (Class<?> c = type; c != null; c = c.getEnclosingClass()) {
+            if (!Modifier.isPublic(c.getModifiers())) {
+                return false;
+            }
+        }
+        try {
+            return Class.forName(type.getName(), false, LambdaAccessorFactory.class.getClassLoader()) == type;
+        }
+        catch (ClassNotFoundException ex) {
+            return false;
+        }
+    }
+}
@@ -15,12 +15,16 @@
  */
 package org.beanio.internal.compiler.fixedlength;
 
+import java.nio.charset.Charset;
+
+import org.beanio.BeanIOConfigurationException;
 import org.beanio.internal.compiler.*;
 import org.beanio.internal.compiler.flat.FlatParserFactory;
 import org.beanio.internal.config.*;
 import org.beanio.internal.parser.*;
 import org.beanio.internal.parser.format.FieldPadding;
 import org.beanio.internal.parser.format.fixedlength.*;
+import org.beanio.internal.util.Settings;
 import org.beanio.stream.*;
 import org.beanio.stream.fixedlength.*;
 
@@ -32,6 +36,8 @@ import org.beanio.stream.fixedlength.*;
  */
 public class FixedLengthParserFactory extends FlatParserFactory {
 
+    private FixedLengthTextLengthCounter textLengthCounter;
+
     @Override
     protected Preprocessor createPreprocessor(StreamConfig config) {
         return new FixedLengthPreprocessor(config);
@@ -42,6 +48,7 @@ public class FixedLengthParserFactory extends FlatParserFactory {
         FixedLengthStreamFormat format = new FixedLengthStreamFormat();
         format.setName(config.getName());
         format.setRecordParserFactory(createRecordParserFactory(config));
+        format.setTextLengthCounter(getTextLengthCounter());
         return format;
     }
 
@@ -72,8 +79,9 @@ public class FixedLengthParserFactory extends FlatParserFactory {
         format.setLazy(config.getMinOccurs().equals(0));
         format.setKeepPadding(config.isKeepPadding());
         format.setLenientPadding(config.isLenientPadding());
+        format.setTextLengthCounter(getTextLengthCounter());
         
-        FieldPadding padding = new FixedLengthFieldPadding();
+        FieldPadding padding = new FixedLengthFieldPadding(getTextLengthCounter());
         padding.setLength(config.getLength());
         padding.setFiller(config.getPadding());
         padding.setJustify(FieldConfig.RIGHT.equals(config.getJustify()) ? FieldPadding.RIGHT : FieldPadding.LEFT);
@@ -85,6 +93,38 @@ public class FixedLengthParserFactory extends FlatParserFactory {
         return format;
     }
 
+    /**
+     * Returns the counter used to count the length of record and field text, which
+     * is created from the <code>org.beanio.fixedlength.countMode</code> and 
+     * <code>org.beanio.fixedlength.charset</code> settings the first time it is called.
+     * @return the {@link FixedLengthTextLengthCounter}
+     * @throws BeanIOConfigurationException if a setting is invalid
+     * @since 3.3.0
+     */
+    protected FixedLengthTextLengthCounter getTextLengthCounter() throws BeanIOConfigurationException {
+        if (textLengthCounter == null) {
+            Settings settings = getSettings();
+            String mode = settings.getProperty(Settings.FIXED_LENGTH_COUNT_MODE);
+            if (mode == null || "chars".equals(mode)) {
+                textLengthCounter = FixedLengthTextLengthCounter.CHARS;
+            }
+            else if ("bytes".equals(mode)) {
+                String charset = settings.getProperty(Settings.FIXED_LENGTH_CHARSET);
+                try {
+                    textLengthCounter = new FixedLengthTextLengthCounter(Charset.forName(charset));
+                }
+                catch (IllegalArgumentException ex) {
+                    throw new BeanIOConfigurationException("Unsupported charset '" + charset + 
+                        "' for countMode", ex);
+                }
+            }
+            else {
+                throw new BeanIOConfigurationException("Unsupported value: " + mode + " for countMode");
+            }
+        }
+        return textLengthCounter;
+    }
+
     @Override
     protected RecordParserFactory getDefaultRecordParserFactory() {
         return new FixedLengthRecordParserFactory();
@@ -21,7 +21,8 @@ import org.beanio.internal.compiler.*;
 import org.beanio.internal.config.*;
 import org.beanio.internal.parser.*;
 import org.beanio.internal.parser.Record;
-import org.beanio.internal.parser.format.flat.FlatFieldFormat;
+import org.beanio.internal.parser.format.flat.*;
+import org.beanio.internal.util.Settings;
 
 /**
  * Base class for flat file format parser factories including CSV, delimited and fixed
@@ -37,10 +38,82 @@ public abstract class FlatParserFactory extends ParserFactorySupport {
         return new FlatPreprocessor(config);
     }
     
+    @Override
+    protected void finalizeGroup(GroupConfig config, Group group) {
+        super.finalizeGroup(config, group);
+        
+        createDispatchTable(group);
+    }
+    
+    /**
+     * Creates a dispatch table for a group if every child is a record identified by
+     * a literal field at the same position, so that a record is matched by extracting
+     * a single field instead of testing each child.
+     * @param group the {@link Group} to create a dispatch table for
+     */
+    private void createDispatchTable(Group group) {
+        List<Component> children = group.getChildren();
+        if (children.size() < 2) {
+            return;
+        }
+        
+        Field key = null;
+        Map<String, List<Selector>> map = new HashMap<>();
+        for (Component child : children) {
+            Field field = findDispatchField(child);
+            if (field == null) {
+                return;
+            }
+            if (key == null) {
+                key = field;
+            }
+            else if (!((FlatFieldFormatSupport)key.getFormat()).isEquivalent(field.getFormat())) {
+                return;
+            }
+            map.computeIfAbsent(field.getLiteral(), k -> new ArrayList<>()).add((Selector) child);
+        }
+        
+        Map<String, Selector[]> table = new HashMap<>();
+        for (Map.Entry<String, List<Selector>> entry : map.entrySet()) {
+            table.put(entry.getKey(), entry.getValue().toArray(new Selector[0]));
+        }
+        group.setDispatchTable(key, table);
+    }
+    
+    /**
+     * Returns the first field of a record identified by a literal value.
+     * @param child the group child, which may be a {@link Record} or record aggregation
+     * @return the identifying {@link Field}, or null if not found
+     */
+    private Field findDispatchField(Component child) {
+        if (child instanceof RecordAggregation) {
+            child = child.getFirst();
+        }
+        if (!(child instanceof Record) || !((Record)child).isIdentifier()) {
+            return null;
+        }
+        
+        for (Component node : child.getChildren()) {
+            if (node instanceof Field) {
+                Field field = (Field) node;
+                if (field.isIdentifier() && field.getLiteral() != null && field.getRegex() == null &&
+                    field.getFormat() instanceof FlatFieldFormatSupport) {
+                    return field;
+                }
+            }
+        }
+        return null;
+    }
+    
     @Override
     protected void finalizeRecord(RecordConfig config, Record record) {
         super.finalizeRecord(config, record);
         
+        // records bound to a map aggregation keep their fields for reading the key
+        if (getSettings().getBoolean(Settings.COMPILE_FLAT_RECORDS) && config.getKey() == null) {
+            record.compile();
+        }
+        
         // sort nodes according to their position in the record
         //record.sort(new NodeComparator());
     }
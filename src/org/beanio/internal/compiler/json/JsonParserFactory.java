@@ -15,6 +15,8 @@
  */
 package org.beanio.internal.compiler.json;
 
+import java.util.*;
+
 import org.beanio.BeanIOConfigurationException;
 import org.beanio.internal.compiler.*;
 import org.beanio.internal.config.*;
@@ -33,6 +35,8 @@ public class JsonParserFactory extends ParserFactorySupport {
 
     // depth starts at one to accomodate the root JSON object
     private int maxDepth = 1;
+    // the names of all JSON members in the layout
+    private Set<String> jsonNames = new HashSet<>();
 
     @Override
     protected Preprocessor createPreprocessor(StreamConfig config) {
@@ -43,6 +47,7 @@ public class JsonParserFactory extends ParserFactorySupport {
     public Stream createStream(StreamConfig config) throws BeanIOConfigurationException {
         Stream stream =  super.createStream(config);
         ((JsonStreamFormat)stream.getFormat()).setMaxDepth(maxDepth);
+        ((JsonStreamFormat)stream.getFormat()).setJsonNames(jsonNames);
         return stream;
     }
 
@@ -53,6 +58,7 @@ public class JsonParserFactory extends ParserFactorySupport {
         wrapper.setJsonName(config.getJsonName());
         wrapper.setJsonType(JsonNode.ARRAY);
         wrapper.setJsonArrayIndex(config.getJsonArrayIndex());
+        jsonNames.add(config.getJsonName());
         wrapper.setNillable(true);
         wrapper.setOptional(config.getMinOccurs().equals(0));
         pushParser(wrapper);
@@ -75,6 +81,7 @@ public class JsonParserFactory extends ParserFactorySupport {
             wrapper.setJsonName(config.getJsonName());
             wrapper.setJsonType(convertJsonType(config.getJsonType()));
             wrapper.setJsonArrayIndex(config.getJsonArrayIndex());
+            jsonNames.add(config.getJsonName());
             wrapper.setNillable(true);
             wrapper.setOptional(config.getMinOccurs().equals(0));
             pushParser(wrapper);
@@ -142,6 +149,7 @@ public class JsonParserFactory extends ParserFactorySupport {
         format.setJsonName(config.getJsonName());
         format.setJsonArray(config.isJsonArray());
         format.setJsonArrayIndex(config.getJsonArrayIndex());
+        jsonNames.add(config.getJsonName());
         format.setLazy(config.getMinOccurs() != null && Integer.valueOf(0).equals(config.getMinOccurs()));
         format.setNillable(true); // for now, allow any JSON field to be nullable
         
@@ -15,6 +15,8 @@
  */
 package org.beanio.internal.compiler.xml;
 
+import java.util.Map;
+
 import org.beanio.BeanIOConfigurationException;
 import org.beanio.internal.compiler.*;
 import org.beanio.internal.config.*;
@@ -22,8 +24,9 @@ import org.beanio.internal.parser.*;
 import org.beanio.internal.parser.Record;
 import org.beanio.internal.parser.format.FieldPadding;
 import org.beanio.internal.parser.format.xml.*;
+import org.beanio.internal.util.Settings;
 import org.beanio.stream.RecordParserFactory;
-import org.beanio.stream.xml.XmlRecordParserFactory;
+import org.beanio.stream.xml.*;
 
 /**
  * A {@link ParserFactory} for the XML stream format.
@@ -228,4 +231,23 @@ public class XmlParserFactory extends ParserFactorySupport {
     protected RecordParserFactory getDefaultRecordParserFactory() {
         return new XmlRecordParserFactory();
     }
+    
+    @Override
+    protected RecordParserFactory createRecordParserFactory(StreamConfig config) {
+        RecordParserFactory factory = super.createRecordParserFactory(config);
+        
+        // settings overridden for this stream replace the global defaults of the XML writer
+        if (factory instanceof XmlParserConfiguration) {
+            XmlParserConfiguration xml = (XmlParserConfiguration) factory;
+            Map<String, String> overrides = config.getSettings();
+            if (overrides.containsKey(Settings.DEFAULT_XSI_NAMESPACE_PREFIX)) {
+                xml.setXsiNamespacePrefix(getSettings().getProperty(Settings.DEFAULT_XSI_NAMESPACE_PREFIX));
+            }
+            if (overrides.containsKey(Settings.XML_WRITER_UPDATE_STATE_USING_DELTA)) {
+                xml.setDeltaEnabled("true".equals(getSettings().getProperty(
+                    Settings.XML_WRITER_UPDATE_STATE_USING_DELTA)));
+            }
+        }
+        return factory;
+    }
 }
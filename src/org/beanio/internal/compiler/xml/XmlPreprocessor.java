@@ -139,7 +139,7 @@ public class XmlPreprocessor extends Preprocessor {
         
         String type = field.getXmlType();
         if (type == null) {
-            type = Settings.getInstance().getProperty(Settings.DEFAULT_XML_TYPE);
+            type = settings.getProperty(Settings.DEFAULT_XML_TYPE);
             field.setXmlType(type);
         }
         if (!XmlTypeConstants.XML_TYPE_NONE.equals(type) &&
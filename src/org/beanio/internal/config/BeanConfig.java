@@ -15,6 +15,7 @@
  */
 package org.beanio.internal.config;
 
+import java.io.Serializable;
 import java.util.Properties;
 
 /**
@@ -25,7 +26,9 @@ import java.util.Properties;
  * @author Kevin Seim
  * @since 1.0
  */
-public class BeanConfig<T> {
+public class BeanConfig<T> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String className;
     private Properties properties;
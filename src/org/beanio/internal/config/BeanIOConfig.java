@@ -15,6 +15,7 @@
  */
 package org.beanio.internal.config;
 
+import java.io.Serializable;
 import java.util.*;
 
 /**
@@ -23,7 +24,9 @@ import java.util.*;
  * @author Kevin Seim
  * @since 1.0
  */
-public class BeanIOConfig implements Cloneable {
+public class BeanIOConfig implements Cloneable, Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private String source;
     private List<StreamConfig> streamList = new ArrayList<>();
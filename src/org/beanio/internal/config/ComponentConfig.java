@@ -15,6 +15,9 @@
  */
 package org.beanio.internal.config;
 
+import java.io.*;
+import java.util.*;
+
 import org.beanio.internal.util.TreeNode;
 
 /**
@@ -38,7 +41,9 @@ import org.beanio.internal.util.TreeNode;
  * @author Kevin Seim
  * @since 2.0
  */
-public abstract class ComponentConfig extends TreeNode<ComponentConfig> {
+public abstract class ComponentConfig extends TreeNode<ComponentConfig> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     /** Group component type */
     public static final char GROUP = 'G';
@@ -152,4 +157,23 @@ public abstract class ComponentConfig extends TreeNode<ComponentConfig> {
     public void setXmlNamespaceAware(boolean xmlNamespaceAware) {
         this.xmlNamespaceAware = xmlNamespaceAware;
     }
+    
+    /*
+     * Writes the name and children of this node, which are not serialized
+     * with the fields of this class.
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(getName());
+        out.writeObject(new ArrayList<>(getChildren()));
+    }
+    
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        setName((String) in.readObject());
+        for (ComponentConfig child : (List<ComponentConfig>) in.readObject()) {
+            add(child);
+        }
+    }
 }
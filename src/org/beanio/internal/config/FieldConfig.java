@@ -31,6 +31,8 @@ package org.beanio.internal.config;
  */
 public class FieldConfig extends SimplePropertyConfig {
 
+    private static final long serialVersionUID = 1L;
+
     /** Left justification setting */
     public static final String LEFT = "left";
     /** Right justification setting */
@@ -28,6 +28,8 @@ package org.beanio.internal.config;
  */
 public class GroupConfig extends PropertyConfig implements SelectorConfig {
 
+    private static final long serialVersionUID = 1L;
+
     private Integer order;
     private String key;
     private String target;
@@ -0,0 +1,237 @@
+package org.beanio.internal.config;
+
+import java.io.*;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.util.*;
+
+import org.beanio.BeanIOException;
+import org.beanio.internal.util.IOUtil;
+
+/**
+ * Reads and writes a serialized snapshot of the {@link BeanIOConfig} objects loaded
+ * from a mapping file, so that the mapping file does not need to be parsed, validated
+ * and expanded again.
+ *
+ * <p>A snapshot includes a fingerprint of the mapping file, the user properties used
+ * for property substitution, and each imported mapping file.  A snapshot is only read
+ * if its fingerprint still matches.  Annotated classes referenced by the mapping are
+ * not included in the fingerprint, so a snapshot must be exported again when they change.
+ *
+ * <p>A snapshot is read using Java serialization, and should only be read from a
+ * trusted source.  Only configuration classes, and the value and collection classes
+ * they hold, are deserialized.  A snapshot that contains any other class is rejected.
+ *
+ * @since 3.3.0
+ */
+public class MappingSnapshot {
+
+    private static final String HEADER = "BeanIO mapping snapshot";
+    private static final int VERSION = 1;
+    private static final String ALGORITHM = "SHA-256";
+    
+    /* The classes outside of this package that may be read from a snapshot */
+    private static final Set<String> ALLOWED_CLASSES = new HashSet<>(Arrays.asList(
+        "[B",
+        Boolean.class.getName(),
+        Character.class.getName(),
+        Integer.class.getName(),
+        Long.class.getName(),
+        Number.class.getName(),
+        ArrayList.class.getName(),
+        LinkedList.class.getName(),
+        HashMap.class.getName(),
+        LinkedHashMap.class.getName(),
+        Hashtable.class.getName(),
+        Properties.class.getName()));
+
+    private ClassLoader classLoader;
+
+    /**
+     * Constructs a new <code>MappingSnapshot</code>.
+     * @param classLoader the {@link ClassLoader} for loading imported resources
+     *   and deserializing configured classes
+     */
+    public MappingSnapshot(ClassLoader classLoader) {
+        this.classLoader = classLoader;
+    }
+
+    /**
+     * Returns the fingerprint of a mapping file.
+     * @param mapping the mapping file content
+     * @param properties the user {@link Properties} used for property substitution,
+     *   or <code>null</code> if not set
+     * @return the fingerprint
+     */
+    public byte[] fingerprint(byte[] mapping, Properties properties) {
+        MessageDigest digest = newDigest();
+        digest.update(mapping);
+        if (properties != null) {
+            for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+                update(digest, key);
+                update(digest, properties.getProperty(key));
+            }
+        }
+        return digest.digest();
+    }
+
+    /**
+     * Writes a snapshot.
+     * @param out the {@link OutputStream} to write to
+     * @param fingerprint the fingerprint of the mapping file
+     * @param configList the configurations loaded from the mapping file, which
+     *   must not have been compiled yet
+     * @throws IOException if an I/O error occurs
+     */
+    public void write(OutputStream out, byte[] fingerprint, Collection<BeanIOConfig> configList)
+        throws IOException {
+
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeUTF(HEADER);
+        oos.writeInt(VERSION);
+        oos.writeObject(fingerprint);
+
+        // imported mapping files are identified by their source
+        for (BeanIOConfig config : configList) {
+            String source = config.getSource();
+            if (source != null) {
+                byte[] content = readImport(source);
+                if (content == null) {
+                    throw new BeanIOException("Imported mapping file '" + source + "' not found");
+                }
+                oos.writeObject(source);
+                oos.writeObject(newDigest().digest(content));
+            }
+        }
+        oos.writeObject(null);
+
+        oos.writeObject(new ArrayList<>(configList));
+        oos.flush();
+    }
+
+    /**
+     * Reads a snapshot.
+     * @param in the {@link InputStream} to read from
+     * @param fingerprint the fingerprint of the mapping file
+     * @return the configurations loaded from the mapping file, or <code>null</code>
+     *   if the snapshot does not match the mapping file or the BeanIO version
+     * @throws IOException if an I/O error occurs
+     * @throws BeanIOException if the snapshot contains a class that is not allowed
+     */
+    @SuppressWarnings("unchecked")
+    public Collection<BeanIOConfig> read(InputStream in, byte[] fingerprint) throws IOException {
+        try {
+            ObjectInputStream ois = new SnapshotInputStream(in);
+            if (!HEADER.equals(ois.readUTF()) ||
+                ois.readInt() != VERSION ||
+                !Arrays.equals(fingerprint, (byte[]) ois.readObject())) {
+                return null;
+            }
+
+            String source;
+            while ((source = (String) ois.readObject()) != null) {
+                byte[] expected = (byte[]) ois.readObject();
+                byte[] content = readImport(source);
+                if (content == null || !Arrays.equals(expected, newDigest().digest(content))) {
+                    return null;
+                }
+            }
+
+            return (List<BeanIOConfig>) ois.readObject();
+        }
+        catch (EOFException | ObjectStreamException | ClassNotFoundException | ClassCastException ex) {
+            // the snapshot is incomplete or was written by a different version of BeanIO
+            return null;
+        }
+    }
+
+    /*
+     * Reads an imported mapping file, using the same resource names as the
+     * mapping file 'import' element.
+     */
+    private byte[] readImport(String source) throws IOException {
+        URL url = null;
+        if (source.startsWith("classpath:")) {
+            url = IOUtil.getResource(classLoader, source.substring("classpath:".length()).trim());
+        }
+        else if (source.startsWith("file:")) {
+            File file = new File(source.substring("file:".length()).trim());
+            if (file.canRead()) {
+                url = file.toURI().toURL();
+            }
+        }
+        if (url == null) {
+            return null;
+        }
+
+        InputStream in = url.openStream();
+        try {
+            return IOUtil.toByteArray(in);
+        }
+        finally {
+            IOUtil.closeQuietly(in);
+        }
+    }
+
+    private static void update(MessageDigest digest, String text) {
+        byte[] b = text.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) (b.length >>> 24));
+        digest.update((byte) (b.length >>> 16));
+        digest.update((byte) (b.length >>> 8));
+        digest.update((byte) b.length);
+        digest.update(b);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        }
+        catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Returns whether a class may be read from a snapshot.
+     * @param name the class name
+     * @return true if the class is a configuration class or an allowed value
+     *   or collection class
+     */
+    static boolean isAllowed(String name) {
+        String pkg = MappingSnapshot.class.getPackage().getName() + ".";
+        if (name.startsWith(pkg)) {
+            return name.indexOf('.', pkg.length()) < 0;
+        }
+        return ALLOWED_CLASSES.contains(name);
+    }
+
+    /*
+     * Resolves allowed classes using the configured class loader.
+     */
+    private class SnapshotInputStream extends ObjectInputStream {
+
+        public SnapshotInputStream(InputStream in) throws IOException {
+            super(in);
+        }
+
+        @Override
+        protected Class<?> resolveClass(ObjectStreamClass desc) throws IOException, ClassNotFoundException {
+            if (!isAllowed(desc.getName())) {
+                throw new BeanIOException("Class '" + desc.getName() + "' not allowed in a mapping snapshot");
+            }
+            if (classLoader != null) {
+                try {
+                    return Class.forName(desc.getName(), false, classLoader);
+                }
+                catch (ClassNotFoundException ex) { }
+            }
+            return super.resolveClass(desc);
+        }
+
+        @Override
+        protected Class<?> resolveProxyClass(String[] interfaces) throws IOException, ClassNotFoundException {
+            throw new BeanIOException("Proxy classes not allowed in a mapping snapshot");
+        }
+    }
+}
@@ -30,6 +30,8 @@ package org.beanio.internal.config;
  * @since 2.0
  */
 public abstract class PropertyConfig extends ComponentConfig {
+
+    private static final long serialVersionUID = 1L;
     
     public static final String JSON_TYPE_NONE = "none";
     public static final String JSON_TYPE_ARRAY = "array";
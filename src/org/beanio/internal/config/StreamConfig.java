@@ -32,6 +32,8 @@ import org.beanio.stream.RecordParserFactory;
  */
 public class StreamConfig extends GroupConfig {
 
+    private static final long serialVersionUID = 1L;
+
     /** Stream configuration supports reading and writing */
     public static final String READ_WRITE_MODE = "readwrite";
     /** Stream configuration supports reading only */
@@ -47,6 +49,7 @@ public class StreamConfig extends GroupConfig {
     
     private List<TypeHandlerConfig> handlerList = new ArrayList<>();
     private BeanConfig<RecordParserFactory> parserFactory;
+    private Map<String, String> settings = new HashMap<>();
 
     /**
      * Constructs a new <code>StreamConfig</code>.
@@ -188,4 +191,24 @@ public class StreamConfig extends GroupConfig {
     public void setIgnoreUnidentifiedRecords(boolean ignoreUnidentifiedRecords) {
         this.ignoreUnidentifiedRecords = ignoreUnidentifiedRecords;
     }
+
+    /**
+     * Returns the BeanIO configuration settings overridden for this stream.
+     * @return the map of setting names to values
+     * @since 3.3.0
+     * @see org.beanio.internal.util.Settings
+     */
+    public Map<String, String> getSettings() {
+        return settings;
+    }
+
+    /**
+     * Overrides a BeanIO configuration setting for this stream.
+     * @param name the setting name
+     * @param value the setting value
+     * @since 3.3.0
+     */
+    public void setSetting(String name, String value) {
+        settings.put(name, value);
+    }
 }
@@ -27,6 +27,8 @@ import org.beanio.types.TypeHandler;
  */
 public class TypeHandlerConfig extends BeanConfig<TypeHandler> {
 
+    private static final long serialVersionUID = 1L;
+
     private String name;
     private String type;
     private String format;
@@ -30,12 +30,15 @@ import org.beanio.internal.util.TypeUtil;
 /**
  * Factory class for building component configurations from annotated classes.
  * 
+ * <p>Since 3.3.0, the configuration is created by the {@link GeneratedMapping} for
+ * an annotated class if one was generated by the BeanIO annotation processor.
+ * 
  * @author Kevin Seim
  * @since 2.1.0
  */
 public class AnnotationParser {
 
-    private static final Comparator<ComponentConfig> ORDINAL_COMPARATOR = new Comparator<ComponentConfig>() {
+    static final Comparator<ComponentConfig> ORDINAL_COMPARATOR = new Comparator<ComponentConfig>() {
         @Override
         public int compare(ComponentConfig c1, ComponentConfig c2) {
             Integer o1 = c1.getOrdinal();
@@ -80,6 +83,14 @@ public class AnnotationParser {
             return null;
         }
         
+        GeneratedMapping mapping = GeneratedMapping.forClass(clazz);
+        if (mapping != null) {
+            GroupConfig config = mapping.createGroupConfig();
+            if (config != null) {
+                return config;
+            }
+        }
+        
         String name = toValue(group.name());
         if (name == null) {
             name = Introspector.decapitalize(clazz.getSimpleName());
@@ -118,6 +129,14 @@ public class AnnotationParser {
             return null;
         }
         
+        GeneratedMapping mapping = GeneratedMapping.forClass(clazz);
+        if (mapping != null) {
+            RecordConfig config = mapping.createRecordConfig();
+            if (config != null) {
+                return config;
+            }
+        }
+        
         String name = toValue(record.name());
         if (name == null) {
             name = Introspector.decapitalize(clazz.getSimpleName());
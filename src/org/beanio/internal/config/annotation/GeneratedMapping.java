@@ -0,0 +1,144 @@
+package org.beanio.internal.config.annotation;
+
+import java.util.function.*;
+
+import org.beanio.internal.config.*;
+
+/**
+ * Base class for the mapping classes generated by the BeanIO annotation processor.
+ *
+ * <p>For each class with BeanIO annotations, the annotation processor generates a
+ * mapping class in the same package, named by appending {@link #SUFFIX} to the binary
+ * name of the class.  A mapping class creates the same group or record configuration
+ * that {@link AnnotationParser} would otherwise create using reflection, and provides
+ * functions that access the bean's public methods and accessible fields directly.
+ *
+ * <p>Mapping classes are discovered using {@link #forClass(Class)}.  Methods return
+ * <code>null</code> for anything that was not generated, in which case reflection is
+ * used instead.
+ *
+ * @since 3.3.0
+ */
+public abstract class GeneratedMapping {
+
+    /** The suffix appended to the name of an annotated class to name its mapping class */
+    public static final String SUFFIX = "_BeanIO";
+
+    private static final ClassValue<GeneratedMapping> mappings = new ClassValue<GeneratedMapping>() {
+        @Override
+        protected GeneratedMapping computeValue(Class<?> type) {
+            ClassLoader classLoader = type.getClassLoader();
+            if (classLoader == null || type.isArray() || type.isPrimitive()) {
+                return null;
+            }
+            try {
+                Class<?> mappingClass = Class.forName(type.getName() + SUFFIX, true, classLoader);
+                if (!GeneratedMapping.class.isAssignableFrom(mappingClass)) {
+                    return null;
+                }
+                return (GeneratedMapping) mappingClass.getDeclaredConstructor().newInstance();
+            }
+            catch (ReflectiveOperationException | LinkageError ex) {
+                // a mapping class was not generated, or cannot be used
+                return null;
+            }
+        }
+    };
+
+    /**
+     * Returns the generated mapping for a class.
+     * @param type the annotated class
+     * @return the {@link GeneratedMapping}, or <code>null</code> if a mapping
+     *   class was not generated
+     */
+    public static GeneratedMapping forClass(Class<?> type) {
+        return mappings.get(type);
+    }
+
+    /**
+     * Creates a new group configuration for a class annotated with
+     * {@link org.beanio.annotation.Group}.
+     * @return the new {@link GroupConfig}, or <code>null</code> if not generated
+     */
+    public GroupConfig createGroupConfig() {
+        return null;
+    }
+
+    /**
+     * Creates a new record configuration for a class annotated with
+     * {@link org.beanio.annotation.Record}.
+     * @return the new {@link RecordConfig}, or <code>null</code> if not generated
+     */
+    public RecordConfig createRecordConfig() {
+        return null;
+    }
+
+    /**
+     * Returns a function that invokes a public getter method.
+     * @param method the method name
+     * @return the function, or <code>null</code> if not generated
+     */
+    public Function<Object, Object> getGetter(String method) {
+        return null;
+    }
+
+    /**
+     * Returns a function that invokes a public setter method.
+     * @param method the method name
+     * @return the function, or <code>null</code> if not generated
+     */
+    public BiConsumer<Object, Object> getSetter(String method) {
+        return null;
+    }
+
+    /**
+     * Returns a function that invokes a public setter method with a primitive
+     * <code>int</code>, <code>long</code> or <code>double</code> argument.
+     * @param method the method name
+     * @return the <code>ObjIntConsumer</code>, <code>ObjLongConsumer</code> or
+     *   <code>ObjDoubleConsumer</code>, or <code>null</code> if not generated
+     */
+    public Object getPrimitiveSetter(String method) {
+        return null;
+    }
+
+    /**
+     * Returns a function that gets the value of a field.
+     * @param field the field name
+     * @return the function, or <code>null</code> if not generated
+     */
+    public Function<Object, Object> getFieldGetter(String field) {
+        return null;
+    }
+
+    /**
+     * Returns a function that sets the value of a field.
+     * @param field the field name
+     * @return the function, or <code>null</code> if not generated
+     */
+    public BiConsumer<Object, Object> getFieldSetter(String field) {
+        return null;
+    }
+
+    /**
+     * Returns a function that sets the value of a primitive <code>int</code>,
+     * <code>long</code> or <code>double</code> field.
+     * @param field the field name
+     * @return the <code>ObjIntConsumer</code>, <code>ObjLongConsumer</code> or
+     *   <code>ObjDoubleConsumer</code>, or <code>null</code> if not generated
+     */
+    public Object getPrimitiveFieldSetter(String field) {
+        return null;
+    }
+
+    /**
+     * Sorts the descendants of a configuration by their ordinal, as
+     * {@link AnnotationParser} sorts the children of a record.
+     * @param config the configuration to sort
+     * @return the sorted configuration
+     */
+    protected static <T extends ComponentConfig> T sort(T config) {
+        config.sort(AnnotationParser.ORDINAL_COMPARATOR);
+        return config;
+    }
+}
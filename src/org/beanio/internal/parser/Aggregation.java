@@ -18,7 +18,7 @@ package org.beanio.internal.parser;
 import java.io.IOException;
 import java.util.*;
 
-import org.beanio.internal.util.DebugUtil;
+import org.beanio.internal.util.*;
 
 /**
  * Base class for parser components capable of aggregating descendant properties.
@@ -36,11 +36,13 @@ public abstract class Aggregation extends DelegatingParser implements Property,
     private PropertyAccessor accessor;
     // true if null should be returned for an empty collection
     protected boolean lazy;
+    // whether empty strings are treated like null values by lazy objects
+    protected boolean lazyIfEmpty = Settings.getInstance().getBoolean(Settings.LAZY_IF_EMPTY);
     // the property that dictates the number of occurrences or null if its not dynamic
     protected Field occurs;
     
     // the current iteration index
-    private ParserLocal<Integer> index = new ParserLocal<>();
+    private IntParserLocal index = new IntParserLocal();
 
     /**
      * Returns whether this aggregation is a property of
@@ -174,11 +176,13 @@ public abstract class Aggregation extends DelegatingParser implements Property,
      */
     @Override
     public final int getIterationIndex(ParsingContext context) {
-        return index.get(context);
+        return index.getInt(context);
     }
     
     protected final void setIterationIndex(ParsingContext context, int index) {
-        this.index.set(context, index);
+        int previous = this.index.getInt(context);
+        this.index.setInt(context, index);
+        context.iterationIndexChanged(this, index - previous);
     }
     
     public int getMinOccurs() {
@@ -212,6 +216,16 @@ public abstract class Aggregation extends DelegatingParser implements Property,
     public void setLazy(boolean lazy) {
         this.lazy = lazy;
     }
+
+    /**
+     * Sets whether empty strings are treated like null values when determining whether
+     * a lazy collection has a value.  Defaults to the <code>org.beanio.lazyIfEmpty</code> setting.
+     * @param lazyIfEmpty true to treat empty strings as null
+     * @since 3.3.0
+     */
+    public void setLazyIfEmpty(boolean lazyIfEmpty) {
+        this.lazyIfEmpty = lazyIfEmpty;
+    }
     
     @Override
     public boolean isDynamicIteration() {
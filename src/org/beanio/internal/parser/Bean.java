@@ -19,7 +19,7 @@ import java.lang.reflect.Constructor;
 import java.util.*;
 
 import org.beanio.*;
-import org.beanio.internal.util.StringUtil;
+import org.beanio.internal.util.*;
 
 /**
  * A component used to aggregate {@link Property}'s into a bean object, which
@@ -50,6 +50,8 @@ public class Bean extends PropertyComponent implements Property {
     };
     // whether to return null for objects with all nulls and/or empty strings
     private boolean lazy;
+    // whether empty strings are treated like null values by lazy objects
+    private boolean lazyIfEmpty = Settings.getInstance().getBoolean(Settings.LAZY_IF_EMPTY);
 
     /*
      * (non-Javadoc)
@@ -142,7 +144,7 @@ public class Bean extends PropertyComponent implements Property {
                 }
                 else {
                     hasProperties = true;
-                    create = create || !lazy || StringUtil.hasValue(value);
+                    create = create || !lazy || StringUtil.hasValue(value, lazyIfEmpty);
                 }
                 
                 cargs[accessor.getConstructorArgumentIndex()] = value;
@@ -159,6 +161,26 @@ public class Bean extends PropertyComponent implements Property {
                 continue;
             }
             
+            // primitive field values are set without boxing
+            if (child instanceof Field && ((Field) child).hasPrimitiveValue(context)) {
+                hasProperties = true;
+                if (b == null) {
+                    b = newInstance(context);
+                    if (lazy) {
+                        backfill(context, b, child);
+                    }
+                }
+                
+                try {
+                    ((Field) child).setPrimitiveValue(context, b);
+                }
+                catch (Exception ex) {
+                    throw new BeanIOException("Failed to set property '" + property.getName() + 
+                        "' on bean '" + getName() + "'", ex);
+                }
+                continue;
+            }
+            
             Object value = property.getValue(context);
             if (createMissingBeans && value == Value.MISSING) {
                 value = property.createValue(context);
@@ -174,7 +196,7 @@ public class Bean extends PropertyComponent implements Property {
                 
                 if (b == null) {
                     if (lazy) {
-                        if (!StringUtil.hasValue(value)) {
+                        if (!StringUtil.hasValue(value, lazyIfEmpty)) {
                             continue;
                         }
                         
@@ -283,6 +305,16 @@ public class Bean extends PropertyComponent implements Property {
         bean.set(context, b);
     }
     
+    /**
+     * Sets the bean object without populating its child properties.
+     * @param context the {@link ParsingContext}
+     * @param value the bean object
+     * @since 3.3.0
+     */
+    void setBeanObject(ParsingContext context, Object value) {
+        bean.set(context, value);
+    }
+    
     /**
      * Creates a new instance of this bean object.
      * @param context the {@link ParsingContext}
@@ -367,4 +399,14 @@ public class Bean extends PropertyComponent implements Property {
     public void setLazy(boolean lazy) {
         this.lazy = lazy;
     }
+
+    /**
+     * Sets whether empty strings are treated like null values when determining whether
+     * a lazy bean has a value.  Defaults to the <code>org.beanio.lazyIfEmpty</code> setting.
+     * @param lazyIfEmpty true to treat empty strings as null
+     * @since 3.3.0
+     */
+    public void setLazyIfEmpty(boolean lazyIfEmpty) {
+        this.lazyIfEmpty = lazyIfEmpty;
+    }
 }
@@ -32,6 +32,7 @@ public class BeanWriterImpl implements BeanWriter, StatefulWriter {
 
     private Selector layout;
     private MarshallingContext context;
+    private BatchWriter batchWriter;
     
     /**
      * Constructs a new <code>BeanWriterImpl</code>.
@@ -39,8 +40,21 @@ public class BeanWriterImpl implements BeanWriter, StatefulWriter {
      * @param layout the root {@link Selector} node in the parsing tree
      */
     public BeanWriterImpl(MarshallingContext context, Selector layout) {
+        this(context, layout, null);
+    }
+    
+    /**
+     * Constructs a new <code>BeanWriterImpl</code>.
+     * @param context the {@link MarshallingContext}
+     * @param layout the root {@link Selector} node in the parsing tree
+     * @param batchWriter the {@link BatchWriter} wrapped by the context's record writer, 
+     *   or null if records are not buffered by {@link #writeAll(Iterable)}
+     * @since 3.3.0
+     */
+    public BeanWriterImpl(MarshallingContext context, Selector layout, BatchWriter batchWriter) {
         this.context = context;
         this.layout = layout;
+        this.batchWriter = batchWriter;
     }
     
     /*
@@ -101,6 +115,37 @@ public class BeanWriterImpl implements BeanWriter, StatefulWriter {
         }
     }
 
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanWriter#writeAll(java.lang.Iterable)
+     */
+    @Override
+    public void writeAll(Iterable<?> beans) throws BeanWriterException, BeanWriterIOException {
+        ensureOpen();
+        
+        if (batchWriter == null) {
+            for (Object bean : beans) {
+                write(null, bean);
+            }
+            return;
+        }
+        
+        batchWriter.beginBatch();
+        try {
+            for (Object bean : beans) {
+                write(null, bean);
+            }
+        }
+        finally {
+            try {
+                batchWriter.endBatch();
+            }
+            catch (IOException e) {
+                throw new BeanWriterIOException(e);
+            }
+        }
+    }
+
     /*
      * (non-Javadoc)
      * @see org.beanio.BeanWriter#flush()
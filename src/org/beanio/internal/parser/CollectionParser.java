@@ -144,7 +144,7 @@ public class CollectionParser extends Aggregation {
                 }
                 // the field value may still be missing if 'optional' is true on a child segment
                 else if (fieldValue != Value.MISSING) {
-                    if (!lazy || StringUtil.hasValue(fieldValue)) {
+                    if (!lazy || StringUtil.hasValue(fieldValue, lazyIfEmpty)) {
                         if (collection == null) {
                             collection = createCollection();
                         }
@@ -0,0 +1,267 @@
+package org.beanio.internal.parser;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.beanio.BeanIOException;
+
+/**
+ * A flat {@link Record} compiled into a fixed sequence of fields, which is marshalled and
+ * unmarshalled by a single loop instead of walking the record's segment and bean components.
+ *
+ * <p>Only records where every child is a simple {@link Field}, optionally bound to a bean
+ * object created using its no-arg constructor, can be compiled.  Field text is extracted,
+ * validated and converted by each field exactly as it would be by the parser tree, and
+ * unmarshalled field values are held in arrays of a single {@link ParserLocal} until the
+ * bean object is populated.  Primitive <code>int</code>, <code>long</code> and
+ * <code>double</code> values are held without boxing.</p>
+ *
+ * @since 3.3.0
+ */
+class CompiledRecord {
+
+    private final Record record;
+    private final Bean bean;
+    private final Field[] fields;
+    /* whether each field is bound to a property of the bean object */
+    private final boolean[] bound;
+
+    private ParserLocal<Frame> frame = new ParserLocal<Frame>() {
+        @Override
+        protected Frame createDefaultValue() {
+            return new Frame(fields.length);
+        }
+    };
+
+    private CompiledRecord(Record record, Bean bean, Field[] fields, boolean[] bound) {
+        this.record = record;
+        this.bean = bean;
+        this.fields = fields;
+        this.bound = bound;
+    }
+
+    /**
+     * Compiles a record.
+     * @param record the {@link Record} to compile
+     * @return the compiled record, or null if the record is not supported and
+     *   must be parsed using its components
+     */
+    static CompiledRecord compile(Record record) {
+        if (record.isExistencePredetermined()) {
+            return null;
+        }
+
+        List<Component> children = record.getChildren();
+        Field[] fields = new Field[children.size()];
+        for (int i = 0; i < fields.length; i++) {
+            Component child = children.get(i);
+            if (child.getClass() != Field.class ||
+                !(((Field) child).getFormat() instanceof FieldViewFormat)) {
+                return null;
+            }
+            fields[i] = (Field) child;
+        }
+
+        boolean[] bound = new boolean[fields.length];
+        Bean bean = null;
+        Property property = record.getProperty();
+        if (property != null) {
+            if (property.getClass() != Bean.class) {
+                return null;
+            }
+            bean = (Bean) property;
+            if (bean.getConstructor() != null || bean.isLazy() || bean.createMissingBeans) {
+                return null;
+            }
+
+            for (Component child : bean.getChildren()) {
+                int index = indexOf(fields, child);
+                if (index < 0 || bound[index]) {
+                    return null;
+                }
+                PropertyAccessor accessor = ((Field) child).getAccessor();
+                if (accessor == null || accessor.isConstructorArgument()) {
+                    return null;
+                }
+                bound[index] = true;
+            }
+        }
+
+        // fields bound to the bean object of an enclosing group must set their own value
+        for (int i = 0; i < fields.length; i++) {
+            if (!bound[i] && (fields[i].isBound() || fields[i].getAccessor() != null)) {
+                return null;
+            }
+        }
+
+        return new CompiledRecord(record, bean, fields, bound);
+    }
+
+    private static int indexOf(Field[] fields, Component child) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == child) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Unmarshals the record, as {@link Segment#unmarshal(UnmarshallingContext)} would
+     * unmarshal its fields and create its bean object.
+     * @param context the {@link UnmarshallingContext}
+     */
+    void unmarshal(UnmarshallingContext context) {
+        Frame f = frame.get(context);
+        Object[] values = f.values;
+        boolean[] missing = f.missing;
+
+        boolean exists = false;
+        boolean anyMissing = false;
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            CharSequence text = field.extract(context, f.views[i]);
+            if (text == null) {
+                // minOccurs is validated at the record level
+                values[i] = field.getMissingValue();
+                if (!field.isOptional()) {
+                    missing[i] = true;
+                    anyMissing = true;
+                }
+            }
+            else {
+                values[i] = (text == Value.INVALID) ? Value.INVALID :
+                    field.parseText(context, text, f.bits, i);
+                exists = true;
+            }
+        }
+
+        // validate all required fields are present if either the record
+        // exists or the record itself is required
+        if (exists || !record.isOptional()) {
+            if (!anyMissing) {
+                if (bean != null) {
+                    createBean(context, f);
+                }
+            }
+            else {
+                for (int i = 0; i < fields.length; i++) {
+                    if (missing[i]) {
+                        context.addFieldError(fields[i].getName(), null, "minOccurs", 1);
+                    }
+                }
+            }
+        }
+
+        if (anyMissing) {
+            Arrays.fill(missing, false);
+        }
+        Arrays.fill(values, null);
+    }
+
+    /*
+     * Creates and populates the bean object, as Bean.createValue() would.
+     */
+    private void createBean(UnmarshallingContext context, Frame f) {
+        Object[] values = f.values;
+        Object b = null;
+        boolean hasProperties = false;
+
+        for (int i = 0; i < fields.length; i++) {
+            if (!bound[i]) {
+                continue;
+            }
+            Field field = fields[i];
+            Object value = values[i];
+
+            if (value == Value.INVALID) {
+                bean.setBeanObject(context, b);
+                return;
+            }
+            // explicitly null values must still be set on the bean...
+            else if (value != Value.MISSING) {
+                hasProperties = true;
+                if (b == null) {
+                    b = bean.newInstance(context);
+                }
+
+                try {
+                    if (value == Field.PRIMITIVE) {
+                        field.setPrimitive(b, f.bits[i]);
+                    }
+                    else if (value != null || !field.getType().isPrimitive()) {
+                        field.getAccessor().setValue(b, value);
+                    }
+                }
+                catch (Exception ex) {
+                    throw new BeanIOException("Failed to set property '" + field.getName() +
+                        "' on bean '" + bean.getName() + "'", ex);
+                }
+            }
+        }
+
+        if (b == null) {
+            if (bean.isRequired()) {
+                b = bean.newInstance(context);
+            }
+            else if (!hasProperties) {
+                b = Value.MISSING;
+            }
+        }
+        bean.setBeanObject(context, b);
+    }
+
+    /**
+     * Marshals the record, as {@link Segment#marshal(MarshallingContext)} would marshal
+     * its fields after the bean object is set.
+     * @param context the {@link MarshallingContext}
+     * @return whether the record was marshalled
+     * @throws IOException if an I/O error occurs
+     */
+    boolean marshal(MarshallingContext context) throws IOException {
+        if (record.isOptional() && !record.isRepeating() && !record.hasContent(context)) {
+            return false;
+        }
+
+        Object b = (bean != null) ? bean.getValue(context) : null;
+        boolean hasBean = b != null && b != Value.MISSING;
+        for (int i = 0; i < fields.length; i++) {
+            Field field = fields[i];
+            if (bound[i]) {
+                field.marshalProperty(context, hasBean ? field.getAccessor().getValue(b) : null);
+            }
+            else {
+                field.marshal(context);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Registers the variables used by this compiled record.
+     * @param locals the set to add the variables to
+     */
+    void registerLocals(Set<ParserLocal<?>> locals) {
+        locals.add(frame);
+    }
+
+    /*
+     * The field text views and unmarshalled values of a record.
+     */
+    private static final class Frame {
+        final FieldTextView[] views;
+        final Object[] values;
+        final long[] bits;
+        final boolean[] missing;
+
+        Frame(int size) {
+            views = new FieldTextView[size];
+            for (int i = 0; i < size; i++) {
+                views[i] = new FieldTextView();
+            }
+            values = new Object[size];
+            bits = new long[size];
+            missing = new boolean[size];
+        }
+    }
+}
@@ -18,6 +18,7 @@ package org.beanio.internal.parser;
 import java.util.*;
 
 import org.beanio.*;
+import org.beanio.stream.RecordReader;
 
 /**
  * 
@@ -28,9 +29,11 @@ public class ErrorContext implements RecordContext, Cloneable {
     
     private int lineNumber;
     private String recordText;
+    private RecordReader recordTextSource;
     private String recordName;
     private ArrayList<String> recordErrors;
-    private HashMap<String, String> fieldTextMap;
+    private HashMap<String, Object> fieldTextMap;
+    private boolean fieldTextViews;
     private HashMap<String, Counter> fieldCountMap;
     private HashMap<String, Collection<String>> fieldErrorMap;
 
@@ -41,9 +44,11 @@ public class ErrorContext implements RecordContext, Cloneable {
         lineNumber = 0;
         recordName = null;
         recordText = null;
+        recordTextSource = null;
         
         if (fieldTextMap != null)
             fieldTextMap.clear();
+        fieldTextViews = false;
         if (fieldCountMap != null)
             fieldCountMap.clear();
         if (fieldErrorMap != null)
@@ -82,6 +87,10 @@ public class ErrorContext implements RecordContext, Cloneable {
      */
     @Override
     public String getRecordText() {
+        if (recordTextSource != null) {
+            recordText = recordTextSource.getRecordText();
+            recordTextSource = null;
+        }
         return recordText;
     }
 
@@ -91,6 +100,37 @@ public class ErrorContext implements RecordContext, Cloneable {
      */
     public void setRecordText(String text) {
         this.recordText = text;
+        this.recordTextSource = null;
+    }
+    
+    /**
+     * Sets the record reader to get the raw record text from if requested.  The
+     * record text must be resolved by calling {@link #getRecordText()} before 
+     * the record reader reads another record.
+     * @param reader the {@link RecordReader} that read the last record
+     * @since 3.3.0
+     */
+    public void setRecordTextSource(RecordReader reader) {
+        this.recordText = null;
+        this.recordTextSource = reader;
+    }
+    
+    /**
+     * Resolves the record text, and any field text held by a view of the record, 
+     * which must be done before the next record is read if this context is kept.
+     * @since 3.3.0
+     */
+    public void resolveText() {
+        getRecordText();
+        
+        if (fieldTextViews) {
+            for (Map.Entry<String, Object> entry : fieldTextMap.entrySet()) {
+                if (entry.getValue() instanceof FieldTextView) {
+                    entry.setValue(((FieldTextView) entry.getValue()).getRawText());
+                }
+            }
+            fieldTextViews = false;
+        }
     }
     
     /**
@@ -191,6 +231,21 @@ public class ErrorContext implements RecordContext, Cloneable {
             fieldTextMap.put(fieldName, text);
         }
     }
+    
+    /**
+     * Sets the raw field text for a named, non-repeating field from a view of the
+     * record.  The text is copied from the view when requested or resolved.
+     * @param fieldName the name of the field
+     * @param view the {@link FieldTextView} holding the raw field text
+     * @since 3.3.0
+     */
+    public void setFieldTextView(String fieldName, FieldTextView view) {
+        if (fieldTextMap == null) {
+            fieldTextMap = new HashMap<>();
+        }
+        fieldTextMap.put(fieldName, view);
+        fieldTextViews = true;
+    }
         
     /*
      * (non-Javadoc)
@@ -259,12 +314,12 @@ public class ErrorContext implements RecordContext, Cloneable {
         if (fieldTextMap == null) {
             return null;
         }
-        else if (index == 0) {
-            return fieldTextMap.get(fieldName);
-        }
-        else {
-            return fieldTextMap.get(index + ":" + fieldName);
+        
+        Object text = fieldTextMap.get(index == 0 ? fieldName : index + ":" + fieldName);
+        if (text instanceof FieldTextView) {
+            return ((FieldTextView) text).getRawText();
         }
+        return (String) text;
     }
 
     /*
@@ -33,20 +33,39 @@ import org.beanio.types.*;
  */
 public class Field extends ParserComponent implements Property {
 
-    private static final boolean ERROR_IF_NULL_PRIMITIVE = 
+    private boolean errorIfNullPrimitive = 
         Settings.getInstance().getBoolean(Settings.ERROR_IF_NULL_PRIMITIVE);
     
-    private static final boolean USE_DEFAULT_IF_MISSING = 
+    private boolean useDefaultIfMissing = 
         Settings.getInstance().getBoolean(Settings.USE_DEFAULT_IF_MISSING);
 
-    private static final boolean VALIDATE_ON_MARSHAL = 
+    private boolean validateOnMarshal = 
             Settings.getInstance().getBoolean(Settings.VALIDATE_ON_MARSHAL);
     
-    private static final boolean marshalDefault = 
+    private boolean marshalDefault = 
         Settings.getInstance().getBoolean(Settings.DEFAULT_MARSHALLING_ENABLED);
     
     private ParserLocal<Object> value = new ParserLocal<Object>(Value.MISSING);
     
+    /* marks a value held by primitiveValue instead of value */
+    static final Object PRIMITIVE = new Object();
+    
+    /* the view used to extract field text from a record */
+    private ParserLocal<FieldTextView> view = new ParserLocal<FieldTextView>() {
+        @Override
+        protected FieldTextView createDefaultValue() {
+            return new FieldTextView();
+        }
+    };
+    
+    /* the last primitive value parsed, or the raw long bits of a double */
+    private ParserLocal<long[]> primitiveValue = new ParserLocal<long[]>() {
+        @Override
+        protected long[] createDefaultValue() {
+            return new long[1];
+        }
+    };
+    
     private boolean bound;
     private boolean identifier;
     
@@ -70,6 +89,12 @@ public class Field extends ParserComponent implements Property {
     private PropertyAccessor accessor;
     private FieldFormat format;
     
+    /* the primitive type parsed without boxing, or null */
+    private Class<?> primitiveType;
+    
+    /* true if a subclass overrides parseValue(), which is then used to parse field text */
+    private final boolean parseValueOverridden = isParseValueOverridden(getClass());
+    
     /**
      * Constructs a new <code>Field</code>.
      */
@@ -84,7 +109,7 @@ public class Field extends ParserComponent implements Property {
     @Override
     public boolean hasContent(ParsingContext context) {
         if (isBound()) {
-            return getValue(context) != Value.MISSING;
+            return value.get(context) != Value.MISSING;
         }
         else {
             // fields that aren't bound to a property of a bean object are
@@ -140,14 +165,17 @@ public class Field extends ParserComponent implements Property {
      */
     @Override
     public boolean matches(UnmarshallingContext context) {
-        if (isIdentifier()) {
-            return isMatch(format.extract(context, false));
+        if (!isIdentifier()) {
+            return true;
+        }
+        else if (format instanceof FieldViewFormat) {
+            return isMatchText(((FieldViewFormat) format).extract(context, false, view.get(context)));
         }
         else {
-            return true;
+            return isMatch(format.extract(context, false));
         }
     }
-        
+    
     /**
      * Returns <code>true</code> if the provided field text is a match for this field
      * definition based on the configured literal value or regular expression.
@@ -156,54 +184,88 @@ public class Field extends ParserComponent implements Property {
      *   or <code>false</code> if the field text is null or does not match
      */
     protected boolean isMatch(String text) {
+        return isMatchText(text);
+    }
+    
+    /*
+     * Tests field text that may be a view of the record.
+     */
+    private boolean isMatchText(CharSequence text) {
         if (text == null)
             return false;
         if (text == Value.INVALID)
             return false;
         if (text == Value.NIL)
             return false;
-        if (literal != null && !literal.equals(text))
+        if (literal != null && !literal.contentEquals(text))
             return false;
         if (regex != null && !regex.matcher(text).matches())
             return false;
         
         return true;
     }
-
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.parser2.Marshaller#marshal(org.beanio.parser2.MarshallingContext)
      */
     @Override
     public boolean marshal(MarshallingContext context) {
-        String text;
         if (literal != null) {
-            text = literal;
+            return marshalText(context, literal);
         }
-        else {
-            Object value = getValue(context);
-            
-            // the default value may be used to override null property values
-            // if enabled (since 1.2.2)
-            if (marshalDefault && value == Value.MISSING) {
-                value = defaultValue;
-                setValue(context, defaultValue);
-            }
-            
-            if (value == Value.MISSING) {
-                value = null;
-                setValue(context, null);
-            }
-            
-            // allow the format to bypass type conversion
-            if (format.insertValue(context, value)) {
-                return true;
-            }
-            
-            text = formatValue(value);
+        
+        Object value = getValue(context);
+        
+        // the default value may be used to override null property values
+        // if enabled (since 1.2.2)
+        if (marshalDefault && value == Value.MISSING) {
+            value = defaultValue;
+            setValue(context, defaultValue);
+        }
+        
+        if (value == Value.MISSING) {
+            value = null;
+            setValue(context, null);
         }
         
-        if (VALIDATE_ON_MARSHAL) {
+        return marshalValue(context, value);
+    }
+    
+    /**
+     * Marshals a property value read from a bean object without setting the
+     * value of this field.
+     * @param context the {@link MarshallingContext}
+     * @param value the property value, may be null
+     * @return true
+     * @since 3.3.0
+     */
+    boolean marshalProperty(MarshallingContext context, Object value) {
+        if (literal != null) {
+            return marshalText(context, literal);
+        }
+        if (value == null && marshalDefault) {
+            value = defaultValue;
+        }
+        return marshalValue(context, value);
+    }
+    
+    /*
+     * Formats and marshals a field value.
+     */
+    private boolean marshalValue(MarshallingContext context, Object value) {
+        // allow the format to bypass type conversion
+        if (format.insertValue(context, value)) {
+            return true;
+        }
+        return marshalText(context, formatValue(value));
+    }
+    
+    /*
+     * Validates and marshals field text.
+     */
+    private boolean marshalText(MarshallingContext context, String text) {
+        if (validateOnMarshal) {
             if (text == Value.NIL) {
                 if (!format.isNillable()) {
                     throw new InvalidBeanException("Invalid field '" + getName() + "', the value is not nillable");    
@@ -254,36 +316,94 @@ public class Field extends ParserComponent implements Property {
      */
     @Override
     public boolean unmarshal(UnmarshallingContext context) {
-        String text = format.extract(context, true);
+        CharSequence text = extract(context, view.get(context));
         if (text == null) {
             // minOccurs is validated at the segment level
-            Object value = Value.MISSING;
-            if (USE_DEFAULT_IF_MISSING && defaultValue != null) {
-                value = defaultValue;
-            }
-            setValue(context, value);
+            setValue(context, getMissingValue());
             return false;
         }
         
         if (text == Value.INVALID) {
             this.value.set(context, Value.INVALID);
         }
+        else if (parseValueOverridden) {
+            this.value.set(context, parseValue(context, text.toString()));
+        }
         else {
-            this.value.set(context, parseValue(context, text));
+            this.value.set(context, parseText(context, text, null, 0));
         }
         return true;
     }
     
     /**
      * Parses and validates a field property value from the given field text.
+     * <p>
+     * Field text is parsed without copying it into a <code>String</code> unless this
+     * method is overridden, in which case it is called for every unmarshalled field.
      * @param context the {@link UnmarshallingContext} to report field errors to
      * @param fieldText the field text to parse
      * @return the parsed field value, or {@link Value#INVALID} if the field was invalid,
      *   or {@link Value#MISSING} if the field was not present in the record
      */
     protected Object parseValue(UnmarshallingContext context, String fieldText) {
+        return parseText(context, fieldText, null, 0);
+    }
+    
+    /*
+     * Returns whether a subclass of Field overrides parseValue().
+     */
+    private static boolean isParseValueOverridden(Class<?> type) {
+        for (Class<?> c = type; c != Field.class; c = c.getSuperclass()) {
+            try {
+                c.getDeclaredMethod("parseValue", UnmarshallingContext.class, String.class);
+                return true;
+            }
+            catch (NoSuchMethodException ex) {
+                // continue with the superclass
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Extracts field text from the record being unmarshalled and reports field errors.
+     * @param context the {@link UnmarshallingContext} holding the record
+     * @param view the {@link FieldTextView} to use if supported by the field format
+     * @return the field text, which may be a view of the record, or null if the
+     *   field is not present in the record
+     * @since 3.3.0
+     */
+    CharSequence extract(UnmarshallingContext context, FieldTextView view) {
+        if (format instanceof FieldViewFormat) {
+            return ((FieldViewFormat) format).extract(context, true, view);
+        }
+        return format.extract(context, true);
+    }
+    
+    /**
+     * Returns the value of this field when it is not present in the record.
+     * @return the default value if used for missing fields, or {@link Value#MISSING}
+     * @since 3.3.0
+     */
+    Object getMissingValue() {
+        return useDefaultIfMissing && defaultValue != null ? defaultValue : Value.MISSING;
+    }
+    
+    /**
+     * Parses and validates a field property value from field text that may be
+     * a view of the record, which is only copied into a String if needed.
+     * @param context the {@link UnmarshallingContext} to report field errors to
+     * @param fieldText the field text to parse
+     * @param bits the array to store a primitive value in, or null to use this field's
+     *   primitive value holder
+     * @param index the index of the primitive value in <code>bits</code>
+     * @return the parsed field value, {@link #PRIMITIVE} if a primitive value was stored,
+     *   or {@link Value#INVALID} if the field was invalid
+     * @since 3.3.0
+     */
+    Object parseText(UnmarshallingContext context, CharSequence fieldText, long[] bits, int index) {
         boolean valid = true;
-        String text = fieldText;
+        CharSequence text = fieldText;
         
         if (text == Value.NIL) {            
             // validate field is nillable
@@ -314,7 +434,7 @@ public class Field extends ParserComponent implements Property {
         else {
             // trim before validation if configured
             if (trim) {
-                text = text.trim();     
+                text = (text instanceof FieldTextView) ? ((FieldTextView) text).trim() : text.toString().trim();
             }
             if (lazy && text.length() == 0) {
                 text = null;
@@ -325,7 +445,7 @@ public class Field extends ParserComponent implements Property {
         if (text == null || text.length() == 0) {
             // validation for required fields
             if (required) {
-                context.addFieldError(getName(), fieldText, "required");
+                context.addFieldError(getName(), toFieldText(fieldText), "required");
                 valid = false;
             }
             // return the default value if set
@@ -335,24 +455,27 @@ public class Field extends ParserComponent implements Property {
         }
         else {
             // validate constant fields
-            if (literal != null && !literal.equals(text)) {
-                context.addFieldError(getName(), fieldText, "literal", literal);
-                valid = false;
-            }
-            TextLengthCounter counter = context.getTextLengthCounter();
-            // validate minimum length
-            if (counter.calculateTextLength(text) < minLength) {
-                context.addFieldError(getName(), fieldText, counter.getMinLengthRule(), minLength, maxLength);
+            if (literal != null && !literal.contentEquals(text)) {
+                context.addFieldError(getName(), toFieldText(fieldText), "literal", literal);
                 valid = false;
             }
-            // validate maximum length
-            if (counter.calculateTextLength(text) > maxLength) {
-                context.addFieldError(getName(), fieldText, counter.getMaxLengthRule(), minLength, maxLength);
-                valid = false;
+            if (minLength > 0 || maxLength < Integer.MAX_VALUE) {
+                TextLengthCounter counter = context.getTextLengthCounter();
+                int length = counter.calculateTextLength(text.toString());
+                // validate minimum length
+                if (length < minLength) {
+                    context.addFieldError(getName(), toFieldText(fieldText), counter.getMinLengthRule(), minLength, maxLength);
+                    valid = false;
+                }
+                // validate maximum length
+                if (length > maxLength) {
+                    context.addFieldError(getName(), toFieldText(fieldText), counter.getMaxLengthRule(), minLength, maxLength);
+                    valid = false;
+                }
             }
             // validate the regular expression
             if (regex != null && !regex.matcher(text).matches()) {
-                context.addFieldError(getName(), fieldText, "regex", regex.pattern());
+                context.addFieldError(getName(), toFieldText(fieldText), "regex", regex.pattern());
                 valid = false;
             }
         }
@@ -364,12 +487,23 @@ public class Field extends ParserComponent implements Property {
         
         // perform type conversion and return the result
         try {
+            if (primitiveType != null && text != null && text.length() > 0) {
+                long primitive = parsePrimitive(text);
+                if (bits == null) {
+                    primitiveValue.get(context)[0] = primitive;
+                }
+                else {
+                    bits[index] = primitive;
+                }
+                return PRIMITIVE;
+            }
+            
             // if there is no type handler, assume its a String
-            Object value = (handler == null) ? text : handler.parse(text);
+            Object value = (handler == null) ? toString(text) : handler.parse(toString(text));
             
             // validate primitive values are not null
-            if (value == null && ERROR_IF_NULL_PRIMITIVE && propertyType != null && propertyType.isPrimitive()) {
-                context.addFieldError(getName(), fieldText, "type",
+            if (value == null && errorIfNullPrimitive && propertyType != null && propertyType.isPrimitive()) {
+                context.addFieldError(getName(), toFieldText(fieldText), "type",
                     "Primitive property values cannot be null");
                 return Value.INVALID;
             }
@@ -377,12 +511,12 @@ public class Field extends ParserComponent implements Property {
             return value;
         }
         catch (TypeConversionException ex) {
-            context.addFieldError(getName(), fieldText, "type", ex.getMessage());
+            context.addFieldError(getName(), toFieldText(fieldText), "type", ex.getMessage());
             return Value.INVALID;
         }
         catch (Exception ex) {
             throw new BeanReaderException("Type conversion failed for field '" + getName() + 
-                "' while parsing text '" + fieldText + "'", ex);
+                "' while parsing text '" + toFieldText(fieldText) + "'", ex);
         }
     }
     
@@ -434,13 +568,116 @@ public class Field extends ParserComponent implements Property {
         return getValue(context);
     }
     
+    /*
+     * Returns the text viewed, copying it into a String if needed.
+     */
+    private static String toString(CharSequence text) {
+        return text == null ? null : text.toString();
+    }
+    
+    /*
+     * Returns field text before trimming for reporting an error.
+     */
+    private static String toFieldText(CharSequence fieldText) {
+        if (fieldText instanceof FieldTextView) {
+            return ((FieldTextView) fieldText).getFieldText();
+        }
+        return (String) fieldText;
+    }
+    
+    /*
+     * Parses field text into a primitive value, or the raw long bits of a double.
+     */
+    private long parsePrimitive(CharSequence text) throws TypeConversionException {
+        if (primitiveType == int.class) {
+            return ((ToIntTypeHandler) handler).parseInt(text, 0, text.length());
+        }
+        else if (primitiveType == long.class) {
+            return ((ToLongTypeHandler) handler).parseLong(text, 0, text.length());
+        }
+        else {
+            return Double.doubleToRawLongBits(
+                ((ToDoubleTypeHandler) handler).parseDouble(text, 0, text.length()));
+        }
+    }
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.parser.Parser#getValue()
      */
     @Override
     public Object getValue(ParsingContext context) {
-        return value.get(context);
+        Object value = this.value.get(context);
+        if (value == PRIMITIVE) {
+            long bits = primitiveValue.get(context)[0];
+            if (primitiveType == int.class) {
+                return (int) bits;
+            }
+            else if (primitiveType == long.class) {
+                return bits;
+            }
+            else {
+                return Double.longBitsToDouble(bits);
+            }
+        }
+        return value;
+    }
+    
+    /**
+     * Returns whether the last unmarshalled value of this field was parsed into a
+     * primitive that can be set using {@link #setPrimitiveValue(ParsingContext, Object)}.
+     * @param context the {@link ParsingContext}
+     * @return true if the value is held as a primitive
+     * @since 3.3.0
+     */
+    public boolean hasPrimitiveValue(ParsingContext context) {
+        return value.get(context) == PRIMITIVE;
+    }
+    
+    /**
+     * Sets the primitive value of this field on a bean object without boxing it.
+     * @param context the {@link ParsingContext}
+     * @param bean the bean object
+     * @see #hasPrimitiveValue(ParsingContext)
+     * @since 3.3.0
+     */
+    public void setPrimitiveValue(ParsingContext context, Object bean) {
+        setPrimitive(bean, primitiveValue.get(context)[0]);
+    }
+    
+    /**
+     * Sets a primitive value parsed by this field on a bean object without boxing it.
+     * @param bean the bean object
+     * @param bits the primitive value, or the raw long bits of a double
+     * @since 3.3.0
+     */
+    void setPrimitive(Object bean, long bits) {
+        PrimitivePropertyAccessor primitiveAccessor = (PrimitivePropertyAccessor) accessor;
+        if (primitiveType == int.class) {
+            primitiveAccessor.setInt(bean, (int) bits);
+        }
+        else if (primitiveType == long.class) {
+            primitiveAccessor.setLong(bean, bits);
+        }
+        else {
+            primitiveAccessor.setDouble(bean, Double.longBitsToDouble(bits));
+        }
+    }
+    
+    /*
+     * Enables primitive parsing when the property type, type handler and
+     * property accessor all support it.
+     */
+    private void updatePrimitiveType() {
+        primitiveType = null;
+        if (!(accessor instanceof PrimitivePropertyAccessor) || accessor.isConstructorArgument()) {
+            return;
+        }
+        if ((propertyType == int.class && handler instanceof ToIntTypeHandler) ||
+            (propertyType == long.class && handler instanceof ToLongTypeHandler) ||
+            (propertyType == double.class && handler instanceof ToDoubleTypeHandler)) {
+            primitiveType = propertyType;
+        }
     }
     
     /*
@@ -491,12 +728,15 @@ public class Field extends ParserComponent implements Property {
     @Override
     public void registerLocals(Set<ParserLocal<? extends Object>> locals) {
         if (locals.add(value)) {
+            locals.add(view);
+            locals.add(primitiveValue);
             super.registerLocals(locals);
         }
     }
 
     public void setPropertyType(Class<?> type) {
         this.propertyType = type;
+        updatePrimitiveType();
     }
     
     public Class<?> getPropertyType() {
@@ -581,6 +821,7 @@ public class Field extends ParserComponent implements Property {
     @Override
     public void setType(Class<?> type) {
         this.propertyType = type;
+        updatePrimitiveType();
     }
     
     @Override
@@ -591,6 +832,7 @@ public class Field extends ParserComponent implements Property {
     @Override
     public void setAccessor(PropertyAccessor accessor) {
         this.accessor = accessor;
+        updatePrimitiveType();
     }
     
     /**
@@ -617,6 +859,7 @@ public class Field extends ParserComponent implements Property {
 
     public void setHandler(TypeHandler handler) {
         this.handler = handler;
+        updatePrimitiveType();
     }
     
     @Override
@@ -654,4 +897,44 @@ public class Field extends ParserComponent implements Property {
     public void setBound(boolean property) {
         this.bound = property;
     }
+    
+    /**
+     * Sets whether an error is reported when a null value is unmarshalled for a
+     * primitive property type.  Defaults to the <code>org.beanio.errorIfNullPrimitive</code> setting.
+     * @param errorIfNullPrimitive true to report an error
+     * @since 3.3.0
+     */
+    public void setErrorIfNullPrimitive(boolean errorIfNullPrimitive) {
+        this.errorIfNullPrimitive = errorIfNullPrimitive;
+    }
+    
+    /**
+     * Sets whether the default value is used when a field is missing from the record.
+     * Defaults to the <code>org.beanio.useDefaultIfMissing</code> setting.
+     * @param useDefaultIfMissing true to use the default value
+     * @since 3.3.0
+     */
+    public void setUseDefaultIfMissing(boolean useDefaultIfMissing) {
+        this.useDefaultIfMissing = useDefaultIfMissing;
+    }
+    
+    /**
+     * Sets whether field values are validated when marshalled.  Defaults to the
+     * <code>org.beanio.validateOnMarshal</code> setting.
+     * @param validateOnMarshal true to validate field values when marshalled
+     * @since 3.3.0
+     */
+    public void setValidateOnMarshal(boolean validateOnMarshal) {
+        this.validateOnMarshal = validateOnMarshal;
+    }
+    
+    /**
+     * Sets whether the default value is marshalled when the property value is null.
+     * Defaults to the <code>org.beanio.marshalDefaultEnabled</code> setting.
+     * @param marshalDefault true to marshal the default value
+     * @since 3.3.0
+     */
+    public void setMarshalDefault(boolean marshalDefault) {
+        this.marshalDefault = marshalDefault;
+    }
 }
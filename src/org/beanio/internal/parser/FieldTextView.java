@@ -0,0 +1,141 @@
+package org.beanio.internal.parser;
+
+/**
+ * A reusable {@link CharSequence} window onto the text of a record, used by a
+ * {@link FieldViewFormat} to extract field text without copying it.
+ *
+ * <p>A view keeps the range of the raw field text extracted from the record, and
+ * the range of the field text after padding is removed, while trimming only narrows
+ * the text being viewed.  Text is only copied into a <code>String</code> when
+ * requested, and the copy is cached until the view is changed.
+ *
+ * <p>A view is only valid until the next record is read.
+ *
+ * @since 3.3.0
+ */
+public final class FieldTextView implements CharSequence {
+
+    private CharSequence rawSource;
+    private int rawStart;
+    private int rawEnd;
+    private String rawText;
+
+    private CharSequence source;
+    private int fieldStart;
+    private int fieldEnd;
+    private int start;
+    private int end;
+    private String text;
+
+    /**
+     * Sets the raw field text viewed from a record.
+     * @param source the record text
+     * @param start the index of the first character of the field
+     * @param end the index after the last character of the field
+     */
+    public void set(CharSequence source, int start, int end) {
+        this.rawSource = source;
+        this.rawStart = start;
+        this.rawEnd = end;
+        this.rawText = null;
+        view(source, start, end);
+    }
+
+    /**
+     * Narrows the field text, for example to remove padding.
+     * @param start the index of the first character to keep, relative to the field text
+     * @param end the index after the last character to keep, relative to the field text
+     */
+    public void narrow(int start, int end) {
+        view(source, this.fieldStart + start, this.fieldStart + end);
+    }
+
+    /**
+     * Replaces the field text, while keeping the raw field text.
+     * @param text the new field text
+     */
+    public void replace(String text) {
+        view(text, 0, text.length());
+    }
+
+    /**
+     * Removes leading and trailing whitespace from the viewed text, as
+     * {@link String#trim()} would, without changing the field text.
+     * @return this view
+     */
+    public FieldTextView trim() {
+        int s = start;
+        int e = end;
+        while (s < e && source.charAt(s) <= ' ') {
+            ++s;
+        }
+        while (e > s && source.charAt(e - 1) <= ' ') {
+            --e;
+        }
+        if (s != start || e != end) {
+            start = s;
+            end = e;
+            text = null;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the raw field text, including any padding.
+     * @return the raw field text
+     */
+    public String getRawText() {
+        if (rawText == null) {
+            rawText = substring(rawSource, rawStart, rawEnd);
+        }
+        return rawText;
+    }
+
+    /**
+     * Returns the field text, without padding but before trimming.
+     * @return the field text
+     */
+    public String getFieldText() {
+        if (fieldStart == start && fieldEnd == end) {
+            return toString();
+        }
+        return substring(source, fieldStart, fieldEnd);
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        return toString().substring(start, end);
+    }
+
+    @Override
+    public String toString() {
+        if (text == null) {
+            text = substring(source, start, end);
+        }
+        return text;
+    }
+
+    private void view(CharSequence source, int start, int end) {
+        this.source = source;
+        this.fieldStart = this.start = start;
+        this.fieldEnd = this.end = end;
+        this.text = null;
+    }
+
+    private static String substring(CharSequence source, int start, int end) {
+        if (start == 0 && end == source.length() && source instanceof String) {
+            return (String) source;
+        }
+        return source.subSequence(start, end).toString();
+    }
+}
@@ -0,0 +1,26 @@
+package org.beanio.internal.parser;
+
+/**
+ * A {@link FieldFormat} that can extract field text into a reusable {@link FieldTextView}
+ * instead of copying it from the record.
+ *
+ * @since 3.3.0
+ */
+public interface FieldViewFormat extends FieldFormat {
+
+    /**
+     * Extracts the field text from a record into a view.  Returns <code>null</code> if the
+     * field was not present in the record, or {@link Value#INVALID} if the field is invalid.
+     *
+     * <p>Like {@link #extract(UnmarshallingContext, boolean)}, implementations should
+     * remove any field padding before returning the text, which may be the given view or
+     * a <code>String</code>.</p>
+     *
+     * @param context the {@link UnmarshallingContext} holding the record
+     * @param reportErrors whether to report field errors
+     * @param view the {@link FieldTextView} to set
+     * @return the field text
+     */
+    public CharSequence extract(UnmarshallingContext context, boolean reportErrors, FieldTextView view);
+
+}
@@ -0,0 +1,259 @@
+package org.beanio.internal.parser;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.beanio.*;
+
+/**
+ * A {@link Spliterator} of the beans unmarshalled from a file that can be split on record
+ * boundaries, so that a parallel {@link java.util.stream.Stream} reads each part of the file
+ * on a different thread.
+ * <p>
+ * Files can be split for the same stream mappings supported by {@link ParallelBeanReader}.
+ * Each part of the file is read by its own {@link BeanReader}, which passes errors to
+ * the configured {@link BeanReaderErrorHandler}.  When a stream is processed in parallel,
+ * the error handler may be called concurrently from multiple threads.  If no error handler
+ * is configured, errors are thrown by the terminal operation of the stream.
+ * <p>
+ * When records are terminated by new lines, each part of the file counts the lines that
+ * precede it when it is first read, so that line numbers are relative to the start of the file.
+ * <p>
+ * {@link #close()} must be called, typically by closing the stream, to release the file
+ * if the stream is not fully consumed.
+ *
+ * @since 3.3.0
+ */
+public class FileBeanSpliterator implements Spliterator<Object> {
+
+    private static final long DEFAULT_MIN_SPLIT_SIZE = 1L << 20;
+
+    private final Source source;
+    private long start;
+    private final long end;
+    private LineOffset lineOffset;
+    private BeanReader in;
+
+    /**
+     * Constructs a new <code>FileBeanSpliterator</code>.
+     * @param stream the stream to read
+     * @param file the file to read
+     * @param charset the character set of the file
+     * @param locale the locale to use for rendering error messages
+     * @param errorHandler the {@link BeanReaderErrorHandler}, or null to throw errors
+     * @throws IllegalArgumentException if the stream does not support splitting the file
+     * @throws IOException if the file cannot be opened
+     */
+    public FileBeanSpliterator(Stream stream, Path file, Charset charset, Locale locale,
+        BeanReaderErrorHandler errorHandler) throws IllegalArgumentException, IOException {
+
+        this.source = new Source(new FileSplitter(stream, file, charset), locale, errorHandler);
+        this.start = 0;
+        this.end = source.channel.size();
+        this.lineOffset = new LineOffset();
+    }
+
+    private FileBeanSpliterator(Source source, long start, long end, LineOffset lineOffset) {
+        this.source = source;
+        this.start = start;
+        this.end = end;
+        this.lineOffset = lineOffset;
+    }
+
+    /**
+     * Sets the minimum number of bytes in a part of the file.  Parts of the file smaller
+     * than twice this size are not split.  Defaults to 1MB.
+     * @param minSplitSize the minimum split size in bytes
+     */
+    public void setMinSplitSize(long minSplitSize) {
+        if (minSplitSize <= 0) {
+            throw new IllegalArgumentException("Invalid split size: " + minSplitSize);
+        }
+        source.minSplitSize = minSplitSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.Spliterator#tryAdvance(java.util.function.Consumer)
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super Object> action) {
+        if (in == null) {
+            if (start >= end) {
+                return false;
+            }
+            open();
+        }
+
+        Object bean = in.read();
+        if (bean == null) {
+            source.release(in);
+            in = null;
+            start = end;
+            return false;
+        }
+        action.accept(bean);
+        return true;
+    }
+
+    /**
+     * Splits off the first half of the remaining file, if this part of the file
+     * has not been read and is large enough.
+     * @see java.util.Spliterator#trySplit()
+     */
+    @Override
+    public Spliterator<Object> trySplit() {
+        if (in != null || end - start < source.minSplitSize * 2) {
+            return null;
+        }
+
+        long boundary;
+        try {
+            boundary = source.splitter.findRecordBoundary(source.channel, start + (end - start) / 2, end);
+        }
+        catch (IOException ex) {
+            throw new BeanReaderIOException("Failed to read file '" + source.splitter.getFile() + "'", ex);
+        }
+        if (boundary <= start || boundary >= end) {
+            return null;
+        }
+
+        FileBeanSpliterator prefix = new FileBeanSpliterator(source, start, boundary, lineOffset);
+        this.lineOffset = new LineOffset(lineOffset, start, boundary);
+        this.start = boundary;
+        return prefix;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.Spliterator#estimateSize()
+     */
+    @Override
+    public long estimateSize() {
+        return end - start;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see java.util.Spliterator#characteristics()
+     */
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Closes the file and any readers that have not reached the end of their part
+     * of the file, including readers opened by spliterators split from this one.
+     * @throws BeanReaderIOException if an I/O error occurs
+     */
+    public void close() throws BeanReaderIOException {
+        source.close();
+    }
+
+    /**
+     * Opens the reader for this part of the file.
+     */
+    private void open() {
+        try {
+            int offset = source.splitter.isLineCounted() ? lineOffset.get(source.splitter) : 0;
+            in = source.splitter.createBeanReader(start, end, offset, source.locale);
+        }
+        catch (IOException ex) {
+            throw new BeanReaderIOException("Failed to read file '" + source.splitter.getFile() + "'", ex);
+        }
+        if (source.errorHandler != null) {
+            in.setErrorHandler(source.errorHandler);
+        }
+        source.register(in);
+    }
+
+    /**
+     * State shared by all spliterators split from the same file.
+     */
+    private static class Source {
+        private final FileSplitter splitter;
+        private final FileChannel channel;
+        private final Locale locale;
+        private final BeanReaderErrorHandler errorHandler;
+        private final Set<BeanReader> readers = ConcurrentHashMap.newKeySet();
+        private volatile long minSplitSize = DEFAULT_MIN_SPLIT_SIZE;
+        private volatile boolean closed;
+
+        public Source(FileSplitter splitter, Locale locale, BeanReaderErrorHandler errorHandler) throws IOException {
+            this.splitter = splitter;
+            this.channel = FileChannel.open(splitter.getFile(), StandardOpenOption.READ);
+            this.locale = locale;
+            this.errorHandler = errorHandler;
+        }
+
+        public void register(BeanReader in) {
+            readers.add(in);
+            if (closed) {
+                release(in);
+                throw new BeanReaderIOException("Stream closed");
+            }
+        }
+
+        public void release(BeanReader in) {
+            if (readers.remove(in)) {
+                in.close();
+            }
+        }
+
+        public void close() {
+            closed = true;
+            try {
+                for (BeanReader in : readers) {
+                    release(in);
+                }
+            }
+            finally {
+                try {
+                    channel.close();
+                }
+                catch (IOException ex) {
+                    throw new BeanReaderIOException("Failed to close file '" + splitter.getFile() + "'", ex);
+                }
+            }
+        }
+    }
+
+    /**
+     * The number of lines in the file before the start of a part of the file, which is
+     * calculated from the line offset of a preceding part when it is first needed.
+     */
+    private static class LineOffset {
+        private final LineOffset base;
+        private final long from;
+        private final long to;
+        private volatile int value = -1;
+
+        public LineOffset() {
+            this.base = null;
+            this.from = 0;
+            this.to = 0;
+            this.value = 0;
+        }
+
+        public LineOffset(LineOffset base, long from, long to) {
+            this.base = base;
+            this.from = from;
+            this.to = to;
+        }
+
+        public int get(FileSplitter splitter) throws IOException {
+            int n = value;
+            if (n < 0) {
+                n = base.get(splitter) + splitter.countLines(from, to);
+                value = n;
+            }
+            return n;
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package org.beanio.internal.parser;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.Locale;
+
+import org.beanio.BeanReader;
+import org.beanio.internal.util.*;
+import org.beanio.stream.*;
+import org.beanio.stream.csv.CsvParserConfiguration;
+import org.beanio.stream.delimited.DelimitedParserConfiguration;
+import org.beanio.stream.fixedlength.FixedLengthParserConfiguration;
+import org.beanio.stream.json.JsonParserConfiguration;
+
+/**
+ * Locates record boundaries in a file so that ranges of the file can be unmarshalled
+ * independently.
+ * <p>
+ * A file can be split for delimited, CSV, fixed length and JSON Lines streams that meet the
+ * following conditions:
+ * <ul>
+ * <li>The stream layout only contains records, and every record has the same order, a
+ *   <code>minOccurs</code> of 0 and an unbounded <code>maxOccurs</code>.</li>
+ * <li>Records are terminated by a single ASCII character (or new lines), and line continuation
+ *   (or multiline CSV records) are disabled.  Alternatively, a fixed length stream may have
+ *   a configured <code>recordLength</code> and a single byte character set.  JSON streams
+ *   must have <code>jsonLines</code> enabled.</li>
+ * <li>The character set is ASCII compatible.</li>
+ * </ul>
+ *
+ * @since 3.3.0
+ */
+class FileSplitter {
+
+    private Stream stream;
+    private Path file;
+    private Charset charset;
+
+    // the byte that terminates a record, or -1 if records are not terminated
+    // (if records are terminated by new lines, a lone carriage return also terminates a record)
+    private int terminator = -1;
+    // the length of a record, if records are not terminated
+    private int recordLength;
+    // whether records are terminated by new lines, in which case line numbers are counted
+    private boolean lines;
+
+    /**
+     * Constructs a new <code>FileSplitter</code>.
+     * @param stream the stream to read
+     * @param file the file to read
+     * @param charset the character set of the file
+     * @throws IllegalArgumentException if the stream does not support splitting the file
+     */
+    public FileSplitter(Stream stream, Path file, Charset charset) throws IllegalArgumentException {
+        if (charset == null) {
+            throw new NullPointerException("null charset");
+        }
+
+        this.stream = stream;
+        this.file = file;
+        this.charset = charset;
+
+        validateLayout(stream.getLayout());
+        initRecordBoundary(stream.getFormat());
+    }
+
+    /**
+     * Validates the stream layout can be read from any record.
+     * @param layout the stream layout
+     * @throws IllegalArgumentException if the stream layout is not supported
+     */
+    private void validateLayout(Selector layout) {
+        if (!(layout instanceof Group)) {
+            throw new IllegalArgumentException("Parallel reading not supported for stream '" +
+                stream.getName() + "'");
+        }
+
+        Integer order = null;
+        for (Component child : ((Group) layout).getChildren()) {
+            Selector selector = (Selector) child;
+            if (selector instanceof Group) {
+                throw unsupported("stream contains group '" + selector.getName() + "'");
+            }
+            if (order == null) {
+                order = selector.getOrder();
+            }
+            if (selector.getMinOccurs() > 0 ||
+                selector.getMaxOccurs() != Integer.MAX_VALUE ||
+                selector.getOrder() != order) {
+                throw unsupported("record '" + selector.getName() + "' has order or occurrence constraints");
+            }
+        }
+    }
+
+    /**
+     * Determines how records are located by the stream format.
+     * @param format the stream format
+     * @throws IllegalArgumentException if the stream format is not supported
+     */
+    private void initRecordBoundary(StreamFormat format) {
+        RecordParserFactory factory = null;
+        if (format instanceof StreamFormatSupport) {
+            factory = ((StreamFormatSupport) format).getRecordParserFactory();
+        }
+
+        String recordTerminator = null;
+        if (factory instanceof DelimitedParserConfiguration) {
+            DelimitedParserConfiguration config = (DelimitedParserConfiguration) factory;
+            if (config.isLineContinationEnabled()) {
+                throw unsupported("line continuation is enabled");
+            }
+            recordTerminator = config.getRecordTerminator();
+        }
+        else if (factory instanceof FixedLengthParserConfiguration) {
+            FixedLengthParserConfiguration config = (FixedLengthParserConfiguration) factory;
+            if (config.isLineContinationEnabled()) {
+                throw unsupported("line continuation is enabled");
+            }
+            if (config.isRecordLengthEnabled()) {
+                if (charset.newEncoder().maxBytesPerChar() != 1.0f || !IOUtil.isAsciiCompatible(charset)) {
+                    throw unsupported("a record length requires a single byte character set");
+                }
+                recordLength = config.getRecordLength();
+                return;
+            }
+            recordTerminator = config.getRecordTerminator();
+        }
+        else if (factory instanceof CsvParserConfiguration) {
+            if (((CsvParserConfiguration) factory).isMultilineEnabled()) {
+                throw unsupported("multiline records are enabled");
+            }
+        }
+        else if (factory instanceof JsonParserConfiguration) {
+            if (!((JsonParserConfiguration) factory).isJsonLines()) {
+                throw unsupported("jsonLines is not enabled");
+            }
+        }
+        else {
+            throw unsupported("stream format '" + format.getClass().getSimpleName() + "' cannot be split");
+        }
+
+        if (!IOUtil.isAsciiCompatible(charset)) {
+            throw unsupported("character set '" + charset + "' is not ASCII compatible");
+        }
+
+        if (recordTerminator == null || "\r\n".equals(recordTerminator)) {
+            terminator = '\n';
+            lines = true;
+        }
+        else if (recordTerminator.length() == 1 && recordTerminator.charAt(0) < 128) {
+            terminator = recordTerminator.charAt(0);
+        }
+        else {
+            throw unsupported("the record terminator is not a single ASCII character");
+        }
+    }
+
+    private IllegalArgumentException unsupported(String reason) {
+        return new IllegalArgumentException("Parallel reading not supported for stream '" +
+            stream.getName() + "': " + reason);
+    }
+
+    /**
+     * Returns whether records are terminated by new lines, in which case the lines
+     * that precede a range of the file must be counted to calculate line numbers.
+     * @return true if line numbers are counted
+     */
+    public boolean isLineCounted() {
+        return lines;
+    }
+
+    /**
+     * Returns the file to split.
+     * @return the file {@link Path}
+     */
+    public Path getFile() {
+        return file;
+    }
+
+    /**
+     * Returns the file position after the first record boundary at or after a position.
+     * If records are terminated by new lines, a record ends after a line feed (LF), carriage
+     * return (CR), or CRLF combination, the same as lines are counted by
+     * {@link #countLines(long, long)}, and a file is never split between a CR and LF.
+     * @param channel the {@link FileChannel} to read
+     * @param position the file position
+     * @param size the file size
+     * @return the file position of the next record
+     * @throws IOException if an I/O error occurs
+     */
+    public long findRecordBoundary(FileChannel channel, long position, long size) throws IOException {
+        if (position >= size) {
+            return size;
+        }
+        if (recordLength > 0) {
+            return Math.min(size, (position + recordLength - 1) / recordLength * recordLength);
+        }
+
+        // the range ends after the first terminator found at or after position - 1
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long p = Math.max(0, position - 1);
+        boolean cr = false;
+        while (p < size) {
+            buffer.clear();
+            int n = channel.read(buffer, p);
+            if (n <= 0) {
+                break;
+            }
+            n = (int) Math.min(n, size - p);
+            for (int i=0; i<n; i++) {
+                byte c = buffer.get(i);
+                if (cr) {
+                    // a CR ends the record unless followed by a LF
+                    return c == '\n' ? p + i + 1 : p + i;
+                }
+                if (c == terminator) {
+                    return p + i + 1;
+                }
+                if (lines && c == '\r') {
+                    cr = true;
+                }
+            }
+            p += n;
+        }
+        return size;
+    }
+
+    /**
+     * Counts the number of lines in a range of the file, where each line is terminated by
+     * a line feed (LF), carriage return (CR), or CRLF combination.
+     * @param start the file position of the first byte to count
+     * @param end the file position after the last byte to count
+     * @return the number of lines
+     * @throws IOException if an I/O error occurs
+     */
+    public int countLines(long start, long end) throws IOException {
+        int count = 0;
+        try (InputStream in = new MappedFileInputStream(file, start, end - start)) {
+            byte[] b = new byte[65536];
+            boolean cr = false;
+            int n;
+            while ((n = in.read(b, 0, b.length)) >= 0) {
+                for (int i=0; i<n; i++) {
+                    byte c = b[i];
+                    if (c == '\n') {
+                        if (!cr) {
+                            ++count;
+                        }
+                        cr = false;
+                    }
+                    else if (c == '\r') {
+                        ++count;
+                        cr = true;
+                    }
+                    else {
+                        cr = false;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates a {@link BeanReader} for reading a range of the file.
+     * @param start the file position of the first record to read
+     * @param end the file position after the last record to read
+     * @param lineOffset the number of lines in the file before <code>start</code>
+     * @param locale the locale to use for rendering error messages
+     * @return the new {@link BeanReader}
+     * @throws IOException if the file cannot be opened
+     */
+    public BeanReader createBeanReader(long start, long end, int lineOffset, Locale locale) throws IOException {
+        RecordReader recordReader = stream.getFormat().createRecordReader(
+            new MappedFileInputStream(file, start, end - start), charset);
+        if (lineOffset > 0) {
+            recordReader = new LineOffsetRecordReader(recordReader, lineOffset);
+        }
+        return stream.createBeanReader(recordReader, locale);
+    }
+
+    /**
+     * A {@link RecordReader} that adds the number of lines that precede a range
+     * of the file to the line number of each record.
+     */
+    private static class LineOffsetRecordReader implements RecordReader {
+
+        private final RecordReader in;
+        private final int lineOffset;
+
+        public LineOffsetRecordReader(RecordReader in, int lineOffset) {
+            this.in = in;
+            this.lineOffset = lineOffset;
+        }
+
+        @Override
+        public Object read() throws IOException, RecordIOException {
+            return in.read();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        public int getRecordLineNumber() {
+            int n = in.getRecordLineNumber();
+            return n > 0 ? n + lineOffset : n;
+        }
+
+        @Override
+        public String getRecordText() {
+            return in.getRecordText();
+        }
+    }
+}
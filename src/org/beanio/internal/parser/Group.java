@@ -34,14 +34,35 @@ public class Group extends ParserComponent implements Selector {
     /* map key used to store the state of the 'lastMatchedChild' attribute */
     private static final String LAST_MATCHED_KEY = "lastMatched";
     
+    /* record indexes cached by bean class when not exactly one record matches, or not yet known */
+    private static final int NO_RECORD = -1;
+    private static final int UNRESOLVED = -2;
+    /* returned by dispatch() when no child can match the current record */
+    private static final Selector[] NO_CANDIDATES = new Selector[0];
+    
     private int minOccurs = 0;
     private int maxOccurs = Integer.MAX_VALUE;
     private int order = 1;
     private Property property = null;
     // the current group count
-    private ParserLocal<Integer> count = new ParserLocal<>(0);
+    private IntParserLocal count = new IntParserLocal();
     // the last matched child
     private ParserLocal<Selector> lastMatched = new ParserLocal<>();
+    // whether this group only contains records that may be marshalled in any order
+    private volatile Boolean unordered;
+    // the index of the child record that marshals each bean class, which is held in an array
+    // so that it can be set from the bean once known, and does not reference this group or
+    // pin the bean class
+    private ClassValue<int[]> recordsByClass = new ClassValue<int[]>() {
+        @Override
+        protected int[] computeValue(Class<?> type) {
+            return new int[] { UNRESOLVED };
+        }
+    };
+    // the field that identifies every child record, or null if there is no dispatch table
+    private Field dispatchField;
+    // the children that may match a record by the literal value of the dispatch field
+    private Map<String, Selector[]> dispatchTable;
     
     /**
      * Constructs a new <code>Group</code>.
@@ -93,7 +114,7 @@ public class Group extends ParserComponent implements Selector {
                 }
                 
                 // find the child unmarshaller for the record...
-                child = (Selector) matchCurrent(context);
+                child = (Selector) matchCurrent(context, dispatch(context));
                 if (child == null) {
                     reset(context);
                     break;
@@ -133,7 +154,7 @@ public class Group extends ParserComponent implements Selector {
                 }
                 
                 // find the child unmarshaller for the record...
-                child = (Selector) matchCurrent(context);
+                child = (Selector) matchCurrent(context, dispatch(context));
                 if (child == null) {
                     reset(context);
                     break;
@@ -195,6 +216,16 @@ public class Group extends ParserComponent implements Selector {
     public Selector matchNext(MarshallingContext context) {
         try {
             if (property == null) {
+                Object bean = context.getBean();
+                if (bean != null && context.getComponentName() == null && isUnordered()) {
+                    int[] index = recordsByClass.get(bean.getClass());
+                    if (index[0] == UNRESOLVED) {
+                        index[0] = findRecord(bean);
+                    }
+                    if (index[0] != NO_RECORD) {
+                        return matchRecord(context, (Selector) getChildren().get(index[0]));
+                    }
+                }
                 return internalMatchNext(context);
             }
             else {
@@ -218,6 +249,81 @@ public class Group extends ParserComponent implements Selector {
         }
     }
     
+    /**
+     * Returns whether this group only contains records with the same order, no
+     * minimum occurrences, unbounded maximum occurrences and no identifying properties.
+     * In this case, the record that marshals a bean depends only on the bean class. 
+     * @return true if the record to marshal can be found by bean class
+     */
+    private boolean isUnordered() {
+        Boolean b = unordered;
+        if (b == null) {
+            b = Boolean.TRUE;
+            Integer position = null;
+            for (Component child : getChildren()) {
+                if (!(child instanceof Record)) {
+                    b = Boolean.FALSE;
+                    break;
+                }
+                Selector node = (Selector) child;
+                if (position == null) {
+                    position = node.getOrder();
+                }
+                if (node.getOrder() != position || node.getMinOccurs() > 0 || 
+                    node.getMaxOccurs() != Integer.MAX_VALUE ||
+                    (node.getProperty() != null && node.getProperty().isIdentifier())) {
+                    b = Boolean.FALSE;
+                    break;
+                }
+            }
+            unordered = b;
+        }
+        return b;
+    }
+    
+    /**
+     * Finds the only child record that can marshal a bean.
+     * @param bean the bean to marshal
+     * @return the index of the matching record, or {@link #NO_RECORD} if none or
+     *   more than one record matched
+     */
+    private int findRecord(Object bean) {
+        int match = NO_RECORD;
+        List<Component> children = getChildren();
+        for (int i=0, n=children.size(); i<n; i++) {
+            Property p = ((Selector) children.get(i)).getProperty();
+            if (p != null && p.defines(bean)) {
+                if (match != NO_RECORD) {
+                    return NO_RECORD;
+                }
+                match = i;
+            }
+        }
+        return match;
+    }
+    
+    /**
+     * Matches a child record found by bean class, updating the state of this group
+     * the same as {@link #matchCurrent(ParsingContext)}.
+     * @param context the {@link MarshallingContext}
+     * @param record the matching child record
+     * @return the matched {@link Selector}, or null if the record did not match
+     */
+    private Selector matchRecord(MarshallingContext context, Selector record) {
+        Selector match = record.matchNext(context);
+        if (match != null) {
+            Selector lastMatch = lastMatched.get(context);
+            if (lastMatch == null) {
+                count.setInt(context, count.getInt(context) + 1);
+            }
+            else if (lastMatch != record) {
+                lastMatch.reset(context);
+            }
+            lastMatched.set(context, record);
+        }
+        return match;
+    }
+    
     /**
      * 
      * @return
@@ -242,9 +348,10 @@ public class Group extends ParserComponent implements Selector {
         //System.out.println("Group '" + getName() + "', lastMatched=" +
         //    (last == null ? "null" : last.getName()) + ", count=" + getCount(context));
         
-        Selector match = matchCurrent(context);
+        Selector[] candidates = dispatch(context);
+        Selector match = matchCurrent(context, candidates);
         if (match == null && maxOccurs > 1) {
-            match = matchAgain(context);
+            match = matchAgain(context, candidates);
         }
         if (match != null) {
             return property != null ? this : match;
@@ -252,12 +359,30 @@ public class Group extends ParserComponent implements Selector {
         return null;
     }
     
+    /**
+     * Returns the children that may match the current record using the dispatch table.
+     * @param context the {@link ParsingContext}
+     * @return the candidate children, or null if every child must be tested
+     */
+    private Selector[] dispatch(ParsingContext context) {
+        if (dispatchField == null || context.getMode() != ParsingContext.UNMARSHALLING) {
+            return null;
+        }
+        
+        String text = dispatchField.getFormat().extract((UnmarshallingContext) context, false);
+        if (text == null || text == Value.INVALID || text == Value.NIL) {
+            return NO_CANDIDATES;
+        }
+        Selector[] candidates = dispatchTable.get(text);
+        return candidates != null ? candidates : NO_CANDIDATES;
+    }
+    
     /**
      * 
      * @return
      * @throws UnsatisfiedNodeException
      */
-    private Selector matchCurrent(ParsingContext context) throws UnsatisfiedNodeException {
+    private Selector matchCurrent(ParsingContext context, Selector[] candidates) throws UnsatisfiedNodeException {
         Selector match = null;
         Selector lastMatch = this.lastMatched.get(context);
         Selector unsatisfied = null;
@@ -265,7 +390,7 @@ public class Group extends ParserComponent implements Selector {
         // check the last matching node - do not check records where the max occurs
         // has already been reached
         if (lastMatch != null && !(lastMatch.isMaxOccursReached(context))) {
-            match = matchNext(context, lastMatch);
+            match = matchNext(context, lastMatch, candidates);
             if (match != null) {
                 return match;
             }
@@ -314,11 +439,11 @@ public class Group extends ParserComponent implements Selector {
             }
             
             // search the child node for a match
-            match = matchNext(context, node);
+            match = matchNext(context, node, candidates);
             if (match != null) {
                 // the group count is incremented only when first invoked
                 if (lastMatch == null) {
-                	count.set(context, count.get(context) + 1);
+                	count.setInt(context, count.getInt(context) + 1);
                 }
                 // reset the last group when a new record or group is found
                 // at the same level (this has no effect for a record)
@@ -345,7 +470,7 @@ public class Group extends ParserComponent implements Selector {
      * 
      * @return
      */
-    private Selector matchAgain(ParsingContext context) {
+    private Selector matchAgain(ParsingContext context, Selector[] candidates) {
 
         Selector match = null;
         Selector unsatisfied = null;
@@ -379,7 +504,7 @@ public class Group extends ParserComponent implements Selector {
                     }
                 }
 
-                match = matchNext(context, node);
+                match = matchNext(context, node, candidates);
                 if (match != null) {
                     // this is different than reset() because we reset every node
                     // except the one that matched...
@@ -392,7 +517,7 @@ public class Group extends ParserComponent implements Selector {
                         sel.reset(context);
                     }
                     
-                    count.set(context, count.get(context) + 1);
+                    count.setInt(context, count.getInt(context) + 1);
                     node.setCount(context, 1);
                     lastMatched.set(context, node);
                     
@@ -404,6 +529,27 @@ public class Group extends ParserComponent implements Selector {
         return null;
     }
     
+    /**
+     * Matches the next record or bean if a child is one of the candidates found
+     * in the dispatch table.
+     * @param context the parsing context
+     * @param child the child Selector to invoke
+     * @param candidates the candidate children, or null if any child may match
+     * @return the matched Selector
+     */
+    private Selector matchNext(ParsingContext context, Selector child, Selector[] candidates) {
+        if (candidates != null) {
+            int i = 0;
+            while (i < candidates.length && candidates[i] != child) {
+                ++i;
+            }
+            if (i == candidates.length) {
+                return null;
+            }
+        }
+        return matchNext(context, child);
+    }
+    
     /**
      * Matches the next record or bean depending on the type of parsing context.
      * @param context the parsing context
@@ -523,7 +669,7 @@ public class Group extends ParserComponent implements Selector {
      */
     @Override
     public void updateState(ParsingContext context, String namespace, Map<String, Object> state) {
-        state.put(getKey(namespace, COUNT_KEY), count.get(context));
+        state.put(getKey(namespace, COUNT_KEY), count.getInt(context));
         
         String lastMatchedChildName = "";
         Selector lastMatch = lastMatched.get(context);
@@ -552,7 +698,7 @@ public class Group extends ParserComponent implements Selector {
         if (n == null) {
             throw new IllegalStateException("Missing state information for key '" + key + "'");
         }
-        this.count.set(context, n);
+        this.count.setInt(context, n);
         
         // determine the last matched child
         key = getKey(namespace, LAST_MATCHED_KEY);
@@ -595,6 +741,19 @@ public class Group extends ParserComponent implements Selector {
         return true;
     }
 
+    /**
+     * Sets the dispatch table used to find the children that may match a record
+     * without testing every child.  Every child must be a record identified by the literal
+     * value of a field that extracts the same text as <code>field</code>.
+     * @param field the field to extract from each record
+     * @param table the children that may match a record by field text
+     * @since 3.3.0
+     */
+    public void setDispatchTable(Field field, Map<String, Selector[]> table) {
+        this.dispatchField = field;
+        this.dispatchTable = table;
+    }
+    
     @Override
     public int getMinOccurs() {
         return minOccurs;
@@ -623,7 +782,7 @@ public class Group extends ParserComponent implements Selector {
      */
     @Override
     public int getCount(ParsingContext context) {
-        return count.get(context);
+        return count.getInt(context);
     }
     
     /*
@@ -632,7 +791,7 @@ public class Group extends ParserComponent implements Selector {
      */
     @Override
     public void setCount(ParsingContext context, int count) {
-        this.count.set(context, count);
+        this.count.setInt(context, count);
     }
     
     /*
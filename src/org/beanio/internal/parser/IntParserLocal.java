@@ -0,0 +1,63 @@
+package org.beanio.internal.parser;
+
+/**
+ * A {@link ParserLocal} for an <code>int</code> variable, such as a counter or iteration
+ * index, which is held by a {@link ParsingContext} without boxing.
+ *
+ * <p>Int variables are indexed separately from other parser locals, and are held in the
+ * int heap of the context.  The value must be accessed using {@link #getInt(ParsingContext)}
+ * and {@link #setInt(ParsingContext, int)}.  {@link #get(ParsingContext)} and
+ * {@link #set(ParsingContext, Integer)} are not supported.</p>
+ *
+ * @since 3.3.0
+ */
+public class IntParserLocal extends ParserLocal<Integer> {
+
+    private int index = -1;
+    private int defaultValue;
+
+    /**
+     * Constructs a new <code>IntParserLocal</code> with a default value of 0.
+     */
+    public IntParserLocal() {
+        this(0);
+    }
+
+    /**
+     * Constructs a new <code>IntParserLocal</code>.
+     * @param defaultValue the default value
+     */
+    public IntParserLocal(int defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    /**
+     * Initializes the variable.
+     * @param index the index of the variable in the int heap
+     * @param context the {@link ParsingContext} being initialized
+     */
+    final void initInt(int index, ParsingContext context) {
+        if (this.index < 0) {
+            this.index = index;
+        }
+        setInt(context, defaultValue);
+    }
+
+    /**
+     * Gets the value.
+     * @param context the {@link ParsingContext} to get the value from
+     * @return the value
+     */
+    public final int getInt(ParsingContext context) {
+        return context.getIntLocal(index);
+    }
+
+    /**
+     * Sets the value.
+     * @param context the {@link ParsingContext} to set the value on
+     * @param value the value
+     */
+    public final void setInt(ParsingContext context, int value) {
+        context.setIntLocal(index, value);
+    }
+}
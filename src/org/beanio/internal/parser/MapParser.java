@@ -140,7 +140,7 @@ public class MapParser extends Aggregation {
                 }
                 else if (fieldValue != Value.MISSING) {
                 	Object mapKey = key.getValue(context);
-                	if (!lazy || StringUtil.hasValue(mapKey) || StringUtil.hasValue(fieldValue)) {
+                	if (!lazy || StringUtil.hasValue(mapKey, lazyIfEmpty) || StringUtil.hasValue(fieldValue, lazyIfEmpty)) {
                 		if (map == null) {
                 			map = createMap();
                 		}
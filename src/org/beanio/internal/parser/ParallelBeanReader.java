@@ -0,0 +1,561 @@
+package org.beanio.internal.parser;
+
+import java.io.*;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.beanio.*;
+
+/**
+ * A {@link BeanReader} that unmarshals a file using multiple threads.
+ * <p>
+ * The file is split into chunks on record boundaries, and each chunk is read by its own
+ * {@link BeanReaderImpl} on a {@link ForkJoinPool}.  All chunk readers share the compiled
+ * layout of the stream, and the number of chunks read ahead of the caller is bounded.  Beans
+ * are returned either in the order they appear in the file, or in the order chunks complete.
+ * <p>
+ * Parallel reading is supported for delimited, CSV, fixed length and JSON Lines streams that meet the
+ * following conditions:
+ * <ul>
+ * <li>The stream layout only contains records, and every record has the same order, a
+ *   <code>minOccurs</code> of 0 and an unbounded <code>maxOccurs</code>.</li>
+ * <li>Records are terminated by a single ASCII character (or new lines), and line continuation
+ *   (or multiline CSV records) are disabled.  Alternatively, a fixed length stream may have
+ *   a configured <code>recordLength</code> and a single byte character set.  JSON streams
+ *   must have <code>jsonLines</code> enabled.</li>
+ * <li>The character set is ASCII compatible.</li>
+ * </ul>
+ * <p>
+ * Errors are returned in place of the bean that failed, and passed to the configured
+ * {@link BeanReaderErrorHandler} on the calling thread, or otherwise thrown by {@link #read()}.
+ * When records are terminated by new lines, line numbers are counted before records are read
+ * so that reported line numbers are relative to the start of the file.
+ * <p>
+ * {@link #getRecordContext(int)} returns the context of the most recent bean or error read.
+ * The record context of an error is retained with the error.  The record context of a bean
+ * is not retained, and is created when requested by reading its record again on the calling thread.
+ *
+ * @since 3.3.0
+ */
+public class ParallelBeanReader implements BeanReader {
+
+    private static final long MIN_CHUNK_SIZE = 1L << 20;
+    private static final long MAX_CHUNK_SIZE = 16L << 20;
+
+    private Stream stream;
+    private Path file;
+    private FileSplitter splitter;
+    private Locale locale;
+    private boolean ordered;
+    private ForkJoinPool pool;
+    private long chunkSize;
+
+    private List<Chunk> chunks;
+    private int nextChunk;
+    // chunks being read in order
+    private ArrayDeque<ForkJoinTask<List<Item>>> pending = new ArrayDeque<>();
+    // chunks read in completion order
+    private BlockingQueue<List<Item>> completed = new LinkedBlockingQueue<>();
+    private int outstanding;
+    private List<Item> items;
+    private int index;
+    private volatile boolean closed;
+
+    private String recordName;
+    private int lineNumber;
+    private int recordCount;
+    private Item current;
+    private BeanReaderErrorHandler errorHandler;
+    
+    // reads the records of a chunk again to create the record context of a bean
+    private BeanReader contextReader;
+    private Chunk contextChunk;
+    // the position in the chunk of the next record read by the context reader
+    private int contextPosition;
+
+    /**
+     * Constructs a new <code>ParallelBeanReader</code>.
+     * @param stream the stream to read
+     * @param file the file to read
+     * @param charset the character set of the file
+     * @param locale the locale to use for rendering error messages
+     * @param ordered true to return beans in the order they appear in the file
+     * @param pool the {@link ForkJoinPool} used to read the file
+     * @throws IllegalArgumentException if the stream does not support parallel reading
+     * @throws IOException if the file cannot be opened
+     */
+    public ParallelBeanReader(Stream stream, Path file, Charset charset, Locale locale, boolean ordered,
+        ForkJoinPool pool) throws IllegalArgumentException, IOException {
+
+        if (pool == null) {
+            throw new NullPointerException("null pool");
+        }
+
+        this.stream = stream;
+        this.file = file;
+        this.splitter = new FileSplitter(stream, file, charset);
+        this.locale = locale;
+        this.ordered = ordered;
+        this.pool = pool;
+
+        // fail early if the file cannot be read
+        Files.size(file);
+    }
+
+    /**
+     * Sets the approximate number of bytes read by each task.  By default, the chunk size is
+     * calculated from the file size and the parallelism of the pool.  This method must be
+     * called before the first bean is read.
+     * @param chunkSize the chunk size in bytes
+     */
+    public void setChunkSize(long chunkSize) {
+        if (chunks != null) {
+            throw new IllegalStateException("Reading has already started");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Invalid chunk size: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanReader#read()
+     */
+    @Override
+    public Object read() throws BeanReaderException {
+        ensureOpen();
+
+        while (true) {
+            Item item = nextItem();
+            if (item == null) {
+                recordName = null;
+                lineNumber = -1;
+                recordCount = 0;
+                current = null;
+                return null;
+            }
+
+            recordName = item.recordName;
+            lineNumber = item.lineNumber;
+            recordCount = item.recordCount;
+            current = item;
+
+            if (item.error != null) {
+                handleError(item.error);
+                continue;
+            }
+            return item.bean;
+        }
+    }
+
+    /**
+     * Skips ahead in the input stream.  Since records are unmarshalled ahead of the caller,
+     * record validation errors are ignored, but any other error is thrown.
+     * @see org.beanio.BeanReader#skip(int)
+     */
+    @Override
+    public int skip(int count) throws BeanReaderException {
+        ensureOpen();
+
+        int n = 0;
+        while (n < count) {
+            Item item = nextItem();
+            if (item == null) {
+                break;
+            }
+            if (item.error != null && !(item.error instanceof InvalidRecordException)) {
+                throw item.error;
+            }
+            ++n;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the next bean or error read from the file.
+     * @return the next {@link Item}, or null if the end of the file was reached
+     */
+    private Item nextItem() {
+        while (items == null || index == items.size()) {
+            items = nextChunk();
+            index = 0;
+            if (items == null) {
+                return null;
+            }
+        }
+
+        Item item = items.get(index);
+        // release the item once it has been returned
+        items.set(index++, null);
+        return item;
+    }
+
+    /**
+     * Returns the list of beans and errors read from the next chunk.
+     * @return the next chunk, or null if all chunks have been returned
+     */
+    private List<Item> nextChunk() {
+        if (chunks == null) {
+            chunks = split();
+            for (int i=pool.getParallelism() * 2; i>0; i--) {
+                submit();
+            }
+        }
+
+        List<Item> list;
+        if (ordered) {
+            ForkJoinTask<List<Item>> task = pending.poll();
+            if (task == null) {
+                return null;
+            }
+            list = task.join();
+        }
+        else {
+            if (outstanding == 0) {
+                return null;
+            }
+            try {
+                list = completed.take();
+            }
+            catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new BeanReaderException("Interrupted while reading file '" + file + "'", ex);
+            }
+            --outstanding;
+        }
+
+        submit();
+        return list;
+    }
+
+    /**
+     * Submits the next chunk to the pool.
+     */
+    private void submit() {
+        if (nextChunk == chunks.size()) {
+            return;
+        }
+
+        final Chunk chunk = chunks.get(nextChunk++);
+        if (ordered) {
+            pending.add(pool.submit(() -> readChunk(chunk)));
+        }
+        else {
+            ++outstanding;
+            pool.execute(() -> {
+                List<Item> list;
+                try {
+                    list = readChunk(chunk);
+                }
+                catch (Throwable t) {
+                    // the chunk must be added to the queue for the reader to finish
+                    list = new ArrayList<>();
+                    list.add(new Item(new BeanReaderException("Failed to read file '" + file + "'", t), null, -1));
+                }
+                completed.add(list);
+            });
+        }
+    }
+
+    /**
+     * Unmarshals all beans from a chunk of the file.
+     * @param chunk the {@link Chunk} to read
+     * @return the list of beans and errors read
+     */
+    private List<Item> readChunk(Chunk chunk) {
+        List<Item> list = new ArrayList<>();
+
+        BeanReader in = null;
+        try {
+            in = splitter.createBeanReader(chunk.start, chunk.end, chunk.lineOffset, locale);
+
+            while (!closed) {
+                try {
+                    Object bean = in.read();
+                    if (bean == null) {
+                        break;
+                    }
+                    list.add(new Item(bean, in.getRecordName(), in.getLineNumber(), in.getRecordCount(),
+                        chunk, list.size()));
+                }
+                catch (BeanReaderIOException ex) {
+                    list.add(new Item(ex, in.getRecordName(), in.getLineNumber()));
+                    break;
+                }
+                catch (BeanReaderException ex) {
+                    list.add(new Item(ex, in.getRecordName(), in.getLineNumber()));
+                }
+            }
+        }
+        catch (IOException ex) {
+            list.add(new Item(new BeanReaderIOException("Failed to read file '" + file + "'", ex), null, -1));
+        }
+        catch (RuntimeException ex) {
+            list.add(new Item(new BeanReaderException("Failed to read file '" + file + "'", ex), null, -1));
+        }
+        finally {
+            if (in != null) {
+                try {
+                    in.close();
+                }
+                catch (BeanReaderIOException ex) { }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Splits the file into chunks that end on a record boundary.
+     * @return the list of chunks
+     * @throws BeanReaderIOException if the file cannot be read
+     */
+    private List<Chunk> split() throws BeanReaderIOException {
+        List<Chunk> list = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            long target = chunkSize;
+            if (target == 0) {
+                target = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE, size / (pool.getParallelism() * 4L)));
+            }
+
+            long start = 0;
+            while (start < size) {
+                long end = splitter.findRecordBoundary(channel, start + target, size);
+                list.add(new Chunk(start, end));
+                start = end;
+            }
+        }
+        catch (IOException ex) {
+            throw new BeanReaderIOException("Failed to read file '" + file + "'", ex);
+        }
+
+        // count the lines in each chunk in parallel to calculate line numbers
+        if (splitter.isLineCounted() && list.size() > 1) {
+            List<ForkJoinTask<Integer>> tasks = new ArrayList<>(list.size() - 1);
+            for (int i=0, j=list.size() - 1; i<j; i++) {
+                final Chunk chunk = list.get(i);
+                tasks.add(pool.submit(() -> splitter.countLines(chunk.start, chunk.end)));
+            }
+
+            int lineOffset = 0;
+            try {
+                for (int i=0, j=tasks.size(); i<j; i++) {
+                    lineOffset += tasks.get(i).join();
+                    list.get(i + 1).lineOffset = lineOffset;
+                }
+            }
+            catch (RuntimeException ex) {
+                throw new BeanReaderException("Failed to read file '" + file + "'", ex);
+            }
+        }
+        return list;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanReader#getRecordName()
+     */
+    @Override
+    public String getRecordName() {
+        return recordName;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanReader#getLineNumber()
+     */
+    @Override
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanReader#getRecordCount()
+     */
+    @Override
+    public int getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Returns the record context of the most recent bean or error read.  Parallel
+     * streams only contain records, so only index 0 is available.
+     * @see org.beanio.BeanReader#getRecordContext(int)
+     */
+    @Override
+    public RecordContext getRecordContext(int index) throws IndexOutOfBoundsException {
+        if (index != 0 || current == null) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (current.error != null) {
+            return current.error.getRecordContext();
+        }
+        return readRecordContext(current.chunk, current.position);
+    }
+
+    /**
+     * Reads a record of a chunk again to create its record context.  Records are read
+     * forward from the last record read, so the context of each bean in a chunk can
+     * be requested without reading the chunk more than once.
+     * @param chunk the {@link Chunk} that contains the record
+     * @param position the position of the record in the chunk
+     * @return the {@link RecordContext}
+     */
+    private RecordContext readRecordContext(Chunk chunk, int position) {
+        if (contextReader == null || contextChunk != chunk || contextPosition > position) {
+            closeContextReader();
+            try {
+                contextReader = splitter.createBeanReader(chunk.start, chunk.end, chunk.lineOffset, locale);
+            }
+            catch (IOException ex) {
+                throw new BeanReaderIOException("Failed to read file '" + file + "'", ex);
+            }
+            contextChunk = chunk;
+            contextPosition = 0;
+        }
+
+        while (contextPosition <= position) {
+            try {
+                contextReader.read();
+            }
+            catch (BeanReaderIOException ex) {
+                throw ex;
+            }
+            catch (BeanReaderException ex) {
+                // errors were already reported when the chunk was read
+            }
+            ++contextPosition;
+        }
+        return contextReader.getRecordContext(0);
+    }
+
+    private void closeContextReader() {
+        if (contextReader != null) {
+            try {
+                contextReader.close();
+            }
+            catch (BeanReaderIOException ex) { }
+            contextReader = null;
+            contextChunk = null;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanReader#close()
+     */
+    @Override
+    public void close() throws BeanReaderIOException {
+        ensureOpen();
+
+        closed = true;
+        for (ForkJoinTask<?> task : pending) {
+            task.cancel(false);
+        }
+        pending.clear();
+        completed.clear();
+        items = null;
+        current = null;
+        closeContextReader();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.BeanReader#setErrorHandler(org.beanio.BeanReaderErrorHandler)
+     */
+    @Override
+    public void setErrorHandler(BeanReaderErrorHandler errorHandler) {
+        this.errorHandler = errorHandler;
+    }
+
+    /*
+     * Throws an exception if the stream has already been closed.
+     */
+    private void ensureOpen() {
+        if (closed) {
+            throw new BeanReaderIOException("Stream closed");
+        }
+    }
+
+    private void handleError(BeanReaderException ex) {
+        if (errorHandler == null) {
+            throw ex;
+        }
+        else {
+            try {
+                errorHandler.handleError(ex);
+            }
+            catch (BeanReaderException e) {
+                throw e;
+            }
+            catch (Exception e) {
+                throw new BeanReaderException("Exception thrown by error handler", e);
+            }
+        }
+    }
+
+    @Override
+    public void debug() {
+        debug(System.out);
+    }
+
+    @Override
+    public void debug(PrintStream out) {
+        ((Component) stream.getLayout()).print(out);
+    }
+
+    /**
+     * A range of the file that starts and ends on a record boundary.
+     */
+    private static class Chunk {
+        private final long start;
+        private final long end;
+        // the number of lines in the file before this chunk
+        private int lineOffset;
+
+        public Chunk(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    /**
+     * A bean or error read from a chunk.
+     */
+    private static class Item {
+        private final Object bean;
+        private final BeanReaderException error;
+        private final String recordName;
+        private final int lineNumber;
+        private final int recordCount;
+        // the chunk and position of the record a bean was read from
+        private final Chunk chunk;
+        private final int position;
+
+        public Item(Object bean, String recordName, int lineNumber, int recordCount,
+            Chunk chunk, int position) {
+            this.bean = bean;
+            this.error = null;
+            this.recordName = recordName;
+            this.lineNumber = lineNumber;
+            this.recordCount = recordCount;
+            this.chunk = chunk;
+            this.position = position;
+        }
+
+        public Item(BeanReaderException error, String recordName, int lineNumber) {
+            this.bean = null;
+            this.error = error;
+            this.recordName = recordName;
+            this.lineNumber = lineNumber;
+            this.recordCount = error.getRecordCount() > 0 ? 1 : 0;
+            this.chunk = null;
+            this.position = -1;
+        }
+    }
+}
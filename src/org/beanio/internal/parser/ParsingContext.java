@@ -32,7 +32,10 @@ public abstract class ParsingContext {
     
     private int fieldOffset = 0;
     private Object[] localHeap;
+    private int[] intHeap;
     private ArrayList<Iteration> iterationStack = new ArrayList<>();
+    // the sum of the field position offsets of each iteration on the stack
+    private int iterationOffset = 0;
 
     protected void clear() {
         fieldOffset = 0;
@@ -52,6 +55,7 @@ public abstract class ParsingContext {
      */
     public void pushIteration(Iteration iteration) {
         iterationStack.add(iteration);
+        iterationOffset += iteration.getIterationIndex(this) * iteration.getIterationSize();
     }
     
     /**
@@ -60,12 +64,29 @@ public abstract class ParsingContext {
      */
     public Iteration popIteration() {
         Iteration iter = iterationStack.remove(iterationStack.size() - 1);
+        int offset = iter.getIterationSize() * (iter.getIterationIndex(this));
+        iterationOffset -= offset;
         if (iter.isDynamicIteration()) {
-            fieldOffset += iter.getIterationSize() * (iter.getIterationIndex(this));
+            fieldOffset += offset;
         }
         return iter;
     }
     
+    /**
+     * Updates the field position offset after the index of an {@link Iteration} changed.
+     * Only the last iteration pushed onto the stack is updated, an iteration that has
+     * not been pushed is offset when pushed.
+     * @param iteration the {@link Iteration}
+     * @param delta the new iteration index less the previous index
+     * @since 3.3.0
+     */
+    public final void iterationIndexChanged(Iteration iteration, int delta) {
+        int size = iterationStack.size();
+        if (size > 0 && iterationStack.get(size - 1) == iteration) {
+            iterationOffset += delta * iteration.getIterationSize();
+        }
+    }
+    
     /**
      * Calculates a field position by adjusting for any applied iterations.
      * @param position the field position to adjust (i.e. the position of the first
@@ -73,10 +94,7 @@ public abstract class ParsingContext {
      * @return the adjusted field position
      */
     public final int getAdjustedFieldPosition(int position) {
-        for (Iteration i : iterationStack) {
-            position += i.getIterationIndex(this) * i.getIterationSize();
-        }
-        return position + fieldOffset;
+        return position + iterationOffset + fieldOffset;
     }
     
     /**
@@ -101,7 +119,18 @@ public abstract class ParsingContext {
     }
     
     public final void createHeap(int size) {
+        createHeap(size, 0);
+    }
+    
+    /**
+     * Creates the heaps that hold parser local variables.
+     * @param size the number of {@link ParserLocal} variables
+     * @param intSize the number of {@link IntParserLocal} variables
+     * @since 3.3.0
+     */
+    public final void createHeap(int size, int intSize) {
         localHeap = new Object[size];
+        intHeap = new int[intSize];
     }
     
     public final Object getLocal(int index) {
@@ -111,4 +140,24 @@ public abstract class ParsingContext {
     public final void setLocal(int index, Object obj) {
         localHeap[index] = obj;
     }
+    
+    /**
+     * Returns the value of an {@link IntParserLocal}.
+     * @param index the index of the variable in the int heap
+     * @return the value
+     * @since 3.3.0
+     */
+    public final int getIntLocal(int index) {
+        return intHeap[index];
+    }
+    
+    /**
+     * Sets the value of an {@link IntParserLocal}.
+     * @param index the index of the variable in the int heap
+     * @param value the value
+     * @since 3.3.0
+     */
+    public final void setIntLocal(int index, int value) {
+        intHeap[index] = value;
+    }
 }
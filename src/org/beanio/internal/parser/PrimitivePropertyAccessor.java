@@ -0,0 +1,35 @@
+package org.beanio.internal.parser;
+
+/**
+ * A {@link PropertyAccessor} that can set a primitive bean property without boxing
+ * its value.  A value may only be set using the method for the property's type.
+ * 
+ * <p>Implementations must be thread safe.
+ * 
+ * @since 3.3.0
+ * @see org.beanio.types.ToIntTypeHandler
+ */
+public interface PrimitivePropertyAccessor extends PropertyAccessor {
+
+    /**
+     * Sets an <code>int</code> property value on a bean object.
+     * @param bean the bean object to set the property
+     * @param value the property value
+     */
+    public void setInt(Object bean, int value);
+    
+    /**
+     * Sets a <code>long</code> property value on a bean object.
+     * @param bean the bean object to set the property
+     * @param value the property value
+     */
+    public void setLong(Object bean, long value);
+    
+    /**
+     * Sets a <code>double</code> property value on a bean object.
+     * @param bean the bean object to set the property
+     * @param value the property value
+     */
+    public void setDouble(Object bean, double value);
+    
+}
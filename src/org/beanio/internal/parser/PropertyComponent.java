@@ -27,7 +27,8 @@ import org.beanio.internal.util.*;
  */
 public abstract class PropertyComponent extends Component implements Property {
 
-    protected static boolean createMissingBeans = Settings.getInstance().getBoolean(
+    // whether beans are created for missing fields and records
+    protected boolean createMissingBeans = Settings.getInstance().getBoolean(
         Settings.CREATE_MISSING_BEANS);
     
     // the class type of the bean object
@@ -143,4 +144,14 @@ public abstract class PropertyComponent extends Component implements Property {
         s.append(", ").append(DebugUtil.formatOption("rid", identifier));
         s.append(", ").append(DebugUtil.formatOption("required", required));
     }
+    
+    /**
+     * Sets whether beans are instantiated for missing fields and records during unmarshalling.
+     * Defaults to the <code>org.beanio.createMissingBeans</code> setting.
+     * @param createMissingBeans true to create missing beans
+     * @since 3.3.0
+     */
+    public void setCreateMissingBeans(boolean createMissingBeans) {
+        this.createMissingBeans = createMissingBeans;
+    }
 }
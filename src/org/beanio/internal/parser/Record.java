@@ -36,7 +36,9 @@ public class Record extends Segment implements Selector {
     // the record format
     private RecordFormat format;
     // current record count
-    private ParserLocal<Integer> count = new ParserLocal<>(0);
+    private IntParserLocal count = new IntParserLocal();
+    // the compiled fields of this record, or null to use its components
+    private CompiledRecord compiled;
 
     /*
      * (non-Javadoc)
@@ -45,7 +47,7 @@ public class Record extends Segment implements Selector {
     @Override
     public boolean marshal(MarshallingContext context) throws IOException {
         try {
-            boolean marshalled = super.marshal(context);
+            boolean marshalled = (compiled != null) ? compiled.marshal(context) : super.marshal(context);
             if (marshalled) {
                 context.writeRecord();
             }
@@ -76,7 +78,12 @@ public class Record extends Segment implements Selector {
             }
             
             // invoke segment unmarshalling
-            super.unmarshal(context);
+            if (compiled != null) {
+                compiled.unmarshal(context);
+            }
+            else {
+                super.unmarshal(context);
+            }
             
             return true;
         }
@@ -110,7 +117,13 @@ public class Record extends Segment implements Selector {
             Object value = context.getBean();
             if (property.defines(value)) {
                 setCount(context, getCount(context) + 1);
-                property.setValue(context, value);
+                if (compiled != null && value != null) {
+                    // compiled fields are read from the bean object when marshalled
+                    ((Bean) property).setBeanObject(context, value);
+                }
+                else {
+                    property.setValue(context, value);
+                }
                 return this;
             }
         }
@@ -185,7 +198,7 @@ public class Record extends Segment implements Selector {
      */
     @Override
     public void updateState(ParsingContext context, String namespace, Map<String, Object> state) {
-        state.put(getKey(namespace, COUNT_KEY), count.get(context));
+        state.put(getKey(namespace, COUNT_KEY), count.getInt(context));
     }
 
     /**
@@ -202,7 +215,7 @@ public class Record extends Segment implements Selector {
         if (n == null) {
             throw new IllegalStateException("Missing state information for key '" + key + "'");
         }
-        count.set(context, n);
+        count.setInt(context, n);
     }
     
     /**
@@ -247,11 +260,11 @@ public class Record extends Segment implements Selector {
     }
     @Override
     public int getCount(ParsingContext context) {
-        return count.get(context);
+        return count.getInt(context);
     }
     @Override
     public void setCount(ParsingContext context, int count) {
-        this.count.set(context, count);
+        this.count.setInt(context, count);
     }
     public RecordFormat getFormat() {
         return format;
@@ -260,9 +273,24 @@ public class Record extends Segment implements Selector {
         this.format = format;
     }
     
+    /**
+     * Compiles this record into a fixed sequence of fields if supported, so that it is
+     * marshalled and unmarshalled without walking its segment and bean components.
+     * Must be called after all children and the bound property are set.
+     * @return true if this record was compiled
+     * @since 3.3.0
+     */
+    public boolean compile() {
+        compiled = CompiledRecord.compile(this);
+        return compiled != null;
+    }
+    
     @Override
     public void registerLocals(Set<ParserLocal<?>> locals) {
         if (locals.add(count)) {
+            if (compiled != null) {
+                compiled.registerLocals(locals);
+            }
             super.registerLocals(locals);
         }
     }
@@ -17,7 +17,7 @@ package org.beanio.internal.parser;
 
 import java.util.*;
 
-import org.beanio.internal.util.DebugUtil;
+import org.beanio.internal.util.*;
 
 /**
  * 
@@ -34,6 +34,8 @@ public abstract class RecordAggregation extends DelegatingParser implements Sele
     private Class<?> type;
     // true if null should be returned for an empty collection
     protected boolean lazy;
+    // whether empty strings are treated like null values by lazy objects
+    protected boolean lazyIfEmpty = Settings.getInstance().getBoolean(Settings.LAZY_IF_EMPTY);
 
     /**
      * Sets the collection type.
@@ -229,6 +231,16 @@ public abstract class RecordAggregation extends DelegatingParser implements Sele
     public void setLazy(boolean lazy) {
         this.lazy = lazy;
     }
+
+    /**
+     * Sets whether empty strings are treated like null values when determining whether
+     * a lazy collection has a value.  Defaults to the <code>org.beanio.lazyIfEmpty</code> setting.
+     * @param lazyIfEmpty true to treat empty strings as null
+     * @since 3.3.0
+     */
+    public void setLazyIfEmpty(boolean lazyIfEmpty) {
+        this.lazyIfEmpty = lazyIfEmpty;
+    }
     
     @Override
     protected boolean isSupportedChild(Component child) {
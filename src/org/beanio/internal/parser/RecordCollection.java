@@ -39,7 +39,7 @@ public class RecordCollection extends RecordAggregation {
         
         Object aggregatedValue = getSelector().getValue(context);
         if (aggregatedValue != Value.INVALID) {
-        	if (!lazy || StringUtil.hasValue(aggregatedValue)) {
+        	if (!lazy || StringUtil.hasValue(aggregatedValue, lazyIfEmpty)) {
         		Object aggregation = value.get(context);
         		if (aggregation == null || aggregation == Value.MISSING) {
         			aggregation = createAggregationType();
@@ -40,7 +40,7 @@ public class RecordMap extends RecordAggregation {
         if (aggregatedValue != Value.INVALID) {
             Object keyValue = key.getValue(context);
             
-            if (!lazy || StringUtil.hasValue(keyValue) || StringUtil.hasValue(aggregatedValue)) {
+            if (!lazy || StringUtil.hasValue(keyValue, lazyIfEmpty) || StringUtil.hasValue(aggregatedValue, lazyIfEmpty)) {
                 Object aggregation = value.get(context);
                 if (aggregation == null || aggregation == Value.MISSING) {
                     aggregation = createAggregationType();
@@ -16,9 +16,11 @@
 package org.beanio.internal.parser;
 
 import java.io.*;
+import java.nio.charset.Charset;
 import java.util.*;
 
 import org.beanio.*;
+import org.beanio.internal.util.BatchWriter;
 import org.beanio.stream.*;
 
 /**
@@ -80,12 +82,40 @@ public class Stream {
         if (in == null) {
             throw new NullPointerException("null reader");
         }
-        
+        return createBeanReader(format.createRecordReader(in), locale);
+    }
+    
+    /**
+     * Creates a new {@link BeanReader} for reading from the given byte stream.
+     * @param in the input stream to read from
+     * @param charset the character set used to decode the input stream
+     * @param locale the locale to use for rendering error messages
+     * @return the new {@link BeanReader}
+     * @since 3.3.0
+     */
+    public BeanReader createBeanReader(InputStream in, Charset charset, Locale locale) {
+        if (in == null) {
+            throw new NullPointerException("null input stream");
+        }
+        if (charset == null) {
+            throw new NullPointerException("null charset");
+        }
+        return createBeanReader(format.createRecordReader(in, charset), locale);
+    }
+    
+    /**
+     * Creates a new {@link BeanReader} for reading from the given record reader.
+     * @param recordReader the {@link RecordReader} to read records from
+     * @param locale the locale to use for rendering error messages
+     * @return the new {@link BeanReader}
+     * @since 3.3.0
+     */
+    BeanReader createBeanReader(RecordReader recordReader, Locale locale) {
         UnmarshallingContext context = format.createUnmarshallingContext();
         initContext(context);
         context.setMessageFactory(messageFactory);
         context.setLocale(locale);
-        context.setRecordReader(format.createRecordReader(in));
+        context.setRecordReader(recordReader);
         
         BeanReaderImpl reader = new BeanReaderImpl(context, layout);
         reader.setIgnoreUnidentifiedRecords(ignoreUnidentifiedRecords);
@@ -124,9 +154,10 @@ public class Stream {
         
         MarshallingContext context = format.createMarshallingContext(true);
         initContext(context);
-        context.setRecordWriter(format.createRecordWriter(out));
+        BatchWriter batchWriter = new BatchWriter(out);
+        context.setRecordWriter(format.createRecordWriter(batchWriter));
 
-        BeanWriterImpl writer = new BeanWriterImpl(context, layout);
+        BeanWriterImpl writer = new BeanWriterImpl(context, layout, batchWriter);
         return writer;
     }
     
@@ -147,10 +178,24 @@ public class Stream {
     }
     
     private void initContext(ParsingContext context) {
-        context.createHeap(locals.size());
+        int intSize = 0;
+        for (ParserLocal<?> local : locals) {
+            if (local instanceof IntParserLocal) {
+                ++intSize;
+            }
+        }
+        
+        // int variables are held in their own heap
+        context.createHeap(locals.size() - intSize, intSize);
         int i=0;
+        int n=0;
         for (ParserLocal<?> local : locals) {
-            local.init(i++, context);
+            if (local instanceof IntParserLocal) {
+                ((IntParserLocal) local).initInt(n++, context);
+            }
+            else {
+                local.init(i++, context);
+            }
         }
     }
     
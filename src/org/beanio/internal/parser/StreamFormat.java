@@ -16,6 +16,7 @@
 package org.beanio.internal.parser;
 
 import java.io.*;
+import java.nio.charset.Charset;
 
 import org.beanio.stream.*;
 
@@ -67,6 +68,15 @@ public interface StreamFormat {
      */
     public RecordReader createRecordReader(Reader in);
     
+    /**
+     * Creates a new record reader for a byte stream.
+     * @param in the {@link InputStream} to read records from
+     * @param charset the character set used to decode the input stream
+     * @return the new {@link RecordReader}
+     * @since 3.3.0
+     */
+    public RecordReader createRecordReader(InputStream in, Charset charset);
+    
     /**
      * Creates a new record writer.
      * @param out the {@link Writer} to write records to
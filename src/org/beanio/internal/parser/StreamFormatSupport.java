@@ -16,6 +16,7 @@
 package org.beanio.internal.parser;
 
 import java.io.*;
+import java.nio.charset.Charset;
 
 import org.beanio.stream.*;
 
@@ -57,6 +58,23 @@ public abstract class StreamFormatSupport implements StreamFormat {
     public RecordReader createRecordReader(Reader in) {
         return recordParserFactory.createReader(in);
     }
+    
+    /**
+     * Creates a new <code>RecordReader</code> to read from the given byte stream.  If the 
+     * configured record parser factory implements {@link ByteRecordReaderFactory}, this
+     * method delegates to it, otherwise the input stream is decoded using a {@link Reader}.
+     * @param in the input stream to read from
+     * @param charset the character set used to decode the input stream
+     * @return a new <code>RecordReader</code>
+     * @since 3.3.0
+     */
+    @Override
+    public RecordReader createRecordReader(InputStream in, Charset charset) {
+        if (recordParserFactory instanceof ByteRecordReaderFactory) {
+            return ((ByteRecordReaderFactory) recordParserFactory).createReader(in, charset);
+        }
+        return createRecordReader(new BufferedReader(new InputStreamReader(in, charset)));
+    }
 
     /**
      * Creates a new <code>RecordWriter</code> for writing to the given output stream.
@@ -135,7 +135,8 @@ public abstract class UnmarshallingContext extends ParsingContext {
         
         recordContext.setRecordName(recordName);
         recordContext.setLineNumber(getLineNumber());
-        recordContext.setRecordText(getRecordReader().getRecordText());
+        // the record text is only copied from the record reader if needed
+        recordContext.setRecordTextSource(getRecordReader());
     }
     
     /**
@@ -148,6 +149,8 @@ public abstract class UnmarshallingContext extends ParsingContext {
         // if unmarshalling a record group, add the last record context to the
         // record list and create a new one
         if (isRecordGroup) {
+            // the record text must be resolved before the next record is read
+            recordContext.resolveText();
             recordList.add(recordContext);
             recordContext = new ErrorContext();
         }
@@ -187,6 +190,7 @@ public abstract class UnmarshallingContext extends ParsingContext {
         else {
             if (recordContext.hasErrors()) {
                 dirty = true;
+                recordContext.resolveText();
                 if (lineNumber > 0) {
                     throw new InvalidRecordException(recordContext, "Invalid '" + componentName + 
                          "' record at line " + lineNumber);
@@ -219,6 +223,7 @@ public abstract class UnmarshallingContext extends ParsingContext {
         }
         else if (recordCount > 0 && index == 0) {
             dirty = true;
+            recordContext.resolveText();
             return recordContext;
         }
         else {
@@ -234,6 +239,22 @@ public abstract class UnmarshallingContext extends ParsingContext {
     public final void setFieldText(String fieldName, String text) {
         recordContext.setFieldText(fieldName, text, isRepeating());
     }
+    
+    /**
+     * Sets the raw field text for a named field from a view of the record, which is
+     * only copied if the field text is requested or the record context is kept.
+     * @param fieldName the name of the field
+     * @param view the {@link FieldTextView} holding the raw field text
+     * @since 3.3.0
+     */
+    public final void setFieldTextView(String fieldName, FieldTextView view) {
+        if (isRepeating()) {
+            recordContext.setFieldText(fieldName, view.getRawText(), true);
+        }
+        else {
+            recordContext.setFieldTextView(fieldName, view);
+        }
+    }
 
     public TextLengthCounter getTextLengthCounter() {
         return new TextLengthCounter();
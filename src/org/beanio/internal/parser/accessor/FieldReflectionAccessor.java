@@ -18,7 +18,7 @@ package org.beanio.internal.parser.accessor;
 import java.lang.reflect.Field;
 
 import org.beanio.BeanIOException;
-import org.beanio.internal.parser.PropertyAccessor;
+import org.beanio.internal.parser.*;
 
 /**
  * A {@link PropertyAccessor} that uses reflection to access a public field.
@@ -26,7 +26,7 @@ import org.beanio.internal.parser.PropertyAccessor;
  * @author Kevin Seim
  * @since 2.0
  */
-public class FieldReflectionAccessor extends PropertyAccessorSupport implements PropertyAccessor {
+public class FieldReflectionAccessor extends PropertyAccessorSupport implements PrimitivePropertyAccessor {
 
     private Field field;
     
@@ -69,4 +69,49 @@ public class FieldReflectionAccessor extends PropertyAccessorSupport implements
                 "' on bean class '" + bean.getClass().getName() + "'", ex);
         }
     }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setInt(java.lang.Object, int)
+     */
+    @Override
+    public void setInt(Object bean, int value) {
+        try {
+            field.setInt(bean, value);
+        }
+        catch (Exception ex) {
+            throw new BeanIOException("Failed to set field '" + field.getName() + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setLong(java.lang.Object, long)
+     */
+    @Override
+    public void setLong(Object bean, long value) {
+        try {
+            field.setLong(bean, value);
+        }
+        catch (Exception ex) {
+            throw new BeanIOException("Failed to set field '" + field.getName() + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setDouble(java.lang.Object, double)
+     */
+    @Override
+    public void setDouble(Object bean, double value) {
+        try {
+            field.setDouble(bean, value);
+        }
+        catch (Exception ex) {
+            throw new BeanIOException("Failed to set field '" + field.getName() + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+    }
 }
@@ -0,0 +1,198 @@
+package org.beanio.internal.parser.accessor;
+
+import java.util.function.*;
+
+import org.beanio.BeanIOException;
+import org.beanio.internal.parser.*;
+
+/**
+ * A {@link PropertyAccessor} that gets and sets a bean value using functions generated 
+ * when the stream is compiled, or by the BeanIO annotation processor, which invoke the 
+ * bean's getter and setter methods or access its fields directly.
+ * 
+ * @since 3.3.0
+ * @see org.beanio.internal.compiler.accessor.LambdaAccessorFactory
+ */
+public class LambdaAccessor extends PropertyAccessorSupport implements PrimitivePropertyAccessor {
+
+    private String name;
+    private boolean field;
+    private String getterName;
+    private String setterName;
+    private Function<Object, Object> getter;
+    private BiConsumer<Object, Object> setter;
+    // functions that invoke a setter method with a primitive argument, or null
+    private ObjIntConsumer<Object> intSetter;
+    private ObjLongConsumer<Object> longSetter;
+    private ObjDoubleConsumer<Object> doubleSetter;
+    
+    /**
+     * Constructs a new <code>LambdaAccessor</code> for a bean field.
+     * @param name the field name
+     * @param getter the function that gets the field value
+     * @param setter the function that sets the field value, or null if the field is final
+     * @param constructorArgumentIndex the constructor argument index, or -1 if not a constructor argument
+     */
+    public LambdaAccessor(String name, Function<Object, Object> getter, BiConsumer<Object, Object> setter,
+        int constructorArgumentIndex) {
+        this(name, null, getter, null, setter, constructorArgumentIndex);
+        this.field = true;
+    }
+    
+    /**
+     * Constructs a new <code>LambdaAccessor</code>.
+     * @param name the property name
+     * @param getterName the getter method name, or null if the property is not readable
+     * @param getter the function that invokes the getter method, or null if the property is not readable
+     * @param setterName the setter method name, or null if the property is not writeable
+     * @param setter the function that invokes the setter method, or null if the property is not writeable
+     * @param constructorArgumentIndex the constructor argument index, or -1 if not a constructor argument
+     */
+    public LambdaAccessor(String name, String getterName, Function<Object, Object> getter, 
+        String setterName, BiConsumer<Object, Object> setter, int constructorArgumentIndex) {
+        this.name = name;
+        this.getterName = getterName;
+        this.getter = getter;
+        this.setterName = setterName;
+        this.setter = setter;
+        setConstructorArgumentIndex(constructorArgumentIndex);
+    }
+    
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PropertyAccessor#getValue(java.lang.Object)
+     */
+    @Override
+    public Object getValue(Object bean) {
+        if (getter == null) {
+            throw new BeanIOException("There is no readable property named '" + 
+                name + "' on bean class '" + bean.getClass().getName() + "'");
+        }
+        
+        try {
+            return getter.apply(bean);
+        }
+        catch (Exception ex) {
+            throw getterException(bean, ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PropertyAccessor#setValue(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void setValue(Object bean, Object value) {
+        if (setter == null) {
+            throw new BeanIOException(
+                "There is no writeable property named '" + name + 
+                "' on class '" + bean.getClass().getName() + "'");
+        }
+        
+        try {
+            setter.accept(bean, value);
+        }
+        catch (Exception ex) {
+            throw setterException(bean, ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setInt(java.lang.Object, int)
+     */
+    @Override
+    public void setInt(Object bean, int value) {
+        if (intSetter == null) {
+            setValue(bean, value);
+            return;
+        }
+        
+        try {
+            intSetter.accept(bean, value);
+        }
+        catch (Exception ex) {
+            throw setterException(bean, ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setLong(java.lang.Object, long)
+     */
+    @Override
+    public void setLong(Object bean, long value) {
+        if (longSetter == null) {
+            setValue(bean, value);
+            return;
+        }
+        
+        try {
+            longSetter.accept(bean, value);
+        }
+        catch (Exception ex) {
+            throw setterException(bean, ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setDouble(java.lang.Object, double)
+     */
+    @Override
+    public void setDouble(Object bean, double value) {
+        if (doubleSetter == null) {
+            setValue(bean, value);
+            return;
+        }
+        
+        try {
+            doubleSetter.accept(bean, value);
+        }
+        catch (Exception ex) {
+            throw setterException(bean, ex);
+        }
+    }
+
+    private BeanIOException getterException(Object bean, Exception ex) {
+        if (field) {
+            return new BeanIOException("Failed to get field '" + name + 
+                "' from bean class '" + bean.getClass().getName() + "'", ex);
+        }
+        return new BeanIOException("Failed to invoke method '" + getterName + 
+            "' on bean class '" + bean.getClass().getName() + "'", ex);
+    }
+    
+    private BeanIOException setterException(Object bean, Exception ex) {
+        if (field) {
+            return new BeanIOException("Failed to set field '" + name + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+        return new BeanIOException("Failed to invoke method '" + setterName + 
+            "' on bean class '" + bean.getClass().getName() + "'", ex);
+    }
+    
+    /**
+     * Sets the function that invokes an <code>int</code> setter method.
+     * @param intSetter the function, or null
+     */
+    public void setIntSetter(ObjIntConsumer<Object> intSetter) {
+        this.intSetter = intSetter;
+    }
+
+    /**
+     * Sets the function that invokes a <code>long</code> setter method.
+     * @param longSetter the function, or null
+     */
+    public void setLongSetter(ObjLongConsumer<Object> longSetter) {
+        this.longSetter = longSetter;
+    }
+
+    /**
+     * Sets the function that invokes a <code>double</code> setter method.
+     * @param doubleSetter the function, or null
+     */
+    public void setDoubleSetter(ObjDoubleConsumer<Object> doubleSetter) {
+        this.doubleSetter = doubleSetter;
+    }
+}
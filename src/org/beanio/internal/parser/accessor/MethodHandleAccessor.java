@@ -0,0 +1,187 @@
+package org.beanio.internal.parser.accessor;
+
+import java.lang.invoke.*;
+
+import org.beanio.BeanIOException;
+import org.beanio.internal.parser.*;
+
+/**
+ * A {@link PropertyAccessor} that gets and sets a bean value using method handles.  
+ * The handles may target getter and setter methods, or a field.
+ * 
+ * @since 3.3.0
+ * @see org.beanio.internal.compiler.accessor.LambdaAccessorFactory
+ */
+public class MethodHandleAccessor extends PropertyAccessorSupport implements PrimitivePropertyAccessor {
+
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+    private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+    
+    private String name;
+    private boolean field;
+    private String getterName;
+    private String setterName;
+    private MethodHandle getter;
+    private MethodHandle setter;
+    // the setter adapted to its primitive argument type, or null if the argument is not primitive
+    private MethodHandle primitiveSetter;
+    
+    /**
+     * Constructs a new <code>MethodHandleAccessor</code> for a bean field.
+     * @param name the field name
+     * @param getter the field getter handle
+     * @param setter the field setter handle
+     * @param constructorArgumentIndex the constructor argument index, or -1 if not a constructor argument
+     */
+    public MethodHandleAccessor(String name, MethodHandle getter, MethodHandle setter, 
+        int constructorArgumentIndex) {
+        this(name, null, getter, null, setter, constructorArgumentIndex);
+        this.field = true;
+    }
+    
+    /**
+     * Constructs a new <code>MethodHandleAccessor</code> for a bean property.
+     * @param name the property name
+     * @param getterName the getter method name, or null if the property is not readable
+     * @param getter the getter method handle, or null if the property is not readable
+     * @param setterName the setter method name, or null if the property is not writeable
+     * @param setter the setter method handle, or null if the property is not writeable
+     * @param constructorArgumentIndex the constructor argument index, or -1 if not a constructor argument
+     */
+    public MethodHandleAccessor(String name, String getterName, MethodHandle getter, 
+        String setterName, MethodHandle setter, int constructorArgumentIndex) {
+        this.name = name;
+        this.getterName = getterName;
+        this.setterName = setterName;
+        
+        // adapt the handles so that they can be called using invokeExact
+        if (getter != null) {
+            this.getter = getter.asType(GETTER_TYPE);
+        }
+        if (setter != null) {
+            this.setter = setter.asType(SETTER_TYPE);
+            
+            Class<?> argumentType = setter.type().parameterType(1);
+            if (argumentType.isPrimitive()) {
+                this.primitiveSetter = setter.asType(
+                    MethodType.methodType(void.class, Object.class, argumentType));
+            }
+        }
+        setConstructorArgumentIndex(constructorArgumentIndex);
+    }
+    
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PropertyAccessor#getValue(java.lang.Object)
+     */
+    @Override
+    public Object getValue(Object bean) {
+        if (getter == null) {
+            throw new BeanIOException("There is no readable property named '" + 
+                name + "' on bean class '" + bean.getClass().getName() + "'");
+        }
+        
+        try {
+            return (Object) getter.invokeExact(bean);
+        }
+        catch (Throwable ex) {
+            if (field) {
+                throw new BeanIOException("Failed to get field '" + name + 
+                    "' from bean class '" + bean.getClass().getName() + "'", ex);
+            }
+            throw new BeanIOException("Failed to invoke method '" + getterName + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PropertyAccessor#setValue(java.lang.Object, java.lang.Object)
+     */
+    @Override
+    public void setValue(Object bean, Object value) {
+        if (setter == null) {
+            throw new BeanIOException(
+                "There is no writeable property named '" + name + 
+                "' on class '" + bean.getClass().getName() + "'");
+        }
+        
+        try {
+            setter.invokeExact(bean, value);
+        }
+        catch (Throwable ex) {
+            if (field) {
+                throw new BeanIOException("Failed to set field '" + name + 
+                    "' on bean class '" + bean.getClass().getName() + "'", ex);
+            }
+            throw new BeanIOException("Failed to invoke method '" + setterName + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setInt(java.lang.Object, int)
+     */
+    @Override
+    public void setInt(Object bean, int value) {
+        if (primitiveSetter == null || primitiveSetter.type().parameterType(1) != int.class) {
+            setValue(bean, value);
+            return;
+        }
+        
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        }
+        catch (Throwable ex) {
+            throw newSetterException(bean, ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setLong(java.lang.Object, long)
+     */
+    @Override
+    public void setLong(Object bean, long value) {
+        if (primitiveSetter == null || primitiveSetter.type().parameterType(1) != long.class) {
+            setValue(bean, value);
+            return;
+        }
+        
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        }
+        catch (Throwable ex) {
+            throw newSetterException(bean, ex);
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.PrimitivePropertyAccessor#setDouble(java.lang.Object, double)
+     */
+    @Override
+    public void setDouble(Object bean, double value) {
+        if (primitiveSetter == null || primitiveSetter.type().parameterType(1) != double.class) {
+            setValue(bean, value);
+            return;
+        }
+        
+        try {
+            primitiveSetter.invokeExact(bean, value);
+        }
+        catch (Throwable ex) {
+            throw newSetterException(bean, ex);
+        }
+    }
+    
+    private BeanIOException newSetterException(Object bean, Throwable ex) {
+        if (field) {
+            return new BeanIOException("Failed to set field '" + name + 
+                "' on bean class '" + bean.getClass().getName() + "'", ex);
+        }
+        return new BeanIOException("Failed to invoke method '" + setterName + 
+            "' on bean class '" + bean.getClass().getName() + "'", ex);
+    }
+}
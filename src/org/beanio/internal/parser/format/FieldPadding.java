@@ -15,6 +15,7 @@
  */
 package org.beanio.internal.parser.format;
 
+import org.beanio.internal.parser.FieldTextView;
 import org.beanio.internal.util.TypeUtil;
 
 /**
@@ -159,7 +160,58 @@ public class FieldPadding {
             return defaultText;
         }
     }
+    
+    /**
+     * Removes padding from field text held by a view, by narrowing the view
+     * instead of copying the text.
+     * @param view the {@link FieldTextView} holding the field text
+     * @since 3.3.0
+     */
+    public void unpad(FieldTextView view) {
+        int length = view.length();
         
+        if (justify == FieldPadding.LEFT) {
+            int index = length - 1;
+            while (index >= 0 && view.charAt(index) == filler) {
+                --index;
+            }
+            if (index < 0) {
+                view.replace(defaultText);
+            }
+            else if (index < length - 1) {
+                view.narrow(0, index + 1);
+            }
+        }
+        else {
+            int index = 0;
+            while (index < length && view.charAt(index) == filler) {
+                ++index;
+            }
+            if (index == length) {
+                view.replace(defaultText);
+            }
+            else if (index > 0) {
+                view.narrow(index, length);
+            }
+        }
+    }
+        
+    /**
+     * Returns whether other padding removes the same padding from field text.
+     * @param padding the {@link FieldPadding} to compare
+     * @return true if both remove the same padding
+     * @since 3.3.0
+     */
+    public boolean isEquivalent(FieldPadding padding) {
+        return padding != null &&
+            padding.getClass() == getClass() &&
+            filler == padding.filler &&
+            justify == padding.justify &&
+            length == padding.length &&
+            optional == padding.optional &&
+            defaultText.equals(padding.defaultText);
+    }
+    
     /**
      * Returns the character used to pad field text.
      * @return the filler character
@@ -18,9 +18,6 @@ package org.beanio.internal.parser.format.fixedlength;
 import org.beanio.internal.parser.*;
 import org.beanio.internal.parser.format.FieldPadding;
 import org.beanio.internal.parser.format.flat.FlatFieldFormatSupport;
-import org.beanio.internal.util.Settings;
-
-import static org.beanio.internal.util.Settings.FIXED_LENGTH_COUNT_MODE;
 
 /**
  * A {@link FieldFormat} implementation for a field in a fixed length formatted stream.
@@ -32,6 +29,7 @@ public class FixedLengthFieldFormat extends FlatFieldFormatSupport implements Fi
     
     private boolean keepPadding;
     private boolean lenientPadding;
+    private FixedLengthTextLengthCounter counter = FixedLengthTextLengthCounter.CHARS;
 
     @Override
     public String extract(UnmarshallingContext context, boolean reportErrors) {
@@ -41,11 +39,9 @@ public class FixedLengthFieldFormat extends FlatFieldFormatSupport implements Fi
         }
         
         FieldPadding padding = getPadding();
-        if (padding.getLength() >= 0 && FixedLengthUtils.calculateTextLength(text) != padding.getLength() && !lenientPadding) {
-            String countMode = Settings.getInstance().getProperty(FIXED_LENGTH_COUNT_MODE);
-            String rule = countMode.equals("bytes") ? "byteLength" : "length";
+        if (padding.getLength() >= 0 && counter.calculateTextLength(text) != padding.getLength() && !lenientPadding) {
             if (reportErrors) {
-                context.addFieldError(getName(), text, rule, padding.getLength());
+                context.addFieldError(getName(), text, counter.getLengthRule(), padding.getLength());
             }
             return Value.INVALID;
         }
@@ -65,6 +61,34 @@ public class FixedLengthFieldFormat extends FlatFieldFormatSupport implements Fi
         }
     }
     
+    @Override
+    public CharSequence extract(UnmarshallingContext context, boolean reportErrors, FieldTextView view) {
+        if (keepPadding) {
+            return extract(context, reportErrors);
+        }
+        
+        FixedLengthUnmarshallingContext ctx = ((FixedLengthUnmarshallingContext)context);
+        if (!ctx.getFieldText(getName(), getPosition(), getSize(), getUntil(), view)) {
+            return null;
+        }
+        
+        FieldPadding padding = getPadding();
+        if (padding.getLength() >= 0 && !lenientPadding && calculateTextLength(view) != padding.getLength()) {
+            if (reportErrors) {
+                context.addFieldError(getName(), view.getRawText(), counter.getLengthRule(), padding.getLength());
+            }
+            return Value.INVALID;
+        }
+        
+        padding.unpad(view);
+        return view;
+    }
+    
+    private int calculateTextLength(FieldTextView view) {
+        return counter == FixedLengthTextLengthCounter.CHARS ? 
+            view.length() : counter.calculateTextLength(view.getRawText());
+    }
+    
     @Override
     public String extractFieldText(UnmarshallingContext context, boolean reporting) {
         FixedLengthUnmarshallingContext ctx = ((FixedLengthUnmarshallingContext)context);
@@ -82,6 +106,18 @@ public class FixedLengthFieldFormat extends FlatFieldFormatSupport implements Fi
         return getPadding().getLength();
     }    
     
+    @Override
+    public boolean isEquivalent(FieldFormat format) {
+        if (!super.isEquivalent(format)) {
+            return false;
+        }
+        
+        FixedLengthFieldFormat other = (FixedLengthFieldFormat) format;
+        return keepPadding == other.keepPadding &&
+            lenientPadding == other.lenientPadding &&
+            counter == other.counter;
+    }
+    
     /**
      * Set to true to keep field padding during unmarshalling.
      * @param keepPadding true to keep padding
@@ -99,4 +135,13 @@ public class FixedLengthFieldFormat extends FlatFieldFormatSupport implements Fi
     public void setLenientPadding(boolean lenientPadding) {
         this.lenientPadding = lenientPadding;
     }
+    
+    /**
+     * Sets the counter used to validate the length of field text.
+     * @param counter the stream's {@link FixedLengthTextLengthCounter}
+     * @since 3.3.0
+     */
+    public void setTextLengthCounter(FixedLengthTextLengthCounter counter) {
+        this.counter = counter;
+    }
 }
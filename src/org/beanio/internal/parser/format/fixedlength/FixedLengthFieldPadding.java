@@ -15,6 +15,7 @@
  */
 package org.beanio.internal.parser.format.fixedlength;
 
+import org.beanio.internal.parser.FieldTextView;
 import org.beanio.internal.parser.format.FieldPadding;
 
 /**
@@ -29,6 +30,25 @@ import org.beanio.internal.parser.format.FieldPadding;
  */
 public class FixedLengthFieldPadding extends FieldPadding {
 
+    private final FixedLengthTextLengthCounter counter;
+    
+    /**
+     * Constructs a new <code>FixedLengthFieldPadding</code> that counts
+     * length in characters.
+     */
+    public FixedLengthFieldPadding() {
+        this(FixedLengthTextLengthCounter.CHARS);
+    }
+    
+    /**
+     * Constructs a new <code>FixedLengthFieldPadding</code>.
+     * @param counter the stream's text length counter
+     * @since 3.3.0
+     */
+    public FixedLengthFieldPadding(FixedLengthTextLengthCounter counter) {
+        this.counter = counter;
+    }
+
     @Override
     public void init() {
         super.init();
@@ -44,7 +64,7 @@ public class FixedLengthFieldPadding extends FieldPadding {
 
     @Override
     protected int calculateTextLength(String text) {
-        return FixedLengthUtils.calculateTextLength(text);
+        return counter.calculateTextLength(text);
     }
     
     @Override
@@ -57,8 +77,18 @@ public class FixedLengthFieldPadding extends FieldPadding {
         
         return super.unpad(fieldText);
     }
+    
+    @Override
+    public void unpad(FieldTextView view) {
+        if (isOptional() && isBlank(view)) {
+            view.replace("");
+        }
+        else {
+            super.unpad(view);
+        }
+    }
 
-    private boolean isBlank(String s) {
+    private boolean isBlank(CharSequence s) {
         for (int i=0,j=s.length(); i<j; i++) {
             if (s.charAt(i) != ' ') {
                 return false;
@@ -28,6 +28,8 @@ import org.beanio.internal.parser.TextLengthCounter;
  */
 public class FixedLengthMarshallingContext extends MarshallingContext {
 
+    // counts the length of field text in characters or bytes
+    private final FixedLengthTextLengthCounter counter;
     // the filler character for missing fields
     private char filler = ' ';
     // the committed length of the record, aka the size of the record after
@@ -36,6 +38,23 @@ public class FixedLengthMarshallingContext extends MarshallingContext {
     // the list of entries for creating the record (may be unordered)
     private ArrayList<Entry> entries = new ArrayList<>();
 
+    /**
+     * Constructs a new <code>FixedLengthMarshallingContext</code> that counts
+     * length in characters.
+     */
+    public FixedLengthMarshallingContext() {
+        this(FixedLengthTextLengthCounter.CHARS);
+    }
+    
+    /**
+     * Constructs a new <code>FixedLengthMarshallingContext</code>.
+     * @param counter the stream's text length counter
+     * @since 3.3.0
+     */
+    public FixedLengthMarshallingContext(FixedLengthTextLengthCounter counter) {
+        this.counter = counter;
+    }
+    
     @Override
     public void clear() {
         super.clear();
@@ -66,7 +85,7 @@ public class FixedLengthMarshallingContext extends MarshallingContext {
 
     @Override
     public TextLengthCounter getTextLengthCounter() {
-        return new FixedLengthTextLengthCounter();
+        return counter;
     }
     
     @Override
@@ -105,7 +124,7 @@ public class FixedLengthMarshallingContext extends MarshallingContext {
             }
             
             if (index < size) {
-                record.replace(index, index + FixedLengthUtils.calculateTextLength(entry.text), entry.text);
+                record.replace(index, index + counter.calculateTextLength(entry.text), entry.text);
                 size = record.length();
             }
             else {
@@ -115,7 +134,7 @@ public class FixedLengthMarshallingContext extends MarshallingContext {
                 }
                 
                 record.append(entry.text);
-                size += FixedLengthUtils.calculateTextLength(entry.text);
+                size += counter.calculateTextLength(entry.text);
             }
         }
         
@@ -29,13 +29,15 @@ import org.beanio.stream.fixedlength.*;
  */
 public class FixedLengthStreamFormat extends StreamFormatSupport {
 
+    private FixedLengthTextLengthCounter textLengthCounter = FixedLengthTextLengthCounter.CHARS;
+
     /*
      * (non-Javadoc)
      * @see org.beanio.internal.parser.StreamFormat#createUnmarshallingContext()
      */
     @Override
     public UnmarshallingContext createUnmarshallingContext() {
-        return new FixedLengthUnmarshallingContext();
+        return new FixedLengthUnmarshallingContext(textLengthCounter);
     }
 
     /*
@@ -44,7 +46,7 @@ public class FixedLengthStreamFormat extends StreamFormatSupport {
      */
     @Override
     public MarshallingContext createMarshallingContext(boolean streaming) {
-        return new FixedLengthMarshallingContext();
+        return new FixedLengthMarshallingContext(textLengthCounter);
     }
 
     /*
@@ -62,4 +64,22 @@ public class FixedLengthStreamFormat extends StreamFormatSupport {
     public RecordWriter createDefaultWriter(Writer out) {
         return new FixedLengthWriter(out);
     }
+    
+    /**
+     * Returns the counter used to count the length of record and field text.
+     * @return the {@link FixedLengthTextLengthCounter}
+     * @since 3.3.0
+     */
+    public FixedLengthTextLengthCounter getTextLengthCounter() {
+        return textLengthCounter;
+    }
+
+    /**
+     * Sets the counter used to count the length of record and field text.
+     * @param textLengthCounter the {@link FixedLengthTextLengthCounter}
+     * @since 3.3.0
+     */
+    public void setTextLengthCounter(FixedLengthTextLengthCounter textLengthCounter) {
+        this.textLengthCounter = textLengthCounter;
+    }
 }
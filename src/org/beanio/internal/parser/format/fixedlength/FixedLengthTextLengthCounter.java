@@ -15,28 +15,73 @@
  */
 package org.beanio.internal.parser.format.fixedlength;
 
-import org.beanio.internal.parser.TextLengthCounter;
-import org.beanio.internal.util.Settings;
+import java.nio.charset.Charset;
 
-import static org.beanio.internal.util.Settings.FIXED_LENGTH_COUNT_MODE;
+import org.beanio.internal.parser.TextLengthCounter;
 
+/**
+ * Counts the length of fixed length field and record text in characters, or in bytes
+ * if the stream's <code>countMode</code> is <code>bytes</code>.
+ * <p>
+ * The count mode and charset are resolved once when the stream is compiled, and a 
+ * single instance is shared by every component of the stream.
+ */
 public class FixedLengthTextLengthCounter extends TextLengthCounter {
 
+    /** Counts text length in characters */
+    public static final FixedLengthTextLengthCounter CHARS = new FixedLengthTextLengthCounter(null);
+    
+    private final Charset charset;
+    
+    /**
+     * Constructs a new <code>FixedLengthTextLengthCounter</code>.
+     * @param charset the charset used to count text length in bytes, 
+     *   or null to count text length in characters
+     * @since 3.3.0
+     */
+    public FixedLengthTextLengthCounter(Charset charset) {
+        this.charset = charset;
+    }
+    
+    /**
+     * Returns whether text length is counted in bytes.
+     * @return true if counted in bytes, false if counted in characters
+     * @since 3.3.0
+     */
+    public boolean isByteMode() {
+        return charset != null;
+    }
+    
+    /**
+     * Returns the charset used to count text length in bytes.
+     * @return the charset, or null if text length is counted in characters
+     * @since 3.3.0
+     */
+    public Charset getCharset() {
+        return charset;
+    }
+    
     @Override
-    protected int calculateTextLength(String text) {
-        return FixedLengthUtils.calculateTextLength(text);
+    public int calculateTextLength(String text) {
+        return charset == null ? text.length() : text.getBytes(charset).length;
     }
 
     @Override
     protected String getMinLengthRule() {
-        String mode = Settings.getInstance().getProperty(FIXED_LENGTH_COUNT_MODE);
-        return mode.equals("bytes") ? "minByteLength" : super.getMinLengthRule();
+        return charset != null ? "minByteLength" : super.getMinLengthRule();
     }
 
     @Override
     protected String getMaxLengthRule() {
-        String mode = Settings.getInstance().getProperty(FIXED_LENGTH_COUNT_MODE);
-        return mode.equals("bytes") ? "maxByteLength" : super.getMaxLengthRule();
+        return charset != null ? "maxByteLength" : super.getMaxLengthRule();
+    }
+    
+    /**
+     * Returns the error message rule for an invalid fixed field length.
+     * @return the rule name
+     * @since 3.3.0
+     */
+    public String getLengthRule() {
+        return charset != null ? "byteLength" : "length";
     }
-
 }
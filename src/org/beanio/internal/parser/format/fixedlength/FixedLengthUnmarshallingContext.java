@@ -15,33 +15,60 @@
  */
 package org.beanio.internal.parser.format.fixedlength;
 
-import org.beanio.BeanIOException;
-import org.beanio.internal.parser.TextLengthCounter;
-import org.beanio.internal.parser.UnmarshallingContext;
-import org.beanio.internal.util.Settings;
-
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
-import java.util.Arrays;
 
-import static org.beanio.internal.util.Settings.FIXED_LENGTH_CHARSET;
-import static org.beanio.internal.util.Settings.FIXED_LENGTH_COUNT_MODE;
+import org.beanio.internal.parser.*;
 
 /**
  * The {@link UnmarshallingContext} implementation for a fixed length formatted stream.
  * 
+ * <p>If the stream counts length in bytes, each record is encoded once when it is
+ * read, and field text is decoded directly from byte offsets in the encoded record.
+ * 
  * @author Kevin Seim
  * @since 2.0
  */
 public class FixedLengthUnmarshallingContext extends UnmarshallingContext {
 
+    private final FixedLengthTextLengthCounter counter;
+    private final Charset charset;
+    
     private String record;
+    private byte[] recordBytes;
     private int recordLength;
 
+    /**
+     * Constructs a new <code>FixedLengthUnmarshallingContext</code> that counts
+     * length in characters.
+     */
+    public FixedLengthUnmarshallingContext() {
+        this(FixedLengthTextLengthCounter.CHARS);
+    }
+    
+    /**
+     * Constructs a new <code>FixedLengthUnmarshallingContext</code>.
+     * @param counter the stream's text length counter
+     * @since 3.3.0
+     */
+    public FixedLengthUnmarshallingContext(FixedLengthTextLengthCounter counter) {
+        this.counter = counter;
+        this.charset = counter.getCharset();
+    }
+    
     @Override
     public void setRecordValue(Object value) {
         this.record = (String) value;
-        this.recordLength = value == null ? 0 : FixedLengthUtils.calculateTextLength(record);
+        if (record == null) {
+            recordBytes = null;
+            recordLength = 0;
+        }
+        else if (charset != null) {
+            recordBytes = record.getBytes(charset);
+            recordLength = recordBytes.length;
+        }
+        else {
+            recordLength = record.length();
+        }
     }
     
     /**
@@ -54,7 +81,7 @@ public class FixedLengthUnmarshallingContext extends UnmarshallingContext {
 
     @Override
     public TextLengthCounter getTextLengthCounter() {
-        return new FixedLengthTextLengthCounter();
+        return counter;
     }
 
     /**
@@ -87,30 +114,58 @@ public class FixedLengthUnmarshallingContext extends UnmarshallingContext {
             }
         }
         
+        int end = length < 0 ? max : Math.min(max, position + length);
+        
         String text;
-        if (length < 0) {
-            text = record.substring(position, max);
+        if (recordBytes != null) {
+            text = new String(recordBytes, position, end - position, charset);
         }
         else {
-            String mode = Settings.getInstance().getProperty(FIXED_LENGTH_COUNT_MODE);
-            if (mode.equals("chars")) {
-                text = record.substring(position, Math.min(max, position + length));
-            }
-            else if (mode.equals("bytes")) {
-                try {
-                    String charset = Settings.getInstance().getProperty(FIXED_LENGTH_CHARSET);
-                    byte[] b = Arrays.copyOfRange(record.getBytes(charset), position, Math.min(max, position + length));
-                    text = new String(b, Charset.forName(charset));
-                }
-                catch (UnsupportedEncodingException ex) {
-                    throw new BeanIOException("Unsupported encoding: " + mode + " for countMode");
-                }
-            }
-            else {
-                throw new BeanIOException("Unsupported value: " + mode + " for countMode");
-            }
+            text = record.substring(position, end);
         }
         setFieldText(name, text);
         return text;
     }
+    
+    /**
+     * Sets a view to the field text at the given position in the record.  Unless
+     * the stream counts length in bytes, the field text is not copied from the record.
+     * @param name the field name
+     * @param position the position of the field in the record
+     * @param length the field length, or -1 if the field is at the end of the
+     *   record and unbounded
+     * @param until the maximum position of the field as an offset
+     *   of the field count
+     * @param view the {@link FieldTextView} to set
+     * @return false if the record length is less than the position of the field
+     * @since 3.3.0
+     */
+    public boolean getFieldText(String name, int position, int length, int until, FieldTextView view) {
+        int max = recordLength + until;
+        
+        if (position < 0) {
+            position = getAdjustedFieldPosition(recordLength + position);
+            if (position < 0) {
+                return false;
+            }
+        }
+        else {
+            position = getAdjustedFieldPosition(position);
+            if (position >= max) {
+                return false;
+            }
+        }
+        
+        int end = length < 0 ? max : Math.min(max, position + length);
+        
+        if (recordBytes != null) {
+            String text = new String(recordBytes, position, end - position, charset);
+            view.set(text, 0, text.length());
+        }
+        else {
+            view.set(record, position, end);
+        }
+        setFieldTextView(name, view);
+        return true;
+    }
 }
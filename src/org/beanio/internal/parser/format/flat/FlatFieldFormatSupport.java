@@ -25,7 +25,7 @@ import org.beanio.internal.util.DebugUtil;
  * @author Kevin Seim
  * @since 2.0
  */
-public abstract class FlatFieldFormatSupport implements FlatFieldFormat {
+public abstract class FlatFieldFormatSupport implements FlatFieldFormat, FieldViewFormat {
 
     private String name;
     // measured in fields / characters from the beginning of the record (starting at 0)
@@ -97,8 +97,53 @@ public abstract class FlatFieldFormatSupport implements FlatFieldFormat {
         }
     }
     
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.internal.parser.FieldViewFormat#extract(org.beanio.internal.parser.UnmarshallingContext, boolean, org.beanio.internal.parser.FieldTextView)
+     */
+    @Override
+    public CharSequence extract(UnmarshallingContext context, boolean reporting, FieldTextView view) {
+        String text = extractFieldText(context, reporting);
+        if (padding == null || text == null) {
+            return text;
+        }
+        else if (text.length() == 0) {
+            return "";
+        }
+        else if (text.length() != padding.getLength()) {
+            if (reporting) {
+                context.addFieldError(name, text, "length", padding.getLength());
+            }
+            return Value.INVALID;
+        }
+        else {
+            view.set(text, 0, text.length());
+            padding.unpad(view);
+            return view;
+        }
+    }
+    
     protected abstract String extractFieldText(UnmarshallingContext context, boolean reporting);
     
+    /**
+     * Returns whether another field format always extracts the same text from a
+     * record as this format.
+     * @param format the {@link FieldFormat} to compare
+     * @return true if both formats extract the same text
+     * @since 3.3.0
+     */
+    public boolean isEquivalent(FieldFormat format) {
+        if (format == null || format.getClass() != getClass()) {
+            return false;
+        }
+        
+        FlatFieldFormatSupport other = (FlatFieldFormatSupport) format;
+        return position == other.position && 
+            until == other.until &&
+            getSize() == other.getSize() &&
+            (padding == null ? other.padding == null : padding.isEquivalent(other.padding));
+    }
+    
     /**
      * Returns the field name.
      * @return the field name
@@ -21,6 +21,7 @@ import org.beanio.BeanWriterException;
 import org.beanio.internal.parser.*;
 import org.beanio.internal.parser.format.FieldPadding;
 import org.beanio.internal.util.JsonUtil;
+import org.beanio.stream.json.JsonRecord;
 
 /**
  * A {@link FieldFormat} implementation for a field in a JSON formatted record.
@@ -57,6 +58,9 @@ public class JsonFieldFormat implements FieldFormat, JsonNode {
     @SuppressWarnings("unchecked")
     public String extract(UnmarshallingContext context, boolean reportErrors) {
         JsonUnmarshallingContext ctx = (JsonUnmarshallingContext) context;
+        if (ctx.getRecord() != null) {
+            return extractNode(ctx, reportErrors);
+        }
     
         Object value = ctx.getValue(this);
         
@@ -106,7 +110,73 @@ public class JsonFieldFormat implements FieldFormat, JsonNode {
         // convert to field text
         String fieldText = value.toString();
         ctx.setFieldText(getName(), fieldText);
-
+        
+        return unpad(context, fieldText, reportErrors);
+    }
+    
+    /**
+     * Extracts field text from a {@link JsonRecord} without converting the record
+     * into a map.
+     * @param ctx the {@link JsonUnmarshallingContext}
+     * @param reportErrors whether to add field errors to the context
+     * @return the extracted field text
+     */
+    private String extractNode(JsonUnmarshallingContext ctx, boolean reportErrors) {
+        JsonRecord record = ctx.getRecord();
+        
+        int node = ctx.getNode(this);
+        if (node == JsonRecord.NONE) {
+            ctx.setFieldText(getName(), null);
+            return null;
+        }
+        if (record.getType(node) == JsonRecord.NULL) {
+            ctx.setFieldText(getName(), null);
+            return Value.NIL;
+        }
+        
+        // extract the field from an array if repeating
+        if (isJsonArray()) {
+            int index = ctx.getRelativeFieldIndex();
+            if (record.getType(node) != JsonRecord.ARRAY) {
+                // see extract()
+                if (index > 0 && jsonArrayIndex < 0) {
+                    return null;
+                }
+                
+                String fieldText = record.getText(node);
+                ctx.setFieldText(getName(), fieldText);
+                
+                if (reportErrors) {
+                    ctx.addFieldError(getName(), fieldText, "jsontype", 
+                        JsonNodeUtil.getTypeDescription(jsonType, jsonArray));
+                }
+                return Value.INVALID;
+            }
+            
+            node = record.getElement(node, index);
+            if (node == JsonRecord.NONE) {
+                return null;
+            }
+            if (record.getType(node) == JsonRecord.NULL) {
+                ctx.setFieldText(getName(), null);
+                return Value.NIL;
+            }
+        }
+        
+        String fieldText = record.getText(node);
+        ctx.setFieldText(getName(), fieldText);
+        
+        return unpad(ctx, fieldText, reportErrors);
+    }
+    
+    /**
+     * Removes padding from field text if the field is padded.
+     * @param context the {@link UnmarshallingContext}
+     * @param fieldText the field text
+     * @param reportErrors whether to add field errors to the context
+     * @return the unpadded field text
+     */
+    private String unpad(UnmarshallingContext context, String fieldText, boolean reportErrors) {
         // handle padded fields
         if (padding != null) {
             int length = fieldText.length();
@@ -187,12 +257,12 @@ public class JsonFieldFormat implements FieldFormat, JsonNode {
             
         case JsonNode.NUMBER:
             try {
-                value = JsonUtil.toNumber(text);
+                ctx.putNumber(this, text);
+                return;
             }
             catch (NumberFormatException ex) {
                 throw new BeanWriterException("Cannot parse '" + text + "' into a JSON number", ex);
             }
-            break;
             
         case JsonNode.STRING:
             value = text;
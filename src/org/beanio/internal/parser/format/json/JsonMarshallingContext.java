@@ -18,10 +18,17 @@ package org.beanio.internal.parser.format.json;
 import java.util.*;
 
 import org.beanio.internal.parser.*;
+import org.beanio.internal.util.JsonUtil;
+import org.beanio.stream.json.JsonRecord;
 
 /**
  * A {@link MarshallingContext} for JSON formatted streams.
  * 
+ * <p>By default, a record is marshalled into a tree of {@link Map} and {@link List}
+ * objects.  In record mode, which is only used when writing to a stream, the record is
+ * instead built in a reusable {@link JsonRecord} so that values are copied as text
+ * without allocating a map, list or number per value.
+ * 
  * @author Kevin Seim
  * @since 2.0
  */
@@ -31,6 +38,10 @@ public class JsonMarshallingContext extends MarshallingContext {
     private char[] typeStack;
     private int depth = -1;
     
+    /* the reusable record used in record mode, or null */
+    private JsonRecord record;
+    private int[] nodeStack;
+    
     /**
      * Constructs a new <code>JsonMarshallingContext</code>.
      * @param maxDepth the maximum depth of the all {@link JsonWrapper} components in the parser tree layout.
@@ -40,9 +51,38 @@ public class JsonMarshallingContext extends MarshallingContext {
         typeStack = new char[maxDepth];
     }
     
+    /**
+     * Sets whether records are built in a reusable {@link JsonRecord} instead
+     * of a {@link Map}.
+     * @param recordMode true to enable record mode
+     * @since 3.3.0
+     */
+    public void setRecordMode(boolean recordMode) {
+        if (recordMode) {
+            record = new JsonRecord();
+            nodeStack = new int[typeStack.length];
+        }
+        else {
+            record = null;
+            nodeStack = null;
+        }
+    }
+
+    /**
+     * Returns whether records are built in a reusable {@link JsonRecord}.
+     * @return true if record mode is enabled
+     * @since 3.3.0
+     */
+    public boolean isRecordMode() {
+        return record != null;
+    }
+    
     @Override
     protected Object getRecordObject() {
-        return depth < 0 ? null : valueStack[0];
+        if (depth < 0) {
+            return null;
+        }
+        return record != null ? record : valueStack[0];
     }
 
     @Override
@@ -56,6 +96,14 @@ public class JsonMarshallingContext extends MarshallingContext {
      * @param type
      */
     public void push(JsonNode type) {
+        if (record != null) {
+            int node = addNode(type, type.getJsonType() == JsonNode.OBJECT ? JsonRecord.OBJECT : JsonRecord.ARRAY);
+            depth++;
+            nodeStack[depth] = node;
+            typeStack[depth] = type.getJsonType();
+            return;
+        }
+        
         Object value;
         if (type.getJsonType() == JsonNode.OBJECT) {
             value = new LinkedHashMap<String,String>();
@@ -85,6 +133,11 @@ public class JsonMarshallingContext extends MarshallingContext {
      */
     @SuppressWarnings("unchecked")
     public void put(JsonNode type, Object value) {
+        if (record != null) {
+            putValue(type, value);
+            return;
+        }
+        
         if (depth < 0) {
             depth = 0;
             valueStack[depth] = new LinkedHashMap<String,Object>();
@@ -125,6 +178,125 @@ public class JsonMarshallingContext extends MarshallingContext {
         }
     }
     
+    /**
+     * Adds a JSON number from its text.  In record mode, the text is copied as is
+     * if parsing it would not change its format.
+     * @param type the {@link JsonNode}
+     * @param text the number text
+     * @throws NumberFormatException if the text is not a valid number
+     * @since 3.3.0
+     */
+    public void putNumber(JsonNode type, String text) throws NumberFormatException {
+        if (record == null || text == null) {
+            put(type, JsonUtil.toNumber(text));
+        }
+        else if (isCanonicalInteger(text)) {
+            record.appendText(addNode(type, JsonRecord.NUMBER), text);
+        }
+        else {
+            record.appendText(addNode(type, JsonRecord.NUMBER), JsonUtil.toNumber(text).toString());
+        }
+    }
+    
+    /**
+     * Adds a value to the record in record mode.
+     * @param type the {@link JsonNode}
+     * @param value the value to add
+     */
+    private void putValue(JsonNode type, Object value) {
+        if (value == null) {
+            addNode(type, JsonRecord.NULL);
+        }
+        else if (value instanceof String) {
+            record.appendText(addNode(type, JsonRecord.STRING), (String) value);
+        }
+        else if (value instanceof Integer || value instanceof Long || 
+            value instanceof Short || value instanceof Byte) {
+            record.appendText(addNode(type, JsonRecord.NUMBER), ((Number) value).longValue());
+        }
+        else if (value instanceof Number) {
+            record.appendText(addNode(type, JsonRecord.NUMBER), value.toString());
+        }
+        else if (value instanceof Boolean) {
+            record.appendText(addNode(type, JsonRecord.BOOLEAN), 
+                ((Boolean) value).booleanValue() ? "true" : "false");
+        }
+        else {
+            record.appendText(addNode(type, JsonRecord.STRING), value.toString());
+        }
+    }
+    
+    /**
+     * Adds a node to the record in record mode, following the same rules as
+     * {@link #put(JsonNode, Object)}.
+     * @param type the {@link JsonNode}
+     * @param nodeType the {@link JsonRecord} node type
+     * @return the index of the new node
+     */
+    private int addNode(JsonNode type, char nodeType) {
+        if (depth < 0) {
+            depth = 0;
+            record.clear();
+            nodeStack[depth] = JsonRecord.ROOT;
+            typeStack[depth] = JsonNode.OBJECT;
+        }
+        
+        int parent = nodeStack[depth];
+        if (type.isJsonArray()) {
+            int array;
+            if (type() == JsonNode.ARRAY) {
+                array = record.getElement(parent, type.getJsonArrayIndex());
+                if (array == JsonRecord.NONE) {
+                    array = record.addNode(parent, null, JsonRecord.ARRAY);
+                }
+            }
+            else { // object
+                array = record.getLastChild(parent);
+                if (array == JsonRecord.NONE || !type.getJsonName().equals(record.getName(array))) {
+                    array = record.findMember(parent, type.getJsonName());
+                    if (array == JsonRecord.NONE) {
+                        array = record.addNode(parent, type.getJsonName(), JsonRecord.ARRAY);
+                    }
+                }
+            }
+            return record.addNode(array, null, nodeType);
+        }
+        else if (type() == JsonNode.ARRAY) {
+            return record.addNode(parent, null, nodeType);
+        }
+        else {
+            // a duplicate member replaces the existing member in place, like a LinkedHashMap
+            int old = record.findMember(parent, type.getJsonName());
+            int node = record.addNode(parent, type.getJsonName(), nodeType);
+            if (old != JsonRecord.NONE) {
+                record.replace(old, node);
+            }
+            return node;
+        }
+    }
+    
+    /**
+     * Returns whether parsing a number would not change its text.
+     */
+    private static boolean isCanonicalInteger(String text) {
+        int i = 0;
+        int len = text.length();
+        if (len > 0 && text.charAt(0) == '-') {
+            ++i;
+        }
+        int digits = len - i;
+        if (digits < 1 || digits > 9 || (text.charAt(i) == '0' && (digits > 1 || i > 0))) {
+            return false;
+        }
+        for (; i < len; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     @SuppressWarnings("unchecked")
     private Map<String,Object> map() {
         return (Map<String,Object>) valueStack[depth]; 
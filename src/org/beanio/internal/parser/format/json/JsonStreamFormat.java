@@ -15,7 +15,12 @@
  */
 package org.beanio.internal.parser.format.json;
 
+import java.io.Reader;
+import java.util.Collection;
+
 import org.beanio.internal.parser.*;
+import org.beanio.stream.*;
+import org.beanio.stream.json.*;
 
 /**
  * A {@link StreamFormatSupport} implementation for the JSON stream format.
@@ -26,6 +31,8 @@ import org.beanio.internal.parser.*;
 public class JsonStreamFormat extends StreamFormatSupport implements StreamFormat {
 
     private int maxDepth;
+    private Collection<String> jsonNames;
+    private boolean pullMode;
 
     /*
      * (non-Javadoc)
@@ -36,13 +43,38 @@ public class JsonStreamFormat extends StreamFormatSupport implements StreamForma
         return new JsonUnmarshallingContext(maxDepth);
     }
 
+    /**
+     * Creates a new <code>RecordReader</code>.  If the record parser factory creates a
+     * {@link JsonRecordReader}, it is configured to skip JSON members not mapped by the
+     * stream layout.
+     * @param in the {@link Reader} to read from
+     * @return the new <code>RecordReader</code>
+     */
+    @Override
+    public RecordReader createRecordReader(Reader in) {
+        RecordReader reader = super.createRecordReader(in);
+        if (reader instanceof JsonRecordReader && jsonNames != null) {
+            ((JsonRecordReader) reader).setNames(jsonNames);
+        }
+        return reader;
+    }
+
     /*
      * (non-Javadoc)
      * @see org.beanio.internal.parser.StreamFormat#createMarshallingContext(boolean)
      */
     @Override
     public MarshallingContext createMarshallingContext(boolean streaming) {
-        return new JsonMarshallingContext(maxDepth);
+        JsonMarshallingContext ctx = new JsonMarshallingContext(maxDepth);
+        ctx.setRecordMode(streaming && pullMode);
+        return ctx;
+    }
+
+    @Override
+    public void setRecordParserFactory(RecordParserFactory recordParserFactory) {
+        pullMode = recordParserFactory instanceof JsonParserConfiguration && 
+            ((JsonParserConfiguration)recordParserFactory).isPullMode();
+        super.setRecordParserFactory(recordParserFactory);
     }
 
     /**
@@ -60,4 +92,22 @@ public class JsonStreamFormat extends StreamFormatSupport implements StreamForma
     public void setMaxDepth(int maxDepth) {
         this.maxDepth = maxDepth;
     }
+
+    /**
+     * Returns the names of all JSON members mapped by the parser tree layout.
+     * @return the JSON member names, or <code>null</code> if not known
+     * @since 3.3.0
+     */
+    public Collection<String> getJsonNames() {
+        return jsonNames;
+    }
+
+    /**
+     * Sets the names of all JSON members mapped by the parser tree layout.
+     * @param jsonNames the JSON member names
+     * @since 3.3.0
+     */
+    public void setJsonNames(Collection<String> jsonNames) {
+        this.jsonNames = jsonNames;
+    }
 }
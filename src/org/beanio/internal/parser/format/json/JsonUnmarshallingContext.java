@@ -19,6 +19,7 @@ import java.util.*;
 
 import org.beanio.internal.config.PropertyConfig;
 import org.beanio.internal.parser.*;
+import org.beanio.stream.json.JsonRecord;
 
 /**
  * An {@link UnmarshallingContext} for JSON formatted streams.
@@ -32,6 +33,9 @@ public class JsonUnmarshallingContext extends UnmarshallingContext {
     private Object[] valueStack;
     private char[] typeStack;
     private int depth = 0;
+    /* the record and the node stack, if reading a JsonRecord */
+    private JsonRecord record;
+    private int[] nodeStack;
     
     /**
      * Constructs a new <code>JsonUnmarshallingContext</code>.
@@ -40,13 +44,51 @@ public class JsonUnmarshallingContext extends UnmarshallingContext {
     public JsonUnmarshallingContext(int maxDepth) {
         valueStack = new Object[maxDepth];
         typeStack = new char[maxDepth];
+        nodeStack = new int[maxDepth];
     }
     
     @Override
     public void setRecordValue(Object value) {
         this.depth = 0;
-        valueStack[0] = value;
         typeStack[0] = JsonNode.OBJECT;
+        if (value instanceof JsonRecord) {
+            record = (JsonRecord) value;
+            nodeStack[0] = JsonRecord.ROOT;
+            valueStack[0] = null;
+        }
+        else {
+            record = null;
+            valueStack[0] = value;
+        }
+    }
+    
+    /**
+     * Returns the record being unmarshalled if it is a {@link JsonRecord}.
+     * @return the {@link JsonRecord}, or <code>null</code> if the record is a {@link Map}
+     * @since 3.3.0
+     */
+    public JsonRecord getRecord() {
+        return record;
+    }
+    
+    /**
+     * Returns the index of a node in the {@link JsonRecord} at the current position.
+     * @param node the {@link JsonNode} to find
+     * @return the index of the node, or {@link JsonRecord#NONE} if not found
+     * @since 3.3.0
+     */
+    public int getNode(JsonNode node) {
+        int parent = nodeStack[depth];
+        if (typeStack[depth] == JsonNode.OBJECT) {
+            return record.findMember(parent, node.getJsonName());
+        }
+        else {
+            int index = node.getJsonArrayIndex();
+            if (index < 0) {
+                index = getRelativeFieldIndex();
+            }
+            return record.getElement(parent, index);
+        }
     }
     
     @SuppressWarnings("unchecked")
@@ -65,6 +107,17 @@ public class JsonUnmarshallingContext extends UnmarshallingContext {
      * @return
      */
     public Object getValue(JsonNode node) {
+        if (record != null) {
+            int n = getNode(node);
+            if (n == JsonRecord.NONE) {
+                return null;
+            }
+            else if (record.getType(n) == JsonRecord.NULL) {
+                return Value.NIL;
+            }
+            return record.getValue(n);
+        }
+        
         String fieldName = node.getJsonName();
 
         if (typeStack[depth] == JsonNode.OBJECT) {
@@ -103,6 +156,9 @@ public class JsonUnmarshallingContext extends UnmarshallingContext {
      * @return
      */
     public Object push(JsonNode node, boolean validate) {
+        if (record != null) {
+            return pushNode(node, validate);
+        }
         
         Object value = getValue(node);
         
@@ -148,6 +204,56 @@ public class JsonUnmarshallingContext extends UnmarshallingContext {
         return value;
     }
     
+    /*
+     * Pushes a node of a JsonRecord.  Returns null if the node is not found, or
+     * the record if pushed.
+     */
+    private Object pushNode(JsonNode node, boolean validate) {
+        int n = getNode(node);
+        if (n == JsonRecord.NONE) {
+            return null;
+        }
+        
+        char type = record.getType(n);
+        if (type == JsonRecord.NULL) {
+            if (validate && !node.isNillable()) {
+                addFieldError(node.getName(), null, "nillable");
+                return Value.INVALID;
+            }
+            return Value.NIL;
+        }
+        
+        // validate type...
+        if (node.getJsonType() == JsonNode.ARRAY) {
+            if (type != JsonRecord.ARRAY) {
+                if (validate) {
+                    addFieldError(node.getName(), null, "jsontype", PropertyConfig.JSON_TYPE_ARRAY);
+                    return Value.INVALID;
+                }
+                return null;
+            }
+        }
+        else if (node.getJsonType() == JsonNode.OBJECT) {
+            if (type != JsonRecord.OBJECT) {
+                if (validate) {
+                    addFieldError(node.getName(), null, "jsontype", PropertyConfig.JSON_TYPE_OBJECT);
+                    return Value.INVALID;
+                }
+                return null;
+            }
+        }
+        else {
+            throw new IllegalStateException("Invalid json type: " + node.getJsonType());
+        }
+        
+        depth++;
+        nodeStack[depth] = n;
+        valueStack[depth] = null;
+        typeStack[depth] = node.getJsonType();
+        
+        return record;
+    }
+    
     /**
      * 
      * @return
@@ -45,7 +45,8 @@ public class JsonWrapper extends DelegatingParser implements JsonNode {
         }
         
         JsonUnmarshallingContext ctx = (JsonUnmarshallingContext) context;
-        if (ctx.push(this, false) == null) {
+        Object value = ctx.push(this, false);
+        if (value == null || value == Value.NIL) {
             return false;
         }
         
@@ -60,9 +61,14 @@ public class JsonWrapper extends DelegatingParser implements JsonNode {
     @Override
     public boolean unmarshal(UnmarshallingContext context) {
         JsonUnmarshallingContext ctx = (JsonUnmarshallingContext) context;
-        if (ctx.push(this, true) == null) {
+        Object value = ctx.push(this, true);
+        if (value == null) {
             return false;
         }
+        // nothing is pushed for a null or invalid value
+        if (value == Value.NIL || value == Value.INVALID) {
+            return true;
+        }
         
         try {
             super.unmarshal(context);
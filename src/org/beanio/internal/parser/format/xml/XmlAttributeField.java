@@ -16,7 +16,6 @@
 package org.beanio.internal.parser.format.xml;
 
 import org.beanio.internal.parser.FieldFormat;
-import org.w3c.dom.*;
 
 /**
  * A {@link FieldFormat} for a field in an XML formatted stream parsed as
@@ -38,13 +37,7 @@ public class XmlAttributeField extends XmlFieldFormat {
      */
     @Override
     public String extractText(XmlUnmarshallingContext context) {
-        Element parent = context.getPosition();
-        if (parent == null) {
-            return null;
-        }
-        else {
-            return XmlNodeUtil.getAttribute((Element)parent, this);
-        }
+        return context.getAttribute(this);
     }
 
     /*
@@ -53,8 +46,6 @@ public class XmlAttributeField extends XmlFieldFormat {
      */
     @Override
     public void insertText(XmlMarshallingContext ctx, String fieldText) {
-        Element parent = (Element) ctx.getParent();
-        
         // format the field text (a null field value may not return null if a custom type handler was configured)
         String text = fieldText;
         
@@ -63,16 +54,10 @@ public class XmlAttributeField extends XmlFieldFormat {
             return;
         }
         
-        if (parent.getNodeType() == Node.ELEMENT_NODE) {
-            if (text == null) {
-                text = "";
-            }
-            
-            Attr att = parent.getOwnerDocument().createAttributeNS(getNamespace(), getLocalName());
-            att.setValue(text);
-            att.setPrefix(getPrefix());
-            ((Element)parent).setAttributeNode(att);
+        if (text == null) {
+            text = "";
         }
+        ctx.setAttribute(getNamespace(), getPrefix(), getLocalName(), text);
     }
 
     /*
@@ -15,12 +15,8 @@
  */
 package org.beanio.internal.parser.format.xml;
 
-import javax.xml.XMLConstants;
-
 import org.beanio.internal.parser.*;
 import org.beanio.internal.util.DebugUtil;
-import org.beanio.stream.xml.XmlWriter;
-import org.w3c.dom.*;
 
 /**
  * A {@link FieldFormat} for a field in an XML formatted stream parsed as
@@ -45,21 +41,25 @@ public class XmlElementField extends XmlFieldFormat {
      */
     @Override
     public String extractText(XmlUnmarshallingContext context) {
-        Element node = context.findElement(this);
-        if (node == null) {
+        if (!context.pushPosition(this)) {
             return null;
         }
 
-        // check for nil elements
-        if (XmlNodeUtil.isNil(node)) {
-            return Value.NIL;
+        try {
+            // check for nil elements
+            if (context.isNil()) {
+                return Value.NIL;
+            }
+            
+            String fieldText = context.getText();
+            if (fieldText == null) {
+                fieldText = "";
+            }
+            return fieldText;
         }
-        
-        String fieldText = XmlNodeUtil.getText(node);
-        if (fieldText == null) {
-            fieldText = "";
+        finally {
+            context.popPosition();
         }
-        return fieldText;
     }
 
     /*
@@ -75,30 +75,14 @@ public class XmlElementField extends XmlFieldFormat {
             fieldText = null;
         }
         
-        Document document = ctx.getDocument();
-        
-        Element element = document.createElementNS(getNamespace(), getLocalName());
-        if (!isNamespaceAware()) {
-            element.setUserData(XmlWriter.IS_NAMESPACE_IGNORED, Boolean.TRUE, null);
-        }
-        else {
-            if ("".equals(getPrefix())) {
-                element.setUserData(XmlWriter.IS_DEFAULT_NAMESPACE, Boolean.TRUE, null);
-            }
-            else {
-                element.setPrefix(getPrefix());
-            }
-        }
-        
+        ctx.pushElement(this, false);
         if (fieldText == null && isNillable()) {
-            element.setAttributeNS(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "nil", "true");
+            ctx.setNil();
         }
         else if (fieldText != null && fieldText.length() > 0) {
-            element.appendChild(document.createTextNode(fieldText));
+            ctx.appendText(fieldText);
         }
-        
-        Element parent = (Element) ctx.getParent();
-        parent.appendChild(element);
+        ctx.popElement();
     }
 
     /*
@@ -17,14 +17,20 @@ package org.beanio.internal.parser.format.xml;
 
 import java.io.IOException;
 
+import javax.xml.XMLConstants;
+
 import org.beanio.internal.parser.MarshallingContext;
 import org.beanio.internal.util.DomUtil;
-import org.beanio.stream.xml.XmlWriter;
+import org.beanio.stream.xml.*;
 import org.w3c.dom.*;
 
 /**
  * A {@link MarshallingContext} for XML records.
  * 
+ * <p>The record object is a {@link Document}, or a reusable {@link XmlRecord} if
+ * event mode is enabled.  Components build the record using {@link #pushElement(XmlNode, boolean)},
+ * {@link #popElement()} and the other methods that update the current parent element.
+ * 
  * @author Kevin Seim
  * @since 2.0
  */
@@ -40,6 +46,11 @@ public class XmlMarshallingContext extends MarshallingContext {
     
     private int ungroup = 0;
     
+    /* the record being marshalled in event mode, or null to build a DOM */
+    private XmlRecord record;
+    /* the index of the current parent in the record, or XmlRecord.NONE if not started */
+    private int recordParent = XmlRecord.NONE;
+    
     /**
      * Constructs a new <code>XmlMarshallingContext</code>.
      * @param groupDepth the maximum depth of a group in the parser tree
@@ -55,6 +66,9 @@ public class XmlMarshallingContext extends MarshallingContext {
     
     @Override
     public Object getRecordObject() {
+        if (record != null) {
+            return record.getRecord() == XmlRecord.NONE ? null : record;
+        }
         return getDocument();
     }
     
@@ -85,6 +99,30 @@ public class XmlMarshallingContext extends MarshallingContext {
     private void setDocument(Document document) {
         this.document = document;
         this.parent = document;
+        if (record != null) {
+            record.clear();
+            recordParent = XmlRecord.NONE;
+        }
+    }
+    
+    /**
+     * Sets whether records are marshalled into a reusable {@link XmlRecord} instead
+     * of a {@link Document}.
+     * @param eventMode <code>true</code> to marshal records into a {@link XmlRecord}
+     * @since 3.3.0
+     */
+    public void setEventMode(boolean eventMode) {
+        this.record = eventMode ? new XmlRecord() : null;
+        this.recordParent = XmlRecord.NONE;
+    }
+    
+    /**
+     * Returns whether records are marshalled into a reusable {@link XmlRecord}.
+     * @return <code>true</code> if records are marshalled into a {@link XmlRecord}
+     * @since 3.3.0
+     */
+    public boolean isEventMode() {
+        return record != null;
     }
 
     /**
@@ -149,6 +187,160 @@ public class XmlMarshallingContext extends MarshallingContext {
         this.parent = parent;
     }
     
+    /**
+     * Clears the current parent, so that a new record is started the next
+     * time an element is appended.
+     * @since 3.3.0
+     */
+    public void resetParent() {
+        this.parent = null;
+        this.recordParent = XmlRecord.NONE;
+    }
+    
+    /**
+     * Returns the index of the current parent in the record being marshalled, starting
+     * a new record and appending any open groups if needed.
+     * @return the parent node index
+     */
+    private int getRecordParent() {
+        if (recordParent == XmlRecord.NONE) {
+            record.clear();
+            recordParent = XmlRecord.DOCUMENT;
+            
+            for (int i=groupStackCount-1; i>=0; i--) {
+                recordParent = addElement(groupStack[i], XmlRecord.GROUP);
+            }
+            groupStackCount = 0;
+        }
+        return recordParent;
+    }
+    
+    private int addElement(XmlNode node, int flags) {
+        String prefix = null;
+        if (!node.isNamespaceAware()) {
+            flags |= XmlRecord.NAMESPACE_IGNORED;
+        }
+        else if ("".equals(node.getPrefix())) {
+            flags |= XmlRecord.DEFAULT_NAMESPACE;
+        }
+        else {
+            prefix = node.getPrefix();
+        }
+        return record.addElement(recordParent, node.getNamespace(), prefix, node.getLocalName(), flags);
+    }
+    
+    /**
+     * Appends a new element for a node to the current parent, and makes it the current parent.
+     * @param node the {@link XmlNode} to append
+     * @param group whether the element is a group element that is left open when
+     *   the record is written
+     * @since 3.3.0
+     */
+    public void pushElement(XmlNode node, boolean group) {
+        if (record != null) {
+            getRecordParent();
+            recordParent = addElement(node, group ? XmlRecord.GROUP : 0);
+            return;
+        }
+        
+        Node parent = getParent();
+        Element element = document.createElementNS(node.getNamespace(), node.getLocalName());
+        if (group) {
+            element.setUserData(XmlWriter.IS_GROUP_ELEMENT, Boolean.TRUE, null);
+        }
+        if (!node.isNamespaceAware()) {
+            element.setUserData(XmlWriter.IS_NAMESPACE_IGNORED, Boolean.TRUE, null);
+        }
+        else {
+            if ("".equals(node.getPrefix())) {
+                element.setUserData(XmlWriter.IS_DEFAULT_NAMESPACE, Boolean.TRUE, null);
+            }
+            else {
+                element.setPrefix(node.getPrefix());
+            }
+        }
+        parent.appendChild(element);
+        this.parent = element;
+    }
+    
+    /**
+     * Makes the parent of the current parent the current parent.
+     * @since 3.3.0
+     */
+    public void popElement() {
+        if (record != null) {
+            recordParent = record.getParent(recordParent);
+        }
+        else {
+            parent = parent.getParentNode();
+        }
+    }
+    
+    /**
+     * Marks the current parent element nil.
+     * @since 3.3.0
+     */
+    public void setNil() {
+        setAttribute(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, null, "nil", "true");
+    }
+    
+    /**
+     * Appends text to the current parent element.
+     * @param text the text to append
+     * @since 3.3.0
+     */
+    public void appendText(String text) {
+        if (record != null) {
+            record.appendText(getRecordParent(), text);
+        }
+        else {
+            getParent().appendChild(document.createTextNode(text));
+        }
+    }
+    
+    /**
+     * Replaces the content of the current parent element with text.
+     * @param text the text
+     * @since 3.3.0
+     */
+    public void setText(String text) {
+        if (record != null) {
+            int index = getRecordParent();
+            if (index != XmlRecord.DOCUMENT) {
+                record.setText(index, text);
+            }
+        }
+        else {
+            getParent().setTextContent(text);
+        }
+    }
+    
+    /**
+     * Sets an attribute of the current parent, if the parent is an element.
+     * @param namespace the attribute namespace
+     * @param prefix the attribute prefix
+     * @param localName the attribute local name
+     * @param value the attribute value
+     * @since 3.3.0
+     */
+    public void setAttribute(String namespace, String prefix, String localName, String value) {
+        if (record != null) {
+            int index = getRecordParent();
+            if (index != XmlRecord.DOCUMENT) {
+                record.setAttribute(index, namespace, prefix, localName, value);
+            }
+            return;
+        }
+        
+        Node parent = getParent();
+        if (parent.getNodeType() == Node.ELEMENT_NODE) {
+            Attr att = document.createAttributeNS(namespace, localName);
+            att.setValue(value);
+            att.setPrefix(prefix);
+            ((Element)parent).setAttributeNode(att);
+        }
+    }
+    
     @Override
     public Document toDocument(Object record) {
         return (Document)record;
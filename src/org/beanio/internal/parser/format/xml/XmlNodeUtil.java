@@ -17,6 +17,7 @@ package org.beanio.internal.parser.format.xml;
 
 import javax.xml.XMLConstants;
 
+import org.beanio.stream.xml.XmlRecord;
 import org.w3c.dom.*;
 
 /**
@@ -185,4 +186,102 @@ public class XmlNodeUtil {
         
         return null;
     }
+    
+    /**
+     * Returns the value of an attribute for an element of a {@link XmlRecord}.
+     * @param record the record
+     * @param element the index of the element to check
+     * @param definition the definition of the attribute to retrieve from the element
+     * @return the defined attribute value, or <code>null</code> if the attribute was not
+     *   found on the element
+     * @since 3.3.0
+     */
+    public static String getAttribute(XmlRecord record, int element, XmlNode definition) {
+        if (definition.isNamespaceAware()) {
+            return record.getAttribute(element, definition.getNamespace(), definition.getLocalName());
+        }
+        else {
+            return record.getAttribute(element, definition.getLocalName());
+        }
+    }
+    
+    /**
+     * Returns a sibling element of a {@link XmlRecord} that matches a given definition.
+     * @param record the record
+     * @param sibling the index of the sibling element to begin the search
+     * @param target the node to search for
+     * @return the index of the matching element, or {@link XmlRecord#NONE} if not found
+     * @since 3.3.0
+     */
+    public static int findSibling(XmlRecord record, int sibling, XmlNode target) {
+        if (sibling == XmlRecord.NONE) {
+            return XmlRecord.NONE;
+        }
+        
+        String xmlName = target.getLocalName();
+        String xmlNamespace = target.getNamespace();
+        
+        int element = sibling;
+        while ((element = record.getNextSibling(element)) != XmlRecord.NONE) {
+            if (!xmlName.equals(record.getLocalName(element))) {
+                continue;
+            }
+            if (target.isNamespaceAware()) {
+                String ns = record.getNamespace(element);
+                if (ns == null) {
+                    if (xmlNamespace != null) {
+                        continue;
+                    }
+                }
+                else {
+                    if (!ns.equals(xmlNamespace)) {
+                        continue;
+                    }
+                }
+            }
+            return element;
+        }
+        return XmlRecord.NONE;
+    }
+    
+    /**
+     * Finds the Nth matching child of an element of a {@link XmlRecord}.
+     * @param record the record
+     * @param parent the index of the parent element
+     * @param target the node to search for
+     * @param offset the occurrence of the matching node
+     * @return the index of the matching element, or {@link XmlRecord#NONE} if no match is found
+     * @since 3.3.0
+     */
+    public static int findChild(XmlRecord record, int parent, XmlNode target, int offset) {
+        String xmlName = target.getLocalName();
+        String xmlNamespace = target.getNamespace();
+        
+        int count = 0;
+        for (int element = record.getFirstChild(parent); element != XmlRecord.NONE;
+            element = record.getNextSibling(element)) {
+            
+            if (!xmlName.equals(record.getLocalName(element))) {
+                continue;
+            }
+            if (target.isNamespaceAware()) {
+                String ns = record.getNamespace(element);
+                if (ns == null) {
+                    if (xmlNamespace != null && xmlNamespace.length() != 0) {
+                        continue;
+                    }
+                }
+                else {
+                    if (!ns.equals(xmlNamespace)) {
+                        continue;
+                    }
+                }
+            }
+            if (count == offset) {
+                return element;
+            }
+            ++count;
+        }
+        return XmlRecord.NONE;
+    }
 }
@@ -100,32 +100,14 @@ public class XmlSelectorWrapper extends ParserComponent implements Selector, Xml
     public boolean marshal(MarshallingContext context) throws IOException {
         XmlMarshallingContext ctx = (XmlMarshallingContext) context;
         
-        Node parent = ctx.getParent();
-        Node node = parent.appendChild(
-            ctx.getDocument().createElementNS(getNamespace(), getLocalName()));
-        if (group && ctx.isStreaming()) {
-            node.setUserData(XmlWriter.IS_GROUP_ELEMENT, Boolean.TRUE, null);
-        }
-        if (!isNamespaceAware()) {
-            node.setUserData(XmlWriter.IS_NAMESPACE_IGNORED, Boolean.TRUE, null);
-        }
-        else {
-            if ("".equals(getPrefix())) {
-                node.setUserData(XmlWriter.IS_DEFAULT_NAMESPACE, Boolean.TRUE, null);
-            }
-            else {
-                node.setPrefix(getPrefix());
-            }
-        }
-        
-        ctx.setParent(node);
+        ctx.pushElement(this, group && ctx.isStreaming());
         
         boolean b = getDelegate().marshal(context);
         
         if (group && ctx.isStreaming()) {
-            ((XmlMarshallingContext)context).closeGroup(this);
+            ctx.closeGroup(this);
         }
-        ctx.setParent(null);
+        ctx.resetParent();
         
         return b;
     }
@@ -224,9 +206,8 @@ public class XmlSelectorWrapper extends ParserComponent implements Selector, Xml
         // validate the next element in the document matches this record
         XmlUnmarshallingContext ctx = (XmlUnmarshallingContext) context;
 
-        // update the position in the DOM tree (if null the node is matched)
-        Element matchedDomNode = ctx.pushPosition(this, depth, group);
-        if (matchedDomNode == null) {
+        // update the position in the DOM tree (if false the node is not matched)
+        if (!ctx.pushPosition(this, depth, group)) {
             return null;
         }
         
@@ -234,14 +215,14 @@ public class XmlSelectorWrapper extends ParserComponent implements Selector, Xml
         try {
             if (stateful) {
                 // get the number of times this node was read from the stream for comparing to our group count
-                Integer n = (Integer) matchedDomNode.getUserData(XmlReader.GROUP_COUNT);
+                int n = ctx.getGroupCount();
                 /*
-                    if the group count is null, it means we expected a group and got a record, therefore no match
-                    if (n == null) {
+                    if the group count is 0, it means we expected a group and got a record, therefore no match
+                    if (n == 0) {
                         return null;
                     }
                 */
-                if (n != null && n > getCount(context)) {
+                if (n > getCount(context)) {
                     if (isMaxOccursReached(context)) {
                         return null;
                     }
@@ -37,6 +37,8 @@ public class XmlStreamFormat extends StreamFormatSupport {
     private Selector layout;
     // the maximum depth of a group component in the parser tree 
     private int groupDepth;
+    // whether records are written as a XmlRecord instead of a DOM
+    private boolean eventMode;
 
     /*
      * (non-Javadoc)
@@ -55,6 +57,7 @@ public class XmlStreamFormat extends StreamFormatSupport {
     public MarshallingContext createMarshallingContext(boolean streaming) {
         XmlMarshallingContext ctx = new XmlMarshallingContext(groupDepth);
         ctx.setStreaming(streaming);
+        ctx.setEventMode(streaming && eventMode);
         return ctx;
     }
     
@@ -68,6 +71,8 @@ public class XmlStreamFormat extends StreamFormatSupport {
                 }
             });
         }
+        eventMode = recordParserFactory instanceof XmlParserConfiguration && 
+            ((XmlParserConfiguration)recordParserFactory).isEventMode();
         super.setRecordParserFactory(recordParserFactory);
     }
 
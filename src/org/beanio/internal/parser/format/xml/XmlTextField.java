@@ -15,8 +15,6 @@
  */
 package org.beanio.internal.parser.format.xml;
 
-import org.w3c.dom.*;
-
 /**
  * 
  * @author Kevin Seim
@@ -26,12 +24,11 @@ public class XmlTextField extends XmlFieldFormat {
 
     @Override
     public String extractText(XmlUnmarshallingContext context) {
-        Element parent = context.getPosition();
-        if (parent == null) {
+        if (!context.hasPosition()) {
             return null;
         }
         else {
-            String fieldText = XmlNodeUtil.getText(parent);
+            String fieldText = context.getText();
             if (fieldText == null) {
                 fieldText = "";
             }
@@ -45,10 +42,7 @@ public class XmlTextField extends XmlFieldFormat {
             return;
         }
         
-        Node parent = ctx.getParent();
-        if (parent != null) {
-            parent.setTextContent(text);
-        }
+        ctx.setText(text);
     }
 
     /*
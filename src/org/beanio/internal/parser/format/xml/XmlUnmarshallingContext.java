@@ -15,15 +15,18 @@
  */
 package org.beanio.internal.parser.format.xml;
 
+import java.util.Arrays;
 import java.util.LinkedList;
 
 import org.beanio.internal.parser.*;
+import org.beanio.stream.xml.*;
 import org.w3c.dom.*;
 
 /**
  * An {@link UnmarshallingContext} for an XML formatted record.
  * 
- * <p>The record value type is a {@link Document}.
+ * <p>The record value type is a {@link Document}, or a {@link XmlRecord} if the
+ * record was read by a {@link XmlRecordReader}.
  * 
  * @author Kevin Seim
  * @since 2.0
@@ -38,6 +41,13 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
     private LinkedList<Element> elementStack = new LinkedList<>();
     /* Store previously matched groups for parsing subsequent records in a record group */
     private XmlNode[] groupStack;
+    /* The record to parse, if not a DOM */
+    private XmlRecord record;
+    /* The index of the last parsed element in the record, or XmlRecord.DOCUMENT */
+    private int recordPosition;
+    /* The last parsed record element for a field or bean collection, indexed by iteration depth */
+    private int[] recordElementStack = new int[4];
+    private int recordElementDepth;
     
     /**
      * Constructs a new <code>XmlUnmarshallingContext</code>
@@ -49,6 +59,15 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
     
     @Override
     public void setRecordValue(Object value) {
+        if (value instanceof XmlRecord) {
+            this.record = (XmlRecord) value;
+            this.recordPosition = XmlRecord.DOCUMENT;
+            this.document = null;
+            this.position = null;
+            return;
+        }
+        
+        this.record = null;
         Node node = (Node) value;
         if (node.getNodeType() == Node.DOCUMENT_NODE) {
             this.document = (Document) value;
@@ -68,11 +87,16 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
     public void pushIteration(Iteration b) {
         super.pushIteration(b);
         elementStack.addFirst(null);
+        if (recordElementDepth == recordElementStack.length) {
+            recordElementStack = Arrays.copyOf(recordElementStack, recordElementDepth * 2);
+        }
+        recordElementStack[recordElementDepth++] = XmlRecord.NONE;
     }
     
     @Override
     public Iteration popIteration() {
         elementStack.removeFirst();
+        --recordElementDepth;
         return super.popIteration();
     }
 
@@ -102,7 +126,7 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
     
     /**
      * Returns the current unmarshalled position in the DOM tree, or null
-     * if a node has not been matched yet.
+     * if a node has not been matched yet or the record is not a DOM.
      * @return the current parent DOM node
      * @see #pushPosition(XmlNode, int, boolean)
      * @see #pushPosition(XmlNode)
@@ -120,9 +144,9 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
      * @param node the {@link XmlNode} to match
      * @param depth the depth of the node in the DOM tree 
      * @param isGroup whether the node is mapped to a {@link Group}
-     * @return the matched node or null if not matched
+     * @return <code>true</code> if the node was matched
      */
-    public Element pushPosition(XmlNode node, int depth, boolean isGroup) {
+    public boolean pushPosition(XmlNode node, int depth, boolean isGroup) {
         // if the pushed node is a group node, add it to the group stack
         // for the workaround below
         if (isGroup) {
@@ -133,20 +157,20 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
         // once the first record is identified, parent groups are not called for
         // subsequent records so the current position will be null even though we
         // already deeper in the parser tree
-        if (position == null && depth > 0) {
+        if (!hasPosition() && depth > 0) {
             for (int i=0; i<depth; i++) {   
-                position = findElement(groupStack[i]);
-                if (position == null) {
-                    return null;
+                if (!pushPosition(groupStack[i])) {
+                    clearPosition();
+                    return false;
                 }
             }
             
             // if we still don't match, update the position back to null
-            Element element = pushPosition(node);
-            if (element == null) {
-                position = null;
+            if (!pushPosition(node)) {
+                clearPosition();
+                return false;
             }
-            return element;
+            return true;
         }
         else {
             return pushPosition(node);
@@ -157,17 +181,26 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
      * Updates <code>position</code> by finding a child of the current position
      * that matches a given node.
      * @param node the {@link XmlNode} to match
-     * @return the matching element, or null if not found
+     * @return <code>true</code> if the node was matched
      * @see #getPosition()
      */
-    public Element pushPosition(XmlNode node) {
+    public boolean pushPosition(XmlNode node) {
+        if (record != null) {
+            int element = findRecordElement(node);
+            if (element == XmlRecord.NONE) {
+                return false;
+            }
+            recordPosition = element;
+            return true;
+        }
+        
         Element element = findElement(node);
         if (element == null) {
-            return null;
+            return false;
         }
         else {
             position = element;
-            return position;
+            return true;
         }
     }
     
@@ -177,7 +210,12 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
      * @see #getPosition()
      */
     public void popPosition() {
-        if (position != null) {
+        if (record != null) {
+            if (recordPosition != XmlRecord.DOCUMENT) {
+                recordPosition = record.getParent(recordPosition);
+            }
+        }
+        else if (position != null) {
             Node n = position.getParentNode();
             if (n == null || n.getNodeType() == Node.DOCUMENT_NODE){
                 position = null;
@@ -221,6 +259,96 @@ public class XmlUnmarshallingContext extends UnmarshallingContext {
         return element;
     }
     
+    /**
+     * Finds a child element of the current position in a {@link XmlRecord}.
+     * @param node the {@link XmlNode} to match
+     * @return the matched element index, or {@link XmlRecord#NONE} if not found
+     */
+    private int findRecordElement(XmlNode node) {
+        int element;
+        if (node.isRepeating()) {
+            int index = getRelativeFieldIndex();
+            
+            if (index > 0) {
+                element = XmlNodeUtil.findSibling(record, recordElementStack[recordElementDepth - 1], node);
+            }
+            else {
+                element = XmlNodeUtil.findChild(record, recordPosition, node, index);
+            }
+            if (element != XmlRecord.NONE) {
+                recordElementStack[recordElementDepth - 1] = element;
+            }
+        }
+        else {
+            element = XmlNodeUtil.findChild(record, recordPosition, node, 0);
+        }
+        return element;
+    }
+    
+    /**
+     * Returns whether a node has been matched.
+     * @return <code>true</code> if the current position is an element, or
+     *   <code>false</code> if it is the document
+     * @since 3.3.0
+     */
+    public boolean hasPosition() {
+        return record != null ? recordPosition != XmlRecord.DOCUMENT : position != null;
+    }
+    
+    private void clearPosition() {
+        position = null;
+        recordPosition = XmlRecord.DOCUMENT;
+    }
+    
+    /**
+     * Returns the number of times the current element was read from the input stream,
+     * if it is an element in the base document that defines the group structure of the XML.
+     * @return the group count, or 0 if not known
+     * @since 3.3.0
+     */
+    public int getGroupCount() {
+        if (record != null) {
+            return record.getCount(recordPosition);
+        }
+        if (position == null) {
+            return 0;
+        }
+        Integer n = (Integer) position.getUserData(XmlReader.GROUP_COUNT);
+        return n == null ? 0 : n;
+    }
+    
+    /**
+     * Tests if the current element is nil.
+     * @return <code>true</code> if the current element is nil
+     * @since 3.3.0
+     */
+    public boolean isNil() {
+        return record != null ? record.isNil(recordPosition) : XmlNodeUtil.isNil(position);
+    }
+    
+    /**
+     * Returns the text of the current element.
+     * @return the element text, or <code>null</code> if the element did not contain any text
+     * @since 3.3.0
+     */
+    public String getText() {
+        return record != null ? record.getText(recordPosition) : XmlNodeUtil.getText(position);
+    }
+    
+    /**
+     * Returns the value of an attribute of the current element.
+     * @param definition the definition of the attribute
+     * @return the attribute value, or <code>null</code> if no element has been matched
+     *   or the attribute was not found
+     * @since 3.3.0
+     */
+    public String getAttribute(XmlNode definition) {
+        if (record != null) {
+            return hasPosition() ? XmlNodeUtil.getAttribute(record, recordPosition, definition) : null;
+        }
+        return XmlNodeUtil.getAttribute(position, definition);
+    }
+    
     @Override
     public Object toRecordValue(Node node) {
         return node;
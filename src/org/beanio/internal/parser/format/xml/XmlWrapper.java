@@ -17,12 +17,8 @@ package org.beanio.internal.parser.format.xml;
 
 import java.io.IOException;
 
-import javax.xml.XMLConstants;
-
 import org.beanio.internal.parser.*;
 import org.beanio.internal.util.DebugUtil;
-import org.beanio.stream.xml.XmlWriter;
-import org.w3c.dom.*;
 
 /**
  * 
@@ -47,7 +43,7 @@ public class XmlWrapper extends DelegatingParser implements XmlNode {
         }
         
         XmlUnmarshallingContext ctx = (XmlUnmarshallingContext) context;
-        if (ctx.pushPosition(this) == null) {
+        if (!ctx.pushPosition(this)) {
             return false;
         }
         
@@ -62,13 +58,13 @@ public class XmlWrapper extends DelegatingParser implements XmlNode {
     @Override
     public boolean unmarshal(UnmarshallingContext context) {
         XmlUnmarshallingContext ctx = (XmlUnmarshallingContext) context;
-        if (ctx.pushPosition(this) == null) {
+        if (!ctx.pushPosition(this)) {
             return false;
         }
         
         try {
             // check for nil
-            if (XmlNodeUtil.isNil(ctx.getPosition())) {
+            if (ctx.isNil()) {
                 if (!isNillable()) {
                     context.addFieldError(getName(), null, "nillable");
                 }
@@ -97,34 +93,18 @@ public class XmlWrapper extends DelegatingParser implements XmlNode {
         
         XmlMarshallingContext ctx = (XmlMarshallingContext) context;
         
-        // create an element for this node
-        Element element = ctx.getDocument().createElementNS(getNamespace(), getLocalName());
-        if (!isNamespaceAware()) {
-            element.setUserData(XmlWriter.IS_NAMESPACE_IGNORED, Boolean.TRUE, null);
-        }
-        else {
-            if ("".equals(getPrefix())) {
-                element.setUserData(XmlWriter.IS_DEFAULT_NAMESPACE, Boolean.TRUE, null);
-            }
-            else {
-                element.setPrefix(getPrefix());
-            }
-        }
-        
-        // append the new element to its parent
-        Node parent = ctx.getParent();
-        parent.appendChild(element);
+        // append an element for this node to its parent
+        ctx.pushElement(this, false);
         
         // if nillable and there is no descendant with content, mark the element nil
         if (isNillable() && !contentChecked && !hasContent(context)) {
-            element.setAttributeNS(XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "nil", "true");
+            ctx.setNil();
         }
         // otherwise marshal our descendants
         else {
-            ctx.setParent(element);
             super.marshal(context);
-            ctx.setParent(parent);
         }
+        ctx.popElement();
         
         return true;
     }
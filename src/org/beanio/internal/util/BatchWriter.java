@@ -0,0 +1,130 @@
+package org.beanio.internal.util;
+
+import java.io.*;
+
+/**
+ * A {@link Writer} that passes characters directly to an underlying writer, except
+ * during a batch, when characters are collected in a buffer and written to the underlying
+ * writer in large blocks.
+ *
+ * <p>This class is not thread safe.
+ *
+ * @since 3.3.0
+ */
+public class BatchWriter extends Writer {
+
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private Writer out;
+    private char[] buf;
+    private int count;
+    private boolean batching;
+
+    /**
+     * Constructs a new <code>BatchWriter</code>.
+     * @param out the underlying {@link Writer}
+     */
+    public BatchWriter(Writer out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Constructs a new <code>BatchWriter</code>.
+     * @param out the underlying {@link Writer}
+     * @param size the buffer size
+     */
+    public BatchWriter(Writer out, int size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Invalid buffer size: " + size);
+        }
+        this.out = out;
+        this.buf = new char[size];
+    }
+
+    /**
+     * Starts buffering characters.
+     */
+    public void beginBatch() {
+        batching = true;
+    }
+
+    /**
+     * Writes any buffered characters to the underlying writer, and stops buffering
+     * characters.  The underlying writer is not flushed.
+     * @throws IOException if an I/O error occurs
+     */
+    public void endBatch() throws IOException {
+        batching = false;
+        drain();
+    }
+
+    @Override
+    public void write(int c) throws IOException {
+        if (!batching) {
+            out.write(c);
+            return;
+        }
+        if (count == buf.length) {
+            drain();
+        }
+        buf[count++] = (char) c;
+    }
+
+    @Override
+    public void write(char[] cbuf, int off, int len) throws IOException {
+        if (!batching) {
+            out.write(cbuf, off, len);
+            return;
+        }
+        if (len > buf.length - count) {
+            drain();
+            if (len > buf.length) {
+                out.write(cbuf, off, len);
+                return;
+            }
+        }
+        System.arraycopy(cbuf, off, buf, count, len);
+        count += len;
+    }
+
+    @Override
+    public void write(String str, int off, int len) throws IOException {
+        if (!batching) {
+            out.write(str, off, len);
+            return;
+        }
+        if (len > buf.length - count) {
+            drain();
+            if (len > buf.length) {
+                out.write(str, off, len);
+                return;
+            }
+        }
+        str.getChars(off, off + len, buf, count);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        drain();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            drain();
+        }
+        finally {
+            batching = false;
+            out.close();
+        }
+    }
+
+    private void drain() throws IOException {
+        if (count > 0) {
+            out.write(buf, 0, count);
+            count = 0;
+        }
+    }
+}
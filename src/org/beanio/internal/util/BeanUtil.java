@@ -30,24 +30,28 @@ import org.beanio.types.*;
  */
 public class BeanUtil {
 
-    private static final boolean NULL_ESCAPING_ENABLED = "true".equalsIgnoreCase(
-        Settings.getInstance().getProperty(Settings.NULL_ESCAPING_ENABLED));
+    private final static TypeHandlerFactory typeHandlerFactory = createTypeHandlerFactory(Settings.getInstance());
     
-    private final static TypeHandlerFactory typeHandlerFactory;
-    static {
-        typeHandlerFactory = new TypeHandlerFactory(BeanUtil.class.getClassLoader());
+    private BeanUtil() { }
+    
+    /*
+     * Creates the type handler factory used to parse bean property values.
+     */
+    private static TypeHandlerFactory createTypeHandlerFactory(Settings settings) {
+        TypeHandlerFactory factory = new TypeHandlerFactory(BeanUtil.class.getClassLoader());
         
         // string arrays allowed for setting 'comments' on a csv/delimited/fixedlength reader
-        typeHandlerFactory.registerHandlerFor(String[].class, new StringArrayTypeHandler());
+        factory.registerHandlerFor(String[].class, new StringArrayTypeHandler());
         
         // override string and character type handlers is property escaping is enabled
-        if ("true".equals(Settings.getInstance().getProperty(Settings.PROPERTY_ESCAPING_ENABLED))) {
-            typeHandlerFactory.registerHandlerFor(String.class, new EscapedStringTypeHandler());
-            typeHandlerFactory.registerHandlerFor(Character.class, new EscapedCharacterTypeHandler());
+        if ("true".equals(settings.getProperty(Settings.PROPERTY_ESCAPING_ENABLED))) {
+            boolean nullEscapingEnabled = "true".equalsIgnoreCase(
+                settings.getProperty(Settings.NULL_ESCAPING_ENABLED));
+            factory.registerHandlerFor(String.class, new EscapedStringTypeHandler(nullEscapingEnabled));
+            factory.registerHandlerFor(Character.class, new EscapedCharacterTypeHandler(nullEscapingEnabled));
         }
+        return factory;
     }
-    
-    private BeanUtil() { }
 
     /**
      * Instantiates a bean class.
@@ -62,6 +66,21 @@ public class BeanUtil {
         return bean;
     }
     
+    /**
+     * Instantiates a bean class.
+     * @param classLoader the {@link ClassLoader} to use to resolve <code>className</code>
+     * @param className the fully qualified name of the bean class to create
+     * @param props the bean properties to set on the instantiated object
+     * @param settings the {@link Settings} that control how property values are parsed
+     * @return the created bean object
+     * @since 3.3.0
+     */
+    public static Object createBean(ClassLoader classLoader, String className, Properties props, Settings settings) {
+        Object bean = createBean(classLoader, className);
+        configure(bean, props, settings);
+        return bean;
+    }
+    
     /**
      * Instantiates a bean class using its class name.
      * @param className the fully qualified name of the class to instantiate
@@ -103,6 +122,25 @@ public class BeanUtil {
      * @param props the bean properties to set on the object
      */
     public static void configure(Object bean, Properties props) {
+        configure(bean, props, typeHandlerFactory);
+    }
+    
+    /**
+     * Sets properties on a bean object using default type handlers.
+     * @param bean the object to set the properties on
+     * @param props the bean properties to set on the object
+     * @param settings the {@link Settings} that control how property values are parsed
+     * @since 3.3.0
+     */
+    public static void configure(Object bean, Properties props, Settings settings) {
+        if (props == null || props.isEmpty()) {
+            return;
+        }
+        configure(bean, props, settings == Settings.getInstance() ? 
+            typeHandlerFactory : createTypeHandlerFactory(settings));
+    }
+    
+    private static void configure(Object bean, Properties props, TypeHandlerFactory typeHandlerFactory) {
         // if no properties, we're done...
         if (props == null || props.isEmpty()) {
             return;
@@ -173,6 +211,12 @@ public class BeanUtil {
      */
     private static class EscapedCharacterTypeHandler implements TypeHandler {
 
+        private boolean nullEscapingEnabled;
+        
+        public EscapedCharacterTypeHandler(boolean nullEscapingEnabled) {
+            this.nullEscapingEnabled = nullEscapingEnabled;
+        }
+        
         /*
          * (non-Javadoc)
          * @see org.beanio.types.TypeHandler#parse(java.lang.String)
@@ -201,7 +245,7 @@ public class BeanUtil {
             else if ("\\f".equals(text)) {
                 return '\f';
             }
-            else if (NULL_ESCAPING_ENABLED && "\\0".equals(text)) {
+            else if (nullEscapingEnabled && "\\0".equals(text)) {
                 return '\0';
             }
             
@@ -233,6 +277,12 @@ public class BeanUtil {
      */
     private static class EscapedStringTypeHandler implements TypeHandler {
 
+        private boolean nullEscapingEnabled;
+        
+        public EscapedStringTypeHandler(boolean nullEscapingEnabled) {
+            this.nullEscapingEnabled = nullEscapingEnabled;
+        }
+        
         /*
          * (non-Javadoc)
          * @see org.beanio.types.TypeHandler#parse(java.lang.String)
@@ -270,7 +320,7 @@ public class BeanUtil {
                         value.append('\f');
                         break;
                     case '0':
-                        if (NULL_ESCAPING_ENABLED) {
+                        if (nullEscapingEnabled) {
                             value.append('\0');
                         }
                         else {
@@ -17,6 +17,7 @@ package org.beanio.internal.util;
 
 import java.io.*;
 import java.net.URL;
+import java.nio.charset.*;
 
 /**
  * Utility class for manipulating streams.
@@ -27,6 +28,48 @@ import java.net.URL;
 public class IOUtil {
 
     private IOUtil() { }
+    
+    /**
+     * Returns whether a character set is ASCII compatible, meaning every ASCII character
+     * is encoded as the same single byte, and that byte never appears in the encoding of
+     * any other character.  Text encoded using an ASCII compatible character set can be
+     * tokenized on ASCII delimiters without first being decoded.
+     * @param charset the {@link Charset} to test
+     * @return true if the character set is UTF-8, or a single byte character set
+     *   that maps the first 128 byte values to ASCII 
+     * @since 3.3.0
+     */
+    public static boolean isAsciiCompatible(Charset charset) {
+        if (StandardCharsets.UTF_8.equals(charset) ||
+            StandardCharsets.US_ASCII.equals(charset) ||
+            StandardCharsets.ISO_8859_1.equals(charset)) {
+            return true;
+        }
+        
+        // otherwise all 256 byte values must decode to exactly one character,
+        // and only bytes 0-127 may decode to ASCII
+        CharsetDecoder decoder = charset.newDecoder();
+        if (decoder.maxCharsPerByte() != 1.0f || !charset.canEncode() || 
+            charset.newEncoder().maxBytesPerChar() != 1.0f) {
+            return false;
+        }
+        
+        byte[] bytes = new byte[256];
+        for (int i=0; i<bytes.length; i++) {
+            bytes[i] = (byte) i;
+        }
+        String s = new String(bytes, charset);
+        if (s.length() != bytes.length) {
+            return false;
+        }
+        for (int i=0; i<bytes.length; i++) {
+            char c = s.charAt(i);
+            if (i < 128 ? c != i : c < 128) {
+                return false;
+            }
+        }
+        return true;
+    }
    
     /**
      * Closes an input stream and quietly ignores any exception.
@@ -123,4 +166,21 @@ public class IOUtil {
         
         return cl.getResourceAsStream(resource);
     }
+    
+    /**
+     * Reads the remaining bytes of an input stream.  The input stream is not closed.
+     * @param in the {@link InputStream} to read
+     * @return the bytes read
+     * @throws IOException if an I/O error occurs
+     * @since 3.3.0
+     */
+    public static byte[] toByteArray(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) >= 0) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
 }
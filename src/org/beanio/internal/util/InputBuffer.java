@@ -0,0 +1,361 @@
+package org.beanio.internal.util;
+
+import java.io.*;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+
+/**
+ * A growable read buffer of either characters read from a {@link Reader}, or bytes read
+ * from an {@link InputStream} in an ASCII compatible character set.  Record readers scan
+ * an <code>InputBuffer</code> using buffer positions and unit values, so that the same
+ * tokenizing code can be used for character and byte streams.
+ * <p>
+ * A unit value is a character, or an unsigned byte.  Since ASCII characters are
+ * encoded using a single byte of the same value in an ASCII compatible character set,
+ * an ASCII character can be compared to a unit value regardless of the buffer type.
+ * Text is only decoded when {@link #substring(int, int)} or
+ * {@link #appendTo(StringBuilder, int, int)} is called.
+ * <p>
+ * This class is not thread safe.
+ *
+ * @since 3.3.0
+ */
+public abstract class InputBuffer {
+
+    /** The number of units in the buffer */
+    protected int limit;
+    private boolean eof;
+
+    /**
+     * Constructs a new <code>InputBuffer</code>.
+     */
+    protected InputBuffer() { }
+
+    /**
+     * Creates a new buffer of characters read from a {@link Reader}.
+     * @param in the reader to read from
+     * @param size the initial buffer size
+     * @return the new buffer
+     */
+    public static InputBuffer of(Reader in, int size) {
+        return new CharInputBuffer(in, size);
+    }
+
+    /**
+     * Creates a new buffer of bytes read from an {@link InputStream}.  Only ASCII characters
+     * may be searched for in the buffer, which is only possible if the character set is
+     * ASCII compatible.
+     * @param in the input stream to read from
+     * @param charset the ASCII compatible character set used to decode text
+     * @param size the initial buffer size
+     * @return the new buffer
+     * @see IOUtil#isAsciiCompatible(Charset)
+     */
+    public static InputBuffer of(InputStream in, Charset charset, int size) {
+        return new ByteInputBuffer(in, charset, size);
+    }
+
+    /**
+     * Returns the number of units in the buffer.
+     * @return the buffer limit
+     */
+    public final int limit() {
+        return limit;
+    }
+
+    /**
+     * Returns whether the end of the stream was reached.
+     * @return true if the end of the stream was reached
+     */
+    public final boolean isEOF() {
+        return eof;
+    }
+
+    /**
+     * Returns the unit value at a buffer position.
+     * @param index the buffer position, which must be less than the limit
+     * @return the character or unsigned byte value
+     */
+    public abstract int get(int index);
+
+    /**
+     * Returns the first buffer position at or after <code>from</code> containing any of the
+     * given unit values.  Callers may repeat a value in order to search for fewer values.
+     * @param from the buffer position to start searching from
+     * @param c1 a unit value to search for
+     * @param c2 a unit value to search for
+     * @param c3 a unit value to search for
+     * @param c4 a unit value to search for
+     * @param c5 a unit value to search for
+     * @return the buffer position, or the limit if none of the values were found
+     */
+    public abstract int indexOf(int from, int c1, int c2, int c3, int c4, int c5);
+
+    /**
+     * Decodes text from the buffer.
+     * @param start the buffer position of the first unit to decode
+     * @param end the buffer position after the last unit to decode
+     * @return the decoded text
+     */
+    public abstract String substring(int start, int end);
+
+    /**
+     * Decodes text from the buffer and appends it to a {@link StringBuilder}.
+     * @param builder the builder to append to
+     * @param start the buffer position of the first unit to decode
+     * @param end the buffer position after the last unit to decode
+     */
+    public abstract void appendTo(StringBuilder builder, int start, int end);
+
+    /**
+     * Encodes text into the unit values that represent it in this buffer.
+     * @param text the text to encode
+     * @return the unit values
+     */
+    public abstract int[] encode(String text);
+
+    /**
+     * Returns whether the buffer contains the given unit values at a position.
+     * @param index the buffer position
+     * @param units the unit values to test, as returned by {@link #encode(String)}
+     * @return true if the buffer contains the unit values
+     */
+    public final boolean startsWith(int index, int[] units) {
+        int n = units.length;
+        if (limit - index < n) {
+            return false;
+        }
+        for (int i=0; i<n; i++) {
+            if (get(index + i) != units[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Discards units before a buffer position by moving the remaining units to the
+     * start of the buffer.  Buffer positions held by the caller must be reduced by
+     * <code>start</code>.
+     * @param start the buffer position of the first unit to keep
+     */
+    public final void compact(int start) {
+        if (start > 0) {
+            int n = limit - start;
+            shift(start, n);
+            limit = n;
+        }
+    }
+
+    /**
+     * Reads more units from the input stream into the buffer, which is enlarged if full.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    public final boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (limit == capacity()) {
+            grow();
+        }
+        int n = read(limit);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
+
+    /**
+     * Closes the input stream.
+     * @throws IOException if an I/O error occurs
+     */
+    public abstract void close() throws IOException;
+
+    /**
+     * Returns the buffer size.
+     * @return the buffer size
+     */
+    protected abstract int capacity();
+
+    /**
+     * Doubles the buffer size.
+     */
+    protected abstract void grow();
+
+    /**
+     * Moves units to the start of the buffer.
+     * @param start the buffer position of the first unit to move
+     * @param length the number of units to move
+     */
+    protected abstract void shift(int start, int length);
+
+    /**
+     * Reads from the input stream into the buffer until it is full.
+     * @param off the buffer position to read into
+     * @return the number of units read, or -1 if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    protected abstract int read(int off) throws IOException;
+
+    /**
+     * An {@link InputBuffer} of characters.
+     */
+    private static final class CharInputBuffer extends InputBuffer {
+
+        private Reader in;
+        private char[] buf;
+
+        public CharInputBuffer(Reader in, int size) {
+            this.in = in;
+            this.buf = new char[size];
+        }
+
+        @Override
+        public int get(int index) {
+            return buf[index];
+        }
+
+        @Override
+        public int indexOf(int from, int c1, int c2, int c3, int c4, int c5) {
+            char[] b = buf;
+            int l = limit;
+            int p = from;
+            while (p < l) {
+                char c = b[p];
+                if (c == c1 || c == c2 || c == c3 || c == c4 || c == c5) {
+                    break;
+                }
+                ++p;
+            }
+            return p;
+        }
+
+        @Override
+        public String substring(int start, int end) {
+            return new String(buf, start, end - start);
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, int start, int end) {
+            builder.append(buf, start, end - start);
+        }
+
+        @Override
+        public int[] encode(String text) {
+            return text.chars().toArray();
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        protected int capacity() {
+            return buf.length;
+        }
+
+        @Override
+        protected void grow() {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+
+        @Override
+        protected void shift(int start, int length) {
+            System.arraycopy(buf, start, buf, 0, length);
+        }
+
+        @Override
+        protected int read(int off) throws IOException {
+            return in.read(buf, off, buf.length - off);
+        }
+    }
+
+    /**
+     * An {@link InputBuffer} of bytes.  Since only ASCII characters are searched for,
+     * text is never split in the middle of a multi-byte character.
+     */
+    private static final class ByteInputBuffer extends InputBuffer {
+
+        private InputStream in;
+        private Charset charset;
+        private byte[] buf;
+
+        public ByteInputBuffer(InputStream in, Charset charset, int size) {
+            this.in = in;
+            this.charset = charset;
+            this.buf = new byte[size];
+        }
+
+        @Override
+        public int get(int index) {
+            return buf[index] & 0xFF;
+        }
+
+        @Override
+        public int indexOf(int from, int c1, int c2, int c3, int c4, int c5) {
+            byte b1 = (byte) c1, b2 = (byte) c2, b3 = (byte) c3, b4 = (byte) c4, b5 = (byte) c5;
+            byte[] b = buf;
+            int l = limit;
+            int p = from;
+            while (p < l) {
+                byte c = b[p];
+                if (c == b1 || c == b2 || c == b3 || c == b4 || c == b5) {
+                    break;
+                }
+                ++p;
+            }
+            return p;
+        }
+
+        @Override
+        public String substring(int start, int end) {
+            return start == end ? "" : new String(buf, start, end - start, charset);
+        }
+
+        @Override
+        public void appendTo(StringBuilder builder, int start, int end) {
+            if (end > start) {
+                builder.append(new String(buf, start, end - start, charset));
+            }
+        }
+
+        @Override
+        public int[] encode(String text) {
+            byte[] bytes = text.getBytes(charset);
+            int[] units = new int[bytes.length];
+            for (int i=0; i<bytes.length; i++) {
+                units[i] = bytes[i] & 0xFF;
+            }
+            return units;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+
+        @Override
+        protected int capacity() {
+            return buf.length;
+        }
+
+        @Override
+        protected void grow() {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+
+        @Override
+        protected void shift(int start, int length) {
+            System.arraycopy(buf, start, buf, 0, length);
+        }
+
+        @Override
+        protected int read(int off) throws IOException {
+            return in.read(buf, off, buf.length - off);
+        }
+    }
+}
@@ -49,17 +49,25 @@ public class LocaleUtil {
         
         synchronized (LocaleUtil.class) {
             if (defaultLocale == null) {
-                String name = Settings.getInstance().getProperty(Settings.DEFAULT_LOCALE);
-                try {
-                    defaultLocale = parseLocale(name);
-                }
-                catch (IllegalArgumentException ex) { }
-                
-                if (defaultLocale == null) {
-                    defaultLocale = Locale.getDefault();
-                }
+                defaultLocale = getDefaultLocale(Settings.getInstance());
             }
             return defaultLocale;
         }
     }
+    
+    /**
+     * Returns the default type handler locale configured by the given settings.
+     * @param settings the {@link Settings}
+     * @return the configured locale, or the JVM default locale if not configured
+     * @since 3.3.0
+     */
+    public static Locale getDefaultLocale(Settings settings) {
+        Locale locale = null;
+        try {
+            locale = parseLocale(settings.getProperty(Settings.DEFAULT_LOCALE));
+        }
+        catch (IllegalArgumentException ex) { }
+        
+        return locale != null ? locale : Locale.getDefault();
+    }
 }
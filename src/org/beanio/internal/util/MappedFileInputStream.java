@@ -0,0 +1,137 @@
+package org.beanio.internal.util;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * An {@link InputStream} that reads a file using memory mapped regions of the file,
+ * so that file contents are copied from the operating system page cache directly into the
+ * caller's buffer.  Files larger than a single mapping are mapped one region at a time.
+ *
+ * <p>This class is not thread safe.
+ *
+ * @since 3.3.0
+ */
+public class MappedFileInputStream extends InputStream {
+
+    /* the maximum number of bytes mapped at once */
+    private static final long MAX_REGION_SIZE = 1L << 30;
+
+    private final long regionSize;
+    private FileChannel channel;
+    private long end;
+    private long offset;
+    private MappedByteBuffer region;
+
+    /**
+     * Constructs a new <code>MappedFileInputStream</code>.
+     * @param file the path of the file to read
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(Path file) throws IOException {
+        this(file, MAX_REGION_SIZE);
+    }
+
+    /**
+     * Constructs a new <code>MappedFileInputStream</code>.
+     * @param file the path of the file to read
+     * @param regionSize the maximum number of bytes to map at once
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(Path file, long regionSize) throws IOException {
+        this(file, 0, -1, regionSize);
+    }
+
+    /**
+     * Constructs a new <code>MappedFileInputStream</code> for reading part of a file.
+     * @param file the path of the file to read
+     * @param position the file position of the first byte to read
+     * @param length the number of bytes to read, or -1 to read to the end of the file
+     * @throws IOException if the file cannot be opened
+     */
+    public MappedFileInputStream(Path file, long position, long length) throws IOException {
+        this(file, position, length, MAX_REGION_SIZE);
+    }
+
+    private MappedFileInputStream(Path file, long position, long length, long regionSize) throws IOException {
+        if (regionSize <= 0) {
+            throw new IllegalArgumentException("Invalid region size: " + regionSize);
+        }
+        if (position < 0) {
+            throw new IllegalArgumentException("Invalid position: " + position);
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            this.end = length < 0 ? size : Math.min(size, position + length);
+        }
+        catch (IOException ex) {
+            channel.close();
+            throw ex;
+        }
+        this.offset = position;
+        this.regionSize = regionSize;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!nextRegion()) {
+            return -1;
+        }
+        return region.get() & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!nextRegion()) {
+            return -1;
+        }
+        int n = Math.min(len, region.remaining());
+        region.get(b, off, n);
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, end - position()));
+    }
+
+    /**
+     * Maps the next region of the file if the current region has been fully read.
+     * @return false if the end of the file was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean nextRegion() throws IOException {
+        if (region != null && region.hasRemaining()) {
+            return true;
+        }
+        if (channel == null) {
+            throw new IOException("Stream closed");
+        }
+        if (offset >= end) {
+            return false;
+        }
+        long length = Math.min(regionSize, end - offset);
+        region = channel.map(FileChannel.MapMode.READ_ONLY, offset, length);
+        offset += length;
+        return true;
+    }
+
+    private long position() {
+        return region == null ? offset : offset - region.remaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        region = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+}
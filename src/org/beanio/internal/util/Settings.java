@@ -17,7 +17,7 @@ package org.beanio.internal.util;
 
 import java.io.*;
 import java.net.*;
-import java.util.Properties;
+import java.util.*;
 
 import org.beanio.BeanIOException;
 
@@ -32,6 +32,10 @@ import org.beanio.BeanIOException;
  * <p>
  * Configuration settings can be further overridden by any System property of the same name when
  * the configuration file is loaded.
+ * <p>
+ * Settings are immutable once loaded.  When a stream is compiled, settings may be overridden
+ * for the stream using {@link #override(Map)}, and settings used while reading or writing
+ * are resolved into the compiled stream.
  * 
  * @author Kevin Seim
  * @since 1.0
@@ -105,7 +109,7 @@ public class Settings {
     public static final String DEFAULT_RECORD_MIN_OCCURS = "org.beanio.record.minOccurs";
     /** The default minOccurs setting for a field (after appending the stream format) */
     public static final String DEFAULT_FIELD_MIN_OCCURS = "org.beanio.field.minOccurs";
-    /** The method of property access to use, 'reflection' (default) or 'asm' is supported */
+    /** The method of property access to use, 'reflection' (default) or 'lambda' is supported */
     public static final String PROPERTY_ACCESSOR_METHOD = "org.beanio.propertyAccessorFactory";
     /**
      * Whether version 2.0.0 style unmarshalling should be supported which instantiates bean objects
@@ -142,19 +146,25 @@ public class Settings {
      * @since 3.0.0
      */
     public static final String VALIDATE_ON_MARSHAL = "org.beanio.validateOnMarshal";
+    /**
+     * Whether flat records made up of simple fields are compiled into a field plan
+     * that is marshalled and unmarshalled without walking the parser tree.
+     * @since 3.3.0
+     */
+    public static final String COMPILE_FLAT_RECORDS = "org.beanio.compileFlatRecords";
     
     private static final String DEFAULT_CONFIGURATION_PATH = "org/beanio/internal/config/beanio.properties";
     private static final String DEFAULT_CONFIGURATION_FILENAME = "beanio.properties";
     private static final String CONFIGURATION_PROPERTY = "org.beanio.configuration";
     
-    private Properties properties;
-    private static Settings settings;
+    private Map<String, String> properties;
+    private static volatile Settings settings;
 
     /**
      * Constructs a new <code>Settings</code>.
      * @param props the properties to expose as BeanIO settings
      */
-    private Settings(Properties props) {
+    private Settings(Map<String, String> props) {
         this.properties = props;
     }
 
@@ -164,7 +174,23 @@ public class Settings {
      * @return the value of the setting, or null if the name is invalid
      */
     public String getProperty(String key) {
-        return properties.getProperty(key);
+        return properties.get(key);
+    }
+    
+    /**
+     * Returns settings where the given settings replace the settings of this instance.
+     * This instance is not modified.
+     * @param overrides the settings to override, may be null
+     * @return the new <code>Settings</code>, or this instance if there are no overrides
+     * @since 3.3.0
+     */
+    public Settings override(Map<String, String> overrides) {
+        if (overrides == null || overrides.isEmpty()) {
+            return this;
+        }
+        Map<String, String> props = new HashMap<>(properties);
+        props.putAll(overrides);
+        return new Settings(Collections.unmodifiableMap(props));
     }
     
     /**
@@ -186,7 +212,7 @@ public class Settings {
      */
     public int getInt(String key, int defaultValue) {
         try {
-            String value = properties.getProperty(key);
+            String value = properties.get(key);
             if (value != null) {
                 return Integer.parseInt(value);
             }
@@ -200,21 +226,35 @@ public class Settings {
      * Returns the <code>Settings</code> instance.
      * @return the Settings
      */
-    public synchronized static Settings getInstance() {
+    public static Settings getInstance() {
         return getInstance(null);
     }
     
     /**
-     * Returns the <code>Settings</code> instance.
+     * Returns the <code>Settings</code> instance.  Settings are loaded the first time
+     * this method is called, after which no lock is acquired.
      * @param classLoader the {@link ClassLoader} to use for loading classpath resources
      * @return the Settings
      * @since 2.0
      */
-    public synchronized static Settings getInstance(ClassLoader classLoader) {
-        if (settings != null) {
-            return settings;
+    public static Settings getInstance(ClassLoader classLoader) {
+        Settings s = settings;
+        if (s != null) {
+            return s;
         }
         
+        synchronized (Settings.class) {
+            if (settings == null) {
+                settings = load(classLoader);
+            }
+            return settings;
+        }
+    }
+    
+    /*
+     * Loads the settings from the configuration file.
+     */
+    private static Settings load(ClassLoader classLoader) {
         if (classLoader == null) {
             classLoader = Settings.class.getClassLoader();
         }
@@ -267,8 +307,11 @@ public class Settings {
             }
         }
 
-        settings = new Settings(props);
-        return settings;
+        Map<String, String> map = new HashMap<>();
+        for (String key : props.stringPropertyNames()) {
+            map.put(key, props.getProperty(key));
+        }
+        return new Settings(Collections.unmodifiableMap(map));
     }
 
     /*
@@ -38,10 +38,21 @@ public final class StringUtil {
      * @return true if the object is not null (and not the empty string based on configuration)
      */
     public static boolean hasValue(Object obj) {
+    	return hasValue(obj, LAZY_IF_EMPTY);
+    }
+    
+    /**
+     * Returns whether the given object has a value.
+     * @param obj the object to test
+     * @param lazyIfEmpty whether the empty string is treated as no value
+     * @return true if the object is not null (and not the empty string if <code>lazyIfEmpty</code>)
+     * @since 3.3.0
+     */
+    public static boolean hasValue(Object obj, boolean lazyIfEmpty) {
     	if (obj == null) {
     		return false;
     	}
-    	if (LAZY_IF_EMPTY && "".equals(obj)) {
+    	if (lazyIfEmpty && "".equals(obj)) {
     		return false;
     	}
     	return true;
@@ -66,35 +66,46 @@ public class TypeHandlerFactory {
     private static final String NAME_KEY = "name:";
     private static final String TYPE_KEY = "type:";
     
+    /* The settings used to configure the default type handlers */
+    private static final String[] DEFAULT_HANDLER_SETTINGS = {
+        Settings.DEFAULT_LOCALE,
+        Settings.DEFAULT_DATE_FORMAT,
+        Settings.DEFAULT_DATETIME_FORMAT,
+        Settings.DEFAULT_TIME_FORMAT
+    };
+    
     /* The default type handler factory */
-    private static final TypeHandlerFactory defaultFactory;
-    static {
-        defaultFactory = new TypeHandlerFactory(TypeHandlerFactory.class.getClassLoader());
-        defaultFactory.registerHandlerFor(Character.class, new CharacterTypeHandler());
-        defaultFactory.registerHandlerFor(String.class,  new StringTypeHandler());
-        defaultFactory.registerHandlerFor(Byte.class, new ByteTypeHandler());
-        defaultFactory.registerHandlerFor(Short.class, new ShortTypeHandler());
-        defaultFactory.registerHandlerFor(Integer.class, new IntegerTypeHandler());
-        defaultFactory.registerHandlerFor(Long.class, new LongTypeHandler());
-        defaultFactory.registerHandlerFor(Float.class, new FloatTypeHandler());
-        defaultFactory.registerHandlerFor(Double.class, new DoubleTypeHandler());
-        defaultFactory.registerHandlerFor(BigDecimal.class, new BigDecimalTypeHandler());
-        defaultFactory.registerHandlerFor(BigInteger.class, new BigIntegerTypeHandler());
-        defaultFactory.registerHandlerFor(Boolean.class, new BooleanTypeHandler());
-        defaultFactory.registerHandlerFor(UUID.class, new UUIDTypeHandler());
-        defaultFactory.registerHandlerFor(URL.class, new URLTypeHandler());
+    private static final TypeHandlerFactory defaultFactory = createDefault(Settings.getInstance());
+    
+    /*
+     * Creates a factory for the default type handlers configured by the given settings.
+     */
+    private static TypeHandlerFactory createDefault(Settings settings) {
+        TypeHandlerFactory factory = new TypeHandlerFactory(TypeHandlerFactory.class.getClassLoader(), null);
+        factory.registerHandlerFor(Character.class, new CharacterTypeHandler());
+        factory.registerHandlerFor(String.class,  new StringTypeHandler());
+        factory.registerHandlerFor(Byte.class, new ByteTypeHandler());
+        factory.registerHandlerFor(Short.class, new ShortTypeHandler());
+        factory.registerHandlerFor(Integer.class, new IntegerTypeHandler());
+        factory.registerHandlerFor(Long.class, new LongTypeHandler());
+        factory.registerHandlerFor(Float.class, new FloatTypeHandler());
+        factory.registerHandlerFor(Double.class, new DoubleTypeHandler());
+        factory.registerHandlerFor(BigDecimal.class, new BigDecimalTypeHandler());
+        factory.registerHandlerFor(BigInteger.class, new BigIntegerTypeHandler());
+        factory.registerHandlerFor(Boolean.class, new BooleanTypeHandler());
+        factory.registerHandlerFor(UUID.class, new UUIDTypeHandler());
+        factory.registerHandlerFor(URL.class, new URLTypeHandler());
         
-        Settings settings = Settings.getInstance();
-        defaultFactory.registerHandlerFor(TypeUtil.DATETIME_ALIAS, new DateTypeHandler(
+        factory.registerHandlerFor(TypeUtil.DATETIME_ALIAS, new DateTypeHandler(
             settings.getProperty(Settings.DEFAULT_DATETIME_FORMAT)));
-        defaultFactory.registerHandlerFor(TypeUtil.DATE_ALIAS, new DateTypeHandler(
+        factory.registerHandlerFor(TypeUtil.DATE_ALIAS, new DateTypeHandler(
             settings.getProperty(Settings.DEFAULT_DATE_FORMAT)) {
             @Override
             protected DateFormat createDefaultDateFormat() {
                 return DateFormat.getDateInstance(DateFormat.DEFAULT, locale);
             }
         });
-        defaultFactory.registerHandlerFor(TypeUtil.TIME_ALIAS, new DateTypeHandler(
+        factory.registerHandlerFor(TypeUtil.TIME_ALIAS, new DateTypeHandler(
             settings.getProperty(Settings.DEFAULT_TIME_FORMAT)) {
             @Override
             protected DateFormat createDefaultDateFormat() {
@@ -102,16 +113,16 @@ public class TypeHandlerFactory {
             }
         });
         
-        defaultFactory.registerHandlerFor(TypeUtil.CALENDAR_DATETIME_ALIAS, new CalendarTypeHandler(
+        factory.registerHandlerFor(TypeUtil.CALENDAR_DATETIME_ALIAS, new CalendarTypeHandler(
             settings.getProperty(Settings.DEFAULT_DATETIME_FORMAT)));
-        defaultFactory.registerHandlerFor(TypeUtil.CALENDAR_DATE_ALIAS, new CalendarTypeHandler(
+        factory.registerHandlerFor(TypeUtil.CALENDAR_DATE_ALIAS, new CalendarTypeHandler(
             settings.getProperty(Settings.DEFAULT_DATE_FORMAT)) {
             @Override
             protected DateFormat createDefaultDateFormat() {
                 return DateFormat.getDateInstance(DateFormat.DEFAULT, locale);
             }
         });
-        defaultFactory.registerHandlerFor(TypeUtil.CALENDAR_TIME_ALIAS, new CalendarTypeHandler(
+        factory.registerHandlerFor(TypeUtil.CALENDAR_TIME_ALIAS, new CalendarTypeHandler(
             settings.getProperty(Settings.DEFAULT_TIME_FORMAT)) {
             @Override
             protected DateFormat createDefaultDateFormat() {
@@ -120,35 +131,46 @@ public class TypeHandlerFactory {
         });
         
         // xml specific formats...
-        defaultFactory.registerHandlerFor(TypeUtil.DATE_ALIAS, new XmlDateTypeHandler(), "xml");
-        defaultFactory.registerHandlerFor(TypeUtil.DATETIME_ALIAS, new XmlDateTimeTypeHandler(), "xml");
-        defaultFactory.registerHandlerFor(TypeUtil.TIME_ALIAS, new XmlTimeTypeHandler(), "xml");
-        defaultFactory.registerHandlerFor(TypeUtil.CALENDAR_DATE_ALIAS, new XmlCalendarDateTypeHandler(), "xml");
-        defaultFactory.registerHandlerFor(TypeUtil.CALENDAR_DATETIME_ALIAS, new XmlCalendarDateTimeTypeHandler(), "xml");
-        defaultFactory.registerHandlerFor(TypeUtil.CALENDAR_TIME_ALIAS, new XmlCalendarTimeTypeHandler(), "xml");
-        defaultFactory.registerHandlerFor(Boolean.class, new XmlBooleanTypeHandler(), "xml");
+        factory.registerHandlerFor(TypeUtil.DATE_ALIAS, new XmlDateTypeHandler(), "xml");
+        factory.registerHandlerFor(TypeUtil.DATETIME_ALIAS, new XmlDateTimeTypeHandler(), "xml");
+        factory.registerHandlerFor(TypeUtil.TIME_ALIAS, new XmlTimeTypeHandler(), "xml");
+        factory.registerHandlerFor(TypeUtil.CALENDAR_DATE_ALIAS, new XmlCalendarDateTypeHandler(), "xml");
+        factory.registerHandlerFor(TypeUtil.CALENDAR_DATETIME_ALIAS, new XmlCalendarDateTimeTypeHandler(), "xml");
+        factory.registerHandlerFor(TypeUtil.CALENDAR_TIME_ALIAS, new XmlCalendarTimeTypeHandler(), "xml");
+        factory.registerHandlerFor(Boolean.class, new XmlBooleanTypeHandler(), "xml");
 
         // java.time handlers
-        defaultFactory.registerHandlerFor(
+        factory.registerHandlerFor(
             LocalDate.class,
             new TemporalAccessorTypeHandler(LocalDate.class, DateTimeFormatter.ISO_LOCAL_DATE)
         );
-        defaultFactory.registerHandlerFor(
+        factory.registerHandlerFor(
             LocalTime.class,
             new TemporalAccessorTypeHandler(LocalTime.class, DateTimeFormatter.ISO_LOCAL_TIME)
         );
-        defaultFactory.registerHandlerFor(
+        factory.registerHandlerFor(
             LocalDateTime.class,
             new TemporalAccessorTypeHandler(LocalDateTime.class, DateTimeFormatter.ISO_LOCAL_DATE_TIME)
         );
-        defaultFactory.registerHandlerFor(
+        factory.registerHandlerFor(
             ZonedDateTime.class,
             new TemporalAccessorTypeHandler(ZonedDateTime.class, DateTimeFormatter.ISO_ZONED_DATE_TIME)
         );
-        defaultFactory.registerHandlerFor(
+        factory.registerHandlerFor(
             OffsetDateTime.class,
             new TemporalAccessorTypeHandler(OffsetDateTime.class, DateTimeFormatter.ISO_OFFSET_DATE_TIME)
         );
+        
+        // locale aware type handlers are created using the global default locale
+        if (settings != Settings.getInstance()) {
+            String locale = LocaleUtil.getDefaultLocale(settings).toString();
+            for (TypeHandler handler : factory.handlerMap.values()) {
+                if (handler instanceof LocaleSupport) {
+                    ((LocaleSupport) handler).setLocale(locale);
+                }
+            }
+        }
+        return factory;
     }
 
     /**
@@ -450,6 +472,24 @@ public class TypeHandlerFactory {
         return defaultFactory;
     }
     
+    /**
+     * Returns a <code>TypeHandlerFactory</code> for the default type handlers configured
+     * by the given settings, which may override the default locale and date formats.
+     * @param settings the {@link Settings}
+     * @return the default <code>TypeHandlerFactory</code> if the settings do not change the
+     *   default type handlers, otherwise a new <code>TypeHandlerFactory</code>
+     * @since 3.3.0
+     */
+    public static TypeHandlerFactory getDefault(Settings settings) {
+        Settings defaults = Settings.getInstance();
+        for (String key : DEFAULT_HANDLER_SETTINGS) {
+            if (!Objects.equals(settings.getProperty(key), defaults.getProperty(key))) {
+                return createDefault(settings);
+            }
+        }
+        return defaultFactory;
+    }
+    
     /**
      * Sets the parent <code>TypeHandlerFactory</code>.
      * @param parent the parent <code>TypeHandlerFactory</code>
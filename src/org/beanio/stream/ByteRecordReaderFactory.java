@@ -0,0 +1,32 @@
+package org.beanio.stream;
+
+import java.io.*;
+import java.nio.charset.Charset;
+
+/**
+ * Optional interface implemented by a {@link RecordParserFactory} that can read records
+ * directly from a byte stream.  When a {@link org.beanio.BeanReader} is created for an
+ * {@link InputStream}, BeanIO invokes {@link #createReader(InputStream, Charset)} if the
+ * configured record parser factory implements this interface.  Otherwise, the input stream
+ * is decoded using an {@link InputStreamReader} and passed to
+ * {@link RecordParserFactory#createReader(Reader)}.
+ *
+ * <p>Implementations typically scan bytes for record and field delimiters, and decode
+ * only the text of each field, when the character set allows it.
+ *
+ * @since 3.3.0
+ * @see org.beanio.StreamFactory#createReader(String, InputStream, Charset)
+ */
+public interface ByteRecordReaderFactory {
+
+    /**
+     * Creates a parser for reading records from a byte stream.
+     * @param in the input stream to read from
+     * @param charset the character set used to decode the input stream
+     * @return the created {@link RecordReader}
+     * @throws IllegalArgumentException if this factory is improperly configured
+     *   and a {@link RecordReader} cannot be created
+     */
+    public RecordReader createReader(InputStream in, Charset charset) throws IllegalArgumentException;
+
+}
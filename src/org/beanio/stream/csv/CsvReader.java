@@ -19,7 +19,6 @@ import java.io.*;
 import java.util.*;
 
 import org.beanio.stream.*;
-import org.beanio.stream.util.CommentReader;
 
 /**
  * A <code>CsvReader</code> is used to parse CSV formatted flat files into records
@@ -42,11 +41,18 @@ import org.beanio.stream.util.CommentReader;
  * <p>The reader will not recognize an escape character used outside of a quoted 
  * field.
  * 
+ * <p>Characters are read from the underlying input stream in blocks, so there is no need
+ * to wrap it in a {@link BufferedReader}.  Unquoted fields, and quoted fields without
+ * escaped characters, are copied directly from the buffer, and the record text is only
+ * created if {@link #getRecordText()} is called.
+ * 
  * @author Kevin Seim
  * @since 1.0
  */
 public class CsvReader implements RecordReader {
 
+    private static final int DEFAULT_BUFFER_SIZE = 16384;
+    
     private char delim = ',';
     private char quote = '"';
     private char endQuote = '"';
@@ -55,9 +61,23 @@ public class CsvReader implements RecordReader {
     private boolean multilineEnabled = false;
     private boolean whitespaceAllowed = false;
     private boolean unquotedQuotesAllowed = false;
-    private CommentReader commentReader = null;
+    private String[] comments = null;
+    private int maxCommentLength = 0;
+    
+    // the characters that interrupt a bulk scan of unquoted and quoted field text
+    private char unquotedSpecial;
+    private char quotedSpecial;
     
     private transient Reader in;
+    private transient char[] buf;
+    private transient int pos;
+    private transient int limit;
+    private transient boolean eof;
+    private transient int recordStart;
+    private transient int recordEnd = -1;
+    private transient int fieldStart;
+    private transient boolean fieldEdited;
+    private transient StringBuilder fieldBuilder = new StringBuilder();
     private transient String recordText;
     private transient int recordLineNumber;
     private transient int lineNumber = 0;
@@ -112,8 +132,21 @@ public class CsvReader implements RecordReader {
         }
         
         if (config.isCommentEnabled()) {
-            commentReader = new CommentReader(in, config.getComments());
+            this.comments = config.getComments();
+            for (String comment : comments) {
+                if (comment == null || comment.length() == 0) {
+                    throw new IllegalArgumentException("Comment value cannot be null or empty string");
+                }
+                maxCommentLength = Math.max(maxCommentLength, comment.length());
+            }
         }
+        
+        // disabled special characters default to a character that already 
+        // stops the scan so that they do not need to be tested separately
+        unquotedSpecial = unquotedQuotesAllowed ? delim : quote;
+        quotedSpecial = escapeEnabled ? escapeChar : endQuote;
+        
+        buf = new char[DEFAULT_BUFFER_SIZE];
     }
 
     /**
@@ -133,6 +166,9 @@ public class CsvReader implements RecordReader {
      */
     @Override
     public String getRecordText() {
+        if (recordText == null && recordEnd >= 0) {
+            recordText = new String(buf, recordStart, recordEnd - recordStart);
+        }
         return recordText;
     }
 
@@ -144,9 +180,12 @@ public class CsvReader implements RecordReader {
      */
     @Override
     public String[] read() throws IOException, RecordIOException {
+        recordText = null;
+        recordStart = pos;
+        recordEnd = -1;
+        
         // fieldList is set to null when the end of stream is reached
         if (fieldList == null) {
-            recordText = null;
             recordLineNumber = -1;
             return null;
         }
@@ -154,192 +193,186 @@ public class CsvReader implements RecordReader {
         ++lineNumber;
 
         // skip commented lines
-        if (commentReader != null) {
-            int lines = commentReader.skipComments(skipLF);
+        if (comments != null) {
+            int lines = skipComments();
             if (lines > 0) {
-                if (commentReader.isEOF()) {
+                if (eof && pos == limit) {
                     fieldList = null;
-                    recordText = null;
                     recordLineNumber = -1;
                     return null;
                 }
                 else {
                     lineNumber += lines;
-                    skipLF = commentReader.isSkipLF();
                 }
             }
         }
         
+        // skip '\n' after a '\r'
+        if (skipLF) {
+            skipLF = false;
+            if (available() && buf[pos] == '\n') {
+                ++pos;
+            }
+        }
+        
         // the record line number is set to the first line of the record
         recordLineNumber = lineNumber;
 
-        // clear the field list
+        // clear the field list, and any field left incomplete by an error
         fieldList.clear();
+        fieldBuilder.setLength(0);
+        fieldEdited = false;
+        
+        recordStart = pos;
+        fieldStart = pos;
 
         int state = 0; // current state
         int whitespace = 0;
-        boolean escaped = false; // last character read matched the escape char
         boolean eol = false; // end of record flag
-        StringBuilder text = new StringBuilder(); // holds the record text being read
-        StringBuilder field = new StringBuilder(); // holds the latest field value being read
 
         // parse an uncommented line
-        int n;
-        while (!eol && (n = in.read()) != -1) {
-            char c = (char) n;
-
-            // skip '\n' after a '\r'
-            if (skipLF) {
-                skipLF = false;
-                if (c == '\n') {
-                    if (state == 1) {
-                        field.append(c);
-                        text.append(c);
-                    }
-                    continue;
-                }
-            }
-
-            // append the raw record text
-            if (c != '\n' && c != '\r') {
-                text.append(c);
-            }
-
-            // handle escaped characters
-            if (escaped) {
-                escaped = false;
-
-                // an escape character can be used to escape itself or an end quote
-                if (c == endQuote) {
-                    field.append(c);
-                    continue;
-                }
-                else if (c == escapeChar) {
-                    field.append(escapeChar);
-                    continue;
-                }
-
-                if (escapeChar == endQuote) {
-                    fieldList.add(field.toString());
-                    field = new StringBuilder();
-                    state = 10;
-                }
-            }
-
+        loop:
+        while (pos < limit || fill()) {
+            char c = buf[pos];
+            
             switch (state) {
             case 0: // initial state (beginning of line, or next value)
                 if (c == delim) {
-                    fieldList.add(createWhitespace(whitespace));
+                    fieldList.add(whitespace == 0 ? "" : new String(buf, pos - whitespace, whitespace));
                     whitespace = 0;
+                    ++pos;
                 }
                 else if (c == quote) {
                     whitespace = 0;
+                    ++pos;
+                    fieldStart = pos;
                     state = 1; // look for trailing quote
                 }
-                else if (c == ' ') {
-                    if (!whitespaceAllowed) {
-                        field.append(c);
-                        state = 2; // look for next delimiter
-                    }
-                    else {
-                        ++whitespace;
-                    }
-                }
-                else if (c == '\r') {
-                    fieldList.add("");
-                    skipLF = true;
-                    eol = true;
+                else if (c == ' ' && whitespaceAllowed) {
+                    ++whitespace;
+                    ++pos;
                 }
-                else if (c == '\n') {
+                else if (c == '\r' || c == '\n') {
                     fieldList.add("");
+                    endRecord(c);
                     eol = true;
+                    break loop;
                 }
                 else {
-                    field.append(createWhitespace(whitespace));
+                    // leading whitespace is part of an unquoted field
+                    fieldStart = pos - whitespace;
                     whitespace = 0;
-                    field.append(c);
+                    ++pos;
                     state = 2; // look for next delimiter
                 }
                 break;
-
+                
             case 1: // quoted field, look for trailing quote at end of field
+                c = scan(endQuote, quotedSpecial);
+                if (pos == limit) {
+                    break;
+                }
+                
                 if (escapeEnabled && c == escapeChar) {
-                    escaped = true;
+                    if (!lookAhead()) {
+                        // an escape character that matches the end quote closes 
+                        // the field when it is the last character in the stream
+                        if (escapeChar == endQuote) {
+                            addField(pos);
+                            state = 10;
+                        }
+                        ++pos;
+                        break loop;
+                    }
+                    
+                    // an escape character can be used to escape itself or an end quote
+                    char next = buf[pos + 1];
+                    if (next == endQuote || next == escapeChar) {
+                        appendField(pos);
+                        fieldStart = pos + 1;
+                        pos += 2;
+                    }
+                    else if (escapeChar == endQuote) {
+                        addField(pos);
+                        ++pos;
+                        state = 10; // look for next delimiter
+                    }
+                    else {
+                        // otherwise the escape character is dropped
+                        appendField(pos);
+                        ++pos;
+                        fieldStart = pos;
+                    }
                 }
                 else if (c == endQuote) {
-                    fieldList.add(field.toString());
-                    field = new StringBuilder();
+                    addField(pos);
+                    ++pos;
                     state = 10; // look for next delimiter
                 }
-                else if (c == '\r' || c == '\n') {
-                    if (multilineEnabled) {
-                        skipLF = (c == '\r');
-                        ++lineNumber;
-                        text.append(c);
-                        field.append(c);
-                    }
-                    else {
-                        throw new RecordIOException(
-                            "Expected end quotation character '" + endQuote + "' before end of line "
-                                + lineNumber);
+                else if (multilineEnabled) {
+                    ++lineNumber;
+                    ++pos;
+                    // a '\n' after a '\r' is also part of the field
+                    if (c == '\r' && available() && buf[pos] == '\n') {
+                        ++pos;
                     }
                 }
                 else {
-                    field.append(c);
+                    recordEnd = pos;
+                    ++pos;
+                    throw new RecordIOException(
+                        "Expected end quotation character '" + endQuote + "' before end of line "
+                            + lineNumber);
                 }
                 break;
 
             case 2: // unquoted field, look for next delimiter
+                c = scan(delim, unquotedSpecial);
+                if (pos == limit) {
+                    break;
+                }
+                
                 if (c == delim) {
-                    fieldList.add(field.toString());
-                    field = new StringBuilder();
+                    addField(pos);
+                    ++pos;
                     state = 0;
                 }
-                else if (c == quote && !unquotedQuotesAllowed) {
-                    recover(text);
+                else if (c == quote) {
+                    recover();
                     throw new RecordIOException(
                         "Quotation character '" + quote + "' must be quoted at line " + lineNumber);
                 }
-                else if (c == '\n') {
-                    fieldList.add(field.toString());
-                    field = new StringBuilder();
-                    eol = true;
-                }
-                else if (c == '\r') {
-                    skipLF = true;
-                    fieldList.add(field.toString());
-                    field = new StringBuilder();
-                    eol = true;
-                }
                 else {
-                    field.append(c);
+                    addField(pos);
+                    endRecord(c);
+                    eol = true;
+                    break loop;
                 }
                 break;
 
             case 10: // quoted field, after final quote read
                 if (c == ' ') {
                     if (!whitespaceAllowed) {
-                        recover(text);
+                        recover();
                         throw new RecordIOException(
                             "Invalid whitespace found outside of quoted field at line " + lineNumber);
                     }
+                    ++pos;
                 }
                 else if (c == delim) {
+                    ++pos;
                     state = 0;
                 }
-                else if (c == '\r') {
-                    skipLF = true;
-                    eol = true;
-                }
-                else if (c == '\n') {
+                else if (c == '\r' || c == '\n') {
+                    endRecord(c);
                     eol = true;
+                    break loop;
                 }
                 else {
-                    recover(text);
+                    recover();
                     throw new RecordIOException(
                         "Invalid character found outside of quoted field at line " + lineNumber);
                 }
-
                 break;
             }
         }
@@ -347,38 +380,25 @@ public class CsvReader implements RecordReader {
         // if eol is true, we're done; if not, then the end of file was reached 
         // and further validation is needed
         if (eol) {
-            recordText = text.toString();
             String[] record = new String[fieldList.size()];
             return fieldList.toArray(record);
         }
 
-        // handle escaped mode
-        if (escaped) {
-            if (escapeChar == endQuote) {
-                fieldList.add(field.toString());
-                state = 10;
-            } /* unreachable code:
-              else {
-                field.append(escapeChar);
-              } */
-        }
-
         // validate current state...
         switch (state) {
         case 0:
             // do not create an empty field if we've reached the end of the file and no
             // characters were read on the last line
             if (whitespace > 0 || fieldList.size() > 0)
-                fieldList.add(createWhitespace(whitespace));
+                fieldList.add(whitespace == 0 ? "" : new String(buf, pos - whitespace, whitespace));
             break;
         case 1:
             fieldList = null;
-            recordText = null;
             recordLineNumber = -1;
             throw new RecordIOException(
                 "Expected end quote before end of line at line " + lineNumber);
         case 2:
-            fieldList.add(field.toString());
+            addField(pos);
             break;
         case 10:
             break;
@@ -386,48 +406,236 @@ public class CsvReader implements RecordReader {
 
         if (fieldList.isEmpty()) {
             fieldList = null;
-            recordText = null;
             recordLineNumber = -1;
             return null;
         }
         else {
             String[] record = new String[fieldList.size()];
             record = fieldList.toArray(record);
-            recordText = text.toString();
+            recordEnd = pos;
             fieldList = null;
             return record;
         }
     }
     
+    /**
+     * Advances the current position to the next character in the buffer that matches
+     * one of the given characters or a line break, or to the end of the buffer.
+     * @param c1 the first character to find
+     * @param c2 the second character to find
+     * @return the character at the new position, or 0 if the end of the buffer was reached
+     */
+    private char scan(char c1, char c2) {
+        char[] b = buf;
+        int p = pos;
+        int l = limit;
+        while (p < l) {
+            char c = b[p];
+            if (c == c1 || c == c2 || c == '\n' || c == '\r') {
+                pos = p;
+                return c;
+            }
+            ++p;
+        }
+        pos = l;
+        return 0;
+    }
+    
+    /**
+     * Ends the current record at the record terminating character found at the
+     * current position.
+     * @param c the record terminating character
+     */
+    private void endRecord(char c) {
+        recordEnd = pos;
+        ++pos;
+        skipLF = (c == '\r');
+    }
+    
+    /**
+     * Adds the field ending at the given buffer position to the field list.
+     * @param end the buffer position of the end of the field
+     */
+    private void addField(int end) {
+        if (fieldEdited) {
+            fieldBuilder.append(buf, fieldStart, end - fieldStart);
+            fieldList.add(fieldBuilder.toString());
+            fieldBuilder.setLength(0);
+            fieldEdited = false;
+        }
+        else {
+            fieldList.add(new String(buf, fieldStart, end - fieldStart));
+        }
+    }
+    
+    /**
+     * Copies the field text read so far to the field builder, which is
+     * necessary when escape characters are removed.
+     * @param end the buffer position of the end of the field text to copy
+     */
+    private void appendField(int end) {
+        fieldBuilder.append(buf, fieldStart, end - fieldStart);
+        fieldEdited = true;
+    }
+    
     /**
      * Advances the input stream to the end of the record so that subsequent reads
      * might be possible.
-     * @param c the last read character
-     * @param text the current record text
      * @throws IOException
      */
-    private void recover(StringBuilder text) throws IOException {
-        int n;
-        while ((n = in.read()) != -1) {
-            char c = (char) n;
-            if (c == '\n') {
-                recordText = text.toString();
+    private void recover() throws IOException {
+        ++pos;
+        while (pos < limit || fill()) {
+            char c = buf[pos];
+            if (c == '\n' || c == '\r') {
+                endRecord(c);
                 return;
             }
-            else if (c == '\r') {
-                skipLF = true;
-                recordText = text.toString();
-                return;
-            }
-            else {
-                text.append(c);
-            }
+            ++pos;
         }
 
         // end of file reached...
-        recordText = text.toString();
+        recordEnd = pos;
         fieldList = null;
     }
+    
+    /**
+     * Skips commented lines and returns the number of lines skipped.  If the end of 
+     * the stream is reached while reading a commented line, the buffer is left empty.
+     * @return the number of skipped lines
+     * @throws IOException if an I/O error occurs
+     */
+    private int skipComments() throws IOException {
+        int lines = 0;
+        while (true) {
+            recordStart = pos;
+            ensure(maxCommentLength + 1);
+            
+            int start = pos;
+            if (skipLF && start < limit && buf[start] == '\n') {
+                ++start;
+            }
+            
+            // determine if the line starts with a configured comment
+            boolean commentFound = false;
+            for (String comment : comments) {
+                if (startsWith(start, comment)) {
+                    commentFound = true;
+                    break;
+                }
+            }
+            if (!commentFound) {
+                return lines;
+            }
+            
+            ++lines;
+            skipLF = false;
+            pos = start;
+            
+            // finish reading the entire line
+            while (true) {
+                if (!available()) {
+                    return lines;
+                }
+                char c = buf[pos++];
+                if (c == '\n') {
+                    break;
+                }
+                else if (c == '\r') {
+                    skipLF = true;
+                    break;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Returns whether the buffer contains the given text at a position.
+     * @param start the buffer position
+     * @param text the text to test
+     * @return true if the buffer contains the text
+     */
+    private boolean startsWith(int start, String text) {
+        int n = text.length();
+        if (limit - start < n) {
+            return false;
+        }
+        for (int i=0; i<n; i++) {
+            if (buf[start + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Returns whether at least one character is available in the buffer at 
+     * the current position, reading from the input stream if needed.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean available() throws IOException {
+        return ensure(1);
+    }
+
+    /**
+     * Returns whether the character after the current position is available in
+     * the buffer, reading from the input stream if needed.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean lookAhead() throws IOException {
+        return ensure(2);
+    }
+    
+    /**
+     * Reads from the input stream until the buffer contains at least <code>n</code>
+     * characters after the current position, or the end of the stream is reached.
+     * @param n the number of characters
+     * @return false if the end of the stream was reached first
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean ensure(int n) throws IOException {
+        while (limit - pos < n) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Reads more characters from the input stream into the buffer.  Characters
+     * before the start of the current record are discarded, and the buffer is 
+     * enlarged if a single record does not fit.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        if (eof) {
+            return false;
+        }
+        
+        if (recordStart > 0) {
+            int n = limit - recordStart;
+            System.arraycopy(buf, recordStart, buf, 0, n);
+            pos -= recordStart;
+            fieldStart -= recordStart;
+            limit = n;
+            recordStart = 0;
+        }
+        if (limit == buf.length) {
+            buf = Arrays.copyOf(buf, buf.length * 2);
+        }
+        
+        int n = in.read(buf, limit, buf.length - limit);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        limit += n;
+        return true;
+    }
 
     /*
      * (non-Javadoc)
@@ -437,14 +645,4 @@ public class CsvReader implements RecordReader {
     public void close() throws IOException {
         in.close();
     }
-
-    private String createWhitespace(int size) {
-        if (size == 0)
-            return "";
-
-        StringBuilder b = new StringBuilder(size);
-        for (int i = 0; i < size; i++)
-            b.append(' ');
-        return b.toString();
-    }
 }
@@ -48,6 +48,9 @@ public class CsvWriter implements RecordWriter {
     
     private transient Writer out;
     private transient int lineNumber;
+    // the record being written, so that each record is passed to the writer at once
+    private transient StringBuilder line = new StringBuilder();
+    private transient char[] cbuf = new char[0];
     
     /**
      * Constructs a new <code>CsvWriter</code> using default settings.
@@ -106,23 +109,24 @@ public class CsvWriter implements RecordWriter {
      */
     public void write(String [] record) throws IOException {
         ++lineNumber;
+        line.setLength(0);
         
         int pos = 0;
         for (String field : record) {
             if (pos++ > 0)
-                out.write(delim);
+                line.append(delim);
             
             boolean skipLF = false;
             char [] cs = field.toCharArray();
             
             boolean quoted = alwaysQuote || mustQuote(cs);
             if (quoted) {
-                out.write(quote);
+                line.append(quote);
             }
             
             for (char c : cs) {
                 if (c == endQuote || c == escapeChar) {
-                    out.write(escapeChar);
+                    line.append(escapeChar);
                 }
                 else if (c == '\r') {
                     skipLF = true;
@@ -140,14 +144,21 @@ public class CsvWriter implements RecordWriter {
                     skipLF = false;
                 }
                 
-                out.write(c);
+                line.append(c);
             }
             
             if (quoted) {
-                out.write(endQuote);
+                line.append(endQuote);
             }
         }
-        out.write(lineSeparator);
+        line.append(lineSeparator);
+        
+        int length = line.length();
+        if (cbuf.length < length) {
+            cbuf = new char[Math.max(length, cbuf.length * 2)];
+        }
+        line.getChars(0, length, cbuf, 0);
+        out.write(cbuf, 0, length);
     }
     
     /**
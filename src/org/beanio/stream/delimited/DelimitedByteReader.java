@@ -0,0 +1,126 @@
+package org.beanio.stream.delimited;
+
+import java.io.*;
+import java.nio.charset.*;
+
+import org.beanio.internal.util.*;
+import org.beanio.stream.*;
+
+/**
+ * A <code>DelimitedByteReader</code> parses delimited records from a byte stream encoded
+ * using an ASCII compatible character set, such as UTF-8 or ISO-8859-1.  Records are
+ * parsed exactly as they would be by a {@link DelimitedReader}, except that delimiters are
+ * located by scanning the raw bytes, and only the bytes of each field are decoded.
+ * Record text is only decoded if {@link #getRecordText()} is called.
+ * <p>
+ * The delimiter, escape, line continuation and record termination characters must
+ * all be ASCII characters.  Use {@link #isSupported(DelimitedParserConfiguration, Charset)}
+ * to test whether a configuration and character set can be read using this class.
+ * <p>
+ * Bytes are read from the underlying input stream in blocks, so there is no need
+ * to wrap it in a {@link BufferedInputStream}.
+ *
+ * @since 3.3.0
+ * @see DelimitedReader
+ */
+public class DelimitedByteReader implements RecordReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private DelimitedScanner scanner;
+
+    /**
+     * Constructs a new <code>DelimitedByteReader</code>.
+     * @param in the input stream to read from
+     * @param charset the character set used to decode field text
+     * @param config the reader configuration settings or <code>null</code> to use default values
+     * @throws IllegalArgumentException if the configuration and character set are not
+     *   supported, or if the delimiter matches the escape character or the line
+     *   continuation character
+     */
+    public DelimitedByteReader(InputStream in, Charset charset, DelimitedParserConfiguration config) {
+        if (!isSupported(config, charset)) {
+            throw new IllegalArgumentException("Delimited records cannot be parsed from bytes " +
+                "using character set '" + charset + "'");
+        }
+        this.scanner = new DelimitedScanner(InputBuffer.of(in, charset, DEFAULT_BUFFER_SIZE), config);
+    }
+
+    /**
+     * Returns whether records can be read from a byte stream encoded using the given
+     * character set.  The character set must be ASCII compatible, and the delimiter, escape,
+     * line continuation and record termination characters must all be ASCII characters.
+     * @param config the reader configuration settings or <code>null</code> to use default values
+     * @param charset the character set of the byte stream
+     * @return true if a <code>DelimitedByteReader</code> can be used
+     */
+    public static boolean isSupported(DelimitedParserConfiguration config, Charset charset) {
+        if (config == null) {
+            config = new DelimitedParserConfiguration();
+        }
+        if (charset == null || !IOUtil.isAsciiCompatible(charset)) {
+            return false;
+        }
+        if (!isAscii(config.getDelimiter()) ||
+            !isAscii(config.getEscape()) ||
+            !isAscii(config.getLineContinuationCharacter())) {
+            return false;
+        }
+        String terminator = config.getRecordTerminator();
+        if (terminator != null && terminator.length() == 1 && !isAscii(terminator.charAt(0))) {
+            return false;
+        }
+        if (config.isCommentEnabled()) {
+            CharsetEncoder encoder = charset.newEncoder();
+            for (String comment : config.getComments()) {
+                if (comment != null && !encoder.canEncode(comment)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAscii(Character c) {
+        return c == null || c < 128;
+    }
+
+    /**
+     * Returns the starting line number of the last record record.  A value of
+     * -1 is returned if the end of the stream was reached, or 0 if records are
+     * not terminated by new line characters.
+     * @return the starting line number of the last record
+     */
+    @Override
+    public int getRecordLineNumber() {
+        return scanner.getRecordLineNumber();
+    }
+
+    /**
+     * Returns the raw text of the last record read or null if the end of the
+     * stream was reached.
+     * @return the raw text of the last record
+     */
+    @Override
+    public String getRecordText() {
+        return scanner.getRecordText();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#read()
+     */
+    @Override
+    public String[] read() throws IOException {
+        return scanner.read();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        scanner.close();
+    }
+}
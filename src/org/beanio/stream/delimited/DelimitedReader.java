@@ -16,10 +16,9 @@
 package org.beanio.stream.delimited;
 
 import java.io.*;
-import java.util.*;
 
+import org.beanio.internal.util.InputBuffer;
 import org.beanio.stream.*;
-import org.beanio.stream.util.CommentReader;
 
 /**
  * A <code>DelimitedReader</code> is used to parse delimited flat files into
@@ -49,26 +48,19 @@ import org.beanio.stream.util.CommentReader;
  * <p>
  * The same character can be used for line continuation and escaping, but neither
  * can match the delimiter.
+ * <p>
+ * Characters are read from the underlying input stream in blocks, so there is no need
+ * to wrap it in a {@link BufferedReader}.  Fields that are not escaped are copied directly
+ * from the buffer, and the record text is only created if {@link #getRecordText()} is called.
  * 
  * @author Kevin Seim
  * @since 1.0
  */
 public class DelimitedReader implements RecordReader {
 
-    private char delim = '\t';
-    private char escapeChar = '\\';
-    private char lineContinuationChar = '\\';
-    private char recordTerminator = 0;
-    private boolean multilineEnabled = false;
-    private boolean escapeEnabled = false;
-    private CommentReader commentReader = null;
+    private static final int DEFAULT_BUFFER_SIZE = 16384;
     
-    private transient Reader in;
-    private transient String recordText;
-    private transient int recordLineNumber;
-    private transient int lineNumber = 0;
-    private transient boolean skipLF = false;
-    private transient List<String> fieldList = new ArrayList<>();
+    private DelimitedScanner scanner;
 
     /**
      * Constructs a new <code>DelimitedReader</code> using a tab character for
@@ -99,55 +91,7 @@ public class DelimitedReader implements RecordReader {
      * @since 1.2
      */
     public DelimitedReader(Reader in, DelimitedParserConfiguration config) {
-        if (config == null) {
-            config = new DelimitedParserConfiguration();
-        }
-        
-        this.in = in;
-        this.delim = config.getDelimiter();
-        
-        if (config.getEscape() != null) {
-            this.escapeEnabled = true;
-            this.escapeChar = config.getEscape();
-            
-            if (delim == escapeChar) {
-                throw new IllegalArgumentException("The field delimiter canot match the escape character");
-            }    
-        }
-        
-        if (config.getLineContinuationCharacter() != null) {
-            this.multilineEnabled = true;
-            this.lineContinuationChar = config.getLineContinuationCharacter();
-            
-            if (delim == lineContinuationChar) {
-                throw new IllegalArgumentException("The field delimiter cannot match the line continuation character");
-            }
-        }
-        
-        if (config.getRecordTerminator() != null) {
-            String s = config.getRecordTerminator();
-            
-            if ("\r\n".equals(s)) {
-                // use default
-            }
-            else if (s.length() == 1) {
-                this.recordTerminator = s.charAt(0);
-            }
-            else if (s.length() > 1) {
-                throw new IllegalArgumentException("Record terminator must be a single character");
-            }
-            
-            if (recordTerminator == delim) {
-                throw new IllegalArgumentException("The record delimiter and record terminator characters cannot match");
-            }
-            if (multilineEnabled && recordTerminator == lineContinuationChar) {
-                throw new IllegalArgumentException("The line continuation character and record terminator cannot match");
-            }
-        }
-        
-        if (config.isCommentEnabled()) {
-            commentReader = new CommentReader(in, config.getComments(), this.recordTerminator);
-        }
+        this.scanner = new DelimitedScanner(InputBuffer.of(in, DEFAULT_BUFFER_SIZE), config);
     }
 
     /**
@@ -158,10 +102,7 @@ public class DelimitedReader implements RecordReader {
      */
     @Override
     public int getRecordLineNumber() {
-        if (recordLineNumber < 0)
-            return -1;
-        else
-            return recordTerminator == 0 ? recordLineNumber : 0;
+        return scanner.getRecordLineNumber();
     }
 
     /**
@@ -171,7 +112,7 @@ public class DelimitedReader implements RecordReader {
      */
     @Override
     public String getRecordText() {
-        return recordText;
+        return scanner.getRecordText();
     }
 
     /*
@@ -180,186 +121,15 @@ public class DelimitedReader implements RecordReader {
      */
     @Override
     public String[] read() throws IOException {
-        // fieldList is set to null when the end of stream is reached
-        if (fieldList == null) {
-            recordText = null;
-            recordLineNumber = -1;
-            return null;
-        }
-
-        ++lineNumber;
-        
-        // skip commented lines
-        if (commentReader != null) {
-            int lines = commentReader.skipComments(skipLF);
-            if (lines > 0) {
-                if (commentReader.isEOF()) {
-                    fieldList = null;
-                    recordText = null;
-                    recordLineNumber = -1;
-                    return null;
-                }
-                else {
-                    lineNumber += lines;
-                    skipLF = commentReader.isSkipLF();
-                }
-            }
-        }        
-        
-        int lineOffset = 0;
-
-        // clear the field list
-        fieldList.clear();
-
-        boolean continued = false; // line continuation
-        boolean escaped = false; // last character read matched the escape char
-        boolean eol = false; // end of record flag
-        StringBuilder text = new StringBuilder(); // holds the record text being read
-        StringBuilder field = new StringBuilder(); // holds the latest field value being read
-
-        int n;
-        while (!eol && (n = in.read()) != -1) {
-            char c = (char) n;
-
-            // skip '\n' after a '\r'
-            if (skipLF) {
-                skipLF = false;
-                if (c == '\n') {
-                    continue;
-                }
-            }
-
-            // handle line continuation
-            if (continued) {
-                continued = false;
-
-                text.append(c);
-
-                if (endOfRecord(c, true)) {
-                    escaped = false;
-                    ++lineNumber;
-                    ++lineOffset;
-                    continue;
-                }
-                else if (!escaped) {
-                    field.append(lineContinuationChar);
-                }
-            }
-            else if (!endOfRecord(c, false)){
-                text.append(c);
-            }
-
-            // handle escaped characters
-            if (escaped) {
-                escaped = false;
-
-                // an escape character can be used to escape itself or an end quote
-                if (c == delim) {
-                    field.append(c);
-                    continue;
-                }
-                else if (c == escapeChar) {
-                    field.append(escapeChar);
-                    continue;
-                }
-                else {
-                    field.append(escapeChar);
-                }
-            }
-
-            // default handling
-            if (escapeEnabled && c == escapeChar) {
-                escaped = true;
-                if (multilineEnabled && c == lineContinuationChar) {
-                    continued = true;
-                }
-            }
-            else if (multilineEnabled && c == lineContinuationChar) {
-                continued = true;
-            }
-            else if (c == delim) {
-                fieldList.add(field.toString());
-                field = new StringBuilder();
-            }
-            else if (endOfRecord(c, true)) {
-                fieldList.add(field.toString());
-                eol = true;
-            }
-            else {
-                field.append(c);
-            }
-        }
-
-        // update the record line number
-        recordLineNumber = lineNumber - lineOffset;
-        recordText = text.toString();
-
-        // if eol is true, we're done; if not, then the end of file was reached 
-        // and further validation is needed
-        if (eol) {
-            recordText = text.toString();
-            String[] record = new String[fieldList.size()];
-            return fieldList.toArray(record);
-        }
-
-        if (continued) {
-            fieldList = null;
-            recordText = null;
-            recordLineNumber = -1;
-            throw new RecordIOException("Unexpected end of stream after line continuation at line " + lineNumber);
-        }
-
-        // handle last escaped char
-        if (escaped) {
-            field.append(escapeChar);
-        }
-
-        if (text.length() > 0) {
-            fieldList.add(field.toString());
-
-            String[] record = new String[fieldList.size()];
-            record = fieldList.toArray(record);
-            recordText = text.toString();
-            fieldList = null;
-            return record;
-        }
-        else {
-            fieldList = null;
-            recordText = null;
-            recordLineNumber = -1;
-            return null;
-        }
+        return scanner.read();
     }
-    
-    /**
-     * Returns <code>true</code> if the given character matches the record separator.  This
-     * method also updates the internal <code>skipLF</code> flag.
-     * @param c the character to test
-     * @param skipLF the value to set <code>skipLF</code> if the character is a carriage return
-     * @return <code>true</code> if the character signifies the end of the record
-     */
-    private boolean endOfRecord(char c, boolean skipLF) {
-        if (recordTerminator == 0) {
-            if (c == '\r') {
-                this.skipLF = skipLF;
-                return true;
-            }
-            else if (c == '\n') {
-                return true;
-            }
-            return false;
-        }
-        else {
-            return c == recordTerminator;
-        }
-    }
-    
+
     /*
      * (non-Javadoc)
      * @see org.beanio.stream.RecordReader#close()
      */
     @Override
     public void close() throws IOException {
-        in.close();
+        scanner.close();
     }
 }
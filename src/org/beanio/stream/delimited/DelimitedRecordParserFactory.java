@@ -16,6 +16,7 @@
 package org.beanio.stream.delimited;
 
 import java.io.*;
+import java.nio.charset.Charset;
 
 import org.beanio.stream.*;
 
@@ -25,7 +26,8 @@ import org.beanio.stream.*;
  * @author Kevin Seim
  * @since 2.0
  */
-public class DelimitedRecordParserFactory  extends DelimitedParserConfiguration implements RecordParserFactory {
+public class DelimitedRecordParserFactory  extends DelimitedParserConfiguration 
+    implements RecordParserFactory, ByteRecordReaderFactory {
 
     /*
      * (non-Javadoc)
@@ -53,6 +55,20 @@ public class DelimitedRecordParserFactory  extends DelimitedParserConfiguration
         return new DelimitedReader(in, this);
     }
 
+    /**
+     * Creates a {@link DelimitedByteReader} if the character set is ASCII compatible, 
+     * or otherwise a {@link DelimitedReader} for the decoded input stream.
+     * @see org.beanio.stream.ByteRecordReaderFactory#createReader(java.io.InputStream, java.nio.charset.Charset)
+     * @since 3.3.0
+     */
+    @Override
+    public RecordReader createReader(InputStream in, Charset charset) throws IllegalArgumentException {
+        if (DelimitedByteReader.isSupported(this, charset)) {
+            return new DelimitedByteReader(in, charset, this);
+        }
+        return createReader(new InputStreamReader(in, charset));
+    }
+
     /*
      * (non-Javadoc)
      * @see org.beanio.stream.RecordWriterFactory#createWriter(java.io.Writer)
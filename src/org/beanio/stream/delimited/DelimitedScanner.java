@@ -0,0 +1,450 @@
+package org.beanio.stream.delimited;
+
+import java.io.IOException;
+import java.util.*;
+
+import org.beanio.internal.util.InputBuffer;
+import org.beanio.stream.*;
+
+/**
+ * Parses delimited records from an {@link InputBuffer}.  A <code>DelimitedScanner</code>
+ * implements the record format for both a {@link DelimitedReader} and a
+ * {@link DelimitedByteReader}, so that characters and bytes are tokenized identically.
+ * <p>
+ * When reading bytes, the delimiter, escape, line continuation and record termination
+ * characters must all be ASCII characters.
+ *
+ * @since 3.3.0
+ */
+class DelimitedScanner implements RecordReader {
+
+    private int delim = '\t';
+    private int escapeChar = '\\';
+    private int lineContinuationChar = '\\';
+    private int recordTerminator = 0;
+    private boolean multilineEnabled = false;
+    private boolean escapeEnabled = false;
+    private int[][] comments = null;
+    private int maxCommentLength = 0;
+
+    // the characters that interrupt a bulk scan of field text
+    private int terminator1;
+    private int terminator2;
+    private int special1;
+    private int special2;
+
+    private transient InputBuffer buf;
+    private transient int pos;
+    private transient int recordStart;
+    private transient int recordEnd = -1;
+    private transient int fieldStart;
+    private transient boolean fieldEdited;
+    private transient StringBuilder fieldBuilder = new StringBuilder();
+    private transient String recordText;
+    private transient int recordLineNumber;
+    private transient int lineNumber = 0;
+    private transient boolean skipLF = false;
+    private transient List<String> fieldList = new ArrayList<>();
+
+    /**
+     * Constructs a new <code>DelimitedScanner</code>.
+     * @param buf the buffer to read from
+     * @param config the reader configuration settings or <code>null</code> to use default values
+     * @throws IllegalArgumentException if the delimiter matches the escape character or
+     *   or the line continuation character
+     */
+    public DelimitedScanner(InputBuffer buf, DelimitedParserConfiguration config) {
+        if (config == null) {
+            config = new DelimitedParserConfiguration();
+        }
+
+        this.buf = buf;
+        this.delim = config.getDelimiter();
+
+        if (config.getEscape() != null) {
+            this.escapeEnabled = true;
+            this.escapeChar = config.getEscape();
+
+            if (delim == escapeChar) {
+                throw new IllegalArgumentException("The field delimiter canot match the escape character");
+            }
+        }
+
+        if (config.getLineContinuationCharacter() != null) {
+            this.multilineEnabled = true;
+            this.lineContinuationChar = config.getLineContinuationCharacter();
+
+            if (delim == lineContinuationChar) {
+                throw new IllegalArgumentException("The field delimiter cannot match the line continuation character");
+            }
+        }
+
+        if (config.getRecordTerminator() != null) {
+            String s = config.getRecordTerminator();
+
+            if ("\r\n".equals(s)) {
+                // use default
+            }
+            else if (s.length() == 1) {
+                this.recordTerminator = s.charAt(0);
+            }
+            else if (s.length() > 1) {
+                throw new IllegalArgumentException("Record terminator must be a single character");
+            }
+
+            if (recordTerminator == delim) {
+                throw new IllegalArgumentException("The record delimiter and record terminator characters cannot match");
+            }
+            if (multilineEnabled && recordTerminator == lineContinuationChar) {
+                throw new IllegalArgumentException("The line continuation character and record terminator cannot match");
+            }
+        }
+
+        if (config.isCommentEnabled()) {
+            String[] commentText = config.getComments();
+            this.comments = new int[commentText.length][];
+            for (int i=0; i<commentText.length; i++) {
+                String comment = commentText[i];
+                if (comment == null || comment.length() == 0) {
+                    throw new IllegalArgumentException("Comment value cannot be null or empty string");
+                }
+                comments[i] = buf.encode(comment);
+                maxCommentLength = Math.max(maxCommentLength, comments[i].length);
+            }
+        }
+
+        // disabled special characters default to the delimiter so that they
+        // do not need to be tested separately when scanning
+        if (recordTerminator == 0) {
+            terminator1 = '\n';
+            terminator2 = '\r';
+        }
+        else {
+            terminator1 = recordTerminator;
+            terminator2 = recordTerminator;
+        }
+        special1 = escapeEnabled ? escapeChar : delim;
+        special2 = multilineEnabled ? lineContinuationChar : delim;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordLineNumber()
+     */
+    @Override
+    public int getRecordLineNumber() {
+        if (recordLineNumber < 0)
+            return -1;
+        else
+            return recordTerminator == 0 ? recordLineNumber : 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordText()
+     */
+    @Override
+    public String getRecordText() {
+        if (recordText == null && recordEnd >= 0) {
+            recordText = buf.substring(recordStart, recordEnd);
+        }
+        return recordText;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#read()
+     */
+    @Override
+    public String[] read() throws IOException {
+        recordText = null;
+        recordStart = pos;
+        recordEnd = -1;
+
+        // fieldList is set to null when the end of stream is reached
+        if (fieldList == null) {
+            recordLineNumber = -1;
+            return null;
+        }
+
+        ++lineNumber;
+
+        // skip commented lines
+        if (comments != null) {
+            int lines = skipComments();
+            if (lines > 0) {
+                if (buf.isEOF() && pos == buf.limit()) {
+                    fieldList = null;
+                    recordLineNumber = -1;
+                    return null;
+                }
+                else {
+                    lineNumber += lines;
+                }
+            }
+        }
+
+        // skip '\n' after a '\r'
+        if (skipLF) {
+            skipLF = false;
+            if (available() && buf.get(pos) == '\n') {
+                ++pos;
+            }
+        }
+
+        int lineOffset = 0;
+
+        // clear the field list
+        fieldList.clear();
+
+        recordStart = pos;
+        fieldStart = pos;
+
+        boolean eol = false; // end of record flag
+        while (true) {
+            // find the next character that requires special handling
+            int p = buf.indexOf(pos, delim, terminator1, terminator2, special1, special2);
+            pos = p;
+
+            if (p == buf.limit()) {
+                if (fill()) {
+                    continue;
+                }
+                break;
+            }
+
+            int c = buf.get(p);
+            if (c == delim) {
+                addField(p);
+                pos = p + 1;
+                fieldStart = pos;
+            }
+            else if (c == terminator1 || c == terminator2) {
+                addField(p);
+                recordEnd = p;
+                pos = p + 1;
+                if (c == '\r' && recordTerminator == 0) {
+                    skipLF = true;
+                }
+                eol = true;
+                break;
+            }
+            else {
+                boolean continuation = multilineEnabled && c == lineContinuationChar;
+
+                // the escape or line continuation character is always followed by another character
+                if (!lookAhead()) {
+                    if (continuation) {
+                        fieldList = null;
+                        recordLineNumber = -1;
+                        throw new RecordIOException("Unexpected end of stream after line continuation at line " + lineNumber);
+                    }
+                    // a trailing escape character is kept as field text
+                    pos = buf.limit();
+                    break;
+                }
+
+                int next = buf.get(pos + 1);
+                if (continuation && isTerminator(next)) {
+                    appendField(pos);
+                    pos += 2;
+                    // skip '\n' after a '\r'
+                    if (next == '\r' && recordTerminator == 0 && available() && buf.get(pos) == '\n') {
+                        ++pos;
+                    }
+                    fieldStart = pos;
+                    ++lineNumber;
+                    ++lineOffset;
+                }
+                else if (escapeEnabled && c == escapeChar && (next == delim || next == escapeChar)) {
+                    // an escape character can be used to escape itself or the delimiter
+                    appendField(pos);
+                    fieldStart = pos + 1;
+                    pos += 2;
+                }
+                else {
+                    // otherwise the escape or line continuation character is field text
+                    ++pos;
+                }
+            }
+        }
+
+        // update the record line number
+        recordLineNumber = lineNumber - lineOffset;
+
+        // if eol is true, we're done; if not, then the end of file was reached
+        if (eol) {
+            String[] record = new String[fieldList.size()];
+            return fieldList.toArray(record);
+        }
+
+        if (pos > recordStart) {
+            addField(pos);
+            recordEnd = pos;
+
+            String[] record = new String[fieldList.size()];
+            record = fieldList.toArray(record);
+            fieldList = null;
+            return record;
+        }
+        else {
+            fieldList = null;
+            recordLineNumber = -1;
+            return null;
+        }
+    }
+
+    /**
+     * Adds the field ending at the given buffer position to the field list.
+     * @param end the buffer position of the end of the field
+     */
+    private void addField(int end) {
+        if (fieldEdited) {
+            appendField(end);
+            fieldList.add(fieldBuilder.toString());
+            fieldBuilder.setLength(0);
+            fieldEdited = false;
+        }
+        else {
+            fieldList.add(buf.substring(fieldStart, end));
+        }
+    }
+
+    /**
+     * Copies the field text read so far to the field builder, which is necessary
+     * when escape or line continuation characters are removed.
+     * @param end the buffer position of the end of the field text to copy
+     */
+    private void appendField(int end) {
+        buf.appendTo(fieldBuilder, fieldStart, end);
+        fieldEdited = true;
+    }
+
+    /**
+     * Skips commented lines and returns the number of lines skipped.  If the end of
+     * the stream is reached while reading a commented line, the buffer is left empty.
+     * @return the number of skipped lines
+     * @throws IOException if an I/O error occurs
+     */
+    private int skipComments() throws IOException {
+        int lines = 0;
+        while (true) {
+            recordStart = pos;
+            ensure(maxCommentLength + 1);
+
+            int start = pos;
+            if (skipLF && start < buf.limit() && buf.get(start) == '\n') {
+                ++start;
+            }
+
+            // determine if the line starts with a configured comment
+            boolean commentFound = false;
+            for (int[] comment : comments) {
+                if (buf.startsWith(start, comment)) {
+                    commentFound = true;
+                    break;
+                }
+            }
+            if (!commentFound) {
+                return lines;
+            }
+
+            ++lines;
+            skipLF = false;
+            pos = start;
+
+            // finish reading the entire line
+            while (true) {
+                if (!available()) {
+                    return lines;
+                }
+                int c = buf.get(pos++);
+                if (recordTerminator == 0) {
+                    if (c == '\n') {
+                        break;
+                    }
+                    else if (c == '\r') {
+                        skipLF = true;
+                        break;
+                    }
+                }
+                else if (c == recordTerminator) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns <code>true</code> if the given character matches the record terminator.
+     * @param c the character to test
+     * @return <code>true</code> if the character signifies the end of the record
+     */
+    private boolean isTerminator(int c) {
+        return c == terminator1 || c == terminator2;
+    }
+
+    /**
+     * Returns whether at least one character is available in the buffer at
+     * the current position, reading from the input stream if needed.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean available() throws IOException {
+        return ensure(1);
+    }
+
+    /**
+     * Returns whether the character after the current position is available in
+     * the buffer, reading from the input stream if needed.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean lookAhead() throws IOException {
+        return ensure(2);
+    }
+
+    /**
+     * Reads from the input stream until the buffer contains at least <code>n</code>
+     * characters after the current position, or the end of the stream is reached.
+     * @param n the number of characters
+     * @return false if the end of the stream was reached first
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean ensure(int n) throws IOException {
+        while (buf.limit() - pos < n) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads more characters from the input stream into the buffer.  Characters
+     * before the start of the current record are discarded.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        if (buf.isEOF()) {
+            return false;
+        }
+        if (recordStart > 0) {
+            buf.compact(recordStart);
+            pos -= recordStart;
+            fieldStart -= recordStart;
+            recordStart = 0;
+        }
+        return buf.fill();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        buf.close();
+    }
+}
@@ -48,6 +48,9 @@ public class DelimitedWriter implements RecordWriter {
     private String recordTerminator;
 
     private Writer out;
+    // the record being written, so that each record is passed to the writer at once
+    private StringBuilder line = new StringBuilder();
+    private char[] cbuf = new char[0];
 
     /**
      * Constructs a new <code>DelimitedWriter</code>.
@@ -110,18 +113,20 @@ public class DelimitedWriter implements RecordWriter {
      * @throws IOException if an I/O error occurs
      */
     public void write(String[] record) throws IOException {
+        line.setLength(0);
+        
         if (escapeEnabled) {
             int pos = 0;
             for (String field : record) {
                 if (pos++ > 0)
-                    out.write(delim);
+                    line.append(delim);
 
-                char[] cs = field.toCharArray();
-                for (int i = 0, j = cs.length; i < j; i++) {
-                    if (cs[i] == delim || cs[i] == escapeChar) {
-                        out.write(escapeChar);
+                for (int i = 0, j = field.length(); i < j; i++) {
+                    char c = field.charAt(i);
+                    if (c == delim || c == escapeChar) {
+                        line.append(escapeChar);
                     }
-                    out.write(cs[i]);
+                    line.append(c);
                 }
             }
         }
@@ -129,13 +134,20 @@ public class DelimitedWriter implements RecordWriter {
             int pos = 0;
             for (String field : record) {
                 if (pos++ > 0) {
-                    out.write(delim);
+                    line.append(delim);
                 }
-                out.write(field);
+                line.append(field);
             }
         }
 
-        out.write(recordTerminator);
+        line.append(recordTerminator);
+        
+        int length = line.length();
+        if (cbuf.length < length) {
+            cbuf = new char[Math.max(length, cbuf.length * 2)];
+        }
+        line.getChars(0, length, cbuf, 0);
+        out.write(cbuf, 0, length);
     }
 
     /*
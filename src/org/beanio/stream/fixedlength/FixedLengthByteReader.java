@@ -0,0 +1,125 @@
+package org.beanio.stream.fixedlength;
+
+import java.io.*;
+import java.nio.charset.*;
+
+import org.beanio.internal.util.*;
+import org.beanio.stream.*;
+
+/**
+ * A <code>FixedLengthByteReader</code> reads fixed length records from a byte stream
+ * encoded using an ASCII compatible character set, such as UTF-8 or ISO-8859-1.  Records
+ * are read exactly as they would be by a {@link FixedLengthReader}, except that record
+ * terminators are located by scanning the raw bytes, and each record is decoded directly
+ * from the read buffer.
+ * <p>
+ * If a record length is configured, records are located by their byte offset alone, which
+ * requires a single byte character set.
+ * <p>
+ * The line continuation and record termination characters must be ASCII characters.  Use
+ * {@link #isSupported(FixedLengthParserConfiguration, Charset)} to test whether a configuration
+ * and character set can be read using this class.
+ * <p>
+ * Bytes are read from the underlying input stream in blocks, so there is no need
+ * to wrap it in a {@link BufferedInputStream}.
+ *
+ * @since 3.3.0
+ * @see FixedLengthReader
+ */
+public class FixedLengthByteReader implements RecordReader {
+
+    private static final int DEFAULT_BUFFER_SIZE = 65536;
+
+    private FixedLengthScanner scanner;
+
+    /**
+     * Constructs a new <code>FixedLengthByteReader</code>.
+     * @param in the input stream to read from
+     * @param charset the character set used to decode records
+     * @param config the reader configuration settings or <code>null</code> to accept defaults
+     * @throws IllegalArgumentException if the configuration and character set are not
+     *   supported, or if a configuration setting is invalid
+     */
+    public FixedLengthByteReader(InputStream in, Charset charset, FixedLengthParserConfiguration config)
+        throws IllegalArgumentException {
+        if (!isSupported(config, charset)) {
+            throw new IllegalArgumentException("Fixed length records cannot be parsed from bytes " +
+                "using character set '" + charset + "'");
+        }
+        this.scanner = new FixedLengthScanner(InputBuffer.of(in, charset, DEFAULT_BUFFER_SIZE), config);
+    }
+
+    /**
+     * Returns whether records can be read from a byte stream encoded using the given
+     * character set.  The character set must be ASCII compatible, and the line continuation
+     * and record termination characters must be ASCII characters.  If a record length is
+     * configured, the character set must also encode every character using a single byte.
+     * @param config the reader configuration settings or <code>null</code> to accept defaults
+     * @param charset the character set of the byte stream
+     * @return true if a <code>FixedLengthByteReader</code> can be used
+     */
+    public static boolean isSupported(FixedLengthParserConfiguration config, Charset charset) {
+        if (config == null) {
+            config = new FixedLengthParserConfiguration();
+        }
+        if (charset == null || !IOUtil.isAsciiCompatible(charset)) {
+            return false;
+        }
+        if (config.isRecordLengthEnabled() && charset.newEncoder().maxBytesPerChar() != 1.0f) {
+            return false;
+        }
+        Character c = config.getLineContinuationCharacter();
+        if (c != null && c >= 128) {
+            return false;
+        }
+        String terminator = config.getRecordTerminator();
+        if (terminator != null && terminator.length() == 1 && terminator.charAt(0) >= 128) {
+            return false;
+        }
+        if (config.isCommentEnabled()) {
+            CharsetEncoder encoder = charset.newEncoder();
+            for (String comment : config.getComments()) {
+                if (comment != null && !encoder.canEncode(comment)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordLineNumber()
+     */
+    @Override
+    public int getRecordLineNumber() {
+        return scanner.getRecordLineNumber();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordText()
+     */
+    @Override
+    public String getRecordText() {
+        return scanner.getRecordText();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#read()
+     */
+    @Override
+    public String read() throws IOException, RecordIOException {
+        return scanner.read();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        scanner.close();
+    }
+}
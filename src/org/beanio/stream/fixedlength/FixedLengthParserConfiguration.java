@@ -26,6 +26,7 @@ public class FixedLengthParserConfiguration {
     private Character lineContinuationCharacter = null;
     private String recordTerminator = null;
     private String[] comments;
+    private int recordLength = 0;
 
     /**
      * Returns the line continuation character.  By default, line continuation
@@ -100,6 +101,36 @@ public class FixedLengthParserConfiguration {
         return comments != null && comments.length > 0;
     }
     
+    /**
+     * Returns the number of characters in every record, if records are not terminated.
+     * By default, records are terminated and 0 is returned.
+     * @return the record length, or 0 if records are terminated
+     * @since 3.3.0
+     */
+    public int getRecordLength() {
+        return recordLength;
+    }
+
+    /**
+     * Sets the number of characters in every record.  If set to a value greater than 0,
+     * records are not terminated, and instead each record is read by length.  A record
+     * length cannot be combined with a record terminator, line continuation or comments.
+     * @param recordLength the record length, or 0 if records are terminated
+     * @since 3.3.0
+     */
+    public void setRecordLength(int recordLength) {
+        this.recordLength = recordLength;
+    }
+    
+    /**
+     * Returns whether records are read by length instead of being terminated.
+     * @return <code>true</code> if a record length is configured
+     * @since 3.3.0
+     */
+    public boolean isRecordLengthEnabled() {
+        return recordLength > 0;
+    }
+    
     /**
      * Returns the text used to terminate a record.  By default, the line
      * separator is set to the value of the  <code>line.separator</code> system property.
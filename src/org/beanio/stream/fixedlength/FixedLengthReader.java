@@ -17,8 +17,8 @@ package org.beanio.stream.fixedlength;
 
 import java.io.*;
 
+import org.beanio.internal.util.InputBuffer;
 import org.beanio.stream.*;
-import org.beanio.stream.util.CommentReader;
 
 /**
  * A <code>FixedLengthReader</code> is used to read records from a fixed length
@@ -31,23 +31,18 @@ import org.beanio.stream.util.CommentReader;
  * character may be configured.  The line continuation character must immediately 
  * precede the record termination character.  Note that line continuation characters 
  * are not included in the record text. 
+ * <p>
+ * Characters are read from the underlying input stream in blocks, so there is no need
+ * to wrap it in a {@link BufferedReader}.
  * 
  * @author Kevin Seim
  * @since 1.0
  */
 public class FixedLengthReader implements RecordReader {
 
-    private char lineContinuationChar = '\\';
-    private boolean multilineEnabled = false;
-    private char recordTerminator = 0;
-    private CommentReader commentReader = null;
+    private static final int DEFAULT_BUFFER_SIZE = 16384;
     
-    private transient Reader in;
-    private transient String recordText;
-    private transient int recordLineNumber;
-    private transient int lineNumber = 0;
-    private transient boolean skipLF = false;
-    private transient boolean eof = false;
+    private FixedLengthScanner scanner;
 
     /**
      * Constructs a new <code>FixedLengthReader</code>.  By default, line
@@ -66,197 +61,42 @@ public class FixedLengthReader implements RecordReader {
      * @since 1.2
      */
     public FixedLengthReader(Reader in, FixedLengthParserConfiguration config) throws IllegalArgumentException {
-        if (config == null) {
-            config = new FixedLengthParserConfiguration();
-        }
-        
-        this.in = in;
-        
-        if (config.getRecordTerminator() != null) {
-            String s = config.getRecordTerminator();
-            if ("\r\n".equals(s)) {
-                // use default
-            }
-            else if (s.length() == 1) {
-                this.recordTerminator = s.charAt(0);
-            }
-            else if (s.length() > 1) {
-                throw new IllegalArgumentException("Record terminator must be a single character");
-            }
-        }
-        
-        if (config.getLineContinuationCharacter() == null) {
-            this.multilineEnabled = false;
-        }
-        else {
-            this.multilineEnabled = true;
-            this.lineContinuationChar = config.getLineContinuationCharacter();
-            
-            if (recordTerminator != 0 && lineContinuationChar == recordTerminator) {
-                throw new IllegalArgumentException("The line continuation character and record terminator cannot match.");
-            }
-        }
-        
-        if (config.isCommentEnabled()) {
-            commentReader = new CommentReader(in, config.getComments(), this.recordTerminator);
-        }
+        this.scanner = new FixedLengthScanner(InputBuffer.of(in, DEFAULT_BUFFER_SIZE), config);
     }
 
     /*
      * (non-Javadoc)
-     * @see org.beanio.line.RecordReader#getRecordLineNumber()
+     * @see org.beanio.stream.RecordReader#getRecordLineNumber()
      */
     @Override
     public int getRecordLineNumber() {
-        if (recordLineNumber < 0) {
-            return recordLineNumber;
-        }
-        return recordTerminator == 0 ? recordLineNumber : 0;
+        return scanner.getRecordLineNumber();
     }
 
     /*
      * (non-Javadoc)
-     * @see org.beanio.line.RecordReader#getRecordText()
+     * @see org.beanio.stream.RecordReader#getRecordText()
      */
     @Override
     public String getRecordText() {
-        return recordText;
+        return scanner.getRecordText();
     }
 
     /*
      * (non-Javadoc)
-     * @see org.beanio.line.RecordReader#read()
+     * @see org.beanio.stream.RecordReader#read()
      */
     @Override
     public String read() throws IOException, RecordIOException {
-        if (eof) {
-            recordText = null;
-            recordLineNumber = -1;
-            return null;
-        }
-
-        ++lineNumber;
-        
-        // skip commented lines
-        if (commentReader != null) {
-            int lines = commentReader.skipComments(skipLF);
-            if (lines > 0) {
-                if (commentReader.isEOF()) {
-                    eof = true;
-                    recordText = null;
-                    recordLineNumber = -1;
-                    return null;
-                }
-                else {
-                    lineNumber += lines;
-                    skipLF = commentReader.isSkipLF();
-                }
-            }
-        }
-        
-        int lineOffset = 0;
-
-        boolean continued = false; // line continuation
-        boolean eol = false; // end of record flag
-        StringBuilder text = new StringBuilder();
-        StringBuilder record = new StringBuilder();
-
-        int n;
-        while (!eol && (n = in.read()) != -1) {
-            char c = (char) n;
-
-            // skip '\n' after a '\r'
-            if (skipLF) {
-                skipLF = false;
-                if (c == '\n') {
-                    continue;
-                }
-            }
-
-            // handle line continuation
-            if (continued) {
-                continued = false;
-
-                text.append(c);
-
-                if (endOfRecord(c)) {
-                    ++lineNumber;
-                    ++lineOffset;
-                    continue;                    
-                }
-                else {
-                    record.append(lineContinuationChar);
-                }
-            }
-
-            if (multilineEnabled && c == lineContinuationChar) {
-                continued = true;
-            }
-            else if (endOfRecord(c)) {
-                eol = true;
-            }
-            else {
-                text.append(c);
-                record.append(c);
-            }
-        }
-
-        // update the record line number
-        recordLineNumber = lineNumber - lineOffset;
-        recordText = text.toString();
-
-        // if eol is true, we're done; if not, then the end of file was reached 
-        // and further validation is needed
-        if (eol) {
-            return record.toString();
-        }
-        
-        eof = true;
-
-        if (continued) {
-            recordText = null;
-            recordLineNumber = -1;
-            throw new RecordIOException("Unexpected end of stream after line continuation at line " + lineNumber);
-        }
-
-        if (recordText.length() == 0) {
-            recordText = null;
-            recordLineNumber = -1;
-            return null;
-        }
-        else {
-            return record.toString();
-        }
+        return scanner.read();
     }
 
-    /**
-     * Returns <code>true</code> if the given character matches the record separator.  This
-     * method also updates the internal <code>skipLF</code> flag.
-     * @param c the character to test
-     * @return <code>true</code> if the character signifies the end of the record
-     */
-    private boolean endOfRecord(char c) {
-        if (recordTerminator == 0) {
-            if (c == '\r') {
-                skipLF = true;
-                return true;
-            }
-            else if (c == '\n') {
-                return true;
-            }
-            return false;
-        }
-        else {
-            return c == recordTerminator;
-        }
-    }
-    
     /*
      * (non-Javadoc)
-     * @see org.beanio.line.RecordReader#close()
+     * @see org.beanio.stream.RecordReader#close()
      */
     @Override
     public void close() throws IOException {
-        in.close();
+        scanner.close();
     }
 }
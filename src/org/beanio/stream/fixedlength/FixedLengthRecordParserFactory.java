@@ -16,6 +16,7 @@
 package org.beanio.stream.fixedlength;
 
 import java.io.*;
+import java.nio.charset.Charset;
 
 import org.beanio.BeanIOConfigurationException;
 import org.beanio.stream.*;
@@ -26,7 +27,8 @@ import org.beanio.stream.*;
  * @author Kevin Seim
  * @since 2.0
  */
-public class FixedLengthRecordParserFactory extends FixedLengthParserConfiguration implements RecordParserFactory {
+public class FixedLengthRecordParserFactory extends FixedLengthParserConfiguration 
+    implements RecordParserFactory, ByteRecordReaderFactory {
 
     private static FixedLengthRecordParser parser = new FixedLengthRecordParser();
 
@@ -36,7 +38,14 @@ public class FixedLengthRecordParserFactory extends FixedLengthParserConfigurati
      */
     @Override
     public void init() throws BeanIOConfigurationException {
-        
+        if (getRecordLength() < 0) {
+            throw new IllegalArgumentException("Record length must be 0 or greater");
+        }
+        if (isRecordLengthEnabled() && (getRecordTerminator() != null || 
+            isLineContinationEnabled() || isCommentEnabled())) {
+            throw new IllegalArgumentException("A record length cannot be combined with a record " +
+                "terminator, line continuation character or comments");
+        }
     }
     
     /*
@@ -48,13 +57,27 @@ public class FixedLengthRecordParserFactory extends FixedLengthParserConfigurati
         return new FixedLengthReader(in, this);
     }
 
+    /**
+     * Creates a {@link FixedLengthByteReader} if the character set is ASCII compatible, 
+     * or otherwise a {@link FixedLengthReader} for the decoded input stream.
+     * @see org.beanio.stream.ByteRecordReaderFactory#createReader(java.io.InputStream, java.nio.charset.Charset)
+     * @since 3.3.0
+     */
+    @Override
+    public RecordReader createReader(InputStream in, Charset charset) throws IllegalArgumentException {
+        if (FixedLengthByteReader.isSupported(this, charset)) {
+            return new FixedLengthByteReader(in, charset, this);
+        }
+        return createReader(new BufferedReader(new InputStreamReader(in, charset)));
+    }
+
     /*
      * (non-Javadoc)
      * @see org.beanio.stream.RecordParserFactory#createWriter(java.io.Writer)
      */
     @Override
     public RecordWriter createWriter(Writer out) throws IllegalArgumentException {
-        return new FixedLengthWriter(out, getRecordTerminator());
+        return new FixedLengthWriter(out, isRecordLengthEnabled() ? "" : getRecordTerminator());
     }
 
     /*
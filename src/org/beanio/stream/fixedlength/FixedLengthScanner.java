@@ -0,0 +1,406 @@
+package org.beanio.stream.fixedlength;
+
+import java.io.IOException;
+
+import org.beanio.internal.util.InputBuffer;
+import org.beanio.stream.*;
+
+/**
+ * Reads fixed length records from an {@link InputBuffer}.  A <code>FixedLengthScanner</code>
+ * implements the record format for both a {@link FixedLengthReader} and a
+ * {@link FixedLengthByteReader}, so that characters and bytes are read identically.
+ * <p>
+ * When reading bytes, the line continuation and record termination characters must be
+ * ASCII characters, and if a record length is configured, the character set must encode
+ * every character using a single byte.
+ *
+ * @since 3.3.0
+ */
+class FixedLengthScanner implements RecordReader {
+
+    private int lineContinuationChar = '\\';
+    private boolean multilineEnabled = false;
+    private int recordTerminator = 0;
+    private int[][] comments = null;
+    private int maxCommentLength = 0;
+    private int recordLength = 0;
+
+    // the characters that interrupt a bulk scan of record text
+    private int terminator1;
+    private int terminator2;
+    private int special;
+
+    private transient InputBuffer buf;
+    private transient int pos;
+    private transient boolean done;
+    private transient int recordStart;
+    private transient int segmentStart;
+    private transient StringBuilder recordBuilder = new StringBuilder();
+    private transient StringBuilder textBuilder = new StringBuilder();
+    private transient String recordText;
+    private transient int recordLineNumber;
+    private transient int lineNumber = 0;
+    private transient boolean skipLF = false;
+
+    /**
+     * Constructs a new <code>FixedLengthScanner</code>.
+     * @param buf the buffer to read from
+     * @param config the reader configuration settings or <code>null</code> to accept defaults
+     * @throws IllegalArgumentException if a configuration setting is invalid
+     */
+    public FixedLengthScanner(InputBuffer buf, FixedLengthParserConfiguration config)
+        throws IllegalArgumentException {
+        if (config == null) {
+            config = new FixedLengthParserConfiguration();
+        }
+
+        this.buf = buf;
+
+        if (config.getRecordTerminator() != null) {
+            String s = config.getRecordTerminator();
+            if ("\r\n".equals(s)) {
+                // use default
+            }
+            else if (s.length() == 1) {
+                this.recordTerminator = s.charAt(0);
+            }
+            else if (s.length() > 1) {
+                throw new IllegalArgumentException("Record terminator must be a single character");
+            }
+        }
+
+        if (config.getLineContinuationCharacter() != null) {
+            this.multilineEnabled = true;
+            this.lineContinuationChar = config.getLineContinuationCharacter();
+
+            if (recordTerminator != 0 && lineContinuationChar == recordTerminator) {
+                throw new IllegalArgumentException("The line continuation character and record terminator cannot match.");
+            }
+        }
+
+        if (config.isCommentEnabled()) {
+            String[] commentText = config.getComments();
+            this.comments = new int[commentText.length][];
+            for (int i=0; i<commentText.length; i++) {
+                String comment = commentText[i];
+                if (comment == null || comment.length() == 0) {
+                    throw new IllegalArgumentException("Comment value cannot be null or empty string");
+                }
+                comments[i] = buf.encode(comment);
+                maxCommentLength = Math.max(maxCommentLength, comments[i].length);
+            }
+        }
+
+        if (config.isRecordLengthEnabled()) {
+            if (config.getRecordTerminator() != null || multilineEnabled || comments != null) {
+                throw new IllegalArgumentException("A record length cannot be combined with a record " +
+                    "terminator, line continuation character or comments");
+            }
+            this.recordLength = config.getRecordLength();
+        }
+
+        // a disabled line continuation character defaults to the record terminator
+        // so that it does not need to be tested separately when scanning
+        if (recordTerminator == 0) {
+            terminator1 = '\n';
+            terminator2 = '\r';
+        }
+        else {
+            terminator1 = recordTerminator;
+            terminator2 = recordTerminator;
+        }
+        special = multilineEnabled ? lineContinuationChar : terminator1;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordLineNumber()
+     */
+    @Override
+    public int getRecordLineNumber() {
+        if (recordLineNumber < 0) {
+            return recordLineNumber;
+        }
+        return recordTerminator == 0 ? recordLineNumber : 0;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordText()
+     */
+    @Override
+    public String getRecordText() {
+        return recordText;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#read()
+     */
+    @Override
+    public String read() throws IOException, RecordIOException {
+        recordText = null;
+        recordStart = pos;
+
+        if (done) {
+            recordLineNumber = -1;
+            return null;
+        }
+
+        if (recordLength > 0) {
+            return readRecordLength();
+        }
+
+        ++lineNumber;
+
+        // skip commented lines
+        if (comments != null) {
+            int lines = skipComments();
+            if (lines > 0) {
+                if (buf.isEOF() && pos == buf.limit()) {
+                    done = true;
+                    recordLineNumber = -1;
+                    return null;
+                }
+                else {
+                    lineNumber += lines;
+                }
+            }
+        }
+
+        // skip '\n' after a '\r'
+        if (skipLF) {
+            skipLF = false;
+            if (available() && buf.get(pos) == '\n') {
+                ++pos;
+            }
+        }
+
+        int lineOffset = 0;
+
+        // the start of the record text that has not been copied to the record builder
+        recordStart = pos;
+        segmentStart = pos;
+        boolean continued = false;
+
+        int end = -1;
+        while (true) {
+            // find the next terminator or line continuation character
+            int p = buf.indexOf(pos, terminator1, terminator2, special, special, special);
+            pos = p;
+
+            if (p == buf.limit()) {
+                if (fill()) {
+                    continue;
+                }
+                break;
+            }
+
+            int c = buf.get(p);
+            if (c == terminator1 || c == terminator2) {
+                end = p;
+                pos = p + 1;
+                if (c == '\r' && recordTerminator == 0) {
+                    skipLF = true;
+                }
+                break;
+            }
+
+            // the line continuation character must be followed by another character
+            if (!lookAhead()) {
+                done = true;
+                recordLineNumber = -1;
+                throw new RecordIOException("Unexpected end of stream after line continuation at line " + lineNumber);
+            }
+
+            int next = buf.get(pos + 1);
+            if (next == terminator1 || next == terminator2) {
+                String segment = buf.substring(segmentStart, pos);
+                recordBuilder.append(segment);
+                textBuilder.append(segment).append((char) next);
+                continued = true;
+
+                pos += 2;
+                // skip '\n' after a '\r'
+                if (next == '\r' && recordTerminator == 0 && available() && buf.get(pos) == '\n') {
+                    ++pos;
+                }
+                segmentStart = pos;
+                ++lineNumber;
+                ++lineOffset;
+            }
+            else {
+                // otherwise the line continuation character is record text
+                ++pos;
+            }
+        }
+
+        // update the record line number
+        recordLineNumber = lineNumber - lineOffset;
+
+        // if a record terminator was not found, the end of the stream was reached
+        if (end < 0) {
+            done = true;
+            if (pos == recordStart) {
+                recordLineNumber = -1;
+                return null;
+            }
+            end = pos;
+        }
+
+        String record;
+        if (continued) {
+            String segment = buf.substring(segmentStart, end);
+            record = recordBuilder.append(segment).toString();
+            recordText = textBuilder.append(segment).toString();
+            recordBuilder.setLength(0);
+            textBuilder.setLength(0);
+        }
+        else {
+            record = buf.substring(recordStart, end);
+            recordText = record;
+        }
+        return record;
+    }
+
+    /**
+     * Reads a record that is not terminated, and instead consists of the next
+     * <code>recordLength</code> characters.  The last record in the stream may be shorter.
+     * @return the record text, or null if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private String readRecordLength() throws IOException {
+        if (!ensure(recordLength)) {
+            done = true;
+            if (pos == buf.limit()) {
+                recordLineNumber = -1;
+                return null;
+            }
+        }
+
+        int end = Math.min(pos + recordLength, buf.limit());
+        recordLineNumber = 0;
+        recordText = buf.substring(pos, end);
+        pos = end;
+        return recordText;
+    }
+
+    /**
+     * Skips commented lines and returns the number of lines skipped.  If the end of
+     * the stream is reached while reading a commented line, the buffer is left empty.
+     * @return the number of skipped lines
+     * @throws IOException if an I/O error occurs
+     */
+    private int skipComments() throws IOException {
+        int lines = 0;
+        while (true) {
+            recordStart = pos;
+            ensure(maxCommentLength + 1);
+
+            int start = pos;
+            if (skipLF && start < buf.limit() && buf.get(start) == '\n') {
+                ++start;
+            }
+
+            // determine if the line starts with a configured comment
+            boolean commentFound = false;
+            for (int[] comment : comments) {
+                if (buf.startsWith(start, comment)) {
+                    commentFound = true;
+                    break;
+                }
+            }
+            if (!commentFound) {
+                return lines;
+            }
+
+            ++lines;
+            skipLF = false;
+            pos = start;
+
+            // finish reading the entire line
+            while (true) {
+                if (!available()) {
+                    return lines;
+                }
+                int c = buf.get(pos++);
+                if (recordTerminator == 0) {
+                    if (c == '\n') {
+                        break;
+                    }
+                    else if (c == '\r') {
+                        skipLF = true;
+                        break;
+                    }
+                }
+                else if (c == recordTerminator) {
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether at least one character is available in the buffer at
+     * the current position, reading from the input stream if needed.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean available() throws IOException {
+        return ensure(1);
+    }
+
+    /**
+     * Returns whether the character after the current position is available in
+     * the buffer, reading from the input stream if needed.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean lookAhead() throws IOException {
+        return ensure(2);
+    }
+
+    /**
+     * Reads from the input stream until the buffer contains at least <code>n</code>
+     * characters after the current position, or the end of the stream is reached.
+     * @param n the number of characters
+     * @return false if the end of the stream was reached first
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean ensure(int n) throws IOException {
+        while (buf.limit() - pos < n) {
+            if (!fill()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reads more characters from the input stream into the buffer.  Characters
+     * before the start of the current record are discarded.
+     * @return false if the end of the stream was reached
+     * @throws IOException if an I/O error occurs
+     */
+    private boolean fill() throws IOException {
+        if (buf.isEOF()) {
+            return false;
+        }
+        if (recordStart > 0) {
+            buf.compact(recordStart);
+            pos -= recordStart;
+            segmentStart -= recordStart;
+            recordStart = 0;
+        }
+        return buf.fill();
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        buf.close();
+    }
+}
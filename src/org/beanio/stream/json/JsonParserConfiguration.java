@@ -26,6 +26,8 @@ public class JsonParserConfiguration {
     private boolean pretty = false;
     private int indentation = 2;
     private String lineSeparator;
+    private boolean pullMode = false;
+    private boolean jsonLines = false;
 
     /**
      * Returns whether JSON output should be formatted prettily.
@@ -76,4 +78,48 @@ public class JsonParserConfiguration {
     public void setLineSeparator(String lineSeparator) {
         this.lineSeparator = lineSeparator;
     }
+    
+    /**
+     * Returns whether records are tokenized into a reusable {@link JsonRecord}
+     * instead of a {@link java.util.Map}.  Defaults to <code>false</code>.
+     * @return true to read records into a {@link JsonRecord}
+     * @since 3.3.0
+     */
+    public boolean isPullMode() {
+        return pullMode;
+    }
+    
+    /**
+     * Sets whether records are tokenized into a reusable {@link JsonRecord}
+     * instead of a {@link java.util.Map}.  When enabled, values are only converted
+     * to field text when bound, and members not mapped by the stream layout are skipped.
+     * A {@link org.beanio.BeanWriter} also marshals records into a reusable {@link JsonRecord}.
+     * @param pullMode true to read records into a {@link JsonRecord}
+     * @since 3.3.0
+     */
+    public void setPullMode(boolean pullMode) {
+        this.pullMode = pullMode;
+    }
+    
+    /**
+     * Returns whether each line of the stream is one JSON record (JSON Lines).
+     * Defaults to <code>false</code>.
+     * @return true if each line is one record
+     * @since 3.3.0
+     */
+    public boolean isJsonLines() {
+        return jsonLines;
+    }
+    
+    /**
+     * Sets whether each line of the stream is one JSON record (JSON Lines).  When enabled,
+     * records cannot span lines, a malformed record only affects its own line, and a file
+     * can be split on new lines for parallel reading.  If a line separator is not
+     * configured, records are written using a line feed.
+     * @param jsonLines true if each line is one record
+     * @since 3.3.0
+     */
+    public void setJsonLines(boolean jsonLines) {
+        this.jsonLines = jsonLines;
+    }
 }
@@ -36,13 +36,35 @@ public class JsonReader extends JsonReaderSupport implements RecordReader {
     private String recordText;
     private int recordLineNumber;
     
+    /* used to read and parse lines if JSON lines is enabled */
+    private BufferedReader lineReader;
+    private JsonRecordUnmarshaller lineParser;
+    private int lineNumber;
+    
     /**
      * Constructs a new <code>JsonReader</code>.
      * @param in the {@link Reader} to read from
      */
     public JsonReader(Reader in) {
-        filter = new RecordFilterReader(in);
-        setReader(filter);
+        this(in, null);
+    }
+    
+    /**
+     * Constructs a new <code>JsonReader</code>.
+     * @param in the {@link Reader} to read from
+     * @param config the {@link JsonParserConfiguration}, or <code>null</code> to use defaults
+     * @since 3.3.0
+     */
+    public JsonReader(Reader in, JsonParserConfiguration config) {
+        if (config != null && config.isJsonLines()) {
+            lineReader = in instanceof BufferedReader ? (BufferedReader) in : new BufferedReader(in);
+            lineParser = new JsonRecordUnmarshaller();
+            setReader(lineReader);
+        }
+        else {
+            filter = new RecordFilterReader(in);
+            setReader(filter);
+        }
     }
     
     /*
@@ -54,6 +76,9 @@ public class JsonReader extends JsonReaderSupport implements RecordReader {
         if (eof) {
             return null;
         }
+        if (lineReader != null) {
+            return readLine();
+        }
         
         try {
             int n;
@@ -80,6 +105,43 @@ public class JsonReader extends JsonReaderSupport implements RecordReader {
         return null;
     }
     
+    /**
+     * Reads the next non-blank line and parses it into a JSON object.
+     * @return the JSON object {@link Map}, or <code>null</code> if the end of the stream was reached
+     * @throws IOException
+     */
+    private Map<String,Object> readLine() throws IOException {
+        String line;
+        while ((line = lineReader.readLine()) != null) {
+            ++lineNumber;
+            if (isBlank(line)) {
+                continue;
+            }
+            
+            recordLineNumber = lineNumber;
+            recordText = line;
+            try {
+                return lineParser.parse(line);
+            }
+            catch (RecordIOException ex) {
+                throw new RecordIOException(ex.getMessage() + " at line " + lineNumber +
+                    ", near position " + lineParser.getPosition(), ex);
+            }
+        }
+        
+        eof = true;
+        return null;
+    }
+    
+    private boolean isBlank(String line) {
+        for (int i=0, j=line.length(); i<j; i++) {
+            if (!isWhitespace(line.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.stream.RecordReader#close()
@@ -0,0 +1,483 @@
+package org.beanio.stream.json;
+
+import java.util.*;
+
+import org.beanio.internal.util.JsonUtil;
+
+/**
+ * A compact, reusable representation of a JSON object read by a {@link JsonRecordReader}.
+ *
+ * <p>Objects, arrays and values are stored as indexed nodes in parallel arrays, where the
+ * record object itself is {@link #ROOT}.  Member names are shared with the reader's name
+ * table, and the text of strings, numbers and booleans is stored in a shared character buffer,
+ * so that reading a record does not allocate a {@link Map}, {@link List}, string or number per
+ * value.  Text is only converted to a {@link String} when requested.
+ *
+ * <p>Nodes are added in document order, and a parent's children are linked using
+ * {@link #getFirstChild(int)} and {@link #getNextSibling(int)}.  A <code>JsonRecord</code>
+ * is also used to marshal records for a {@link JsonWriter} without building a map.
+ *
+ * @since 3.3.0
+ * @see JsonParserConfiguration#setPullMode(boolean)
+ */
+public class JsonRecord {
+
+    /** The index of the record object */
+    public static final int ROOT = 0;
+    /** Index returned when a node does not exist */
+    public static final int NONE = -1;
+
+    /** JSON object type */
+    public static final char OBJECT = 'O';
+    /** JSON array type */
+    public static final char ARRAY = 'A';
+    /** JSON string type */
+    public static final char STRING = 'S';
+    /** JSON number type */
+    public static final char NUMBER = 'N';
+    /** JSON boolean type */
+    public static final char BOOLEAN = 'B';
+    /** JSON <code>null</code> */
+    public static final char NULL = 'Z';
+
+    private static final int INITIAL_SIZE = 32;
+
+    private int size;
+    private char[] type = new char[INITIAL_SIZE];
+    private String[] name = new String[INITIAL_SIZE];
+    private int[] parent = new int[INITIAL_SIZE];
+    private int[] firstChild = new int[INITIAL_SIZE];
+    private int[] lastChild = new int[INITIAL_SIZE];
+    private int[] nextSibling = new int[INITIAL_SIZE];
+    private int[] childCount = new int[INITIAL_SIZE];
+    private int[] textStart = new int[INITIAL_SIZE];
+    private int[] textLength = new int[INITIAL_SIZE];
+
+    private char[] text = new char[256];
+    private int textSize;
+
+    /* the last array element found by getElement(), which speeds up sequential access */
+    private int lastArray = NONE;
+    private int lastIndex;
+    private int lastElement;
+
+    /**
+     * Constructs a new <code>JsonRecord</code> containing an empty record object.
+     */
+    public JsonRecord() {
+        clear();
+    }
+
+    /**
+     * Removes all nodes except for an empty record object.
+     */
+    public void clear() {
+        size = 0;
+        textSize = 0;
+        lastArray = NONE;
+        addNode(NONE, null, OBJECT);
+    }
+
+    /**
+     * Adds a node to the end of a parent's children.  The text of a string, number or
+     * boolean node must be appended before another node is added.
+     * @param p the index of the parent object or array, or {@link #NONE}
+     * @param n the member name, or <code>null</code> if the parent is an array
+     * @param t the node type
+     * @return the index of the new node
+     */
+    public int addNode(int p, String n, char t) {
+        if (size == type.length) {
+            grow();
+        }
+        int node = size++;
+        type[node] = t;
+        name[node] = n;
+        parent[node] = p;
+        firstChild[node] = NONE;
+        lastChild[node] = NONE;
+        nextSibling[node] = NONE;
+        childCount[node] = 0;
+        textStart[node] = textSize;
+        textLength[node] = 0;
+
+        if (p != NONE) {
+            if (lastChild[p] == NONE) {
+                firstChild[p] = node;
+            }
+            else {
+                nextSibling[lastChild[p]] = node;
+            }
+            lastChild[p] = node;
+            childCount[p]++;
+        }
+        return node;
+    }
+
+    /**
+     * Replaces an object member with the last member added to the same object, which is
+     * moved to the position of the replaced member.
+     * @param old the index of the member to replace
+     * @param node the index of the last member of the same object
+     */
+    public void replace(int old, int node) {
+        int p = parent[old];
+
+        // unlink the node from the end of its parent
+        int prev = NONE;
+        for (int child = firstChild[p]; child != node; child = nextSibling[child]) {
+            prev = child;
+        }
+        nextSibling[prev] = NONE;
+        lastChild[p] = prev;
+
+        // and link it in place of the old member
+        prev = NONE;
+        for (int child = firstChild[p]; child != old; child = nextSibling[child]) {
+            prev = child;
+        }
+        if (prev == NONE) {
+            firstChild[p] = node;
+        }
+        else {
+            nextSibling[prev] = node;
+        }
+        nextSibling[node] = nextSibling[old];
+        if (lastChild[p] == old) {
+            lastChild[p] = node;
+        }
+        parent[old] = NONE;
+        childCount[p]--;
+    }
+
+    /**
+     * Sets the type of a node.
+     * @param node the node index
+     * @param t the node type
+     */
+    void setType(int node, char t) {
+        type[node] = t;
+    }
+
+    /**
+     * Appends characters to the text of the last node added.
+     * @param node the index of the last node added
+     * @param cbuf the characters to append
+     * @param off the offset of the first character
+     * @param len the number of characters
+     */
+    void appendText(int node, char[] cbuf, int off, int len) {
+        ensureText(len);
+        System.arraycopy(cbuf, off, text, textSize, len);
+        textSize += len;
+        textLength[node] += len;
+    }
+
+    /**
+     * Appends text to the last node added.
+     * @param node the index of the last node added
+     * @param s the text to append
+     */
+    public void appendText(int node, String s) {
+        int len = s.length();
+        ensureText(len);
+        s.getChars(0, len, text, textSize);
+        textSize += len;
+        textLength[node] += len;
+    }
+
+    /**
+     * Appends the decimal digits of a number to the text of the last node added.
+     * @param node the index of the last node added
+     * @param value the number to append
+     */
+    public void appendText(int node, long value) {
+        if (value == Long.MIN_VALUE) {
+            appendText(node, Long.toString(value));
+            return;
+        }
+
+        int len = 1;
+        if (value < 0) {
+            ++len;
+        }
+        for (long n = Math.abs(value); n >= 10; n /= 10) {
+            ++len;
+        }
+        ensureText(len);
+
+        int i = textSize + len;
+        long n = Math.abs(value);
+        do {
+            text[--i] = (char) ('0' + n % 10);
+            n /= 10;
+        }
+        while (n > 0);
+        if (value < 0) {
+            text[--i] = '-';
+        }
+        textSize += len;
+        textLength[node] += len;
+    }
+
+    /**
+     * Appends a character to the text of the last node added.
+     * @param node the index of the last node added
+     * @param c the character to append
+     */
+    void appendText(int node, char c) {
+        ensureText(1);
+        text[textSize++] = c;
+        textLength[node]++;
+    }
+
+    private void ensureText(int len) {
+        if (textSize + len > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textSize + len));
+        }
+    }
+
+    private void grow() {
+        int n = type.length * 2;
+        type = Arrays.copyOf(type, n);
+        name = Arrays.copyOf(name, n);
+        parent = Arrays.copyOf(parent, n);
+        firstChild = Arrays.copyOf(firstChild, n);
+        lastChild = Arrays.copyOf(lastChild, n);
+        nextSibling = Arrays.copyOf(nextSibling, n);
+        childCount = Arrays.copyOf(childCount, n);
+        textStart = Arrays.copyOf(textStart, n);
+        textLength = Arrays.copyOf(textLength, n);
+    }
+
+    /**
+     * Returns the number of nodes in this record, including the record object.
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the type of a node: {@link #OBJECT}, {@link #ARRAY}, {@link #STRING},
+     * {@link #NUMBER}, {@link #BOOLEAN} or {@link #NULL}.
+     * @param node the node index
+     * @return the node type
+     */
+    public char getType(int node) {
+        return type[node];
+    }
+
+    /**
+     * Returns the member name of a node.
+     * @param node the node index
+     * @return the member name, or <code>null</code> if the node is an array element
+     *   or the record object
+     */
+    public String getName(int node) {
+        return name[node];
+    }
+
+    /**
+     * Returns the parent of a node.
+     * @param node the node index
+     * @return the parent index, or {@link #NONE} for the record object
+     */
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    /**
+     * Returns the first child of an object or array.
+     * @param node the node index
+     * @return the index of the first child, or {@link #NONE}
+     */
+    public int getFirstChild(int node) {
+        return firstChild[node];
+    }
+
+    /**
+     * Returns the last child of an object or array.
+     * @param node the node index
+     * @return the index of the last child, or {@link #NONE}
+     */
+    public int getLastChild(int node) {
+        return lastChild[node];
+    }
+
+    /**
+     * Returns the next child of the same parent.
+     * @param node the node index
+     * @return the index of the next sibling, or {@link #NONE}
+     */
+    public int getNextSibling(int node) {
+        return nextSibling[node];
+    }
+
+    /**
+     * Returns the number of members of an object, or elements of an array.
+     * @param node the node index
+     * @return the number of children
+     */
+    public int getChildCount(int node) {
+        return childCount[node];
+    }
+
+    /**
+     * Finds an object member by name.  If the name is repeated, the last member is returned.
+     * @param object the index of the object
+     * @param memberName the member name
+     * @return the index of the member, or {@link #NONE} if not found
+     */
+    public int findMember(int object, String memberName) {
+        int found = NONE;
+        for (int node = firstChild[object]; node != NONE; node = nextSibling[node]) {
+            if (memberName.equals(name[node])) {
+                found = node;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns an array element by index.  Elements are found in constant time when accessed
+     * sequentially.
+     * @param array the index of the array
+     * @param index the index of the element in the array
+     * @return the index of the element node, or {@link #NONE} if the array has no such element
+     */
+    public int getElement(int array, int index) {
+        if (index < 0 || index >= childCount[array]) {
+            return NONE;
+        }
+
+        int node;
+        int i;
+        if (array == lastArray && index >= lastIndex) {
+            node = lastElement;
+            i = lastIndex;
+        }
+        else {
+            node = firstChild[array];
+            i = 0;
+        }
+        for (; i < index; i++) {
+            node = nextSibling[node];
+        }
+
+        lastArray = array;
+        lastIndex = index;
+        lastElement = node;
+        return node;
+    }
+
+    /**
+     * Returns the shared character buffer holding the text of all nodes.
+     * @return the text buffer
+     */
+    public char[] getTextCharacters() {
+        return text;
+    }
+
+    /**
+     * Returns the offset of a node's text in the shared character buffer.
+     * @param node the node index
+     * @return the text offset
+     */
+    public int getTextStart(int node) {
+        return textStart[node];
+    }
+
+    /**
+     * Returns the length of a node's text in the shared character buffer.
+     * @param node the node index
+     * @return the text length
+     */
+    public int getTextLength(int node) {
+        return textLength[node];
+    }
+
+    /**
+     * Returns the text of a node as it would be formatted by calling <code>toString()</code>
+     * on the value returned by {@link #getValue(int)}.
+     * @param node the node index
+     * @return the node text, or <code>null</code> if the node is JSON <code>null</code>
+     */
+    public String getText(int node) {
+        switch (type[node]) {
+        case STRING:
+            return new String(text, textStart[node], textLength[node]);
+        case NUMBER:
+            if (isCanonicalInteger(node)) {
+                return new String(text, textStart[node], textLength[node]);
+            }
+            return getValue(node).toString();
+        case BOOLEAN:
+            return text[textStart[node]] == 't' ? "true" : "false";
+        case NULL:
+            return null;
+        default:
+            return getValue(node).toString();
+        }
+    }
+
+    /**
+     * Returns whether the text of a number node would be unchanged by parsing it into
+     * an {@link Integer}.
+     */
+    private boolean isCanonicalInteger(int node) {
+        int i = textStart[node];
+        int end = i + textLength[node];
+        if (text[i] == '-') {
+            ++i;
+        }
+        int digits = end - i;
+        if (digits < 1 || digits > 9 || (text[i] == '0' && (digits > 1 || i > textStart[node]))) {
+            return false;
+        }
+        for (; i < end; i++) {
+            char c = text[i];
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the value of a node using the same types as {@link JsonReader}: a {@link Map}
+     * for an object, a {@link List} for an array, or a {@link String}, {@link Number},
+     * {@link Boolean} or <code>null</code>.
+     * @param node the node index
+     * @return the node value
+     */
+    public Object getValue(int node) {
+        switch (type[node]) {
+        case OBJECT:
+            Map<String,Object> map = new HashMap<>();
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                map.put(name[child], getValue(child));
+            }
+            return map;
+        case ARRAY:
+            List<Object> list = new ArrayList<>(childCount[node]);
+            for (int child = firstChild[node]; child != NONE; child = nextSibling[child]) {
+                list.add(getValue(child));
+            }
+            return list;
+        case STRING:
+            return new String(text, textStart[node], textLength[node]);
+        case NUMBER:
+            return JsonUtil.toNumber(new String(text, textStart[node], textLength[node]));
+        case BOOLEAN:
+            return text[textStart[node]] == 't' ? Boolean.TRUE : Boolean.FALSE;
+        default:
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.valueOf(getValue(ROOT));
+    }
+}
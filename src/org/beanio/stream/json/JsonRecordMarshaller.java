@@ -53,6 +53,9 @@ public class JsonRecordMarshaller extends JsonWriterSupport implements RecordMar
     @Override
     @SuppressWarnings("unchecked")
     public String marshal(Object record) {
+        if (record instanceof JsonRecord) {
+            return marshal((JsonRecord) record);
+        }
         return marshal((Map<String,Object>) record);
     }
     
@@ -62,8 +65,31 @@ public class JsonRecordMarshaller extends JsonWriterSupport implements RecordMar
      * @return the JSON formatted text
      */
     public String marshal(Map<String,Object> map) {
+        resetBuffer();
         try {
             super.write(map);
+            flushBuffer(false);
+            return out.toString();
+        }
+        catch (IOException ex) {
+            throw new IllegalStateException("Unexpected IOException caught", ex);
+        }
+        finally {
+            out.clear();
+        }
+    }
+    
+    /**
+     * Marshals a single JSON object.
+     * @param record the JSON object to marshal
+     * @return the JSON formatted text
+     * @since 3.3.0
+     */
+    public String marshal(JsonRecord record) {
+        resetBuffer();
+        try {
+            super.write(record);
+            flushBuffer(false);
             return out.toString();
         }
         catch (IOException ex) {
@@ -102,7 +128,7 @@ public class JsonRecordMarshaller extends JsonWriterSupport implements RecordMar
         public void close() { }
         
         public void clear() {
-            text = new StringBuilder();
+            text.setLength(0);
         }
         
         @Override
@@ -37,7 +37,11 @@ public class JsonRecordParserFactory extends JsonParserConfiguration implements
      * @see org.beanio.stream.RecordParserFactory#init()
      */
     @Override
-    public void init() throws IllegalArgumentException { }
+    public void init() throws IllegalArgumentException {
+        if (isJsonLines() && isPretty()) {
+            throw new IllegalArgumentException("pretty is not supported when jsonLines is enabled");
+        }
+    }
 
     /*
      * (non-Javadoc)
@@ -45,7 +49,10 @@ public class JsonRecordParserFactory extends JsonParserConfiguration implements
      */
     @Override
     public RecordReader createReader(Reader in) throws IllegalArgumentException {
-        return new JsonReader(in);
+        if (isPullMode()) {
+            return new JsonRecordReader(in, this);
+        }
+        return new JsonReader(in, this);
     }
 
     /*
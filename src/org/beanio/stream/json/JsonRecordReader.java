@@ -0,0 +1,695 @@
+package org.beanio.stream.json;
+
+import java.io.*;
+import java.util.*;
+
+import org.beanio.internal.util.JsonUtil;
+import org.beanio.stream.*;
+
+/**
+ * A {@link RecordReader} implementation for JSON formatted records that tokenizes
+ * the input stream from its own character buffer into a reusable {@link JsonRecord},
+ * which is returned by every call to {@link #read()}.
+ *
+ * <p>Member names are shared using a name table.  If the names of interest are set using
+ * {@link #setNames(Collection)}, members with any other name are skipped without being stored.
+ *
+ * <p>If JSON lines is enabled, each record must be on its own line.  A malformed record
+ * is skipped to the end of its line, so that the next call to {@link #read()} resumes with
+ * the next line.
+ *
+ * @since 3.3.0
+ * @see JsonParserConfiguration#setPullMode(boolean)
+ */
+public class JsonRecordReader implements RecordReader {
+
+    private static final int BUFFER_SIZE = 8192;
+    /* the maximum number of names learned when names are not set */
+    private static final int MAX_LEARNED_NAMES = 1024;
+
+    private Reader in;
+    private char[] buf = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+    /* the number of characters read before the start of the buffer */
+    private long bufOffset;
+    private boolean eof;
+    /* whether each line is one record */
+    private boolean lines;
+    /* whether a record is being read */
+    private boolean inRecord;
+
+    private JsonRecord record = new JsonRecord();
+
+    /* the name table, an open addressing hash table of member names */
+    private String[] names = new String[64];
+    private int nameCount;
+    private boolean namesRestricted;
+    private char[] nameBuf = new char[64];
+    private int nameLength;
+
+    /* line number tracking, updated lazily up to 'lineScanPos' */
+    private int lineNumber = 1;
+    private long lineStart;
+    private int lineScanPos;
+    private boolean skipLF;
+
+    /* record text tracking */
+    private int recordStart = -1;
+    private int recordEnd;
+    private StringBuilder recordPrefix = new StringBuilder();
+    private String recordText;
+    private int recordLineNumber;
+
+    /**
+     * Constructs a new <code>JsonRecordReader</code>.
+     * @param in the {@link Reader} to read from
+     */
+    public JsonRecordReader(Reader in) {
+        this(in, null);
+    }
+
+    /**
+     * Constructs a new <code>JsonRecordReader</code>.
+     * @param in the {@link Reader} to read from
+     * @param config the {@link JsonParserConfiguration}, or <code>null</code> to use defaults
+     */
+    public JsonRecordReader(Reader in, JsonParserConfiguration config) {
+        this.in = in;
+        this.lines = config != null && config.isJsonLines();
+    }
+
+    /**
+     * Sets the member names to store.  Members with any other name are skipped.
+     * @param names the member names, or <code>null</code> to store all members
+     */
+    public void setNames(Collection<String> names) {
+        this.names = new String[64];
+        this.nameCount = 0;
+        this.namesRestricted = names != null;
+        if (names != null) {
+            for (String name : names) {
+                if (name != null) {
+                    intern(name);
+                }
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#read()
+     */
+    @Override
+    public JsonRecord read() throws IOException, RecordIOException {
+        if (eof) {
+            return null;
+        }
+
+        recordStart = -1;
+        recordEnd = -1;
+        recordPrefix.setLength(0);
+        recordText = null;
+
+        try {
+            int c = skipWhitespace();
+            if (c == -1) {
+                eof = true;
+                return null;
+            }
+            if (c != '{') {
+                throw new RecordIOException("Unexpected character");
+            }
+
+            recordStart = pos - 1;
+            updateLineNumber(pos);
+            recordLineNumber = lineNumber;
+
+            record.clear();
+            inRecord = true;
+            readObject(JsonRecord.ROOT);
+            inRecord = false;
+            recordEnd = pos;
+            if (lines) {
+                skipLine(true);
+            }
+            return record;
+        }
+        catch (RecordIOException ex) {
+            inRecord = false;
+            updateLineNumber(pos);
+            RecordIOException error = new RecordIOException(ex.getMessage() + " at line " + lineNumber +
+                ", near position " + (bufOffset + pos - lineStart), ex);
+            if (lines) {
+                skipLine(false);
+            }
+            throw error;
+        }
+    }
+
+    /**
+     * Skips the remainder of the current line.
+     * @param validate whether to throw an exception if the line contains more than whitespace
+     * @throws IOException
+     */
+    private void skipLine(boolean validate) throws IOException {
+        while (pos < limit || fill()) {
+            char c = buf[pos];
+            if (c == '\n' || c == '\r') {
+                return;
+            }
+            if (validate && !isWhitespace(c)) {
+                throw new RecordIOException("Unexpected character");
+            }
+            ++pos;
+        }
+    }
+
+    /**
+     * Reads the members of an object after its opening brace.
+     * @param object the index of the object, or {@link JsonRecord#NONE} to skip its members
+     * @throws IOException
+     */
+    private void readObject(int object) throws IOException {
+        int c = skipWhitespace();
+        if (c == '}') {
+            return;
+        }
+        if (c != '"') {
+            throw new RecordIOException("Expected string or '}'");
+        }
+
+        while (true) {
+            String name = readName();
+
+            c = skipWhitespace();
+            if (c != ':') {
+                throw new RecordIOException("Expected ':'");
+            }
+            c = skipWhitespace();
+            if (c == -1) {
+                throw new RecordIOException("Expected value");
+            }
+            readValue(object != JsonRecord.NONE && name != null ? object : JsonRecord.NONE, name, c);
+
+            c = skipWhitespace();
+            if (c == '}') {
+                return;
+            }
+            if (c != ',') {
+                throw new RecordIOException("Expected ',' or '}'");
+            }
+            if (skipWhitespace() != '"') {
+                throw new RecordIOException("Expected '\"'");
+            }
+        }
+    }
+
+    /**
+     * Reads the elements of an array after its opening bracket.
+     * @param array the index of the array, or {@link JsonRecord#NONE} to skip its elements
+     * @throws IOException
+     */
+    private void readArray(int array) throws IOException {
+        int c = skipWhitespace();
+        if (c == ']') {
+            return;
+        }
+
+        while (true) {
+            if (c == -1) {
+                throw new RecordIOException("Expected value");
+            }
+            readValue(array, null, c);
+
+            c = skipWhitespace();
+            if (c == ']') {
+                return;
+            }
+            if (c == -1) {
+                throw new RecordIOException("Expected ',' or ']'");
+            }
+            if (c != ',') {
+                throw new RecordIOException("Expected ','");
+            }
+            c = skipWhitespace();
+        }
+    }
+
+    /**
+     * Reads a value.
+     * @param parent the index of the parent object or array, or {@link JsonRecord#NONE}
+     *   if the value is skipped
+     * @param name the member name, or <code>null</code> if the parent is an array
+     * @param c the first character of the value
+     * @throws IOException
+     */
+    private void readValue(int parent, String name, int c) throws IOException {
+        int node;
+        switch (c) {
+        case '"':
+            node = parent == JsonRecord.NONE ? JsonRecord.NONE : record.addNode(parent, name, JsonRecord.STRING);
+            readString(node);
+            break;
+        case '{':
+            node = parent == JsonRecord.NONE ? JsonRecord.NONE : record.addNode(parent, name, JsonRecord.OBJECT);
+            readObject(node);
+            break;
+        case '[':
+            node = parent == JsonRecord.NONE ? JsonRecord.NONE : record.addNode(parent, name, JsonRecord.ARRAY);
+            readArray(node);
+            break;
+        default:
+            readLiteral(parent, name, (char) c);
+            break;
+        }
+    }
+
+    /**
+     * Reads a string value after its opening quote.
+     * @param node the index of the string node, or {@link JsonRecord#NONE} to skip it
+     * @throws IOException
+     */
+    private void readString(int node) throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                throw new RecordIOException("Expected '\"'");
+            }
+
+            // copy unescaped characters in bulk
+            int start = pos;
+            while (pos < limit) {
+                char c = buf[pos];
+                if (c == '"' || c == '\\' || (lines && (c == '\n' || c == '\r'))) {
+                    break;
+                }
+                ++pos;
+            }
+            if (node != JsonRecord.NONE && pos > start) {
+                record.appendText(node, buf, start, pos - start);
+            }
+            if (pos == limit) {
+                continue;
+            }
+
+            char c = buf[pos++];
+            if (c == '"') {
+                return;
+            }
+            if (c != '\\') {
+                // a record cannot span lines
+                --pos;
+                throw new RecordIOException("Expected '\"'");
+            }
+            c = readEscaped();
+            if (node != JsonRecord.NONE) {
+                record.appendText(node, c);
+            }
+        }
+    }
+
+    /**
+     * Reads a member name after its opening quote, and returns the name from the name table.
+     * @return the member name, or <code>null</code> if the member should be skipped
+     * @throws IOException
+     */
+    private String readName() throws IOException {
+        nameLength = 0;
+        int hash = 0;
+        while (true) {
+            int n = readChar();
+            if (n == -1) {
+                throw new RecordIOException("Expected '\"'");
+            }
+            char c = (char) n;
+            if (c == '"') {
+                break;
+            }
+            if (c == '\\') {
+                c = readEscaped();
+            }
+            if (nameLength == nameBuf.length) {
+                nameBuf = Arrays.copyOf(nameBuf, nameLength * 2);
+            }
+            nameBuf[nameLength++] = c;
+            hash = 31 * hash + c;
+        }
+
+        int mask = names.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            String name = names[i];
+            if (name == null) {
+                break;
+            }
+            if (name.hashCode() == hash && matchesName(name)) {
+                return name;
+            }
+        }
+
+        if (namesRestricted) {
+            return null;
+        }
+        String name = new String(nameBuf, 0, nameLength);
+        if (nameCount < MAX_LEARNED_NAMES) {
+            intern(name);
+        }
+        return name;
+    }
+
+    private boolean matchesName(String name) {
+        if (name.length() != nameLength) {
+            return false;
+        }
+        for (int i = 0; i < nameLength; i++) {
+            if (name.charAt(i) != nameBuf[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Adds a name to the name table.
+     * @param name the name to add
+     */
+    private void intern(String name) {
+        if ((nameCount + 1) * 2 > names.length) {
+            String[] old = names;
+            names = new String[old.length * 2];
+            for (String s : old) {
+                if (s != null) {
+                    put(s);
+                }
+            }
+        }
+        if (put(name)) {
+            ++nameCount;
+        }
+    }
+
+    private boolean put(String name) {
+        int mask = names.length - 1;
+        for (int i = name.hashCode() & mask; ; i = (i + 1) & mask) {
+            if (names[i] == null) {
+                names[i] = name;
+                return true;
+            }
+            if (names[i].equals(name)) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads a null, boolean or numeric value.
+     * @param parent the index of the parent, or {@link JsonRecord#NONE} if the value is skipped
+     * @param name the member name, or <code>null</code> if the parent is an array
+     * @param first the first character of the value
+     * @throws IOException
+     */
+    private void readLiteral(int parent, String name, char first) throws IOException {
+        // the literal is collected in the name buffer, which is free once a value is being read
+        nameLength = 0;
+        nameBuf[nameLength++] = first;
+        while (true) {
+            if (pos == limit && !fill()) {
+                break;
+            }
+            char c = buf[pos];
+            if (c == ',' || c == '}' || c == ']' || isWhitespace(c)) {
+                break;
+            }
+            if (nameLength == nameBuf.length) {
+                nameBuf = Arrays.copyOf(nameBuf, nameLength * 2);
+            }
+            nameBuf[nameLength++] = c;
+            ++pos;
+        }
+
+        char type;
+        if (isLiteral("null")) {
+            type = JsonRecord.NULL;
+        }
+        else if (isLiteral("true") || isLiteral("false")) {
+            type = JsonRecord.BOOLEAN;
+        }
+        else {
+            type = JsonRecord.NUMBER;
+            if (!isSimpleNumber()) {
+                String text = new String(nameBuf, 0, nameLength);
+                try {
+                    JsonUtil.toNumber(text);
+                }
+                catch (NumberFormatException ex) {
+                    throw new RecordIOException("Cannot parse '" + text + "' into a JSON string, number or boolean", ex);
+                }
+            }
+        }
+
+        if (parent != JsonRecord.NONE) {
+            int node = record.addNode(parent, name, type);
+            record.appendText(node, nameBuf, 0, nameLength);
+        }
+    }
+
+    private boolean isLiteral(String literal) {
+        return matchesName(literal);
+    }
+
+    /**
+     * Returns whether the literal in the name buffer is a number that
+     * {@link JsonUtil#toNumber(String)} can always parse, without an exponent and
+     * with few enough digits that it cannot overflow.
+     */
+    private boolean isSimpleNumber() {
+        int i = 0;
+        if (nameBuf[0] == '-') {
+            ++i;
+        }
+        int digits = 0;
+        boolean point = false;
+        for (; i < nameLength; i++) {
+            char c = nameBuf[i];
+            if (c >= '0' && c <= '9') {
+                ++digits;
+            }
+            else if (c == '.' && !point && digits > 0) {
+                point = true;
+            }
+            else {
+                return false;
+            }
+        }
+        return digits > 0 && digits <= 18 && nameBuf[nameLength - 1] != '.';
+    }
+
+    /**
+     * Reads an escaped character after its backslash.
+     * @return the unescaped character
+     * @throws IOException
+     */
+    private char readEscaped() throws IOException {
+        int n = readChar();
+        if (n == -1) {
+            throw new RecordIOException("Expected '\"'");
+        }
+        char c = (char) n;
+        switch (c) {
+        case '"':
+        case '\\':
+        case '/':
+            return c;
+        case 't':
+            return '\t';
+        case 'b':
+            return '\u0008';
+        case 'f':
+            return '\f';
+        case 'n':
+            return '\n';
+        case 'r':
+            return '\r';
+        case 'u':
+            return readUnicode();
+        default:
+            throw new RecordIOException("Invalid escaped character: '" + c + "'");
+        }
+    }
+
+    /**
+     * Reads the 4 hexadecimal digits of a Unicode character.
+     * @return the Unicode character
+     * @throws IOException
+     */
+    private char readUnicode() throws IOException {
+        int value = 0;
+        char[] digits = new char[4];
+        for (int i = 0; i < 4; i++) {
+            int n = readChar();
+            if (n == -1 || isWhitespace((char) n)) {
+                throw new RecordIOException("Expected unicode value");
+            }
+            digits[i] = (char) n;
+            int d = Character.digit(digits[i], 16);
+            if (d < 0) {
+                throw new RecordIOException("Invalid unicode character '\\u" + new String(digits, 0, i + 1) + "'");
+            }
+            value = (value << 4) | d;
+        }
+        return (char) value;
+    }
+
+    /**
+     * Returns the next character that is not whitespace.
+     * @return the next character, or -1 if the end of the stream was reached
+     * @throws IOException
+     */
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            if (pos == limit && !fill()) {
+                return -1;
+            }
+            char c = buf[pos++];
+            if (!isWhitespace(c)) {
+                return c;
+            }
+            if (lines && inRecord && (c == '\n' || c == '\r')) {
+                // a record cannot span lines
+                --pos;
+                return -1;
+            }
+        }
+    }
+
+    /**
+     * Returns the next character.
+     * @return the next character, or -1 if the end of the stream was reached
+     * @throws IOException
+     */
+    private int readChar() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        char c = buf[pos++];
+        if (lines && (c == '\n' || c == '\r')) {
+            // a record cannot span lines
+            --pos;
+            return -1;
+        }
+        return c;
+    }
+
+    /**
+     * Refills the buffer once all of its characters have been read.
+     * @return <code>false</code> if the end of the stream was reached
+     * @throws IOException
+     */
+    private boolean fill() throws IOException {
+        updateLineNumber(limit);
+        if (recordStart >= 0) {
+            if (recordEnd >= 0) {
+                // the record is complete, so its text is created before the buffer is reused
+                getRecordText();
+                recordStart = -1;
+            }
+            else {
+                recordPrefix.append(buf, recordStart, limit - recordStart);
+                recordStart = 0;
+            }
+        }
+        bufOffset += limit;
+        pos = 0;
+        limit = 0;
+        lineScanPos = 0;
+
+        int n;
+        do {
+            n = in.read(buf, 0, buf.length);
+        }
+        while (n == 0);
+
+        if (n < 0) {
+            return false;
+        }
+        limit = n;
+        return true;
+    }
+
+    /**
+     * Counts the line breaks in the buffer up to the given position.
+     * @param end the buffer position
+     */
+    private void updateLineNumber(int end) {
+        for (int i = lineScanPos; i < end; i++) {
+            char c = buf[i];
+            if (c == '\n') {
+                if (skipLF) {
+                    skipLF = false;
+                }
+                else {
+                    ++lineNumber;
+                }
+                lineStart = bufOffset + i + 1;
+            }
+            else if (c == '\r') {
+                skipLF = true;
+                ++lineNumber;
+                lineStart = bufOffset + i + 1;
+            }
+            else {
+                skipLF = false;
+            }
+        }
+        lineScanPos = Math.max(lineScanPos, end);
+    }
+
+    private static boolean isWhitespace(char c) {
+        switch (c) {
+        case ' ':
+        case '\n':
+        case '\r':
+        case '\t':
+            return true;
+        default:
+            return false;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        if (in != null) {
+            try {
+                in.close();
+            }
+            finally {
+                in = null;
+            }
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordLineNumber()
+     */
+    @Override
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordText()
+     */
+    @Override
+    public String getRecordText() {
+        if (recordText == null && recordStart >= 0) {
+            int end = recordEnd >= 0 ? recordEnd : pos;
+            recordText = recordPrefix.toString() + new String(buf, recordStart, end - recordStart);
+        }
+        return recordText;
+    }
+}
@@ -48,9 +48,26 @@ public class JsonRecordUnmarshaller extends JsonReaderSupport implements RecordU
             return null;
         }
         
+        try {
+            return parse(text);
+        }
+        catch (RecordIOException ex) {
+            throw new RecordIOException(ex.getMessage() + " near position " + getPosition(), ex);
+        }
+    }
+    
+    /**
+     * Parses a single JSON object.  If the text cannot be parsed, the position of the
+     * error is returned by {@link #getPosition()}.
+     * @param text the text to parse
+     * @return the JSON object {@link Map}
+     * @throws RecordIOException if the text is not a single JSON object
+     */
+    Map<String,Object> parse(String text) throws RecordIOException {
         Map<String,Object> map = null;
         
         reader.setText(text);
+        eof = false;
         
         try {    
             int state = 0;
@@ -78,20 +95,30 @@ public class JsonRecordUnmarshaller extends JsonReaderSupport implements RecordU
                 }
             }
         }
+        catch (RecordIOException ex) {
+            throw ex;
+        }
         catch (IOException ex) {
             throw new IllegalStateException("Unexpected IOException caught", ex);
         }
-        catch (RecordIOException ex) {
-            throw new RecordIOException(ex.getMessage() + " near position " + reader.getPosition(), ex);
-        }
         
         if (map == null) {
-            throw new RecordIOException("Expected '{' near position 1");
+            // a missing object is reported at the start of the text
+            reader.setText("");
+            throw new RecordIOException("Expected '{'");
         }
         
         return map;
     }
     
+    /**
+     * Returns the position of the last character parsed.
+     * @return the position, starting at 1
+     */
+    int getPosition() {
+        return Math.max(1, reader.getPosition());
+    }
+    
     /*
      * Reader implementation for reading from a String.
      */
@@ -56,8 +56,14 @@ public class JsonWriter extends JsonWriterSupport implements RecordWriter {
     @Override
     @SuppressWarnings("unchecked")
     public void write(Object record) throws IOException {
-        write((Map<String,Object>)record);
-        out.write(getLineSeparator());
+        resetBuffer();
+        if (record instanceof JsonRecord) {
+            write((JsonRecord)record);
+        }
+        else {
+            write((Map<String,Object>)record);
+        }
+        flushBuffer(true);
     }
     
     /*
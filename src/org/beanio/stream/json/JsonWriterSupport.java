@@ -22,7 +22,8 @@ import java.util.*;
  * Base class for writing a JSON formatted stream.  
  * 
  * The {@link #init(Writer, JsonParserConfiguration)} method must be invoked before
- * any writeXXX method.
+ * any writeXXX method.  Output is collected in a reusable character buffer, which
+ * subclasses write to the underlying {@link Writer} using {@link #flushBuffer(boolean)}.
  * 
  * @author Kevin Seim
  * @since 2.0
@@ -32,6 +33,19 @@ public abstract class JsonWriterSupport {
 
     private static final String DEFAULT_LINE_SEP = System.getProperty("line.separator");
     
+    /* escape sequences indexed by character, or null if a character is not escaped */
+    private static final String[] ESCAPES = new String[128];
+    static {
+        ESCAPES['"'] = "\\\"";
+        ESCAPES['\\'] = "\\\\";
+        ESCAPES['/'] = "\\/";
+        ESCAPES['\t'] = "\\t";
+        ESCAPES['\n'] = "\\n";
+        ESCAPES['\r'] = "\\r";
+        ESCAPES['\f'] = "\\f";
+        ESCAPES['\b'] = "\\b";
+    }
+    
     private Writer out;
     
     private boolean pretty = true;
@@ -41,6 +55,10 @@ public abstract class JsonWriterSupport {
     private transient boolean indentEnabled = true;
     private transient int level = 0;
     
+    /* the output buffer */
+    private transient char[] buf = new char[1024];
+    private transient int size = 0;
+    
     /**
      * Constructs a new <code>JsonWriterSupport</code>.
      */
@@ -59,6 +77,9 @@ public abstract class JsonWriterSupport {
         if (config.getLineSeparator() != null) {
             this.lineSeparator = config.getLineSeparator();
         }
+        else if (config.isJsonLines()) {
+            this.lineSeparator = "\n";
+        }
     }
     
     /**
@@ -68,16 +89,16 @@ public abstract class JsonWriterSupport {
      */
     protected void write(Map<String,Object> map) throws IOException {
         ++level;
-        out.write('{');
+        append('{');
 
         boolean comma = false;
         for (Map.Entry<String,Object> entry : map.entrySet()) {
             if (comma) {
-                out.write(',');
+                append(',');
                 if (indentEnabled)
                     newLine();
                 else if (pretty)
-                    out.write(' ');
+                    append(' ');
             }
             else {   
                 checkLine();
@@ -85,10 +106,10 @@ public abstract class JsonWriterSupport {
             
             writeString(entry.getKey());
             if (pretty) {
-                out.write(": ");
+                append(": ");
             }
             else {
-                out.write(':');
+                append(':');
             }
             writeValue(entry.getValue());
             
@@ -97,7 +118,7 @@ public abstract class JsonWriterSupport {
         
         --level;
         checkLine();
-        out.write('}');
+        append('}');
     }
     
     /**
@@ -110,13 +131,16 @@ public abstract class JsonWriterSupport {
     @SuppressWarnings("unchecked")
     protected void writeValue(Object value) throws IOException {
         if (value == null) {    
-            out.write("null");
+            append("null");
         }
         else if (value instanceof String) {
             writeString((String)value);
         }
+        else if (value instanceof Integer || value instanceof Long) {
+            writeNumber(((Number) value).longValue());
+        }
         else if (value instanceof Boolean || value instanceof Number) {
-            out.write(value.toString());
+            append(value.toString());
         }
         else if (value instanceof Map) {
             write((Map<String,Object>)value);
@@ -135,36 +159,72 @@ public abstract class JsonWriterSupport {
      * @throws IOException
      */
     protected void writeString(String text) throws IOException {
-        out.write('"');
-        for (char c : text.toCharArray()) {
-            switch (c) {
-            case '"':
-            case '\\':
-            case '/':
-                out.write('\\');
-                out.write(c);
-                break;
-            case '\t':
-                out.write("\\t");
-                break;
-            case '\n':
-                out.write("\\n");
-                break;
-            case '\r':
-                out.write("\\r");
-                break;
-            case '\f':
-                out.write("\\f");
-                break;
-            case '\b':
-                out.write("\\b");
-                break;
-            default:
-                out.write(c);
-                break;
+        append('"');
+        int start = 0;
+        for (int i=0, j=text.length(); i<j; i++) {
+            char c = text.charAt(i);
+            if (c < ESCAPES.length && ESCAPES[c] != null) {
+                append(text, start, i - start);
+                append(ESCAPES[c]);
+                start = i + 1;
+            }
+        }
+        append(text, start, text.length() - start);
+        append('"');
+    }
+    
+    /**
+     * Writes characters in JSON string format.
+     * @param cbuf the characters to write
+     * @param off the offset of the first character
+     * @param len the number of characters
+     * @throws IOException
+     */
+    private void writeString(char[] cbuf, int off, int len) throws IOException {
+        append('"');
+        int start = off;
+        for (int i=off, j=off+len; i<j; i++) {
+            char c = cbuf[i];
+            if (c < ESCAPES.length && ESCAPES[c] != null) {
+                append(cbuf, start, i - start);
+                append(ESCAPES[c]);
+                start = i + 1;
             }
         }
-        out.write('"');
+        append(cbuf, start, off + len - start);
+        append('"');
+    }
+    
+    /**
+     * Writes an integer in JSON number format.
+     * @param value the number to write
+     */
+    private void writeNumber(long value) {
+        if (value == Long.MIN_VALUE) {
+            append(Long.toString(value));
+            return;
+        }
+        
+        int len = 1;
+        if (value < 0) {
+            ++len;
+        }
+        for (long n = Math.abs(value); n >= 10; n /= 10) {
+            ++len;
+        }
+        ensureCapacity(len);
+        
+        int i = size + len;
+        long n = Math.abs(value);
+        do {
+            buf[--i] = (char) ('0' + n % 10);
+            n /= 10;
+        }
+        while (n > 0);
+        if (value < 0) {
+            buf[--i] = '-';
+        }
+        size += len;
     }
     
     /**
@@ -239,11 +299,11 @@ public abstract class JsonWriterSupport {
     protected void writeArray(Iterable<Object> iterable) throws IOException {
         Iterator<Object> iter = iterable.iterator();
         if (!iter.hasNext()) {
-            out.write("[]");
+            append("[]");
             return;
         }
         
-        out.write('[');
+        append('[');
         
         Object value = iter.next();
         
@@ -257,7 +317,7 @@ public abstract class JsonWriterSupport {
                 newLine();
                 writeValue(value);
                 while (iter.hasNext()) {
-                    out.write(',');
+                    append(',');
                     newLine();
                     writeValue(iter.next());
                 }
@@ -268,7 +328,7 @@ public abstract class JsonWriterSupport {
             else {
                 writeValue(value);
                 while (iter.hasNext()) {
-                    out.write(", ");
+                    append(", ");
                     writeValue(iter.next());
                 }
             }
@@ -280,12 +340,180 @@ public abstract class JsonWriterSupport {
         else {
             writeValue(value);
             while (iter.hasNext()) {
-                out.write(',');
+                append(',');
                 writeValue(iter.next());
             }
         }
         
-        out.write(']');
+        append(']');
+    }
+    
+    /**
+     * Writes a {@link JsonRecord} in JSON object format.  The output is the same as
+     * writing the {@link Map} returned by {@link JsonRecord#getValue(int)}.
+     * @param record the {@link JsonRecord} to write
+     * @throws IOException
+     * @since 3.3.0
+     */
+    protected void write(JsonRecord record) throws IOException {
+        writeObject(record, JsonRecord.ROOT);
+    }
+    
+    private void writeObject(JsonRecord record, int object) throws IOException {
+        ++level;
+        append('{');
+
+        boolean comma = false;
+        for (int node = record.getFirstChild(object); node != JsonRecord.NONE; node = record.getNextSibling(node)) {
+            if (comma) {
+                append(',');
+                if (indentEnabled)
+                    newLine();
+                else if (pretty)
+                    append(' ');
+            }
+            else {   
+                checkLine();
+            }
+            
+            writeString(record.getName(node));
+            if (pretty) {
+                append(": ");
+            }
+            else {
+                append(':');
+            }
+            writeNode(record, node);
+            
+            comma = true;
+        }
+        
+        --level;
+        checkLine();
+        append('}');
+    }
+    
+    private void writeNode(JsonRecord record, int node) throws IOException {
+        switch (record.getType(node)) {
+        case JsonRecord.OBJECT:
+            writeObject(record, node);
+            break;
+        case JsonRecord.ARRAY:
+            writeArray(record, node);
+            break;
+        case JsonRecord.STRING:
+            writeString(record.getTextCharacters(), record.getTextStart(node), record.getTextLength(node));
+            break;
+        case JsonRecord.NULL:
+            append("null");
+            break;
+        default: // number or boolean
+            append(record.getTextCharacters(), record.getTextStart(node), record.getTextLength(node));
+            break;
+        }
+    }
+    
+    private void writeArray(JsonRecord record, int array) throws IOException {
+        int node = record.getFirstChild(array);
+        if (node == JsonRecord.NONE) {
+            append("[]");
+            return;
+        }
+        
+        append('[');
+        
+        if (pretty) {
+            boolean updated = indentEnabled;
+            indentEnabled = false;
+            
+            // write array of objects:
+            if (record.getType(node) == JsonRecord.OBJECT) {
+                ++level;
+                newLine();
+                writeNode(record, node);
+                while ((node = record.getNextSibling(node)) != JsonRecord.NONE) {
+                    append(',');
+                    newLine();
+                    writeNode(record, node);
+                }
+                --level;
+                newLine();
+            }
+            // write array of other
+            else {
+                writeNode(record, node);
+                while ((node = record.getNextSibling(node)) != JsonRecord.NONE) {
+                    append(", ");
+                    writeNode(record, node);
+                }
+            }
+            
+            if (updated) {
+                indentEnabled = true;
+            }
+        }
+        else {
+            writeNode(record, node);
+            while ((node = record.getNextSibling(node)) != JsonRecord.NONE) {
+                append(',');
+                writeNode(record, node);
+            }
+        }
+        
+        append(']');
+    }
+    
+    /**
+     * Writes the output buffer to the underlying {@link Writer}.
+     * @param lineSeparator true to append the line separator first
+     * @throws IOException if an I/O error occurs
+     * @since 3.3.0
+     */
+    protected void flushBuffer(boolean lineSeparator) throws IOException {
+        if (lineSeparator) {
+            append(this.lineSeparator);
+        }
+        int len = size;
+        size = 0;
+        out.write(buf, 0, len);
+    }
+    
+    /**
+     * Discards any output left in the buffer by a failed write.
+     */
+    void resetBuffer() {
+        size = 0;
+        level = 0;
+        indentEnabled = pretty;
+    }
+    
+    private void append(char c) {
+        if (size == buf.length) {
+            ensureCapacity(1);
+        }
+        buf[size++] = c;
+    }
+    
+    private void append(String s) {
+        append(s, 0, s.length());
+    }
+    
+    private void append(String s, int off, int len) {
+        ensureCapacity(len);
+        s.getChars(off, off + len, buf, size);
+        size += len;
+    }
+    
+    private void append(char[] cbuf, int off, int len) {
+        ensureCapacity(len);
+        System.arraycopy(cbuf, off, buf, size, len);
+        size += len;
+    }
+    
+    private void ensureCapacity(int len) {
+        if (size + len > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + len));
+        }
     }
     
     private void checkLine() throws IOException {
@@ -295,9 +523,9 @@ public abstract class JsonWriterSupport {
     }
     
     private void newLine() throws IOException {
-        out.write(lineSeparator);
+        append(lineSeparator);
         for (int i=0, j=level * indent; i<j; i++) {
-            out.write(' ');
+            append(' ');
         }
     }
 
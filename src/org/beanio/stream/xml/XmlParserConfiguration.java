@@ -17,6 +17,8 @@ package org.beanio.stream.xml;
 
 import java.util.*;
 
+import org.beanio.internal.util.Settings;
+
 /**
  * Stores configuration settings for parsing XML formatted streams.
  *
@@ -33,6 +35,10 @@ public class XmlParserConfiguration implements Cloneable {
     private boolean suppressHeader = false;
     private String version = "1.0";
     private String encoding = "utf-8";
+    private boolean eventMode = false;
+    private String xsiNamespacePrefix = Settings.getInstance().getProperty(Settings.DEFAULT_XSI_NAMESPACE_PREFIX);
+    private boolean deltaEnabled = "true".equals(Settings.getInstance().getProperty(
+        Settings.XML_WRITER_UPDATE_STATE_USING_DELTA));
     
     /* Map of namespace prefixes to namespace uri's */
     private Map<String,String> namespaceMap = new HashMap<>();
@@ -139,6 +145,68 @@ public class XmlParserConfiguration implements Cloneable {
         this.encoding = encoding;
     }
     
+    /**
+     * Returns whether records are read from XML stream events, and written to
+     * XML stream events, without building a document object model.  Defaults to <code>false</code>.
+     * @return <code>true</code> if records are read into and written from a {@link XmlRecord}
+     * @since 3.3.0
+     */
+    public boolean isEventMode() {
+        return eventMode;
+    }
+    
+    /**
+     * Sets whether records are read from XML stream events, and written to XML stream
+     * events, without building a document object model (DOM) for each record.  If set to
+     * <code>true</code>, records read from an input stream, and records passed to a
+     * {@link XmlWriter} by a <code>BeanWriter</code>, are {@link XmlRecord} objects instead of a DOM.
+     * @param eventMode <code>true</code> to read and write records using a {@link XmlRecord}
+     * @since 3.3.0
+     */
+    public void setEventMode(boolean eventMode) {
+        this.eventMode = eventMode;
+    }
+    
+    /**
+     * Returns the namespace prefix used for the XML schema instance namespace when a
+     * prefix is not declared.  Defaults to the <code>org.beanio.xml.xsiNamespacePrefix</code> setting.
+     * @return the XML schema instance namespace prefix
+     * @since 3.3.0
+     */
+    public String getXsiNamespacePrefix() {
+        return xsiNamespacePrefix;
+    }
+    
+    /**
+     * Sets the namespace prefix used for the XML schema instance namespace when a
+     * prefix is not declared.
+     * @param xsiNamespacePrefix the XML schema instance namespace prefix
+     * @since 3.3.0
+     */
+    public void setXsiNamespacePrefix(String xsiNamespacePrefix) {
+        this.xsiNamespacePrefix = xsiNamespacePrefix;
+    }
+    
+    /**
+     * Returns whether a {@link XmlWriter} only stores the changes to its state since the state
+     * was last updated.  Defaults to the <code>org.beanio.stream.xml.XmlWriter.deltaEnabled</code> setting.
+     * @return <code>true</code> if state is updated using a delta
+     * @since 3.3.0
+     */
+    public boolean isDeltaEnabled() {
+        return deltaEnabled;
+    }
+    
+    /**
+     * Sets whether a {@link XmlWriter} only stores the changes to its state since the state
+     * was last updated.
+     * @param deltaEnabled <code>true</code> to update state using a delta
+     * @since 3.3.0
+     */
+    public void setDeltaEnabled(boolean deltaEnabled) {
+        this.deltaEnabled = deltaEnabled;
+    }
+    
     /**
      * Adds a namespace to be set on the root element.
      * @param prefix the namespace prefix
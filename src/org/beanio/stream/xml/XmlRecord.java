@@ -0,0 +1,674 @@
+package org.beanio.stream.xml;
+
+import java.util.Arrays;
+
+import javax.xml.XMLConstants;
+
+import org.w3c.dom.*;
+
+/**
+ * A compact, reusable model of an XML record, used in place of a document object model (DOM)
+ * by a {@link XmlRecordReader} and a {@link XmlWriter}.
+ *
+ * <p>Nodes are stored in parallel arrays and identified by their index, so that building
+ * a record does not allocate any objects other than attribute values.  Index
+ * {@link #DOCUMENT} identifies the document itself.  A node is either an element, or a text
+ * node if its local name is <code>null</code>.  The text of all text nodes is stored in a
+ * single character buffer.
+ *
+ * <p>When reading, the document node is followed by the elements of the base document that
+ * define the group structure of the XML, and then by the nodes of the current record.  The
+ * root element of the current record is appended to the group element it was read from, and
+ * removed when the record is cleared.  The number of times a group element was read from the
+ * input stream is available from {@link #getCount(int)}, in place of the
+ * <code>XmlReader.GROUP_COUNT</code> user data set on a base DOM element.
+ *
+ * <p>When writing, element flags replace the DOM user data keys used by a {@link XmlWriter}.
+ *
+ * @since 3.3.0
+ * @see XmlRecordReader
+ */
+public class XmlRecord {
+
+    /** The index of the document node */
+    public static final int DOCUMENT = 0;
+    /** The index returned when a node is not found */
+    public static final int NONE = -1;
+
+    /** Element flag indicating a group element that is left open when the record is written */
+    public static final int GROUP = 1;
+    /** Element flag indicating the namespace of the element is ignored */
+    public static final int NAMESPACE_IGNORED = 2;
+    /** Element flag indicating the namespace of the element overrides the default namespace */
+    public static final int DEFAULT_NAMESPACE = 4;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /* the number of nodes, including the document node */
+    private int size;
+    /* the number of nodes in the base document, including the document node */
+    private int baseSize;
+
+    private String[] localName = new String[INITIAL_CAPACITY];
+    private String[] namespace = new String[INITIAL_CAPACITY];
+    private String[] prefix = new String[INITIAL_CAPACITY];
+    private int[] flags = new int[INITIAL_CAPACITY];
+    private int[] parent = new int[INITIAL_CAPACITY];
+    private int[] firstChild = new int[INITIAL_CAPACITY];
+    private int[] lastChild = new int[INITIAL_CAPACITY];
+    private int[] nextSibling = new int[INITIAL_CAPACITY];
+    private int[] count = new int[INITIAL_CAPACITY];
+    private int[] textStart = new int[INITIAL_CAPACITY];
+    private int[] textLength = new int[INITIAL_CAPACITY];
+    private int[] firstAttribute = new int[INITIAL_CAPACITY];
+    private int[] lastAttribute = new int[INITIAL_CAPACITY];
+
+    /* attributes of all record elements */
+    private int attributes;
+    private String[] attributeNamespace = new String[INITIAL_CAPACITY];
+    private String[] attributePrefix = new String[INITIAL_CAPACITY];
+    private String[] attributeName = new String[INITIAL_CAPACITY];
+    private String[] attributeValue = new String[INITIAL_CAPACITY];
+    private int[] nextAttribute = new int[INITIAL_CAPACITY];
+
+    /* text of all record text nodes */
+    private char[] text = new char[256];
+    private int textSize;
+
+    /* the root element of the current record */
+    private int record = NONE;
+    /* the last child of the record's parent before the record was appended */
+    private int recordSibling = NONE;
+
+    /**
+     * Constructs a new, empty <code>XmlRecord</code>.
+     */
+    public XmlRecord() {
+        this(null);
+    }
+
+    /**
+     * Constructs a new <code>XmlRecord</code>.
+     * @param base the base document object model that defines the group structure
+     *   of the XML, or <code>null</code> if the XML will be fully read
+     */
+    public XmlRecord(Document base) {
+        newNode(NONE, null, null);
+        if (base != null && base.getDocumentElement() != null) {
+            addBaseElement(DOCUMENT, base.getDocumentElement());
+        }
+        baseSize = size;
+    }
+
+    private void addBaseElement(int parentIndex, Element element) {
+        String name = element.getLocalName();
+        if (name == null) {
+            name = element.getNodeName();
+        }
+        int index = newNode(parentIndex, element.getNamespaceURI(), name);
+        if (Boolean.TRUE.equals(element.getUserData(XmlReader.IS_NAMESPACE_IGNORED))) {
+            flags[index] = NAMESPACE_IGNORED;
+        }
+
+        Node child = element.getFirstChild();
+        while (child != null) {
+            if (child.getNodeType() == Node.ELEMENT_NODE) {
+                addBaseElement(index, (Element) child);
+            }
+            child = child.getNextSibling();
+        }
+    }
+
+    /**
+     * Removes the current record, and all nodes, attributes and text added to it.
+     */
+    public void clear() {
+        if (record != NONE) {
+            int p = parent[record];
+            if (recordSibling == NONE) {
+                firstChild[p] = NONE;
+            }
+            else {
+                nextSibling[recordSibling] = NONE;
+            }
+            lastChild[p] = recordSibling;
+            record = NONE;
+            recordSibling = NONE;
+        }
+        size = baseSize;
+        attributes = 0;
+        textSize = 0;
+    }
+
+    /**
+     * Appends a new element.  The first element appended after the record was
+     * cleared is the root element of the record.
+     * @param parentIndex the index of the parent node
+     * @param ns the element namespace, or <code>null</code>
+     * @param pfx the element prefix, or <code>null</code>
+     * @param name the element local name
+     * @param elementFlags the element flags
+     * @return the index of the new element
+     */
+    public int addElement(int parentIndex, String ns, String pfx, String name, int elementFlags) {
+        if (record == NONE) {
+            recordSibling = lastChild[parentIndex];
+            record = size;
+        }
+        int index = newNode(parentIndex, ns, name);
+        prefix[index] = pfx == null || pfx.isEmpty() ? null : pfx;
+        flags[index] = elementFlags;
+        return index;
+    }
+
+    private int newNode(int parentIndex, String ns, String name) {
+        if (size == parent.length) {
+            int capacity = size * 2;
+            localName = Arrays.copyOf(localName, capacity);
+            namespace = Arrays.copyOf(namespace, capacity);
+            prefix = Arrays.copyOf(prefix, capacity);
+            flags = Arrays.copyOf(flags, capacity);
+            parent = Arrays.copyOf(parent, capacity);
+            firstChild = Arrays.copyOf(firstChild, capacity);
+            lastChild = Arrays.copyOf(lastChild, capacity);
+            nextSibling = Arrays.copyOf(nextSibling, capacity);
+            count = Arrays.copyOf(count, capacity);
+            textStart = Arrays.copyOf(textStart, capacity);
+            textLength = Arrays.copyOf(textLength, capacity);
+            firstAttribute = Arrays.copyOf(firstAttribute, capacity);
+            lastAttribute = Arrays.copyOf(lastAttribute, capacity);
+        }
+
+        int index = size++;
+        localName[index] = name;
+        namespace[index] = toNamespace(ns);
+        prefix[index] = null;
+        flags[index] = 0;
+        parent[index] = parentIndex;
+        firstChild[index] = NONE;
+        lastChild[index] = NONE;
+        nextSibling[index] = NONE;
+        count[index] = 0;
+        textLength[index] = 0;
+        firstAttribute[index] = NONE;
+        lastAttribute[index] = NONE;
+
+        if (parentIndex != NONE) {
+            if (lastChild[parentIndex] == NONE) {
+                firstChild[parentIndex] = index;
+            }
+            else {
+                nextSibling[lastChild[parentIndex]] = index;
+            }
+            lastChild[parentIndex] = index;
+        }
+        return index;
+    }
+
+    /**
+     * Adds an attribute after the existing attributes of an element.
+     * @param index the element index
+     * @param ns the attribute namespace
+     * @param name the attribute local name
+     * @param value the attribute value
+     */
+    void addAttribute(int index, String ns, String name, String value) {
+        int attribute = newAttribute(ns, null, name, value);
+        if (lastAttribute[index] == NONE) {
+            firstAttribute[index] = attribute;
+        }
+        else {
+            nextAttribute[lastAttribute[index]] = attribute;
+        }
+        lastAttribute[index] = attribute;
+    }
+
+    /**
+     * Sets an attribute of an element, replacing the value of an existing attribute with
+     * the same namespace and local name.  Like a DOM element, attributes are kept in order
+     * of their qualified name.
+     * @param index the element index
+     * @param ns the attribute namespace, or <code>null</code>
+     * @param pfx the attribute prefix, or <code>null</code>
+     * @param name the attribute local name
+     * @param value the attribute value
+     */
+    public void setAttribute(int index, String ns, String pfx, String name, String value) {
+        ns = toNamespace(ns);
+        if (pfx != null && pfx.isEmpty()) {
+            pfx = null;
+        }
+
+        int previous = NONE;
+        for (int i = firstAttribute[index]; i != NONE; i = nextAttribute[i]) {
+            if (attributeName[i].equals(name) && equals(attributeNamespace[i], ns)) {
+                attributePrefix[i] = pfx;
+                attributeValue[i] = value;
+                return;
+            }
+            if (compareQualifiedName(attributePrefix[i], attributeName[i], pfx, name) < 0) {
+                previous = i;
+            }
+        }
+
+        int attribute = newAttribute(ns, pfx, name, value);
+        if (previous == NONE) {
+            nextAttribute[attribute] = firstAttribute[index];
+            firstAttribute[index] = attribute;
+        }
+        else {
+            nextAttribute[attribute] = nextAttribute[previous];
+            nextAttribute[previous] = attribute;
+        }
+        if (nextAttribute[attribute] == NONE) {
+            lastAttribute[index] = attribute;
+        }
+    }
+
+    private int newAttribute(String ns, String pfx, String name, String value) {
+        if (attributes == attributeName.length) {
+            int capacity = attributes * 2;
+            attributeNamespace = Arrays.copyOf(attributeNamespace, capacity);
+            attributePrefix = Arrays.copyOf(attributePrefix, capacity);
+            attributeName = Arrays.copyOf(attributeName, capacity);
+            attributeValue = Arrays.copyOf(attributeValue, capacity);
+            nextAttribute = Arrays.copyOf(nextAttribute, capacity);
+        }
+        int attribute = attributes++;
+        attributeNamespace[attribute] = toNamespace(ns);
+        attributePrefix[attribute] = pfx;
+        attributeName[attribute] = name;
+        attributeValue[attribute] = value;
+        nextAttribute[attribute] = NONE;
+        return attribute;
+    }
+
+    /*
+     * Compares the qualified names of two attributes, without concatenating their prefix and local name.
+     */
+    private static int compareQualifiedName(String p1, String n1, String p2, String n2) {
+        int l1 = (p1 == null ? 0 : p1.length() + 1) + n1.length();
+        int l2 = (p2 == null ? 0 : p2.length() + 1) + n2.length();
+        for (int i=0, j=Math.min(l1, l2); i<j; i++) {
+            int c = charAt(p1, n1, i) - charAt(p2, n2, i);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return l1 - l2;
+    }
+
+    private static char charAt(String pfx, String name, int i) {
+        if (pfx == null) {
+            return name.charAt(i);
+        }
+        int n = pfx.length();
+        if (i < n) {
+            return pfx.charAt(i);
+        }
+        return i == n ? ':' : name.charAt(i - n - 1);
+    }
+
+    /**
+     * Appends a text node to an element.
+     * @param index the element index
+     * @param chars the text to append
+     * @param start the offset of the first character to append
+     * @param length the number of characters to append
+     */
+    void appendText(int index, char[] chars, int start, int length) {
+        int node = lastChild[index];
+        if (node == NONE || localName[node] != null || textStart[node] + textLength[node] != textSize) {
+            node = newNode(index, null, null);
+            textStart[node] = textSize;
+        }
+        if (textSize + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textSize + length));
+        }
+        System.arraycopy(chars, start, text, textSize, length);
+        textSize += length;
+        textLength[node] += length;
+    }
+
+    /**
+     * Appends a text node to an element.
+     * @param index the element index
+     * @param s the text to append
+     */
+    public void appendText(int index, String s) {
+        int length = s.length();
+        if (textSize + length > text.length) {
+            text = Arrays.copyOf(text, Math.max(text.length * 2, textSize + length));
+        }
+        int node = newNode(index, null, null);
+        s.getChars(0, length, text, textSize);
+        textStart[node] = textSize;
+        textLength[node] = length;
+        textSize += length;
+    }
+
+    /**
+     * Replaces the children of an element with a text node.
+     * @param index the element index
+     * @param s the text, or <code>null</code> or empty string to remove all children
+     */
+    public void setText(int index, String s) {
+        firstChild[index] = NONE;
+        lastChild[index] = NONE;
+        if (s != null && s.length() > 0) {
+            appendText(index, s);
+        }
+    }
+
+    /**
+     * Sets the number of times an element was read from the input stream.
+     * @param index the element index
+     * @param n the count
+     */
+    void setCount(int index, int n) {
+        count[index] = n;
+    }
+
+    /**
+     * Finds a child of an element that matches a given namespace and local name.
+     * @param index the parent element index
+     * @param ns the namespace to match
+     * @param name the local name to match
+     * @return the index of the matched element, or {@link #NONE} if not found
+     */
+    int findChild(int index, String ns, String name) {
+        for (int child = firstChild[index]; child != NONE; child = nextSibling[child]) {
+            if (isElement(child, ns, name)) {
+                return child;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Returns whether an element matches a given namespace and local name.  The namespace
+     * is not compared if the element is a base element where the namespace is ignored.
+     * @param index the element index
+     * @param ns the namespace to match
+     * @param name the local name to match
+     * @return <code>true</code> if the element matches
+     */
+    boolean isElement(int index, String ns, String name) {
+        if (!name.equals(localName[index])) {
+            return false;
+        }
+        if ((flags[index] & NAMESPACE_IGNORED) != 0) {
+            return true;
+        }
+        return equals(namespace[index], toNamespace(ns));
+    }
+
+    /**
+     * Returns the index of the root element of the current record.
+     * @return the record element index, or {@link #NONE} if the record is empty
+     */
+    public int getRecord() {
+        return record;
+    }
+
+    /**
+     * Returns the number of nodes, including the document node.
+     * @return the number of nodes
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns whether a node is a text node.
+     * @param index the node index
+     * @return <code>true</code> if the node is a text node, or <code>false</code> if
+     *   it is an element or the document
+     */
+    public boolean isText(int index) {
+        return index != DOCUMENT && localName[index] == null;
+    }
+
+    /**
+     * Returns the local name of an element.
+     * @param index the element index
+     * @return the local name, or <code>null</code> for a text node or the document
+     */
+    public String getLocalName(int index) {
+        return localName[index];
+    }
+
+    /**
+     * Returns the namespace URI of an element.
+     * @param index the element index
+     * @return the namespace URI, or <code>null</code> if the element is not in a namespace
+     */
+    public String getNamespace(int index) {
+        return namespace[index];
+    }
+
+    /**
+     * Returns the namespace prefix of an element.
+     * @param index the element index
+     * @return the prefix, or <code>null</code> if not set
+     */
+    public String getPrefix(int index) {
+        return prefix[index];
+    }
+
+    /**
+     * Returns whether an element flag is set.
+     * @param index the element index
+     * @param flag the flag to test, {@link #GROUP}, {@link #NAMESPACE_IGNORED}
+     *   or {@link #DEFAULT_NAMESPACE}
+     * @return <code>true</code> if the flag is set
+     */
+    public boolean isFlagged(int index, int flag) {
+        return (flags[index] & flag) != 0;
+    }
+
+    /**
+     * Returns the parent of a node.
+     * @param index the node index
+     * @return the parent element index, {@link #DOCUMENT} for the root element, or
+     *   {@link #NONE} for the document node
+     */
+    public int getParent(int index) {
+        return parent[index];
+    }
+
+    /**
+     * Returns the first child of a node.
+     * @param index the node index
+     * @return the first child index, or {@link #NONE} if the node has no children
+     */
+    public int getFirstChild(int index) {
+        return firstChild[index];
+    }
+
+    /**
+     * Returns the next sibling of a node.
+     * @param index the node index
+     * @return the next sibling index, or {@link #NONE} if there is no next sibling
+     */
+    public int getNextSibling(int index) {
+        return nextSibling[index];
+    }
+
+    /**
+     * Returns the number of times a base element was read from the input stream.
+     * @param index the element index
+     * @return the count, or 0 for a record element
+     */
+    public int getCount(int index) {
+        return count[index];
+    }
+
+    /**
+     * Returns the text of a text node, or the combined text of the text nodes
+     * that are children of an element.
+     * @param index the node index
+     * @return the text, or <code>null</code> if the element did not contain any text
+     */
+    public String getText(int index) {
+        if (isText(index)) {
+            return new String(text, textStart[index], textLength[index]);
+        }
+
+        int first = NONE;
+        StringBuilder s = null;
+        for (int child = firstChild[index]; child != NONE; child = nextSibling[child]) {
+            if (localName[child] != null) {
+                continue;
+            }
+            if (first == NONE) {
+                first = child;
+            }
+            else {
+                if (s == null) {
+                    s = new StringBuilder();
+                    s.append(text, textStart[first], textLength[first]);
+                }
+                s.append(text, textStart[child], textLength[child]);
+            }
+        }
+        if (s != null) {
+            return s.toString();
+        }
+        return first == NONE ? null : new String(text, textStart[first], textLength[first]);
+    }
+
+    /**
+     * Returns the buffer holding the characters of all text nodes.
+     * @return the text buffer
+     * @see #getTextStart(int)
+     * @see #getTextLength(int)
+     */
+    public char[] getTextCharacters() {
+        return text;
+    }
+
+    /**
+     * Returns the offset of the first character of a text node in the text buffer.
+     * @param index the text node index
+     * @return the text offset
+     */
+    public int getTextStart(int index) {
+        return textStart[index];
+    }
+
+    /**
+     * Returns the number of characters of a text node.
+     * @param index the text node index
+     * @return the text length
+     */
+    public int getTextLength(int index) {
+        return textLength[index];
+    }
+
+    /**
+     * Returns the first attribute of an element.
+     * @param index the element index
+     * @return the first attribute index, or {@link #NONE} if the element has no attributes
+     */
+    public int getFirstAttribute(int index) {
+        return firstAttribute[index];
+    }
+
+    /**
+     * Returns the next attribute of the same element.
+     * @param attribute the attribute index
+     * @return the next attribute index, or {@link #NONE} if there are no more attributes
+     */
+    public int getNextAttribute(int attribute) {
+        return nextAttribute[attribute];
+    }
+
+    /**
+     * Returns the namespace URI of an attribute.
+     * @param attribute the attribute index
+     * @return the namespace URI, or <code>null</code> if the attribute is not in a namespace
+     */
+    public String getAttributeNamespace(int attribute) {
+        return attributeNamespace[attribute];
+    }
+
+    /**
+     * Returns the namespace prefix of an attribute.
+     * @param attribute the attribute index
+     * @return the prefix, or <code>null</code> if not set
+     */
+    public String getAttributePrefix(int attribute) {
+        return attributePrefix[attribute];
+    }
+
+    /**
+     * Returns the local name of an attribute.
+     * @param attribute the attribute index
+     * @return the local name
+     */
+    public String getAttributeName(int attribute) {
+        return attributeName[attribute];
+    }
+
+    /**
+     * Returns the value of an attribute.
+     * @param attribute the attribute index
+     * @return the attribute value
+     */
+    public String getAttributeValue(int attribute) {
+        return attributeValue[attribute];
+    }
+
+    /**
+     * Returns the value of an attribute of an element.
+     * @param index the element index
+     * @param ns the attribute namespace, or <code>null</code> if the attribute is not
+     *   in a namespace
+     * @param name the attribute local name
+     * @return the attribute value, or <code>null</code> if the attribute was not found
+     */
+    public String getAttribute(int index, String ns, String name) {
+        ns = toNamespace(ns);
+        for (int i = firstAttribute[index]; i != NONE; i = nextAttribute[i]) {
+            if (attributeName[i].equals(name) && equals(attributeNamespace[i], ns)) {
+                return attributeValue[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of the first attribute of an element with a given local name,
+     * in any namespace.
+     * @param index the element index
+     * @param name the attribute local name
+     * @return the attribute value, or <code>null</code> if the attribute was not found
+     */
+    public String getAttribute(int index, String name) {
+        for (int i = firstAttribute[index]; i != NONE; i = nextAttribute[i]) {
+            if (attributeName[i].equals(name)) {
+                return attributeValue[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Tests if an element is nil.
+     * @param index the element index
+     * @return <code>true</code> if the element is nil
+     */
+    public boolean isNil(int index) {
+        String nil = getAttribute(index, XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI, "nil");
+        return "true".equals(nil) || "1".equals(nil);
+    }
+
+    private static boolean equals(String s1, String s2) {
+        return s1 == null ? s2 == null : s1.equals(s2);
+    }
+
+    private static String toNamespace(String ns) {
+        return ns == null || ns.isEmpty() ? null : ns;
+    }
+}
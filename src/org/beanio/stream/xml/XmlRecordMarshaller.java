@@ -21,7 +21,6 @@ import java.util.*;
 import javax.xml.XMLConstants;
 import javax.xml.stream.*;
 
-import org.beanio.internal.util.Settings;
 import org.beanio.stream.*;
 import org.w3c.dom.*;
 
@@ -362,7 +361,7 @@ public class XmlRecordMarshaller implements RecordMarshaller {
     private String createNamespace(String uri) {
         String prefix;
         if (XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(uri)) {
-            prefix = Settings.getInstance().getProperty(Settings.DEFAULT_XSI_NAMESPACE_PREFIX);
+            prefix = config.getXsiNamespacePrefix();
         }
         else {
             prefix = "ns" + (++namespaceCount);
@@ -51,6 +51,9 @@ public class XmlRecordParserFactory extends XmlParserConfiguration
             base = source.getDocument();
         }
         
+        if (isEventMode()) {
+            return new XmlRecordReader(in, base);
+        }
         return new XmlReader(in, base);
     }
 
@@ -78,7 +81,7 @@ public class XmlRecordParserFactory extends XmlParserConfiguration
      */
     @Override
     public RecordUnmarshaller createUnmarshaller() throws IllegalArgumentException {
-        return new XmlRecordUnmarshaller();
+        return new XmlRecordUnmarshaller(this);
     }
 
     /*
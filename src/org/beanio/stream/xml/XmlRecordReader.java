@@ -0,0 +1,235 @@
+package org.beanio.stream.xml;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.*;
+
+import javax.xml.stream.*;
+
+import org.beanio.stream.*;
+import org.w3c.dom.Document;
+
+/**
+ * A <code>XmlRecordReader</code> is used to read records from a XML input stream
+ * without building a document object model (DOM).  Like a {@link XmlReader}, a
+ * <code>XmlRecordReader</code> is configured using a base DOM object to define the group
+ * structure of the XML, and a XML element read from the input stream that is not found in
+ * the base document begins a <i>record</i>.  Elements, attributes and text are copied from
+ * {@link XMLStreamReader} events into a reusable {@link XmlRecord}, which is returned
+ * by every call to {@link #read()}.
+ * <p>
+ * The method <code>getRecordText()</code> is not currently supported.
+ *
+ * @since 3.3.0
+ * @see XmlParserConfiguration#setEventMode(boolean)
+ */
+public class XmlRecordReader implements RecordReader {
+
+    private static final XMLInputFactory xmlInputFactory;
+    static {
+        xmlInputFactory = XMLInputFactory.newInstance();
+        xmlInputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+    }
+
+    /* the input stream to read from */
+    private XMLStreamReader in;
+    /* the group structure and the last record read */
+    private XmlRecord record;
+    /* the index of the record node's parent element */
+    private int parentNode;
+    /* set to true if the base document was null during construction and the XML input stream
+     * will be fully read */
+    private boolean readFully = false;
+
+    private transient int recordLineNumber = -1;
+    private transient boolean eof = false;
+
+    /**
+     * Constructs a new <code>XmlRecordReader</code>.
+     * @param reader the input stream to read from
+     */
+    public XmlRecordReader(Reader reader) {
+        this(reader, (Document) null);
+    }
+
+    /**
+     * Constructs a new <code>XmlRecordReader</code>.
+     * @param reader the input stream to read from
+     * @param base the base document object model (DOM) that defines the
+     *   group structure of the XML.  May be <code>null</code> if fully reading
+     *   the XML document.
+     */
+    public XmlRecordReader(Reader reader, Document base) {
+        this(reader, new XmlRecord(base));
+    }
+
+    /**
+     * Constructs a new <code>XmlRecordReader</code> that reads into an existing record.
+     * @param reader the input stream to read from
+     * @param record the record to read into, which also defines the group structure
+     */
+    XmlRecordReader(Reader reader, XmlRecord record) {
+        if (reader == null) {
+            throw new IllegalArgumentException("reader is null");
+        }
+
+        try {
+            this.in = xmlInputFactory.createXMLStreamReader(reader);
+        }
+        catch (XMLStreamException ex) {
+            throw new IllegalArgumentException("Failed to create XMLStreamReader: " + ex.getMessage(), ex);
+        }
+
+        this.record = record;
+        this.record.clear();
+        if (record.getFirstChild(XmlRecord.DOCUMENT) == XmlRecord.NONE) {
+            this.readFully = true;
+            this.parentNode = XmlRecord.DOCUMENT;
+        }
+        else {
+            this.readFully = false;
+            this.parentNode = XmlRecord.NONE;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#read()
+     */
+    @Override
+    public XmlRecord read() throws IOException, RecordIOException {
+        if (eof) {
+            return null;
+        }
+
+        try {
+            record.clear();
+            return readRecord() ? record : null;
+        }
+        catch (XMLStreamException ex) {
+            throw new RecordIOException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Reads the next record from the XML stream reader into the <code>XmlRecord</code>.
+     * @return <code>true</code> if a record was found, or <code>false</code> if the end of the
+     *   stream was reached
+     * @throws XMLStreamException
+     */
+    private boolean readRecord() throws XMLStreamException {
+
+        // the record position stores the number of elements deep in the record, or -1 if a
+        // record has not been found yet
+        int recordPosition = readFully ? 0 : -1;
+
+        // the parent element to the node we are reading
+        int node = parentNode;
+
+        while (in.hasNext()) {
+            int event = in.next();
+
+            switch (event) {
+            case START_ELEMENT:
+                if (recordPosition < 0) {
+                    // handle the root element of the document
+                    if (node == XmlRecord.NONE) {
+                        node = record.getFirstChild(XmlRecord.DOCUMENT);
+                        if (record.isElement(node, in.getNamespaceURI(), in.getLocalName())) {
+                            record.setCount(node, 1);
+                            continue;
+                        }
+                    }
+                    else {
+                        // try to find a child in the base document that matches the element we just read
+                        int baseElement = record.findChild(node, in.getNamespaceURI(), in.getLocalName());
+                        if (baseElement != XmlRecord.NONE) {
+                            // if found, increment its counter and continue
+                            record.setCount(baseElement, record.getCount(baseElement) + 1);
+                            node = baseElement;
+                            continue;
+                        }
+                    }
+
+                    // if we find an element not included in the base document, this is the beginning of our record
+                    recordLineNumber = in.getLocation().getLineNumber();
+                    parentNode = node;
+                }
+
+                node = record.addElement(node, in.getNamespaceURI(), in.getPrefix(), in.getLocalName(), 0);
+                for (int i=0,j=in.getAttributeCount(); i<j; i++) {
+                    record.addAttribute(node,
+                        in.getAttributeNamespace(i),
+                        in.getAttributeLocalName(i),
+                        in.getAttributeValue(i));
+                }
+
+                ++recordPosition;
+                break;
+
+            case CHARACTERS:
+            case CDATA:
+                if (recordPosition >= 0) {
+                    record.appendText(node, in.getTextCharacters(), in.getTextStart(), in.getTextLength());
+                }
+                break;
+
+            case END_ELEMENT:
+                if (node != XmlRecord.NONE) {
+                    int parent = record.getParent(node);
+                    node = parent != XmlRecord.DOCUMENT ? parent : XmlRecord.NONE;
+                }
+
+                if (recordPosition < 0) {
+                    continue;
+                }
+
+                // if the record position reaches 0, the record is complete
+                if (recordPosition-- == 0) {
+                    return true;
+                }
+                break;
+            }
+        }
+
+        eof = true;
+        return readFully;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#close()
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            in.close();
+        }
+        catch (XMLStreamException e) {
+            IOException ex = new IOException("XMLStreamException caught closing input stream");
+            ex.initCause(e);
+            throw ex;
+        }
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordLineNumber()
+     */
+    @Override
+    public int getRecordLineNumber() {
+        return recordLineNumber;
+    }
+
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.stream.RecordReader#getRecordText()
+     */
+    @Override
+    public String getRecordText() {
+        return null;
+    }
+}
@@ -26,23 +26,56 @@ import org.xml.sax.*;
 /**
  * A {@link RecordUnmarshaller} implementation for XML formatted records.
  * 
+ * <p>Record text is parsed into a document object model (DOM) using a <code>DocumentBuilder</code>
+ * held by the calling thread, or into a {@link XmlRecord} if event mode is enabled.
+ * 
  * @author Kevin Seim
  * @since 2.0
  */
 public class XmlRecordUnmarshaller implements RecordUnmarshaller {
 
-    private static final DocumentBuilder documentBuilder;
+    private static final DocumentBuilderFactory domBuilderFactory;
     static {
-        try {
-            DocumentBuilderFactory domBuilderFactory = DocumentBuilderFactory.newInstance();
-            domBuilderFactory.setIgnoringComments(true);
-            domBuilderFactory.setCoalescing(true);
-            domBuilderFactory.setNamespaceAware(true);
-            domBuilderFactory.setValidating(false);
-            documentBuilder = domBuilderFactory.newDocumentBuilder();
+        domBuilderFactory = DocumentBuilderFactory.newInstance();
+        domBuilderFactory.setIgnoringComments(true);
+        domBuilderFactory.setCoalescing(true);
+        domBuilderFactory.setNamespaceAware(true);
+        domBuilderFactory.setValidating(false);
+    }
+    
+    /* a DocumentBuilder is not thread safe, so one is created for each thread */
+    private static final ThreadLocal<DocumentBuilder> documentBuilder = new ThreadLocal<DocumentBuilder>() {
+        @Override
+        protected DocumentBuilder initialValue() {
+            try {
+                synchronized (domBuilderFactory) {
+                    return domBuilderFactory.newDocumentBuilder();
+                }
+            }
+            catch (ParserConfigurationException ex) {
+                throw new BeanIOException(ex);
+            }
         }
-        catch (ParserConfigurationException ex) {
-            throw new BeanIOException(ex);
+    };
+    
+    /* the record reused by each call to unmarshal(), or null to parse a DOM */
+    private XmlRecord record;
+    
+    /**
+     * Constructs a new <code>XmlRecordUnmarshaller</code>.
+     */
+    public XmlRecordUnmarshaller() {
+        this(null);
+    }
+    
+    /**
+     * Constructs a new <code>XmlRecordUnmarshaller</code>.
+     * @param config the {@link XmlParserConfiguration}
+     * @since 3.3.0
+     */
+    public XmlRecordUnmarshaller(XmlParserConfiguration config) {
+        if (config != null && config.isEventMode()) {
+            record = new XmlRecord();
         }
     }
 
@@ -52,8 +85,18 @@ public class XmlRecordUnmarshaller implements RecordUnmarshaller {
      */
     @Override
     public Object unmarshal(String text) throws RecordIOException {
+        if (record != null) {
+            XmlRecordReader in = new XmlRecordReader(new StringReader(text), record);
+            try {
+                return in.read();
+            }
+            catch (IOException ex) {
+                throw new RecordIOException(ex.getMessage(), ex);
+            }
+        }
+        
         try {
-            return documentBuilder.parse(new InputSource(new StringReader(text)));
+            return documentBuilder.get().parse(new InputSource(new StringReader(text)));
         }
         catch (IOException ex) {
             throw new RecordIOException(ex);
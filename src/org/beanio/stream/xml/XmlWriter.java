@@ -27,7 +27,7 @@ import org.w3c.dom.*;
 
 /**
  * A <code>XmlWriter</code> is used to write records to a XML output stream.  A document
- * object model (DOM) is used to represent a record.  Group elements, as indicated
+ * object model (DOM) or a {@link XmlRecord} is used to represent a record.  Group elements, as indicated
  * by a user data key (see below), are not closed when a record is written.  When
  * <code>write(null)</code> is called, an open group element is closed.  Finally, calling
  * <code>flush()</code> will close all remaining group elements and complete the document.
@@ -63,9 +63,6 @@ public class XmlWriter implements RecordWriter, StatefulWriter {
      */
     public static final String IS_GROUP_ELEMENT = "isGroup";
 
-    private static final boolean DELTA_ENABLED = "true".equals(Settings.getInstance().getProperty(
-        Settings.XML_WRITER_UPDATE_STATE_USING_DELTA));
-    
     private static final String DEFAULT_LINE_SEPARATOR = System.getProperty("line.separator");
     private static final XMLOutputFactory xmlOutputFactory;
     static {
@@ -206,6 +203,10 @@ public class XmlWriter implements RecordWriter, StatefulWriter {
                     endElement();
                 }
             }
+            else if (record instanceof XmlRecord) {
+                XmlRecord xml = (XmlRecord) record;
+                write(xml, xml.getFirstChild(XmlRecord.DOCUMENT), config.isIndentationEnabled());
+            }
             // otherwise we write the record (i.e. DOM tree) to the stream
             else {
                 write(((Document) record).getDocumentElement(), config.isIndentationEnabled());
@@ -336,43 +337,8 @@ public class XmlWriter implements RecordWriter, StatefulWriter {
         }
         for (int i=0,j=map.getLength(); i<j; i++) {
             Attr att = (Attr) map.item(i);
-            String attName = att.getLocalName();
-            String attNamespace = att.getNamespaceURI();
-            String attPrefix = att.getPrefix();
-            
-            if (attNamespace == null) {
-                out.writeAttribute(attName, att.getValue());
-            }
-            else {
-                String p = elementStack.findPrefix(attNamespace);
-                
-                boolean declareNamespace = false;
-                if (p == null) {
-                    if (attPrefix == null) {
-                        attPrefix = namespaceMap.get(attNamespace);
-                        if (attPrefix == null) {
-                            attPrefix = createNamespace(attNamespace);
-                        }
-                    }    
-                    
-                    if (attPrefixSet == null || !attPrefixSet.contains(attPrefix)) {
-                        declareNamespace = true;
-                    }
-                }
-                else if (attPrefix == null) {
-                    attPrefix = p;
-                }
-                
-                if (declareNamespace) {
-                    out.writeNamespace(attPrefix, attNamespace);
-                    if (attPrefixSet == null) {
-                        attPrefixSet = new HashSet<>();
-                    }
-                    attPrefixSet.add(attPrefix);
-                }
-                
-                out.writeAttribute(attPrefix, attNamespace, attName, att.getValue());
-            }
+            attPrefixSet = writeAttribute(att.getNamespaceURI(), att.getPrefix(), att.getLocalName(), 
+                att.getValue(), attPrefixSet);
         }
         
         // if the element contains text, we disable indentation 
@@ -427,6 +393,225 @@ public class XmlWriter implements RecordWriter, StatefulWriter {
         }
     }
     
+    /**
+     * Recursively writes an element of a {@link XmlRecord} to the XML stream writer.
+     * @param record the record
+     * @param element the index of the element to write
+     * @param indentationEnabled set to <code>true</code> if indentation is enabled
+     * @throws XMLStreamException
+     */
+    private void write(XmlRecord record, int element, boolean indentationEnabled) throws XMLStreamException {
+        
+        String name = record.getLocalName(element);
+        String prefix = record.getPrefix(element);
+        String namespace = record.getNamespace(element);
+        
+        boolean ignoreNamespace = false;
+        if (namespace == null) {
+            if (record.isFlagged(element, XmlRecord.NAMESPACE_IGNORED)) {
+                prefix = null;
+                ignoreNamespace = true;
+            }
+            namespace = "";
+        }
+        
+        boolean setDefaultNamespace = false;
+        if (prefix == null && !ignoreNamespace) {
+            if (record.isFlagged(element, XmlRecord.DEFAULT_NAMESPACE)) {
+                setDefaultNamespace = true;
+            }
+        }
+        
+        // flag indicating if the element is empty or not
+        boolean empty = false;
+        // flag for lazily appending to stack
+        boolean pendingStackUpdate = true;
+
+        // start the element
+        if (elementStack == null) {
+            if (ignoreNamespace) {
+                out.writeStartElement(name);
+            }
+            else if (prefix != null) {
+                out.writeStartElement(prefix, name, namespace);
+                out.writeNamespace(prefix, namespace);
+            }
+            else {
+                out.writeStartElement(name);
+                out.writeDefaultNamespace(namespace);
+            }
+            
+            push(namespace, prefix, name);
+            for (Map.Entry<String,String> ns : config.getNamespaceMap().entrySet()) {
+                out.writeNamespace(ns.getKey(), ns.getValue());
+                elementStack.addNamespace(ns.getKey(), ns.getValue());
+            }
+            
+            pendingStackUpdate = false;
+        }
+        else {
+            if (indentationEnabled) {
+                newLine();
+            }
+            
+            empty = record.getFirstChild(element) == XmlRecord.NONE;
+            
+            if (ignoreNamespace || (elementStack.isDefaultNamespace(namespace)) && prefix == null) {
+                if (empty) {
+                    out.writeEmptyElement(name);   
+                }
+                else {
+                    out.writeStartElement(name);
+                }
+                namespace = elementStack.getDefaultNamespace();
+                prefix = null;
+            }
+            else {
+                String p = elementStack.findPrefix(namespace);
+                
+                boolean declareNamespace = false;
+                if (p == null) {
+                    declareNamespace = true;
+                }
+                else if (prefix == null && !setDefaultNamespace) {
+                    prefix = p;
+                }
+                
+                if (prefix == null) {
+                    if (empty) {
+                        out.writeEmptyElement(name);
+                    }
+                    else {
+                        out.writeStartElement(name);
+                    }
+                }
+                else {
+                    if (empty) {
+                        out.writeEmptyElement(prefix, name, namespace);
+                    }
+                    else {
+                        out.writeStartElement(prefix, name, namespace);
+                    }
+                }
+                
+                if (setDefaultNamespace) {
+                    out.writeDefaultNamespace(namespace);
+                }
+                else if (declareNamespace) {
+                    out.writeNamespace(prefix, namespace);
+                }
+            }
+        }
+        
+        // write attributes
+        Set<String> attPrefixSet = null;
+        int att = record.getFirstAttribute(element);
+        if (att != XmlRecord.NONE) {
+            if (pendingStackUpdate) {
+                push(namespace, prefix, name);
+                pendingStackUpdate = false;
+            }
+        }
+        for (; att != XmlRecord.NONE; att = record.getNextAttribute(att)) {
+            attPrefixSet = writeAttribute(record.getAttributeNamespace(att), record.getAttributePrefix(att), 
+                record.getAttributeName(att), record.getAttributeValue(att), attPrefixSet);
+        }
+        
+        // if the element contains text, we disable indentation 
+        if (indentationEnabled) {
+            for (int child = record.getFirstChild(element); child != XmlRecord.NONE; 
+                child = record.getNextSibling(child)) {
+                if (record.isText(child)) {
+                    indentationEnabled = false;
+                    break;
+                }
+            }
+        }
+        
+        boolean isParent = false;
+        
+        // write children
+        for (int child = record.getFirstChild(element); child != XmlRecord.NONE; 
+            child = record.getNextSibling(child)) {
+            
+            if (record.isText(child)) {
+                out.writeCharacters(record.getTextCharacters(), record.getTextStart(child), record.getTextLength(child));
+            }
+            else {
+                if (pendingStackUpdate) {
+                    push(namespace, prefix, name);
+                    pendingStackUpdate = false;
+                }
+                
+                write(record, child, indentationEnabled);
+                isParent = true;
+            }
+        }
+        
+        // end the element if it is not a group
+        if (!record.isFlagged(element, XmlRecord.GROUP)) {
+            if (!pendingStackUpdate) {
+                pop();
+            }
+            if (!empty) {
+                if (isParent && indentationEnabled) {
+                    newLine();
+                }
+                out.writeEndElement();
+            }            
+        }
+    }
+    
+    /**
+     * Writes an attribute to the XML stream writer, declaring its namespace if needed.
+     * @param attNamespace the attribute namespace, or <code>null</code>
+     * @param attPrefix the attribute prefix, or <code>null</code>
+     * @param attName the attribute local name
+     * @param value the attribute value
+     * @param attPrefixSet the set of prefixes already declared on the current element, 
+     *   or <code>null</code> if none have been declared
+     * @return the updated set of prefixes declared on the current element
+     * @throws XMLStreamException
+     */
+    private Set<String> writeAttribute(String attNamespace, String attPrefix, String attName, String value,
+        Set<String> attPrefixSet) throws XMLStreamException {
+        
+        if (attNamespace == null) {
+            out.writeAttribute(attName, value);
+        }
+        else {
+            String p = elementStack.findPrefix(attNamespace);
+            
+            boolean declareNamespace = false;
+            if (p == null) {
+                if (attPrefix == null) {
+                    attPrefix = namespaceMap.get(attNamespace);
+                    if (attPrefix == null) {
+                        attPrefix = createNamespace(attNamespace);
+                    }
+                }    
+                
+                if (attPrefixSet == null || !attPrefixSet.contains(attPrefix)) {
+                    declareNamespace = true;
+                }
+            }
+            else if (attPrefix == null) {
+                attPrefix = p;
+            }
+            
+            if (declareNamespace) {
+                out.writeNamespace(attPrefix, attNamespace);
+                if (attPrefixSet == null) {
+                    attPrefixSet = new HashSet<>();
+                }
+                attPrefixSet.add(attPrefix);
+            }
+            
+            out.writeAttribute(attPrefix, attNamespace, attName, value);
+        }
+        return attPrefixSet;
+    }
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.stream.RecordWriter#flush()
@@ -473,7 +658,7 @@ public class XmlWriter implements RecordWriter, StatefulWriter {
     private String createNamespace(String uri) {
         String prefix;
         if (XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals(uri)) {
-            prefix = Settings.getInstance().getProperty(Settings.DEFAULT_XSI_NAMESPACE_PREFIX);
+            prefix = config.getXsiNamespacePrefix();
         }
         else {
             prefix = "ns" + (++namespaceCount);
@@ -543,7 +728,7 @@ public class XmlWriter implements RecordWriter, StatefulWriter {
             state.remove(getKey(stackPrefix, STACK_NS_MAP_KEY));
         }
         
-        int to = DELTA_ENABLED ? dirtyLevel : 0;
+        int to = config.isDeltaEnabled() ? dirtyLevel : 0;
         
         // update dirtied stack items up to the current level
         ElementStack e = elementStack;
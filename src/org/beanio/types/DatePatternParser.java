@@ -0,0 +1,243 @@
+package org.beanio.types;
+
+import java.text.SimpleDateFormat;
+import java.time.*;
+import java.time.zone.ZoneRules;
+import java.util.*;
+
+/**
+ * An immutable, thread-safe parser compiled from a fixed width <code>SimpleDateFormat</code>
+ * pattern made up of <code>yyyy</code>, <code>MM</code>, <code>dd</code>, <code>HH</code>,
+ * <code>mm</code>, <code>ss</code> and <code>SSS</code> fields and separator characters,
+ * for example <code>yyyyMMdd</code>, <code>HHmmss</code> or <code>yyyy-MM-dd HH:mm:ss</code>.
+ *
+ * <p>Digits are read directly from the text and the time zone offset is resolved using
+ * <code>java.time</code>.  Text that the parser cannot handle exactly as the non-lenient
+ * <code>SimpleDateFormat</code> would, such as text of a different length, an invalid
+ * date, a year before 1901 or a local time in a time zone transition, is not parsed
+ * and must be parsed using the <code>SimpleDateFormat</code> instead.
+ *
+ * @since 3.3.0
+ */
+final class DatePatternParser {
+
+    private static final int LITERAL = 0;
+    private static final int YEAR = 1;
+    private static final int MONTH = 2;
+    private static final int DAY = 3;
+    private static final int HOUR = 4;
+    private static final int MINUTE = 5;
+    private static final int SECOND = 6;
+    private static final int MILLISECOND = 7;
+
+    /* the default Gregorian calendar cutover, 1582-10-15 */
+    private static final long GREGORIAN_CHANGE = -12219292800000L;
+
+    private static final int DAYS_0000_TO_1970 = 719528;
+
+    private static final int MIN_YEAR = 1901;
+
+    private final int[] fields;
+    private final int[] widths;
+    private final char[] literals;
+    private final int length;
+    private final ZoneRules rules;
+    private final ZoneOffset offset;
+
+    private DatePatternParser(int[] fields, int[] widths, char[] literals, int length, ZoneId zone) {
+        this.fields = fields;
+        this.widths = widths;
+        this.literals = literals;
+        this.length = length;
+        this.rules = zone.getRules();
+        this.offset = rules.isFixedOffset() ? rules.getOffset(Instant.EPOCH) : null;
+    }
+
+    /**
+     * Compiles the pattern of a <code>SimpleDateFormat</code>.
+     * @param format the <code>SimpleDateFormat</code> to compile
+     * @return the compiled parser, or null if the pattern or format settings are not supported
+     */
+    static DatePatternParser compile(SimpleDateFormat format) {
+        Calendar calendar = format.getCalendar();
+        if (format.getClass() != SimpleDateFormat.class ||
+            format.isLenient() ||
+            calendar.getClass() != GregorianCalendar.class ||
+            ((GregorianCalendar) calendar).getGregorianChange().getTime() != GREGORIAN_CHANGE) {
+            return null;
+        }
+
+        String pattern = format.toPattern();
+        List<int[]> segments = new ArrayList<>();
+        boolean[] used = new boolean[MILLISECOND + 1];
+        int length = 0;
+        for (int i = 0, j = pattern.length(); i < j; ) {
+            char c = pattern.charAt(i);
+            int count = 1;
+            while (i + count < j && pattern.charAt(i + count) == c) {
+                ++count;
+            }
+
+            int field;
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                field = toField(c, count);
+                if (field < 0 || used[field]) {
+                    return null;
+                }
+                used[field] = true;
+                segments.add(new int[] { field, count, 0 });
+                length += count;
+            }
+            else if (c == '\'' || (c >= '0' && c <= '9')) {
+                return null;
+            }
+            else {
+                for (int n = 0; n < count; n++) {
+                    segments.add(new int[] { LITERAL, 1, c });
+                }
+                length += count;
+            }
+            i += count;
+        }
+
+        int size = segments.size();
+        int[] fields = new int[size];
+        int[] widths = new int[size];
+        char[] literals = new char[size];
+        for (int i = 0; i < size; i++) {
+            int[] segment = segments.get(i);
+            fields[i] = segment[0];
+            widths[i] = segment[1];
+            literals[i] = (char) segment[2];
+        }
+        return new DatePatternParser(fields, widths, literals, length, format.getTimeZone().toZoneId());
+    }
+
+    private static int toField(char c, int count) {
+        switch (c) {
+        case 'y':
+            return count == 4 ? YEAR : -1;
+        case 'M':
+            return count == 2 ? MONTH : -1;
+        case 'd':
+            return count == 2 ? DAY : -1;
+        case 'H':
+            return count == 2 ? HOUR : -1;
+        case 'm':
+            return count == 2 ? MINUTE : -1;
+        case 's':
+            return count == 2 ? SECOND : -1;
+        case 'S':
+            return count == 3 ? MILLISECOND : -1;
+        default:
+            return -1;
+        }
+    }
+
+    /**
+     * Parses date text.
+     * @param text the text to parse
+     * @return the parsed {@link Date}, or null if the text must be parsed using
+     *   the <code>SimpleDateFormat</code> instead
+     */
+    Date parse(CharSequence text) {
+        if (text.length() != length) {
+            return null;
+        }
+
+        int year = 1970, month = 1, day = 1, hour = 0, minute = 0, second = 0, millisecond = 0;
+        int pos = 0;
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i] == LITERAL) {
+                if (text.charAt(pos++) != literals[i]) {
+                    return null;
+                }
+                continue;
+            }
+
+            int value = 0;
+            for (int end = pos + widths[i]; pos < end; pos++) {
+                char c = text.charAt(pos);
+                if (c < '0' || c > '9') {
+                    return null;
+                }
+                value = value * 10 + (c - '0');
+            }
+
+            switch (fields[i]) {
+            case YEAR:
+                year = value;
+                break;
+            case MONTH:
+                month = value;
+                break;
+            case DAY:
+                day = value;
+                break;
+            case HOUR:
+                hour = value;
+                break;
+            case MINUTE:
+                minute = value;
+                break;
+            case SECOND:
+                second = value;
+                break;
+            default:
+                millisecond = value;
+            }
+        }
+
+        // java.util.TimeZone ignores time zone transitions before 1900
+        if (year < MIN_YEAR || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month) ||
+            hour > 23 || minute > 59 || second > 59) {
+            return null;
+        }
+
+        long seconds = toEpochDay(year, month, day) * 86400 + hour * 3600 + minute * 60 + second;
+        if (offset != null) {
+            seconds -= offset.getTotalSeconds();
+        }
+        else {
+            LocalDateTime dateTime = LocalDateTime.of(year, month, day, hour, minute, second);
+            if (rules.getTransition(dateTime) != null) {
+                return null;
+            }
+            seconds -= rules.getOffset(dateTime).getTotalSeconds();
+        }
+        return new Date(seconds * 1000 + millisecond);
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return isLeapYear(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /*
+     * Same as LocalDate.toEpochDay() for a year after 0.
+     */
+    private static long toEpochDay(int year, int month, int day) {
+        long total = 365L * year + (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12 + day - 1;
+        if (month > 2) {
+            --total;
+            if (!isLeapYear(year)) {
+                --total;
+            }
+        }
+        return total - DAYS_0000_TO_1970;
+    }
+}
@@ -27,6 +27,10 @@ import java.util.TimeZone;
  * <code>java.util.Date</code> objects.  If no pattern is set, <code>DateFormat.getInstance()</code>
  * is used to create a default date format.  By default, <code>lenient</code> is false.
  * 
+ * <p>Since 3.3.0, each thread reuses its own <code>DateFormat</code>, and fixed width patterns
+ * such as <code>yyyyMMdd</code> or <code>HHmmss</code> are compiled once into a thread-safe
+ * parser that reads digits directly from the text.
+ * 
  * @author Kevin Seim
  * @since 2.1.0
  * @see Date
@@ -43,6 +47,10 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
     // performance improvements when parsing many records
     private transient ThreadLocal<DateFormat> format = new ThreadLocal<>();
     
+    // the compiled parser for a fixed width pattern, or null if not supported
+    private transient DatePatternParser parser;
+    private transient boolean compiled;
+    
     /**
      * Constructs a new AbstractDateTypeHandler.
      */
@@ -65,6 +73,14 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
     protected Date parseDate(String text) throws TypeConversionException {
         if ("".equals(text))
             return null;
+        
+        DatePatternParser parser = getParser();
+        if (parser != null) {
+            Date date = parser.parse(text);
+            if (date != null) {
+                return date;
+            }
+        }
 
         ParsePosition pp = new ParsePosition(0);
         Date date = getFormat().parse(text, pp);
@@ -84,7 +100,30 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
     }
     
     private DateFormat getFormat() {
-        return this.format.get() != null ? this.format.get() : createDateFormat();
+        DateFormat df = format.get();
+        if (df == null) {
+            df = createDateFormat();
+            format.set(df);
+        }
+        return df;
+    }
+    
+    private DatePatternParser getParser() {
+        if (!compiled) {
+            DateFormat df = createDateFormat();
+            parser = (df instanceof SimpleDateFormat) ? DatePatternParser.compile((SimpleDateFormat) df) : null;
+            compiled = true;
+        }
+        return parser;
+    }
+    
+    /*
+     * Discards formats and parsers created for the previous configuration.
+     */
+    private void reset() {
+        format = new ThreadLocal<>();
+        parser = null;
+        compiled = false;
     }
     
     /**
@@ -132,8 +171,6 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
             handler.setPattern(pattern);
             handler.lenient = this.lenient;
             handler.timeZone = this.timeZone;
-            handler.format = new ThreadLocal<>();
-            handler.format.set(handler.createDateFormat());
             return handler;
         }
         catch (CloneNotSupportedException e) {
@@ -166,6 +203,13 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
         }
         
         this.pattern = pattern;
+        reset();
+    }
+    
+    @Override
+    public void setLocale(String localeString) {
+        super.setLocale(localeString);
+        reset();
     }
     
     /**
@@ -181,6 +225,7 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
         else {
             timeZone = TimeZone.getTimeZone(name);
         }
+        reset();
     }
     
     /**
@@ -215,5 +260,6 @@ public abstract class DateTypeHandlerSupport extends LocaleSupport implements Co
      */
     public void setLenient(boolean lenient) {
         this.lenient = lenient;
+        reset();
     }
 }
@@ -0,0 +1,102 @@
+package org.beanio.types;
+
+import java.math.BigDecimal;
+import java.text.*;
+
+/**
+ * An immutable, thread-safe parser compiled from a <code>DecimalFormat</code> without
+ * a prefix, suffix or multiplier, such as <code>#0.00</code> or <code>#,##0</code>.
+ *
+ * <p>Plain decimal text, an optional minus sign followed by up to 18 digits and at most
+ * one decimal separator, is read directly from the text into a <code>BigDecimal</code>
+ * equal to the one the <code>DecimalFormat</code> would parse, including its scale.
+ * Any other text, for example text with grouping separators, is not parsed and must be
+ * parsed using the <code>DecimalFormat</code> instead.
+ *
+ * @since 3.3.0
+ */
+final class DecimalPatternParser {
+
+    private static final int MAX_DIGITS = 18;
+
+    private final char minusSign;
+    private final char decimalSeparator;
+
+    private DecimalPatternParser(char minusSign, char decimalSeparator) {
+        this.minusSign = minusSign;
+        this.decimalSeparator = decimalSeparator;
+    }
+
+    /**
+     * Compiles a <code>DecimalFormat</code> configured to parse <code>BigDecimal</code> values.
+     * @param format the <code>DecimalFormat</code> to compile
+     * @return the compiled parser, or null if the format is not supported
+     */
+    static DecimalPatternParser compile(DecimalFormat format) {
+        if (format.getClass() != DecimalFormat.class ||
+            !format.isParseBigDecimal() ||
+            format.isParseIntegerOnly() ||
+            format.getMultiplier() != 1 ||
+            format.toPattern().indexOf('E') >= 0 ||
+            !format.getPositivePrefix().isEmpty() ||
+            !format.getPositiveSuffix().isEmpty() ||
+            !format.getNegativeSuffix().isEmpty()) {
+            return null;
+        }
+
+        DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+        char minusSign = symbols.getMinusSign();
+        char decimalSeparator = symbols.getDecimalSeparator();
+        if (symbols.getZeroDigit() != '0' ||
+            !format.getNegativePrefix().equals(String.valueOf(minusSign)) ||
+            Character.isDigit(minusSign) ||
+            Character.isDigit(decimalSeparator) ||
+            minusSign == decimalSeparator) {
+            return null;
+        }
+        return new DecimalPatternParser(minusSign, decimalSeparator);
+    }
+
+    /**
+     * Parses decimal text.
+     * @param text the text to parse
+     * @return the parsed <code>BigDecimal</code>, or null if the text must be parsed
+     *   using the <code>DecimalFormat</code> instead
+     */
+    BigDecimal parse(CharSequence text) {
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && text.charAt(0) == minusSign) {
+            negative = true;
+            ++i;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > MAX_DIGITS) {
+                    return null;
+                }
+                unscaled = unscaled * 10 + (c - '0');
+                if (scale >= 0) {
+                    ++scale;
+                }
+            }
+            else if (c == decimalSeparator && scale < 0) {
+                scale = 0;
+            }
+            else {
+                return null;
+            }
+        }
+        if (digits == 0) {
+            return null;
+        }
+
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, Math.max(scale, 0));
+    }
+}
@@ -22,12 +22,21 @@ import java.text.DecimalFormat;
  * A type handler implementation for the <code>Double</code> class.  If <code>pattern</code>
  * is set, a <code>DecimalFormat</code> is used to parse and format the value.  Otherwise,
  * the value is parsed and formatted using the <code>Double</code> class.
+ * <p>
+ * Since 3.3.0, primitive <code>double</code> properties are parsed without creating a
+ * <code>Double</code>, and plain decimal numbers with up to 15 digits are parsed without
+ * creating a <code>String</code>.
  * 
  * @author Kevin Seim
  * @since 1.0
  * @see DecimalFormat
  */
-public class DoubleTypeHandler extends NumberTypeHandler {
+public class DoubleTypeHandler extends NumberTypeHandler implements ToDoubleTypeHandler {
+
+    /* powers of ten that are exactly representable as a double */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
 
     @Override
     protected Double createNumber(String text) throws NumberFormatException {
@@ -39,6 +48,68 @@ public class DoubleTypeHandler extends NumberTypeHandler {
         return bg.doubleValue();
     }
     
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.types.ToDoubleTypeHandler#parseDouble(java.lang.CharSequence, int, int)
+     */
+    @Override
+    public double parseDouble(CharSequence text, int start, int end) throws TypeConversionException {
+        // subclasses may override createNumber()
+        if (getPattern() != null || getClass() != DoubleTypeHandler.class) {
+            return parse(text, start, end).doubleValue();
+        }
+        
+        int i = start;
+        boolean negative = false;
+        char c = text.charAt(i);
+        if (c == '-') {
+            negative = true;
+            ++i;
+        }
+        else if (c == '+') {
+            ++i;
+        }
+        
+        // a number with at most 15 digits and no exponent is converted exactly by dividing
+        // two doubles, otherwise the text is parsed by the Double class
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        for (; i < end; i++) {
+            c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 15) {
+                    return parseText(text, start, end);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (scale >= 0) {
+                    ++scale;
+                }
+            }
+            else if (c == '.' && scale < 0) {
+                scale = 0;
+            }
+            else {
+                return parseText(text, start, end);
+            }
+        }
+        if (digits == 0) {
+            return parseText(text, start, end);
+        }
+        
+        double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+        return negative ? -value : value;
+    }
+    
+    private double parseText(CharSequence text, int start, int end) throws TypeConversionException {
+        try {
+            return Double.parseDouble(text.subSequence(start, end).toString());
+        }
+        catch (NumberFormatException ex) {
+            throw newTypeConversionException(text, start, end, ex);
+        }
+    }
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.types.TypeHandler#getType()
@@ -22,12 +22,15 @@ import java.text.DecimalFormat;
  * A type handler implementation for the <code>Integer</code> class.  If <code>pattern</code>
  * is set, a <code>DecimalFormat</code> is used to parse and format the value.  Otherwise,
  * the value is parsed and formatted using the <code>Integer</code> class.
+ * <p>
+ * Since 3.3.0, primitive <code>int</code> properties are parsed without creating an
+ * <code>Integer</code>.
  * 
  * @author Kevin Seim
  * @since 1.0
  * @see DecimalFormat
  */
-public class IntegerTypeHandler extends NumberTypeHandler {
+public class IntegerTypeHandler extends NumberTypeHandler implements ToIntTypeHandler {
 
     @Override
     protected Integer createNumber(String text) throws NumberFormatException {
@@ -39,6 +42,25 @@ public class IntegerTypeHandler extends NumberTypeHandler {
         return bg.intValueExact();
     }
     
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.types.ToIntTypeHandler#parseInt(java.lang.CharSequence, int, int)
+     */
+    @Override
+    public int parseInt(CharSequence text, int start, int end) throws TypeConversionException {
+        // subclasses may override createNumber()
+        if (getPattern() != null || getClass() != IntegerTypeHandler.class) {
+            return parse(text, start, end).intValue();
+        }
+        
+        try {
+            return (int) parseLong(text, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        }
+        catch (NumberFormatException ex) {
+            throw newTypeConversionException(text, start, end, ex);
+        }
+    }
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.types.TypeHandler#getType()
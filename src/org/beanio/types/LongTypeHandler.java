@@ -22,12 +22,15 @@ import java.text.DecimalFormat;
  * A type handler implementation for the <code>Long</code> class.  If <code>pattern</code>
  * is set, a <code>DecimalFormat</code> is used to parse and format the value.  Otherwise,
  * the value is parsed and formatted using the <code>Long</code> class.
+ * <p>
+ * Since 3.3.0, primitive <code>long</code> properties are parsed without creating a
+ * <code>Long</code>.
  * 
  * @author Kevin Seim
  * @since 1.0
  * @see DecimalFormat
  */
-public class LongTypeHandler extends NumberTypeHandler {
+public class LongTypeHandler extends NumberTypeHandler implements ToLongTypeHandler {
 
     @Override
     protected Long createNumber(String text) throws NumberFormatException {
@@ -39,6 +42,25 @@ public class LongTypeHandler extends NumberTypeHandler {
         return bg.longValueExact();
     }
     
+    /*
+     * (non-Javadoc)
+     * @see org.beanio.types.ToLongTypeHandler#parseLong(java.lang.CharSequence, int, int)
+     */
+    @Override
+    public long parseLong(CharSequence text, int start, int end) throws TypeConversionException {
+        // subclasses may override createNumber()
+        if (getPattern() != null || getClass() != LongTypeHandler.class) {
+            return parse(text, start, end).longValue();
+        }
+        
+        try {
+            return parseLong(text, start, end, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+        catch (NumberFormatException ex) {
+            throw newTypeConversionException(text, start, end, ex);
+        }
+    }
+    
     /*
      * (non-Javadoc)
      * @see org.beanio.types.TypeHandler#getType()
@@ -25,6 +25,9 @@ import java.util.Properties;
  * Otherwise, the value is parsed and formatted using the <code>Number</code> subclass
  * specific to this type handler.
  * 
+ * <p>Since 3.3.0, each thread reuses its own <code>DecimalFormat</code>, and plain decimal
+ * text is parsed without it when the pattern has no prefix, suffix or multiplier.
+ * 
  * @author Kevin Seim
  * @since 1.0
  * @see DecimalFormat
@@ -37,6 +40,10 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
     // by multiple unmarshallers/marshallers, this can lead to significant
     // performance improvements if parsing thousands of records
     private transient ThreadLocal<DecimalFormat> format = new ThreadLocal<>();
+    
+    // the compiled parser for plain decimal text, or null if not supported
+    private transient DecimalPatternParser parser;
+    private transient boolean compiled;
 
     /**
      * Parses a <code>Number</code> from the given text.
@@ -63,22 +70,19 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
             
         }
         else {
-            // create a DecimaFormat for parsing the number
-            DecimalFormat df = format.get();
-            if (df == null) {
-                df = createDecimalFormat();
-                df.setParseBigDecimal(true);
-            }
-            
-            // parse the number using the DecimalFormat
-            ParsePosition pp = new ParsePosition(0);
-            Number number = df.parse(text, pp);
-            if (pp.getErrorIndex() >= 0 || 
-                pp.getIndex() != text.length() ||
-                !(number instanceof BigDecimal))
-            {
-                throw new TypeConversionException("Number value '" + text + 
-                    "' does not match pattern '" + pattern + "'");
+            DecimalPatternParser parser = getParser();
+            Number number = (parser == null) ? null : parser.parse(text);
+            if (number == null) {
+                // parse the number using the DecimalFormat
+                ParsePosition pp = new ParsePosition(0);
+                number = getFormat().parse(text, pp);
+                if (pp.getErrorIndex() >= 0 || 
+                    pp.getIndex() != text.length() ||
+                    !(number instanceof BigDecimal))
+                {
+                    throw new TypeConversionException("Number value '" + text + 
+                        "' does not match pattern '" + pattern + "'");
+                }
             }
             
             try {
@@ -93,6 +97,85 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
         }
     }
     
+    /**
+     * Parses a decimal integer from a range of characters the same as {@link Long#parseLong(String)},
+     * but without creating a <code>String</code>.
+     * @param text the text to parse
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @param min the minimum value
+     * @param max the maximum value
+     * @return the parsed integer
+     * @throws NumberFormatException if the text is not an integer between <code>min</code>
+     *   and <code>max</code>
+     * @since 3.3.0
+     */
+    static long parseLong(CharSequence text, int start, int end, long min, long max) 
+        throws NumberFormatException {
+        
+        int i = start;
+        boolean negative = false;
+        if (i < end) {
+            char c = text.charAt(i);
+            if (c == '-') {
+                negative = true;
+                ++i;
+            }
+            else if (c == '+') {
+                ++i;
+            }
+        }
+        if (i == end) {
+            throw new NumberFormatException();
+        }
+        
+        // accumulate negatively to handle the minimum value
+        long limit = negative ? min : -max;
+        long multmin = limit / 10;
+        long result = 0;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            int digit = c >= '0' && c <= '9' ? c - '0' : Character.digit(c, 10);
+            if (digit < 0 || result < multmin) {
+                throw new NumberFormatException();
+            }
+            result *= 10;
+            if (result < limit + digit) {
+                throw new NumberFormatException();
+            }
+            result -= digit;
+        }
+        return negative ? result : -result;
+    }
+    
+    /**
+     * Parses a range of characters using {@link #parse(String)}.
+     * @param text the text to parse
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @return the parsed <code>Number</code>
+     * @throws TypeConversionException if the text is not a valid number
+     * @since 3.3.0
+     */
+    Number parse(CharSequence text, int start, int end) throws TypeConversionException {
+        return parse(text.subSequence(start, end).toString());
+    }
+    
+    /**
+     * Creates the exception thrown by {@link #parse(String)} for invalid text.
+     * @param text the text that failed to parse
+     * @param start the index of the first character
+     * @param end the index after the last character
+     * @param ex the cause
+     * @return the new {@link TypeConversionException}
+     * @since 3.3.0
+     */
+    TypeConversionException newTypeConversionException(CharSequence text, int start, int end, 
+        NumberFormatException ex) {
+        return new TypeConversionException("Invalid " + getType().getSimpleName() +
+            " value '" + text.subSequence(start, end) + "'", ex);
+    }
+    
     /**
      * Parses a <code>Number</code> from text.
      * @param text the text to convert to a Number
@@ -124,11 +207,6 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
         try {
             NumberTypeHandler handler = (NumberTypeHandler) this.clone();
             handler.setPattern(pattern);
-            handler.format = ThreadLocal.withInitial(() -> {
-                DecimalFormat df = handler.createDecimalFormat();
-                df.setParseBigDecimal(true);
-                return df;
-            });
             return handler;
         }
         catch (CloneNotSupportedException ex) {
@@ -136,6 +214,38 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
         }
     }
     
+    /*
+     * Returns the DecimalFormat for the current thread.
+     */
+    private DecimalFormat getFormat() {
+        DecimalFormat df = format.get();
+        if (df == null) {
+            df = createDecimalFormat();
+            df.setParseBigDecimal(true);
+            format.set(df);
+        }
+        return df;
+    }
+    
+    private DecimalPatternParser getParser() {
+        if (!compiled) {
+            DecimalFormat df = createDecimalFormat();
+            df.setParseBigDecimal(true);
+            parser = DecimalPatternParser.compile(df);
+            compiled = true;
+        }
+        return parser;
+    }
+    
+    /*
+     * Discards formats and parsers created for the previous configuration.
+     */
+    private void reset() {
+        format = new ThreadLocal<>();
+        parser = null;
+        compiled = false;
+    }
+    
     /**
      * Creates a <code>DecimalFormat</code> for parsing and formatting the number value.
      * @return the new <code>DecimalFormat</code>
@@ -156,10 +266,8 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
             return null;
         else if (pattern == null)
             return ((Number) value).toString();
-        else if (format.get() != null)
-            return format.get().format(value);
         else
-            return createDecimalFormat().format(value);
+            return getFormat().format(value);
     }
 
     /**
@@ -189,5 +297,12 @@ public abstract class NumberTypeHandler extends LocaleSupport implements Configu
         }
         
         this.pattern = pattern;
+        reset();
+    }
+    
+    @Override
+    public void setLocale(String localeString) {
+        super.setLocale(localeString);
+        reset();
     }
 }
@@ -0,0 +1,23 @@
+package org.beanio.types;
+
+/**
+ * A {@link TypeHandler} that can also parse field text directly into a primitive
+ * <code>int</code>, so that an <code>int</code> bean property is set without creating
+ * an <code>Integer</code> or substring of the record.
+ * 
+ * @since 3.3.0
+ */
+public interface ToIntTypeHandler extends TypeHandler {
+
+    /**
+     * Parses a range of field text into a primitive <code>int</code>.  The result must be
+     * the same as unboxing the value returned by {@link #parse(String)} for the same text.
+     * @param text the field text to parse
+     * @param start the index of the first character to parse
+     * @param end the index after the last character to parse, which is greater than <code>start</code>
+     * @return the parsed value
+     * @throws TypeConversionException if the text cannot be parsed
+     */
+    public int parseInt(CharSequence text, int start, int end) throws TypeConversionException;
+    
+}
@@ -18,9 +18,12 @@ package org.beanio;
 import static org.junit.Assert.*;
 
 import java.io.*;
-import java.util.HashMap;
-import java.util.Locale;
+import java.nio.ByteBuffer;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
 
+import org.beanio.builder.*;
 import org.beanio.internal.DefaultStreamFactory;
 import org.junit.Test;
 
@@ -91,6 +94,81 @@ public class StreamFactoryTest {
         }
     }
 
+    @Test
+    public void testCreateReaderForBytes() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("d")
+            .format("delimited")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("name"))
+                .addField(new FieldBuilder("city"))));
+        factory.define(new StreamBuilder("f")
+            .format("fixedlength")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("name").length(5))
+                .addField(new FieldBuilder("city").length(6))));
+        
+        String delimited = "Jos\u00e9\tZ\u00fcrich\nAnna\tK\u00f8ge\n";
+        String fixedLength = "Jos\u00e9 Z\u00fcrich\nAnna K\u00f8ge  \n";
+        for (Charset charset : new Charset[] { StandardCharsets.UTF_8, StandardCharsets.ISO_8859_1, StandardCharsets.UTF_16 }) {
+            assertRecords(factory.createReader("d", delimited.getBytes(charset), charset));
+            assertRecords(factory.createReader("d", new ByteArrayInputStream(delimited.getBytes(charset)), charset));
+            assertRecords(factory.createReader("f", ByteBuffer.wrap(fixedLength.getBytes(charset)), charset));
+        }
+    }
+    
+    @Test
+    public void testCreateReaderForPath() throws IOException {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("f")
+            .format("fixedlength")
+            .parser(new FixedLengthParserBuilder().recordLength(11))
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("name").length(5))
+                .addField(new FieldBuilder("city").length(6))));
+        
+        Path file = Files.createTempFile("beanio", ".txt");
+        try {
+            Files.write(file, "Jos\u00e9 Z\u00fcrichAnna K\u00f8ge  ".getBytes(StandardCharsets.ISO_8859_1));
+            assertRecords(factory.createReader("f", file, StandardCharsets.ISO_8859_1));
+            
+            StringWriter text = new StringWriter();
+            BeanWriter out = factory.createWriter("f", text);
+            Map<String,String> map = new HashMap<>();
+            map.put("name", "Anna");
+            out.write(map);
+            map.put("name", "Bob");
+            out.write(map);
+            out.close();
+            assertEquals("Anna       Bob        ", text.toString());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test(expected=BeanIOException.class)
+    public void testInputPathNotFound() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.load("/org/beanio/mapping.xml");
+        factory.createReader("stream1", Paths.get("test/org/beanio/filenotfound.txt"), StandardCharsets.UTF_8);
+    }
+    
+    private void assertRecords(BeanReader in) {
+        try {
+            Map<?,?> map = (Map<?,?>) in.read();
+            assertEquals("Jos\u00e9", map.get("name"));
+            assertEquals("Z\u00fcrich", map.get("city"));
+            map = (Map<?,?>) in.read();
+            assertEquals("Anna", map.get("name"));
+            assertEquals("K\u00f8ge", map.get("city"));
+            assertNull(in.read());
+        }
+        finally {
+            in.close();
+        }
+    }
+
     @Test
     public void testCreateCloseableWriter() {
         StreamFactory factory = StreamFactory.newInstance();
@@ -124,4 +202,70 @@ public class StreamFactoryTest {
         out.flush();
         out.close();
     }
+    
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testSnapshot() throws IOException {
+        String mapping = "org/beanio/config/import.xml";
+        Properties properties = new Properties();
+        properties.setProperty("name", "value");
+        
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StreamFactory.newInstance().exportSnapshot(getClass().getResourceAsStream("/" + mapping), properties, out);
+        byte[] snapshot = out.toByteArray();
+        
+        StreamFactory factory = StreamFactory.newInstance();
+        assertTrue(factory.load(getClass().getResourceAsStream("/" + mapping), properties, 
+            new ByteArrayInputStream(snapshot)));
+        
+        // the imported type handler is configured from the snapshot
+        BeanReader in = factory.createReader("stream", new StringReader("101726"));
+        Map map = (Map) in.read();
+        in.close();
+        Calendar cal = Calendar.getInstance();
+        cal.setTime((Date) map.get("field"));
+        assertEquals(2026, cal.get(Calendar.YEAR));
+        assertEquals(Calendar.OCTOBER, cal.get(Calendar.MONTH));
+        assertEquals(17, cal.get(Calendar.DAY_OF_MONTH));
+        
+        // the snapshot is loaded more than once
+        factory = StreamFactory.newInstance();
+        assertTrue(factory.load(getClass().getResourceAsStream("/" + mapping), properties, 
+            new ByteArrayInputStream(snapshot)));
+        assertTrue(factory.isMapped("stream"));
+        
+        // the mapping file is loaded if the properties are changed
+        properties.setProperty("name", "other");
+        factory = StreamFactory.newInstance();
+        assertFalse(factory.load(getClass().getResourceAsStream("/" + mapping), properties, 
+            new ByteArrayInputStream(snapshot)));
+        assertTrue(factory.isMapped("stream"));
+        
+        // or the snapshot is invalid
+        factory = StreamFactory.newInstance();
+        assertFalse(factory.load(getClass().getResourceAsStream("/" + mapping), null, 
+            new ByteArrayInputStream(Arrays.copyOf(snapshot, snapshot.length / 2))));
+        assertTrue(factory.isMapped("stream"));
+    }
+    
+    @Test
+    public void testSnapshotClassNotAllowed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ObjectOutputStream oos = new ObjectOutputStream(out);
+        oos.writeUTF("BeanIO mapping snapshot");
+        oos.writeInt(1);
+        oos.writeObject(new Date());
+        oos.flush();
+        
+        StreamFactory factory = StreamFactory.newInstance();
+        try {
+            factory.load(getClass().getResourceAsStream("/org/beanio/config/import.xml"), null,
+                new ByteArrayInputStream(out.toByteArray()));
+            fail("BeanIOException expected");
+        }
+        catch (BeanIOException ex) {
+            assertTrue(ex.getMessage(), ex.getMessage().contains("java.util.Date"));
+        }
+        assertFalse(factory.isMapped("stream"));
+    }
 }
@@ -0,0 +1,45 @@
+package org.beanio.parser.accessor;
+
+import java.util.Date;
+
+public class Item {
+
+    private int id;
+    private String name;
+    private boolean active;
+    private Date date;
+    public String code;
+    public long count;
+    private double price;
+    
+    public int getId() {
+        return id;
+    }
+    public void setId(int id) {
+        this.id = id;
+    }
+    public String getName() {
+        return name;
+    }
+    public void setName(String name) {
+        this.name = name;
+    }
+    public boolean isActive() {
+        return active;
+    }
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+    public Date getDate() {
+        return date;
+    }
+    public void setDate(Date date) {
+        this.date = date;
+    }
+    public double getPrice() {
+        return price;
+    }
+    public void setPrice(double price) {
+        this.price = price;
+    }
+}
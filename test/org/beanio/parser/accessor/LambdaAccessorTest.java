@@ -0,0 +1,149 @@
+package org.beanio.parser.accessor;
+
+import static org.junit.Assert.*;
+
+import java.beans.PropertyDescriptor;
+import java.io.*;
+import java.lang.reflect.Field;
+import java.text.SimpleDateFormat;
+
+import org.beanio.*;
+import org.beanio.internal.compiler.accessor.LambdaAccessorFactory;
+import org.beanio.internal.parser.*;
+import org.beanio.internal.parser.accessor.*;
+import org.beanio.internal.util.Settings;
+import org.beanio.parser.ParserTest;
+import org.junit.*;
+
+/**
+ * JUnit test cases for the <code>lambda</code> property accessor factory.
+ */
+public class LambdaAccessorTest extends ParserTest {
+
+    private StreamFactory factory;
+
+    @BeforeClass
+    public static void setUpClass() {
+        clearSettings();
+        System.setProperty("org.beanio.configuration", "org/beanio/parser/accessor/beanio_test.properties");
+        Settings.getInstance();
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        clearSettings();
+        System.clearProperty("org.beanio.configuration");
+        Settings.getInstance();
+    }
+
+    private static void clearSettings() {
+        try {
+            Field settings = Settings.class.getDeclaredField("settings");
+            settings.setAccessible(true);
+            settings.set(null, null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalArgumentException("Could not access settings field", e);
+        }
+    }
+
+    @Before
+    public void setup() throws Exception {
+        factory = newStreamFactory("accessor_mapping.xml");
+    }
+
+    @Test
+    public void testReadWrite() throws Exception {
+        BeanReader in = factory.createReader("s", new StringReader("1,Item,true,2024-02-29,A1\n"));
+        try {
+            Item item = (Item) in.read();
+            assertEquals(1, item.getId());
+            assertEquals("Item", item.getName());
+            assertTrue(item.isActive());
+            assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2024-02-29"), item.getDate());
+            assertEquals("A1", item.code);
+            
+            StringWriter text = new StringWriter();
+            BeanWriter out = factory.createWriter("s", text);
+            out.write(item);
+            out.flush();
+            assertEquals("1,Item,true,2024-02-29,A1" + lineSeparator, text.toString());
+        }
+        finally {
+            in.close();
+        }
+    }
+    
+    @Test
+    public void testAccessorTypes() throws Exception {
+        LambdaAccessorFactory accessorFactory = new LambdaAccessorFactory();
+        Item item = new Item();
+        
+        PropertyAccessor id = accessorFactory.getPropertyAccessor(Item.class, 
+            new PropertyDescriptor("id", Item.class), -1);
+        assertTrue(id instanceof LambdaAccessor);
+        id.setValue(item, 10);
+        assertEquals(10, id.getValue(item));
+        
+        PropertyAccessor code = accessorFactory.getPropertyAccessor(Item.class, 
+            Item.class.getField("code"), -1);
+        assertTrue(code instanceof MethodHandleAccessor);
+        code.setValue(item, "B2");
+        assertEquals("B2", code.getValue(item));
+    }
+    
+    @Test
+    public void testReadPrimitives() throws Exception {
+        BeanReader in = factory.createReader("p", new StringReader(
+            "1,9223372036854775807,-0.25\n,,\nx,2,3\n"));
+        try {
+            Item item = (Item) in.read();
+            assertEquals(1, item.getId());
+            assertEquals(Long.MAX_VALUE, item.count);
+            assertEquals(-0.25, item.getPrice(), 0);
+            
+            item = (Item) in.read();
+            assertEquals(0, item.getId());
+            assertEquals(0, item.count);
+            
+            try {
+                in.read();
+                fail("Expected InvalidRecordException");
+            }
+            catch (InvalidRecordException ex) {
+                assertTrue(ex.getRecordContext().hasFieldErrors());
+                assertNotNull(ex.getRecordContext().getFieldErrors("id"));
+            }
+        }
+        finally {
+            in.close();
+        }
+    }
+    
+    @Test
+    public void testPrimitiveAccessors() throws Exception {
+        LambdaAccessorFactory accessorFactory = new LambdaAccessorFactory();
+        Item item = new Item();
+        
+        PropertyAccessor id = accessorFactory.getPropertyAccessor(Item.class, 
+            new PropertyDescriptor("id", Item.class), -1);
+        ((PrimitivePropertyAccessor) id).setInt(item, 10);
+        assertEquals(10, item.getId());
+        
+        PropertyAccessor price = accessorFactory.getPropertyAccessor(Item.class, 
+            new PropertyDescriptor("price", Item.class), -1);
+        ((PrimitivePropertyAccessor) price).setDouble(item, 1.5);
+        assertEquals(1.5, item.getPrice(), 0);
+        
+        PropertyAccessor count = accessorFactory.getPropertyAccessor(Item.class, 
+            Item.class.getField("count"), -1);
+        ((PrimitivePropertyAccessor) count).setLong(item, 7L);
+        assertEquals(7L, item.count);
+    }
+    
+    @Test(expected = BeanIOException.class)
+    public void testSetInvalidValue() throws Exception {
+        PropertyAccessor id = new LambdaAccessorFactory().getPropertyAccessor(Item.class, 
+            new PropertyDescriptor("id", Item.class), -1);
+        id.setValue(new Item(), "10");
+    }
+}
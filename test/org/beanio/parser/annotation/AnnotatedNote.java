@@ -0,0 +1,17 @@
+package org.beanio.parser.annotation;
+
+import org.beanio.annotation.*;
+import org.beanio.annotation.Record;
+
+@Record
+public class AnnotatedNote {
+
+    @Field(at=0, literal="a\nb\rc")
+    public String type;
+    
+    @Field(at=1, regex="\\d+\r?\n?")
+    public String id;
+    
+    @Field(at=2, defaultValue="\t\b\f\u0000\u00017\u001f\"\\\u00e9")
+    public String text;
+}
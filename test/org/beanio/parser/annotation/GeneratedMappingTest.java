@@ -0,0 +1,148 @@
+package org.beanio.parser.annotation;
+
+import java.beans.*;
+import java.io.*;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import org.beanio.internal.compiler.PropertyAccessorFactory;
+import org.beanio.internal.compiler.accessor.*;
+import org.beanio.internal.config.*;
+import org.beanio.internal.config.annotation.*;
+import org.beanio.internal.parser.PropertyAccessor;
+import org.beanio.internal.parser.accessor.LambdaAccessor;
+import org.beanio.internal.util.TreeNode;
+import org.junit.*;
+
+/**
+ * JUnit test cases for the mapping classes generated by the BeanIO annotation processor.
+ */
+public class GeneratedMappingTest {
+
+    @Test
+    public void testRecordConfig() throws Exception {
+        assertGenerated(AnnotatedUser.class);
+        assertGenerated(AnnotatedRoom.class);
+    }
+
+    @Test
+    public void testControlCharacters() throws Exception {
+        assertGenerated(AnnotatedNote.class);
+    }
+
+    @Test
+    public void testAccessors() throws Exception {
+        GeneratedMapping mapping = GeneratedMapping.forClass(AnnotatedUser.class);
+        Assert.assertNotNull(mapping);
+        Assert.assertNull(mapping.createGroupConfig());
+        Assert.assertNull(mapping.getGetter("getUnknown"));
+
+        PropertyAccessorFactory factory = new GeneratedAccessorFactory(new ReflectionAccessorFactory());
+        PropertyDescriptor descriptor = new PropertyDescriptor("firstName", AnnotatedUser.class);
+        PropertyAccessor accessor = factory.getPropertyAccessor(AnnotatedUser.class, descriptor, -1);
+        Assert.assertTrue(accessor instanceof LambdaAccessor);
+
+        AnnotatedUser user = new AnnotatedUser();
+        accessor.setValue(user, "Joe");
+        Assert.assertEquals("Joe", user.getFirstName());
+        Assert.assertEquals("Joe", accessor.getValue(user));
+
+        accessor = factory.getPropertyAccessor(AnnotatedUser.class,
+            AnnotatedUser.class.getDeclaredField("end"), -1);
+        Assert.assertTrue(accessor instanceof LambdaAccessor);
+        accessor.setValue(user, "EOL");
+        Assert.assertEquals("EOL", user.end);
+        Assert.assertEquals("EOL", accessor.getValue(user));
+    }
+
+    /*
+     * Asserts the generated configuration of a class is the same as the configuration
+     * created using reflection.
+     */
+    private void assertGenerated(Class<?> type) throws Exception {
+        Assert.assertNotNull(GeneratedMapping.forClass(type));
+
+        Class<?> reflected = new HidingClassLoader().loadClass(type.getName());
+        Assert.assertNotSame(type, reflected);
+        Assert.assertNull(GeneratedMapping.forClass(reflected));
+
+        assertConfigEquals(type.getName(), AnnotationParser.createRecordConfig(reflected),
+            AnnotationParser.createRecordConfig(type));
+    }
+
+    private void assertConfigEquals(String path, ComponentConfig expected, ComponentConfig actual)
+        throws Exception {
+
+        Assert.assertEquals(path, expected.getClass(), actual.getClass());
+        path = path + "/" + expected.getName();
+
+        for (PropertyDescriptor descriptor : Introspector.getBeanInfo(expected.getClass()).getPropertyDescriptors()) {
+            Method getter = descriptor.getReadMethod();
+            // children are compared below
+            if (getter == null ||
+                TreeNode.class.isAssignableFrom(getter.getReturnType()) ||
+                Collection.class.isAssignableFrom(getter.getReturnType())) {
+                continue;
+            }
+            Assert.assertEquals(path + "." + descriptor.getName(), getter.invoke(expected), getter.invoke(actual));
+        }
+
+        List<ComponentConfig> expectedChildren = expected.getChildren();
+        List<ComponentConfig> actualChildren = actual.getChildren();
+        Assert.assertEquals(path, expectedChildren.size(), actualChildren.size());
+        for (int i = 0; i < expectedChildren.size(); i++) {
+            assertConfigEquals(path, expectedChildren.get(i), actualChildren.get(i));
+        }
+    }
+
+    /*
+     * Loads the annotated test classes without their generated mapping classes.
+     */
+    private static class HidingClassLoader extends ClassLoader {
+
+        private static final String PACKAGE = AnnotatedUser.class.getPackage().getName() + ".";
+
+        public HidingClassLoader() {
+            super(GeneratedMappingTest.class.getClassLoader());
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            if (name.endsWith(GeneratedMapping.SUFFIX)) {
+                throw new ClassNotFoundException(name);
+            }
+
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> c = findLoadedClass(name);
+                if (c == null) {
+                    InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+                    if (in == null) {
+                        throw new ClassNotFoundException(name);
+                    }
+                    try {
+                        ByteArrayOutputStream out = new ByteArrayOutputStream();
+                        byte[] b = new byte[4096];
+                        int n;
+                        while ((n = in.read(b)) != -1) {
+                            out.write(b, 0, n);
+                        }
+                        c = defineClass(name, out.toByteArray(), 0, out.size());
+                    }
+                    catch (IOException ex) {
+                        throw new ClassNotFoundException(name, ex);
+                    }
+                    finally {
+                        try {
+                            in.close();
+                        }
+                        catch (IOException ex) { }
+                    }
+                }
+                return c;
+            }
+        }
+    }
+}
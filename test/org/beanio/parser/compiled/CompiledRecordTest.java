@@ -0,0 +1,187 @@
+package org.beanio.parser.compiled;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import org.beanio.*;
+import org.beanio.beans.*;
+import org.beanio.builder.*;
+import org.beanio.internal.util.Settings;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for the <code>org.beanio.compileFlatRecords</code> setting, which
+ * must not change how records are read and written.
+ *
+ * @since 3.3.0
+ */
+public class CompiledRecordTest {
+
+    private static final String lineSeparator = System.getProperty("line.separator");
+
+    @Test
+    public void testFixedLength() {
+        for (StreamFactory factory : factories()) {
+            BeanReader in = factory.createReader("fixed", new StringReader("Ipen  012\nIbook 100\n"));
+            OrderItem item = (OrderItem) in.read();
+            assertEquals("pen", item.getName());
+            assertEquals(12, item.getQuantity());
+            item = (OrderItem) in.read();
+            assertEquals("book", item.getName());
+            assertEquals(100, item.getQuantity());
+            assertNull(in.read());
+
+            item.setName(null);
+            item.setQuantity(7);
+            assertEquals("I     007" + lineSeparator, write(factory, "fixed", item));
+        }
+    }
+
+    @Test
+    public void testDelimited() {
+        for (StreamFactory factory : factories()) {
+            BeanReader in = factory.createReader("delimited", new StringReader("pen,3\nbook\n"));
+            OrderItem item = (OrderItem) in.read();
+            assertEquals("pen", item.getName());
+            assertEquals(3, item.getQuantity());
+
+            // the default value is used for a missing field
+            item = (OrderItem) in.read();
+            assertEquals("book", item.getName());
+            assertEquals(1, item.getQuantity());
+            assertNull(in.read());
+
+            assertEquals("book,1" + lineSeparator, write(factory, "delimited", item));
+        }
+    }
+
+    @Test
+    public void testFieldErrors() {
+        for (StreamFactory factory : factories()) {
+            BeanReader in = factory.createReader("fixed", new StringReader("Ipen  0x2\nIpen\nIbook 001\n"));
+            try {
+                in.read();
+                fail("InvalidRecordException expected");
+            }
+            catch (InvalidRecordException ex) {
+                assertEquals(1, ex.getRecordContext().getFieldErrors("quantity").size());
+            }
+            try {
+                in.read();
+                fail("InvalidRecordException expected");
+            }
+            catch (InvalidRecordException ex) {
+                assertNotNull(ex.getRecordContext().getFieldErrors("quantity"));
+            }
+            assertEquals("book", ((OrderItem) in.read()).getName());
+        }
+    }
+
+    @Test
+    public void testMap() {
+        for (StreamFactory factory : factories()) {
+            BeanReader in = factory.createReader("map", new StringReader("pen,,x\n"));
+            Map<?,?> map = (Map<?,?>) in.read();
+            assertEquals("pen", map.get("name"));
+            assertEquals("", map.get("code"));
+            assertFalse(map.containsKey("ignored"));
+
+            assertEquals("pen,," + lineSeparator, write(factory, "map", map));
+        }
+    }
+
+    @Test
+    public void testSegmentNotCompiled() {
+        for (StreamFactory factory : factories()) {
+            BeanReader in = factory.createReader("segment", new StringReader("pen,3\n"));
+            Map<?,?> map = (Map<?,?>) in.read();
+            OrderItem item = (OrderItem) map.get("item");
+            assertEquals("pen", item.getName());
+            assertEquals(3, item.getQuantity());
+
+            assertEquals("pen,3" + lineSeparator, write(factory, "segment", map));
+        }
+    }
+
+    @Test
+    public void testGroupBeanNotCompiled() throws Exception {
+        for (StreamFactory factory : factories()) {
+            BeanReader in = factory.createReader("group", new StringReader(
+                "order,100,2012-01-01\ncustomer,George,Smith\n"));
+            Order order = (Order) in.read();
+            assertEquals("100", order.getId());
+            assertEquals(new SimpleDateFormat("yyyy-MM-dd").parse("2012-01-01"), order.getDate());
+            assertEquals("George", order.getCustomer().getFirstName());
+            assertEquals("Smith", order.getCustomer().getLastName());
+
+            assertEquals("order,100,2012-01-01" + lineSeparator + "customer,George,Smith" + lineSeparator,
+                write(factory, "group", order));
+        }
+    }
+
+    /*
+     * Returns stream factories with and without compiled records.
+     */
+    private List<StreamFactory> factories() {
+        List<StreamFactory> list = new ArrayList<>();
+        for (String compile : new String[] { "false", "true" }) {
+            StreamFactory factory = StreamFactory.newInstance();
+            for (StreamBuilder builder : streams()) {
+                factory.define(builder.setting(Settings.COMPILE_FLAT_RECORDS, compile));
+            }
+            list.add(factory);
+        }
+        return list;
+    }
+
+    private List<StreamBuilder> streams() {
+        return Arrays.asList(
+            new StreamBuilder("fixed")
+                .format("fixedlength")
+                .addRecord(new RecordBuilder("item", OrderItem.class)
+                    .addField(new FieldBuilder("type").length(1).literal("I").rid().ignore())
+                    .addField(new FieldBuilder("name").length(5))
+                    .addField(new FieldBuilder("quantity").length(3).align(Align.RIGHT).padding('0'))),
+            new StreamBuilder("delimited")
+                .format("delimited")
+                .parser(new DelimitedParserBuilder(','))
+                .addRecord(new RecordBuilder("item", OrderItem.class)
+                    .addField(new FieldBuilder("name"))
+                    .addField(new FieldBuilder("quantity").minOccurs(0).defaultValue("1"))),
+            new StreamBuilder("map")
+                .format("csv")
+                .addRecord(new RecordBuilder("record", HashMap.class)
+                    .addField(new FieldBuilder("name"))
+                    .addField(new FieldBuilder("code"))
+                    .addField(new FieldBuilder("ignored").ignore())),
+            new StreamBuilder("segment")
+                .format("csv")
+                .addRecord(new RecordBuilder("record", HashMap.class)
+                    .addSegment(new SegmentBuilder("item").type(OrderItem.class)
+                        .addField(new FieldBuilder("name"))
+                        .addField(new FieldBuilder("quantity")))),
+            // a record without a class binds its fields to the group's bean object
+            new StreamBuilder("group")
+                .format("csv")
+                .addGroup(new GroupBuilder("orderGroup").type(Order.class)
+                    .addRecord(new RecordBuilder("order").order(1).occurs(1)
+                        .addField(new FieldBuilder("type").literal("order").rid().ignore())
+                        .addField(new FieldBuilder("id"))
+                        .addField(new FieldBuilder("date").format("yyyy-MM-dd")))
+                    .addRecord(new RecordBuilder("customer", Person.class).order(2).occurs(1)
+                        .addField(new FieldBuilder("type").literal("customer").rid().ignore())
+                        .addField(new FieldBuilder("firstName"))
+                        .addField(new FieldBuilder("lastName")))));
+    }
+
+    private String write(StreamFactory factory, String stream, Object bean) {
+        StringWriter text = new StringWriter();
+        BeanWriter out = factory.createWriter(stream, text);
+        out.write(bean);
+        out.flush();
+        return text.toString();
+    }
+}
@@ -0,0 +1,107 @@
+package org.beanio.parser.dispatch;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.beanio.*;
+import org.beanio.parser.ParserTest;
+import org.junit.*;
+
+/**
+ * JUnit test cases for identifying records using a group's dispatch table.
+ *
+ * @since 3.3.0
+ */
+public class DispatchTableTest extends ParserTest {
+
+    private StreamFactory factory;
+
+    @Before
+    public void setup() throws Exception {
+        factory = newStreamFactory("dispatch_mapping.xml");
+    }
+
+    @Test
+    public void testFixedLength() throws Exception {
+        assertRecords("fixed", "d1_fixed.txt");
+    }
+
+    @Test
+    public void testCsv() throws Exception {
+        assertRecords("csv", "d1_csv.txt");
+    }
+
+    @Test
+    public void testUnidentifiedRecord() throws Exception {
+        BeanReader in = createReader("d2_unidentified.txt");
+        try {
+            in.read();
+            in.read();
+            in.read();
+            fail("Expected UnidentifiedRecordException");
+        }
+        catch (UnidentifiedRecordException ex) {
+            assertEquals(3, in.getLineNumber());
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testUnexpectedRecord() throws Exception {
+        BeanReader in = createReader("d3_unexpected.txt");
+        try {
+            in.read();
+            in.read();
+            in.read();
+            fail("Expected UnexpectedRecordException");
+        }
+        catch (UnexpectedRecordException ex) {
+            assertEquals("header", ex.getRecordContext().getRecordName());
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Test(expected = UnexpectedRecordException.class)
+    public void testMissingTrailer() throws Exception {
+        BeanReader in = createReader("d4_missingTrailer.txt");
+        try {
+            while (in.read() != null) { }
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private void assertRecords(String stream, String filename) throws IOException {
+        BeanReader in = factory.createReader(stream, new InputStreamReader(
+            getClass().getResourceAsStream(filename)));
+        try {
+            List<String> names = new ArrayList<>();
+            List<Object> values = new ArrayList<>();
+            Map map;
+            while ((map = (Map) in.read()) != null) {
+                names.add(in.getRecordName());
+                values.add(map.containsKey("amount") ? map.get("amount") :
+                    map.containsKey("name") ? map.get("name") :
+                    map.containsKey("count") ? map.get("count") : map.get("date"));
+            }
+            assertEquals(Arrays.asList("header", "amount", "nameA", "nameB", "amount", "trailer"), names);
+            assertEquals(Arrays.<Object>asList("20261017", 12, "joe", "ann", 7, 4), values);
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    private BeanReader createReader(String filename) {
+        return factory.createReader("fixed", new InputStreamReader(
+            getClass().getResourceAsStream(filename)));
+    }
+}
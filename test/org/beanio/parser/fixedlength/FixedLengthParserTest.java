@@ -293,6 +293,35 @@ public class FixedLengthParserTest extends ParserTest {
         }
     }
     
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testFieldText() {
+        BeanReader in = factory.createReader("f10", new StringReader(
+            "AB 000042  joe   \n" +
+            "AB 000000xy      \n" +
+            "AB 00004x ann    \n" +
+            "AB 000007 a      \n"));
+        try {
+            Map map = (Map) in.read();
+            assertEquals(42, map.get("amount"));
+            assertEquals("joe", map.get("name"));
+            assertEquals("000042", in.getRecordContext(0).getFieldText("amount"));
+            assertEquals("  joe   ", in.getRecordContext(0).getFieldText("name"));
+            
+            map = (Map) in.read();
+            assertEquals(0, map.get("amount"));
+            assertEquals("xy", map.get("name"));
+            
+            assertFieldError(in, 3, "record", "amount", "00004x", 
+                "Type conversion error: Invalid Integer value '4x'");
+            assertFieldError(in, 4, "record", "name", " a      ", 
+                "Minimum field length is 2 characters");
+        }
+        finally {
+            in.close();
+        }
+    }
+    
     @Test
     @SuppressWarnings({ "rawtypes", "unchecked" })
     public void testOverlay() {
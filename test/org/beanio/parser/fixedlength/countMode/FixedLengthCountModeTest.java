@@ -15,14 +15,21 @@
  */
 package org.beanio.parser.fixedlength.countMode;
 
+import static org.junit.Assert.assertEquals;
+
 import org.beanio.BeanReader;
+import org.beanio.BeanWriter;
 import org.beanio.StreamFactory;
 import org.beanio.internal.util.Settings;
 import org.beanio.parser.ParserTest;
 import org.junit.*;
 
 import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.Map;
 
 public class FixedLengthCountModeTest extends ParserTest {
 
@@ -73,4 +80,31 @@ public class FixedLengthCountModeTest extends ParserTest {
         }
     }
 
+    @Test
+    public void testUnboundedFieldByteOffset() {
+        BeanReader in = factory.createReader("u", new StringReader("ハロー世界!"));
+        try {
+            Map<?,?> map = (Map<?,?>) in.read();
+            assertEquals("ハロー", map.get("first"));
+            assertEquals("世界!", map.get("last"));
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testMarshalByteLength() {
+        Map<String,Object> map = new HashMap<>();
+        map.put("first", "ハ");
+        map.put("second", "ロ");
+        map.put("third", "!");
+        
+        StringWriter text = new StringWriter();
+        BeanWriter out = factory.createWriter("f", text);
+        out.write(map);
+        out.close();
+        assertEquals("ハ        ロ        !" + lineSeparator, text.toString());
+    }
+
 }
@@ -0,0 +1,136 @@
+package org.beanio.parser.json.pull;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.beanio.*;
+import org.beanio.parser.ParserTest;
+import org.junit.*;
+
+/**
+ * JUnit test cases for reading and writing JSON records in pull mode.
+ *
+ * @since 3.3.0
+ */
+public class JsonPullModeTest extends ParserTest {
+
+    private StreamFactory factory;
+
+    @Before
+    public void setup() throws Exception {
+        factory = newStreamFactory("pull_mapping.xml");
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testRead() throws Exception {
+        BeanReader in = factory.createReader("pull", new InputStreamReader(
+            getClass().getResourceAsStream("p1.txt")));
+        try {
+            Map map = (Map) in.read();
+            assertEquals("order", in.getRecordName());
+            assertEquals(1, map.get("id"));
+            assertEquals("Joe", map.get("customer"));
+            assertEquals(Arrays.asList("a", "b"), map.get("tags"));
+            assertEquals(78701, ((Map) map.get("address")).get("zip"));
+            List items = (List) map.get("items");
+            assertEquals(2, items.size());
+            assertEquals(new java.math.BigDecimal("1.5"), ((Map) items.get(0)).get("price"));
+
+            map = (Map) in.read();
+            assertEquals("note", in.getRecordName());
+            assertEquals("hello \"world\"", map.get("text"));
+            assertEquals(2, in.getLineNumber());
+
+            map = (Map) in.read();
+            assertEquals(2, map.get("id"));
+            assertNull(map.get("customer"));
+
+            try {
+                in.read();
+                fail("Expected InvalidRecordException");
+            }
+            catch (InvalidRecordException ex) {
+                assertTrue(ex.getRecordContext().hasFieldErrors());
+                assertEquals("{\"type\":\"order\",\"id\":3,\"customer\":\"Ann\",\"address\":{\"city\":\"Dallas\",\"zip\":\"x\"}}",
+                    ex.getRecordContext().getRecordText());
+            }
+
+            assertNull(in.read());
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testSameAsMap() throws Exception {
+        assertEquals(readAll("map"), readAll("pull"));
+    }
+
+    @Test
+    public void testWriteSameAsMap() throws Exception {
+        // record names followed by beans
+        List<Object> records = new ArrayList<>();
+        List<Object> list = readAll("map");
+        for (int i=0; i<list.size(); i++) {
+            if (i + 1 < list.size() && list.get(i + 1) instanceof String) {
+                records.add(list.get(i + 1));
+                records.add(list.get(i));
+            }
+        }
+        
+        Map<String,Object> note = new HashMap<>();
+        note.put("type", "note");
+        note.put("text", "a/b\\c\t\u00e9\"");
+        records.add("note");
+        records.add(note);
+        
+        String text = write("map", records);
+        assertEquals(text, write("pull", records));
+        
+        Marshaller m = factory.createMarshaller("pull");
+        StringBuilder s = new StringBuilder();
+        for (int i=0; i<records.size(); i+=2) {
+            s.append(m.marshal((String) records.get(i), records.get(i + 1)).toString());
+            s.append(System.getProperty("line.separator"));
+        }
+        assertEquals(text, s.toString());
+    }
+
+    private String write(String stream, List<Object> records) throws IOException {
+        StringWriter s = new StringWriter();
+        BeanWriter out = factory.createWriter(stream, s);
+        for (int i=0; i<records.size(); i+=2) {
+            out.write((String) records.get(i), records.get(i + 1));
+        }
+        out.close();
+        return s.toString();
+    }
+
+    private List<Object> readAll(String stream) throws IOException {
+        List<Object> list = new ArrayList<>();
+        BeanReader in = factory.createReader(stream, new InputStreamReader(
+            getClass().getResourceAsStream("p1.txt")));
+        in.setErrorHandler(new BeanReaderErrorHandlerSupport() {
+            @Override
+            public void invalidRecord(InvalidRecordException ex) throws Exception {
+                list.add(ex.getRecordContext().getFieldErrors());
+            }
+        });
+        try {
+            Object bean;
+            while ((bean = in.read()) != null) {
+                list.add(bean);
+                list.add(in.getRecordName());
+                list.add(in.getLineNumber());
+            }
+        }
+        finally {
+            in.close();
+        }
+        return list;
+    }
+}
@@ -0,0 +1,139 @@
+package org.beanio.parser.parallel;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.stream.*;
+
+import org.beanio.*;
+import org.beanio.builder.*;
+import org.beanio.internal.parser.FileBeanSpliterator;
+import org.junit.*;
+
+/**
+ * JUnit test cases for reading beans using a {@link java.util.stream.Stream}.
+ *
+ * @since 3.3.0
+ */
+public class BeanStreamTest {
+
+    private static final int RECORDS = 2000;
+    
+    private static Path file;
+    
+    private StreamFactory factory;
+    
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        file = Files.createTempFile("beanio", ".csv");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= RECORDS; i++) {
+                out.write(i % 500 == 0 ? "x" : Integer.toString(i));
+                out.write(",name" + i + "\r\n");
+            }
+        }
+    }
+    
+    @AfterClass
+    public static void tearDownClass() throws IOException {
+        Files.delete(file);
+    }
+    
+    @Before
+    public void setUp() {
+        factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("s")
+            .format("csv")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("id").type(Integer.class))
+                .addField(new FieldBuilder("name"))));
+    }
+    
+    @Test
+    public void testParallel() {
+        final List<Integer> errors = Collections.synchronizedList(new ArrayList<Integer>());
+        try (Stream<Object> s = createStream(new BeanReaderErrorHandler() {
+            public void handleError(BeanReaderException ex) throws Exception {
+                errors.add(ex.getRecordContext().getLineNumber());
+            }
+        })) {
+            List<Integer> ids = s.parallel()
+                .map(bean -> (Integer) ((Map<?,?>) bean).get("id"))
+                .collect(Collectors.toList());
+            
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 1; i <= RECORDS; i++) {
+                if (i % 500 != 0) {
+                    expected.add(i);
+                }
+            }
+            assertEquals(expected, ids);
+        }
+        Collections.sort(errors);
+        assertEquals(Arrays.asList(500, 1000, 1500, 2000), errors);
+    }
+    
+    @Test
+    public void testTrySplit() {
+        try (Stream<Object> s = createStream(ex -> { })) {
+            Spliterator<Object> suffix = s.spliterator();
+            Spliterator<Object> prefix = suffix.trySplit();
+            assertNotNull(prefix);
+            
+            List<Object> beans = new ArrayList<>();
+            suffix.tryAdvance(beans::add);
+            assertNull(suffix.trySplit());
+            
+            // the suffix begins on a record boundary
+            Map<?,?> map = (Map<?,?>) beans.get(0);
+            assertEquals("name" + map.get("id"), map.get("name"));
+            
+            prefix.forEachRemaining(beans::add);
+            assertEquals(1, ((Map<?,?>) beans.get(1)).get("id"));
+        }
+    }
+    
+    @Test(expected=InvalidRecordException.class)
+    public void testErrorThrown() {
+        try (Stream<Object> s = createStream(null)) {
+            s.parallel().count();
+        }
+    }
+    
+    @Test
+    public void testNotSplittable() {
+        factory.define(new StreamBuilder("h")
+            .format("csv")
+            .addRecord(new RecordBuilder("header", HashMap.class).order(1).occurs(1)
+                .addField(new FieldBuilder("type").rid().literal("1")))
+            .addRecord(new RecordBuilder("record", HashMap.class).order(2)
+                .addField(new FieldBuilder("id"))));
+        
+        final List<Integer> errors = new ArrayList<>();
+        try (Stream<Object> s = factory.createStream("h", file, StandardCharsets.UTF_8, 
+            ex -> errors.add(ex.getRecordContext().getLineNumber()))) {
+            assertEquals(RECORDS, s.parallel().count());
+        }
+        assertTrue(errors.isEmpty());
+    }
+    
+    @Test
+    public void testBeanReaderStream() {
+        BeanReader in = factory.createReader("s", new StringReader("1,a\n2,b\n"));
+        try (Stream<Object> s = in.stream()) {
+            assertEquals(Arrays.asList("a", "b"), s
+                .map(bean -> ((Map<?,?>) bean).get("name"))
+                .collect(Collectors.toList()));
+        }
+    }
+    
+    private Stream<Object> createStream(BeanReaderErrorHandler errorHandler) {
+        Stream<Object> s = factory.createStream("s", file, StandardCharsets.UTF_8, errorHandler);
+        FileBeanSpliterator spliterator = (FileBeanSpliterator) s.spliterator();
+        spliterator.setMinSplitSize(1000);
+        return StreamSupport.stream(spliterator, false).onClose(s::close);
+    }
+}
@@ -0,0 +1,291 @@
+package org.beanio.parser.parallel;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.beanio.*;
+import org.beanio.builder.*;
+import org.beanio.internal.parser.ParallelBeanReader;
+import org.beanio.stream.json.JsonRecordParserFactory;
+import org.junit.*;
+
+/**
+ * JUnit test cases for reading a file in parallel.
+ *
+ * @since 3.3.0
+ */
+public class ParallelBeanReaderTest {
+
+    private static final int RECORDS = 2000;
+    
+    private static ForkJoinPool pool;
+    private static Path file;
+    
+    private StreamFactory factory;
+    
+    @BeforeClass
+    public static void setUpClass() throws IOException {
+        pool = new ForkJoinPool(4);
+        file = Files.createTempFile("beanio", ".csv");
+        try (Writer out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= RECORDS; i++) {
+                out.write(i % 500 == 0 ? "x" : Integer.toString(i));
+                out.write(",name" + i + "\n");
+            }
+        }
+    }
+    
+    @AfterClass
+    public static void tearDownClass() throws IOException {
+        pool.shutdown();
+        Files.delete(file);
+    }
+    
+    @Before
+    public void setUp() {
+        factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("s")
+            .format("csv")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("id").type(Integer.class))
+                .addField(new FieldBuilder("name"))));
+    }
+    
+    @Test
+    public void testOrdered() {
+        final List<Integer> errors = new ArrayList<>();
+        BeanReader in = createReader(true);
+        in.setErrorHandler(new BeanReaderErrorHandler() {
+            public void handleError(BeanReaderException ex) throws Exception {
+                assertEquals(1, ex.getRecordCount());
+                errors.add(ex.getRecordContext().getLineNumber());
+            }
+        });
+        try {
+            int expected = 1;
+            Map<?,?> map;
+            while ((map = (Map<?,?>) in.read()) != null) {
+                if (expected % 500 == 0) {
+                    ++expected;
+                }
+                assertEquals(expected, map.get("id"));
+                assertEquals("name" + expected, map.get("name"));
+                assertEquals(expected, in.getLineNumber());
+                assertEquals("record", in.getRecordName());
+                assertEquals(expected + ",name" + expected, in.getRecordContext(0).getRecordText());
+                ++expected;
+            }
+            assertEquals(RECORDS, expected);
+            assertEquals(Arrays.asList(500, 1000, 1500, 2000), errors);
+        }
+        finally {
+            in.close();
+        }
+    }
+    
+    @Test
+    public void testUnordered() {
+        BeanReader in = createReader(false);
+        try {
+            BitSet ids = new BitSet();
+            int errors = 0;
+            while (true) {
+                try {
+                    Map<?,?> map = (Map<?,?>) in.read();
+                    if (map == null) {
+                        break;
+                    }
+                    int id = (Integer) map.get("id");
+                    assertEquals(id, in.getLineNumber());
+                    assertFalse(ids.get(id));
+                    ids.set(id);
+                }
+                catch (InvalidRecordException ex) {
+                    ++errors;
+                }
+            }
+            assertEquals(RECORDS - 4, ids.cardinality());
+            assertEquals(4, errors);
+        }
+        finally {
+            in.close();
+        }
+    }
+    
+    @Test
+    public void testSkip() {
+        BeanReader in = createReader(true);
+        try {
+            assertEquals(1000, in.skip(1000));
+            Map<?,?> map = (Map<?,?>) in.read();
+            assertEquals(1001, map.get("id"));
+            assertEquals(RECORDS - 1001, in.skip(RECORDS));
+            assertNull(in.read());
+        }
+        finally {
+            in.close();
+        }
+    }
+    
+    @Test
+    public void testCarriageReturns() throws IOException {
+        Path cr = Files.createTempFile("beanio", ".csv");
+        try {
+            String[] terminators = { "\r", "\r\n", "\n" };
+            try (Writer out = Files.newBufferedWriter(cr, StandardCharsets.UTF_8)) {
+                for (int i = 1; i <= 30; i++) {
+                    out.write(i + ",name" + i + terminators[i % 3]);
+                }
+            }
+            
+            // split the file at every position, including between a CR and LF
+            for (int chunkSize = 1; chunkSize <= 40; chunkSize++) {
+                BeanReader in = factory.createParallelReader("s", cr, StandardCharsets.UTF_8, true, pool);
+                ((ParallelBeanReader) in).setChunkSize(chunkSize);
+                try {
+                    int expected = 1;
+                    Map<?,?> map;
+                    while ((map = (Map<?,?>) in.read()) != null) {
+                        assertEquals(expected, map.get("id"));
+                        assertEquals("name" + expected, map.get("name"));
+                        assertEquals(expected, in.getLineNumber());
+                        ++expected;
+                    }
+                    assertEquals(31, expected);
+                }
+                finally {
+                    in.close();
+                }
+            }
+        }
+        finally {
+            Files.delete(cr);
+        }
+    }
+    
+    @Test
+    public void testJsonLines() throws IOException {
+        Path json = Files.createTempFile("beanio", ".json");
+        try {
+            try (Writer out = Files.newBufferedWriter(json, StandardCharsets.UTF_8)) {
+                for (int i = 1; i <= RECORDS; i++) {
+                    out.write(i % 500 == 0 ? "{\"id\":" : "{\"id\":" + i + ",\"name\":\"name" + i + "\"}");
+                    out.write(i % 2 == 0 ? "\r\n" : "\n");
+                }
+            }
+            
+            for (boolean pullMode : new boolean[] { false, true }) {
+                JsonRecordParserFactory parser = new JsonRecordParserFactory();
+                parser.setJsonLines(true);
+                parser.setPullMode(pullMode);
+                factory.define(new StreamBuilder("j")
+                    .format("json")
+                    .parser(parser)
+                    .addRecord(new RecordBuilder("record", HashMap.class)
+                        .addField(new FieldBuilder("id").type(Integer.class))
+                        .addField(new FieldBuilder("name"))));
+                
+                BeanReader in = factory.createParallelReader("j", json, StandardCharsets.UTF_8, true, pool);
+                ((ParallelBeanReader) in).setChunkSize(1000);
+                try {
+                    int expected = 1;
+                    while (true) {
+                        try {
+                            Map<?,?> map = (Map<?,?>) in.read();
+                            if (map == null) {
+                                break;
+                            }
+                            assertEquals(expected, map.get("id"));
+                            assertEquals("name" + expected, map.get("name"));
+                            assertEquals(expected, in.getLineNumber());
+                        }
+                        catch (MalformedRecordException ex) {
+                            assertEquals(0, expected % 500);
+                        }
+                        ++expected;
+                    }
+                    assertEquals(RECORDS + 1, expected);
+                }
+                finally {
+                    in.close();
+                }
+            }
+        }
+        finally {
+            Files.delete(json);
+        }
+    }
+    
+    @Test
+    public void testRecordContext() {
+        BeanReader in = factory.createParallelReader("s", file, StandardCharsets.UTF_8, true, pool, 
+            Locale.ENGLISH);
+        try {
+            assertNotNull(in.read());
+            RecordContext ctx = in.getRecordContext(0);
+            assertEquals(1, ctx.getLineNumber());
+            assertEquals("record", ctx.getRecordName());
+            assertEquals("1,name1", ctx.getRecordText());
+            try {
+                in.getRecordContext(1);
+                fail("IndexOutOfBoundsException expected");
+            }
+            catch (IndexOutOfBoundsException ex) { }
+            
+            in.skip(498);
+            try {
+                in.read();
+                fail("InvalidRecordException expected");
+            }
+            catch (InvalidRecordException ex) {
+                assertSame(ex.getRecordContext(), in.getRecordContext(0));
+                assertEquals(500, in.getRecordContext(0).getLineNumber());
+            }
+            
+            // the context of a bean is read again when requested
+            assertNotNull(in.read());
+            assertEquals("501,name501", in.getRecordContext(0).getRecordText());
+            assertEquals(501, in.getRecordContext(0).getLineNumber());
+        }
+        finally {
+            in.close();
+        }
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testUnsupportedJson() {
+        factory.define(new StreamBuilder("j")
+            .format("json")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("id"))));
+        factory.createParallelReader("j", file, StandardCharsets.UTF_8, true, pool);
+    }
+    
+    @Test(expected=IllegalArgumentException.class)
+    public void testUnsupportedLayout() {
+        factory.define(new StreamBuilder("h")
+            .format("csv")
+            .addRecord(new RecordBuilder("header", HashMap.class).order(1).occurs(1)
+                .addField(new FieldBuilder("type").rid().literal("H")))
+            .addRecord(new RecordBuilder("record", HashMap.class).order(2)
+                .addField(new FieldBuilder("id"))));
+        factory.createParallelReader("h", file, StandardCharsets.UTF_8, true, pool);
+    }
+    
+    @Test(expected=BeanIOException.class)
+    public void testFileNotFound() {
+        factory.createParallelReader("s", Paths.get("test/org/beanio/filenotfound.txt"), 
+            StandardCharsets.UTF_8, true, pool);
+    }
+    
+    private BeanReader createReader(boolean ordered) {
+        BeanReader in = factory.createParallelReader("s", file, StandardCharsets.UTF_8, ordered, pool);
+        ((ParallelBeanReader) in).setChunkSize(1000);
+        return in;
+    }
+}
@@ -0,0 +1,149 @@
+package org.beanio.parser.settings;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.*;
+
+import org.beanio.*;
+import org.beanio.beans.OrderItem;
+import org.beanio.builder.*;
+import org.beanio.internal.util.*;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for overriding BeanIO settings for a stream.
+ *
+ * @since 3.3.0
+ */
+public class StreamSettingsTest {
+
+    @Test
+    public void testOverride() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(itemStream("default"));
+        factory.define(itemStream("strict").setting(Settings.ERROR_IF_NULL_PRIMITIVE, "true"));
+        
+        BeanReader in = factory.createReader("default", new StringReader("pen,\n"));
+        OrderItem item = (OrderItem) in.read();
+        assertEquals("pen", item.getName());
+        assertEquals(0, item.getQuantity());
+        
+        in = factory.createReader("strict", new StringReader("pen,\n"));
+        try {
+            in.read();
+            fail("InvalidRecordException expected");
+        }
+        catch (InvalidRecordException ex) {
+            assertTrue(ex.getRecordContext().hasFieldErrors());
+        }
+    }
+    
+    @Test
+    public void testOverrideFixedLengthCountMode() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("bytes")
+            .format("fixedlength")
+            .setting(Settings.FIXED_LENGTH_COUNT_MODE, "bytes")
+            .setting(Settings.FIXED_LENGTH_CHARSET, "UTF-8")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("name").length(4))
+                .addField(new FieldBuilder("id").length(2))));
+        
+        BeanReader in = factory.createReader("bytes", new StringReader("Jo\u00e912\n"));
+        Map<?,?> map = (Map<?,?>) in.read();
+        assertEquals("Jo\u00e9", map.get("name"));
+        assertEquals("12", map.get("id"));
+    }
+    
+    @Test
+    public void testOverrideDefaultDateFormat() throws Exception {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("dates")
+            .format("csv")
+            .setting(Settings.DEFAULT_DATETIME_FORMAT, "yyyy-MM-dd HH:mm")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("date").type(Date.class))));
+        
+        Date date = new SimpleDateFormat("yyyy-MM-dd HH:mm").parse("2012-01-15 10:30");
+        BeanReader in = factory.createReader("dates", new StringReader("2012-01-15 10:30\n"));
+        assertEquals(date, ((Map<?,?>) in.read()).get("date"));
+        
+        // the default type handler is not modified
+        assertNotEquals("2012-01-15 10:30", TypeHandlerFactory.getDefault().getTypeHandlerFor(Date.class).format(date));
+    }
+    
+    @Test
+    public void testOverrideDefaultLocale() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("amounts")
+            .format("csv")
+            .setting(Settings.DEFAULT_LOCALE, "de_DE")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addField(new FieldBuilder("amount").type(BigDecimal.class).format("#,##0.00"))));
+        
+        BeanReader in = factory.createReader("amounts", new StringReader("\"1.234,50\"\n"));
+        assertEquals(new BigDecimal("1234.50"), ((Map<?,?>) in.read()).get("amount"));
+    }
+    
+    @Test
+    public void testOverrideLazyIfEmpty() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(lazyStream("default"));
+        factory.define(lazyStream("empty").setting(Settings.LAZY_IF_EMPTY, "false"));
+        
+        BeanReader in = factory.createReader("default", new StringReader(",\n"));
+        assertNull(((Map<?,?>) in.read()).get("item"));
+        
+        in = factory.createReader("empty", new StringReader(",\n"));
+        OrderItem item = (OrderItem) ((Map<?,?>) in.read()).get("item");
+        assertEquals("", item.getName());
+    }
+    
+    @Test
+    public void testOverrideXsiNamespacePrefix() {
+        StreamFactory factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("xml")
+            .format("xml")
+            .parser(new XmlParserBuilder().suppressHeader())
+            .setting(Settings.DEFAULT_XSI_NAMESPACE_PREFIX, "xi")
+            .addRecord(new RecordBuilder("item", HashMap.class)
+                .addField(new FieldBuilder("name").nillable())));
+        
+        StringWriter text = new StringWriter();
+        BeanWriter out = factory.createWriter("xml", text);
+        out.write(new HashMap<String, Object>());
+        out.close();
+        assertTrue(text.toString(), text.toString().contains("xi:nil=\"true\""));
+    }
+    
+    @Test
+    public void testSettingsNotModified() {
+        Settings settings = Settings.getInstance();
+        assertSame(settings, settings.override(Collections.<String, String>emptyMap()));
+        
+        Settings copy = settings.override(Collections.singletonMap(Settings.ERROR_IF_NULL_PRIMITIVE, "true"));
+        assertTrue(copy.getBoolean(Settings.ERROR_IF_NULL_PRIMITIVE));
+        assertFalse(settings.getBoolean(Settings.ERROR_IF_NULL_PRIMITIVE));
+        assertEquals(settings.getProperty(Settings.STREAM_FACTORY_CLASS), copy.getProperty(Settings.STREAM_FACTORY_CLASS));
+    }
+    
+    private StreamBuilder itemStream(String name) {
+        return new StreamBuilder(name)
+            .format("csv")
+            .addRecord(new RecordBuilder("item", OrderItem.class)
+                .addField(new FieldBuilder("name"))
+                .addField(new FieldBuilder("quantity")));
+    }
+    
+    private StreamBuilder lazyStream(String name) {
+        return new StreamBuilder(name)
+            .format("csv")
+            .addRecord(new RecordBuilder("record", HashMap.class)
+                .addSegment(new SegmentBuilder("item").type(OrderItem.class).lazy()
+                    .addField(new FieldBuilder("name"))
+                    .addField(new FieldBuilder("quantity"))));
+    }
+}
@@ -0,0 +1,135 @@
+package org.beanio.parser.writeall;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.beanio.*;
+import org.beanio.beans.*;
+import org.beanio.builder.*;
+import org.junit.*;
+
+/**
+ * JUnit test cases for writing a batch of beans.
+ *
+ * @since 3.3.0
+ */
+public class WriteAllTest {
+
+    private StreamFactory factory;
+    
+    @Before
+    public void setUp() {
+        factory = StreamFactory.newInstance();
+        factory.define(new StreamBuilder("s")
+            .format("delimited")
+            .parser(new DelimitedParserBuilder(',').recordTerminator("\n"))
+            .addRecord(new RecordBuilder("person", Person.class)
+                .addField(new FieldBuilder("type").ignore().literal("P"))
+                .addField(new FieldBuilder("firstName"))
+                .addField(new FieldBuilder("lastName")))
+            .addRecord(new RecordBuilder("item", OrderItem.class)
+                .addField(new FieldBuilder("type").ignore().literal("I"))
+                .addField(new FieldBuilder("name"))
+                .addField(new FieldBuilder("quantity"))));
+    }
+    
+    @Test
+    public void testWriteAll() {
+        List<Object> beans = new ArrayList<>();
+        for (int i=0; i<100; i++) {
+            beans.add(person("John" + i, "Smith"));
+            beans.add(item("item" + i, i));
+        }
+        
+        CountingWriter text = new CountingWriter();
+        BeanWriter out = factory.createWriter("s", text);
+        out.writeAll(beans);
+        assertEquals(1, text.count);
+        
+        StringWriter expected = new StringWriter();
+        BeanWriter out2 = factory.createWriter("s", expected);
+        for (Object bean : beans) {
+            out2.write(bean);
+        }
+        out2.flush();
+        assertEquals(expected.toString(), text.toString());
+        
+        // records written after a batch are not buffered
+        out.write(person("Jane", "Doe"));
+        assertEquals(2, text.count);
+        assertTrue(text.toString().endsWith("P,Jane,Doe\n"));
+        out.close();
+    }
+    
+    @Test
+    public void testRecordsBeforeErrorWritten() {
+        StringWriter text = new StringWriter();
+        BeanWriter out = factory.createWriter("s", text);
+        try {
+            out.writeAll(Arrays.asList(person("John", "Smith"), "invalid", item("pen", 1)));
+            fail("BeanWriterException expected");
+        }
+        catch (BeanWriterException ex) {
+            assertEquals("P,John,Smith\n", text.toString());
+        }
+    }
+    
+    @Test
+    public void testOrderedLayout() {
+        factory.define(new StreamBuilder("o")
+            .format("delimited")
+            .parser(new DelimitedParserBuilder(',').recordTerminator("\n"))
+            .addRecord(new RecordBuilder("header", Person.class).order(1).occurs(1)
+                .addField(new FieldBuilder("firstName")))
+            .addRecord(new RecordBuilder("detail", OrderItem.class).order(2)
+                .addField(new FieldBuilder("name"))));
+        
+        StringWriter text = new StringWriter();
+        BeanWriter out = factory.createWriter("o", text);
+        out.writeAll(Arrays.asList(person("John", "Smith"), item("pen", 1), item("cup", 2)));
+        assertEquals("John\npen\ncup\n", text.toString());
+        try {
+            out.write(person("Jane", "Doe"));
+            fail("BeanWriterException expected");
+        }
+        catch (BeanWriterException ex) { }
+    }
+    
+    private Person person(String firstName, String lastName) {
+        Person person = new Person();
+        person.setFirstName(firstName);
+        person.setLastName(lastName);
+        return person;
+    }
+    
+    private OrderItem item(String name, int quantity) {
+        OrderItem item = new OrderItem();
+        item.setName(name);
+        item.setQuantity(quantity);
+        return item;
+    }
+    
+    private static class CountingWriter extends StringWriter {
+        private int count;
+        
+        @Override
+        public void write(char[] cbuf, int off, int len) {
+            ++count;
+            super.write(cbuf, off, len);
+        }
+        
+        @Override
+        public void write(String str, int off, int len) {
+            ++count;
+            super.write(str, off, len);
+        }
+        
+        @Override
+        public void write(int c) {
+            ++count;
+            super.write(c);
+        }
+    }
+}
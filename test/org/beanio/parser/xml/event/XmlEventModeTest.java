@@ -0,0 +1,190 @@
+package org.beanio.parser.xml.event;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.beanio.*;
+import org.beanio.internal.util.StatefulWriter;
+import org.beanio.parser.xml.XmlParserTest;
+import org.junit.*;
+
+/**
+ * JUnit test cases for reading and writing XML records using stream events.
+ *
+ * @since 3.3.0
+ */
+public class XmlEventModeTest extends XmlParserTest {
+
+    private StreamFactory factory;
+
+    @Before
+    public void setup() throws Exception {
+        factory = newStreamFactory("event_mapping.xml");
+    }
+
+    @Test
+    @SuppressWarnings("rawtypes")
+    public void testRead() throws Exception {
+        BeanReader in = factory.createReader("event", new InputStreamReader(
+            getClass().getResourceAsStream("e1_in.xml")));
+        try {
+            Map map = (Map) in.read();
+            assertEquals(1, map.get("id"));
+            assertEquals("Joe", map.get("customer"));
+            assertEquals("A1", map.get("code"));
+            assertNull(map.get("note"));
+            assertEquals(Arrays.asList("apple", "pear"), map.get("item"));
+            Map address = (Map) map.get("address");
+            assertEquals("Austin", address.get("city"));
+            assertEquals(78701, address.get("zip"));
+            assertEquals(4, in.getLineNumber());
+
+            map = (Map) in.read();
+            assertEquals(2, map.get("id"));
+            assertEquals("Jane & <Co>", map.get("customer"));
+            assertEquals("B2", map.get("code"));
+            assertEquals("rush", map.get("note"));
+            assertNull(map.get("address"));
+            assertEquals(13, in.getLineNumber());
+
+            map = (Map) in.read();
+            assertEquals(3, map.get("id"));
+            assertEquals("Ann", map.get("customer"));
+
+            assertNull(in.read());
+        }
+        finally {
+            in.close();
+        }
+    }
+
+    @Test
+    public void testSameAsDom() throws Exception {
+        assertEquals(readAll("dom"), readAll("event"));
+    }
+
+    @Test
+    public void testWriteSameAsDom() throws Exception {
+        List<Object> orders = readOrders();
+        assertEquals(write("dom", orders), write("event", orders));
+    }
+
+    @Test
+    public void testRestoreState() throws Exception {
+        List<Object> orders = readOrders();
+
+        StringWriter s1 = new StringWriter();
+        BeanWriter out = factory.createWriter("event", s1);
+        out.write(orders.get(0));
+        out.flush();
+
+        Map<String, Object> state = new HashMap<>();
+        ((StatefulWriter) out).updateState("w", state);
+
+        StringWriter s2 = new StringWriter();
+        out = factory.createWriter("event", s2);
+        ((StatefulWriter) out).restoreState("w", state);
+        out.write(orders.get(1));
+        out.write(orders.get(2));
+        out.close();
+
+        assertEquals(write("dom", orders), s1.toString() + s2.toString());
+    }
+
+    @Test
+    public void testUnmarshalSameAsDom() throws Exception {
+        Marshaller m = factory.createMarshaller("dom");
+        Unmarshaller dom = factory.createUnmarshaller("dom");
+        Unmarshaller event = factory.createUnmarshaller("event");
+        for (Object order : readOrders()) {
+            String text = m.marshal(order).toString();
+            assertEquals(dom.unmarshal(text), event.unmarshal(text));
+        }
+    }
+
+    @Test
+    public void testUnmarshalConcurrently() throws Exception {
+        final List<Object> orders = new ArrayList<>();
+        final List<String> text = new ArrayList<>();
+        Marshaller m = factory.createMarshaller("dom");
+        Unmarshaller u = factory.createUnmarshaller("dom");
+        for (Object order : readOrders()) {
+            text.add(m.marshal(order).toString());
+            orders.add(u.unmarshal(text.get(text.size() - 1)));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t=0; t<8; t++) {
+                final String stream = t % 2 == 0 ? "dom" : "event";
+                results.add(executor.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() throws Exception {
+                        Unmarshaller u = factory.createUnmarshaller(stream);
+                        for (int i=0; i<200; i++) {
+                            int n = i % orders.size();
+                            if (!orders.get(n).equals(u.unmarshal(text.get(n)))) {
+                                return Boolean.FALSE;
+                            }
+                        }
+                        return Boolean.TRUE;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        }
+        finally {
+            executor.shutdown();
+        }
+    }
+
+    private List<Object> readOrders() throws IOException {
+        List<Object> orders = new ArrayList<>();
+        BeanReader in = factory.createReader("dom", new InputStreamReader(
+            getClass().getResourceAsStream("e1_in.xml")));
+        try {
+            Object bean;
+            while ((bean = in.read()) != null) {
+                orders.add(bean);
+            }
+        }
+        finally {
+            in.close();
+        }
+        return orders;
+    }
+
+    private String write(String stream, List<Object> orders) throws IOException {
+        StringWriter s = new StringWriter();
+        BeanWriter out = factory.createWriter(stream, s);
+        for (Object order : orders) {
+            out.write(order);
+        }
+        out.close();
+        return s.toString();
+    }
+
+    private List<Object> readAll(String stream) throws IOException {
+        List<Object> list = new ArrayList<>();
+        BeanReader in = factory.createReader(stream, new InputStreamReader(
+            getClass().getResourceAsStream("e1_in.xml")));
+        try {
+            Object bean;
+            while ((bean = in.read()) != null) {
+                list.add(bean);
+                list.add(in.getRecordName());
+                list.add(in.getLineNumber());
+            }
+        }
+        finally {
+            in.close();
+        }
+        return list;
+    }
+}
@@ -312,6 +312,47 @@ public class CsvReaderTest {
         assertNull(in.read());
     }
 
+    @Test
+    public void testRecordText() throws IOException {
+        factory.setMultilineEnabled(true);
+        CsvReader in = createReader(factory, "1,\"2\r\n\"\"2\"\"\"\r\n3");
+        assertArrayEquals(new String[] { "1", "2\r\n\"2\"" }, in.read());
+        assertEquals("1,\"2\r\n\"\"2\"\"\"", in.getRecordText());
+        assertEquals(1, in.getRecordLineNumber());
+        assertArrayEquals(new String[] { "3" }, in.read());
+        assertEquals("3", in.getRecordText());
+        assertEquals(3, in.getRecordLineNumber());
+        assertNull(in.read());
+        assertNull(in.getRecordText());
+    }
+
+    @Test
+    public void testRecordLargerThanBuffer() throws IOException {
+        StringBuilder field = new StringBuilder();
+        for (int i=0; i<50000; i++) {
+            field.append((char)('a' + (i % 26)));
+        }
+        
+        CsvReader in = createReader(factory, field + ",\"" + field + "\"\"\"\n1");
+        assertArrayEquals(new String[] { field.toString(), field + "\"" }, in.read());
+        assertEquals(field + ",\"" + field + "\"\"\"", in.getRecordText());
+        assertArrayEquals(new String[] { "1" }, in.read());
+        assertNull(in.read());
+    }
+
+    @Test
+    public void testRecoverRecordText() throws IOException {
+        CsvReader in = createReader(factory, "1,\"2\"x,3\n4");
+        try {
+            in.read();
+            fail("Expected RecordIOException");
+        } catch (RecordIOException ex) {
+        }
+        assertEquals("1,\"2\"x,3", in.getRecordText());
+        assertArrayEquals(new String[] { "4" }, in.read());
+        assertEquals(2, in.getRecordLineNumber());
+    }
+
     @Test
     public void testMalformedRecordAtEOF() throws IOException {
         
@@ -0,0 +1,74 @@
+package org.beanio.stream;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.*;
+
+import org.beanio.stream.delimited.*;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for <tt>DelimitedByteReader</tt>.
+ *
+ * @since 3.3.0
+ */
+public class DelimitedByteReaderTest {
+
+    @Test
+    public void testBasic() throws IOException {
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        RecordReader in = createReader(factory, "1\té€\t33\t444\t\né", StandardCharsets.UTF_8);
+        assertArrayEquals(new String[] { "1", "é€", "33", "444", "" }, (String[]) in.read());
+        assertEquals("1\té€\t33\t444\t", in.getRecordText());
+        assertEquals(1, in.getRecordLineNumber());
+        assertArrayEquals(new String[] { "é" }, (String[]) in.read());
+        assertEquals(2, in.getRecordLineNumber());
+        assertNull(in.read());
+        assertEquals(-1, in.getRecordLineNumber());
+    }
+
+    @Test
+    public void testEscapeAndLineContinuation() throws IOException {
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        factory.setDelimiter(',');
+        factory.setEscape('\\');
+        factory.setLineContinuationCharacter('\\');
+        RecordReader in = createReader(factory, "é\\,è,ê\\\r\në\r\n\\\\", StandardCharsets.ISO_8859_1);
+        assertArrayEquals(new String[] { "é,è", "êë" }, (String[]) in.read());
+        assertEquals("é\\,è,ê\\\r\në", in.getRecordText());
+        assertArrayEquals(new String[] { "\\" }, (String[]) in.read());
+        assertEquals(3, in.getRecordLineNumber());
+        assertNull(in.read());
+    }
+
+    @Test
+    public void testComments() throws IOException {
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        factory.setComments(new String[] { "#", "§" });
+        RecordReader in = createReader(factory, "# comment\n§ comment\nvalue\n#", StandardCharsets.UTF_8);
+        assertArrayEquals(new String[] { "value" }, (String[]) in.read());
+        assertEquals(3, in.getRecordLineNumber());
+        assertNull(in.read());
+    }
+
+    @Test
+    public void testUnsupportedCharset() {
+        DelimitedParserConfiguration config = new DelimitedParserConfiguration();
+        assertTrue(DelimitedByteReader.isSupported(config, StandardCharsets.UTF_8));
+        assertTrue(DelimitedByteReader.isSupported(config, Charset.forName("windows-1252")));
+        assertFalse(DelimitedByteReader.isSupported(config, StandardCharsets.UTF_16));
+
+        config.setDelimiter('§');
+        assertFalse(DelimitedByteReader.isSupported(config, StandardCharsets.UTF_8));
+
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        assertTrue(factory.createReader(new ByteArrayInputStream(new byte[0]), StandardCharsets.UTF_16) instanceof DelimitedReader);
+    }
+
+    private RecordReader createReader(DelimitedRecordParserFactory factory, String input, Charset charset) {
+        RecordReader in = factory.createReader(new ByteArrayInputStream(input.getBytes(charset)), charset);
+        assertTrue(in instanceof DelimitedByteReader);
+        return in;
+    }
+}
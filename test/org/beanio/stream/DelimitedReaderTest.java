@@ -187,6 +187,49 @@ public class DelimitedReaderTest {
         assertEquals(-1, in.getRecordLineNumber());
     }
     
+    @Test
+    public void testLineContinuationCRLFRecordText() throws IOException {
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        factory.setDelimiter(',');
+        factory.setLineContinuationCharacter('\\');
+        DelimitedReader in = createReader(factory, "1,2,\\\r\n3,4\r\n5");
+        assertArrayEquals(new String[] { "1", "2", "3", "4" }, in.read());
+        assertEquals("1,2,\\\r\n3,4", in.getRecordText());
+        assertArrayEquals(new String[] { "5" }, in.read());
+        assertEquals("5", in.getRecordText());
+        assertEquals(3, in.getRecordLineNumber());
+        assertNull(in.read());
+        assertNull(in.getRecordText());
+    }
+
+    @Test
+    public void testRecordLargerThanBuffer() throws IOException {
+        StringBuilder field = new StringBuilder();
+        for (int i=0; i<50000; i++) {
+            field.append((char)('a' + (i % 26)));
+        }
+        
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        factory.setEscape('\\');
+        DelimitedReader in = createReader(factory, "1\t" + field + "\\\t" + field + "\n2\t3");
+        assertArrayEquals(new String[] { "1", field + "\t" + field }, in.read());
+        assertEquals("1\t" + field + "\\\t" + field, in.getRecordText());
+        assertArrayEquals(new String[] { "2", "3" }, in.read());
+        assertNull(in.read());
+    }
+
+    @Test
+    public void testComments() throws IOException {
+        DelimitedRecordParserFactory factory = new DelimitedRecordParserFactory();
+        factory.setComments(new String[] { "#", "!!" });
+        DelimitedReader in = createReader(factory, "#a\tb\r\n!!\n1\t2\n!x\n#");
+        assertArrayEquals(new String[] { "1", "2" }, in.read());
+        assertEquals(3, in.getRecordLineNumber());
+        assertArrayEquals(new String[] { "!x" }, in.read());
+        assertEquals(4, in.getRecordLineNumber());
+        assertNull(in.read());
+    }
+
     @Test
     public void testClose() throws IOException {
         DelimitedReader in = new DelimitedReader(new StringReader(""));
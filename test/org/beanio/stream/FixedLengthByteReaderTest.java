@@ -0,0 +1,100 @@
+package org.beanio.stream;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.charset.*;
+
+import org.beanio.stream.fixedlength.*;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for <tt>FixedLengthByteReader</tt>.
+ *
+ * @since 3.3.0
+ */
+public class FixedLengthByteReaderTest {
+
+    @Test
+    public void testBasic() throws IOException {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        RecordReader in = createReader(factory, "é€11\r\n2222\r3333", StandardCharsets.UTF_8);
+        assertEquals("é€11", in.read());
+        assertEquals("é€11", in.getRecordText());
+        assertEquals(1, in.getRecordLineNumber());
+        assertEquals("2222", in.read());
+        assertEquals(2, in.getRecordLineNumber());
+        assertEquals("3333", in.read());
+        assertEquals(3, in.getRecordLineNumber());
+        assertNull(in.read());
+        assertEquals(-1, in.getRecordLineNumber());
+    }
+
+    @Test
+    public void testLineContinuation() throws IOException {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        factory.setLineContinuationCharacter('\\');
+        RecordReader in = createReader(factory, "é1\\\n22\n33\\\r\n\\44", StandardCharsets.ISO_8859_1);
+        assertEquals("é122", in.read());
+        assertEquals("é1\n22", in.getRecordText());
+        assertEquals(1, in.getRecordLineNumber());
+        assertEquals("33\\44", in.read());
+        assertEquals("33\r\\44", in.getRecordText());
+        assertEquals(3, in.getRecordLineNumber());
+        assertNull(in.read());
+    }
+
+    @Test(expected = RecordIOException.class)
+    public void testLineContinuationError() throws IOException {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        factory.setLineContinuationCharacter('\\');
+        createReader(factory, "11\\", StandardCharsets.UTF_8).read();
+    }
+
+    @Test
+    public void testComments() throws IOException {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        factory.setComments(new String[] { "#", "//" });
+        factory.setRecordTerminator("+");
+        RecordReader in = createReader(factory, "# comment+one+/+++// ignored+//", StandardCharsets.UTF_8);
+        assertEquals("one", in.read());
+        assertEquals("/", in.read());
+        assertEquals("", in.read());
+        assertEquals("", in.read());
+        assertNull(in.read());
+    }
+
+    @Test
+    public void testRecordLength() throws IOException {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        factory.setRecordLength(3);
+        RecordReader in = createReader(factory, "éèê\n\r123ab", StandardCharsets.ISO_8859_1);
+        assertEquals("éèê", in.read());
+        assertEquals(0, in.getRecordLineNumber());
+        assertEquals("\n\r1", in.read());
+        assertEquals("23a", in.read());
+        assertEquals("b", in.read());
+        assertEquals("b", in.getRecordText());
+        assertNull(in.read());
+        assertEquals(-1, in.getRecordLineNumber());
+    }
+
+    @Test
+    public void testRecordLengthMultiByteCharset() throws IOException {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        factory.setRecordLength(2);
+        assertFalse(FixedLengthByteReader.isSupported(factory, StandardCharsets.UTF_8));
+
+        RecordReader in = factory.createReader(new ByteArrayInputStream("éèêa".getBytes(StandardCharsets.UTF_8)), StandardCharsets.UTF_8);
+        assertTrue(in instanceof FixedLengthReader);
+        assertEquals("éè", in.read());
+        assertEquals("êa", in.read());
+        assertNull(in.read());
+    }
+
+    private RecordReader createReader(FixedLengthRecordParserFactory factory, String input, Charset charset) {
+        RecordReader in = factory.createReader(new ByteArrayInputStream(input.getBytes(charset)), charset);
+        assertTrue(in instanceof FixedLengthByteReader);
+        return in;
+    }
+}
@@ -133,6 +133,30 @@ public class FixedLengthReaderTest {
         assertNull(in.read());
     }
     
+    @Test
+    public void testRecordLength() throws IOException {
+        FixedLengthParserConfiguration config = new FixedLengthParserConfiguration();
+        config.setRecordLength(3);
+        
+        FixedLengthReader in = new FixedLengthReader(new StringReader("abc\n\r123ab"), config);
+        assertEquals("abc", in.read());
+        assertEquals(0, in.getRecordLineNumber());
+        assertEquals("\n\r1", in.read());
+        assertEquals("23a", in.read());
+        assertEquals("b", in.read());
+        assertEquals("b", in.getRecordText());
+        assertNull(in.read());
+        assertEquals(-1, in.getRecordLineNumber());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void testRecordLengthWithTerminator() {
+        FixedLengthRecordParserFactory factory = new FixedLengthRecordParserFactory();
+        factory.setRecordLength(3);
+        factory.setRecordTerminator("\n");
+        factory.init();
+    }
+    
     @Test
     public void testMalformedRecordAtEOF() throws IOException {
         FixedLengthParserConfiguration config = new FixedLengthParserConfiguration();
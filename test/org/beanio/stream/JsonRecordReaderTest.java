@@ -0,0 +1,173 @@
+package org.beanio.stream;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.util.*;
+
+import org.beanio.stream.json.*;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for {@link JsonRecordReader}.
+ *
+ * @since 3.3.0
+ */
+public class JsonRecordReaderTest {
+
+    private static final String TEXT =
+        "{\"double1\":5e10, \"int1\":" + Integer.MAX_VALUE + ", \"long1\" : " + Long.MAX_VALUE + " }\n" +
+        "{ \"o1\" : { \"field1\" : \"value1\", \"field2\" : -10} }\r\n" +
+        "{ \"array2\" : [ \"10\" , null , true , { \"field1\" : \"value1\" }, [ 0.50 ] ] }\r" +
+        "{ \"field1\" : \" \\\\ \\/ \\b \\f \\n \\r \\t \\\" \\u004B \" } ";
+
+    @Test
+    public void testSameAsJsonReader() throws IOException {
+        assertEquals(readAll(new JsonReader(new StringReader(TEXT))),
+            readAll(new JsonRecordReader(new StringReader(TEXT))));
+        assertEquals(readAll(new JsonReader(new StringReader(TEXT))),
+            readAll(new JsonRecordReader(new OneCharReader(TEXT))));
+    }
+
+    @Test
+    public void testText() throws IOException {
+        JsonRecordReader in = new JsonRecordReader(new StringReader(TEXT));
+
+        JsonRecord record = in.read();
+        int node = record.findMember(JsonRecord.ROOT, "int1");
+        assertEquals(JsonRecord.NUMBER, record.getType(node));
+        assertEquals(String.valueOf(Integer.MAX_VALUE), record.getText(node));
+        assertEquals(String.valueOf(5e10), record.getText(record.findMember(JsonRecord.ROOT, "double1")));
+
+        record = in.read();
+        node = record.findMember(JsonRecord.ROOT, "o1");
+        assertEquals("-10", record.getText(record.findMember(node, "field2")));
+
+        record = in.read();
+        node = record.findMember(JsonRecord.ROOT, "array2");
+        assertEquals(5, record.getChildCount(node));
+        assertEquals("10", record.getText(record.getElement(node, 0)));
+        assertEquals(JsonRecord.NULL, record.getType(record.getElement(node, 1)));
+        assertEquals("true", record.getText(record.getElement(node, 2)));
+        assertEquals("0.5", record.getText(record.getFirstChild(record.getElement(node, 4))));
+        assertEquals(JsonRecord.NONE, record.getElement(node, 5));
+    }
+
+    @Test
+    public void testRecordTextAndLineNumber() throws IOException {
+        JsonRecordReader in = new JsonRecordReader(new OneCharReader(TEXT));
+
+        in.read();
+        assertEquals(1, in.getRecordLineNumber());
+        in.read();
+        assertEquals(2, in.getRecordLineNumber());
+        assertEquals("{ \"o1\" : { \"field1\" : \"value1\", \"field2\" : -10} }", in.getRecordText());
+        in.read();
+        assertEquals(3, in.getRecordLineNumber());
+        in.read();
+        assertEquals(4, in.getRecordLineNumber());
+        assertNull(in.read());
+    }
+
+    @Test
+    public void testNames() throws IOException {
+        JsonRecordReader in = new JsonRecordReader(new StringReader(
+            "{ \"a\" : 1, \"b\" : { \"a\" : [ 1, { \"c\" : 2 } ] }, \"c\" : { \"a\" : \"x\" } }"));
+        in.setNames(Arrays.asList("a", "c"));
+
+        JsonRecord record = in.read();
+        assertEquals(JsonRecord.NONE, record.findMember(JsonRecord.ROOT, "b"));
+        assertEquals("1", record.getText(record.findMember(JsonRecord.ROOT, "a")));
+        int c = record.findMember(JsonRecord.ROOT, "c");
+        assertEquals("x", record.getText(record.findMember(c, "a")));
+        assertEquals(4, record.size());
+    }
+
+    @Test
+    public void testErrors() throws IOException {
+        assertError("{ field : \"value\" }", "Expected string or '}' at line 1, near position 3");
+        assertError("{ \"f1\" : \"value\" \"f2\" : \"value2\" }", "Expected ',' or '}' at line 1, near position 18");
+        assertError("\n{ \"number\" : a }", "Cannot parse 'a' into a JSON string, number or boolean at line 2, near position 14");
+        assertError("{ \"number\" : [ 10", "Expected ',' or ']' at line 1, near position 17");
+        assertError("{ \"number", "Expected '\"' at line 1, near position 9");
+        assertError("{ \"number\" 10 }", "Expected ':' at line 1, near position 12");
+    }
+
+    @Test
+    public void testJsonLines() throws IOException {
+        String text =
+            "{\"a\":1}\n" +
+            "\n" +
+            "{\"a\":\n" +
+            "2}\n" +
+            "{\"a\":\"x\ny\"}\n" +
+            "{\"a\":3} {\"a\":4}\r\n" +
+            "{\"a\":5}";
+        
+        JsonParserConfiguration config = new JsonParserConfiguration();
+        config.setJsonLines(true);
+        
+        List<Object> expected = Arrays.asList(
+            1, "{\"a\":1}", "error 3", "error 4", "error 5", "error 6", "error 7", 5, "{\"a\":5}");
+        assertEquals(expected, readLines(new JsonReader(new StringReader(text), config)));
+        assertEquals(expected, readLines(new JsonRecordReader(new StringReader(text), config)));
+        assertEquals(expected, readLines(new JsonRecordReader(new OneCharReader(text), config)));
+    }
+    
+    private List<Object> readLines(RecordReader in) throws IOException {
+        List<Object> list = new ArrayList<>();
+        while (true) {
+            try {
+                Object record = in.read();
+                if (record == null) {
+                    break;
+                }
+                if (record instanceof JsonRecord) {
+                    record = ((JsonRecord) record).getValue(JsonRecord.ROOT);
+                }
+                list.add(((Map<?,?>) record).get("a"));
+                list.add(in.getRecordText());
+            }
+            catch (RecordIOException ex) {
+                assertTrue(ex.getMessage(), ex.getMessage().contains("at line "));
+                list.add("error " + ex.getMessage().replaceAll(".* at line (\\d+),.*", "$1"));
+            }
+        }
+        return list;
+    }
+
+    private void assertError(String text, String message) throws IOException {
+        try {
+            new JsonRecordReader(new StringReader(text)).read();
+            fail("Expected RecordIOException");
+        }
+        catch (RecordIOException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private List<Object> readAll(RecordReader in) throws IOException {
+        List<Object> list = new ArrayList<>();
+        Object record;
+        while ((record = in.read()) != null) {
+            list.add(record instanceof JsonRecord ? ((JsonRecord) record).getValue(JsonRecord.ROOT) : record);
+            list.add(in.getRecordLineNumber());
+            list.add(in.getRecordText());
+        }
+        return list;
+    }
+
+    /*
+     * A reader that returns one character at a time.
+     */
+    private static class OneCharReader extends StringReader {
+        public OneCharReader(String s) {
+            super(s);
+        }
+
+        @Override
+        public int read(char[] cbuf, int off, int len) throws IOException {
+            return super.read(cbuf, off, Math.min(len, 1));
+        }
+    }
+}
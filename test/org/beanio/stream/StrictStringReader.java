@@ -42,6 +42,16 @@ public class StrictStringReader extends Reader {
 
     @Override
     public int read(char[] cbuf, int off, int len) throws IOException {
-        throw new UnsupportedOperationException();
+        if (pos == -1) {
+            throw new IOException("Stream is closed");
+        }
+        if (pos == c.length) {
+            pos = -1;
+            return pos;
+        }
+        int n = Math.min(len, c.length - pos);
+        System.arraycopy(c, pos, cbuf, off, n);
+        pos += n;
+        return n;
     }
 }
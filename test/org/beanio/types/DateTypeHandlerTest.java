@@ -18,11 +18,15 @@ package org.beanio.types;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
+import java.text.DateFormat;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
 import java.util.Properties;
 import java.util.Queue;
+import java.util.TimeZone;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ExecutorService;
@@ -94,6 +98,45 @@ public class DateTypeHandlerTest {
         assertEquals(handler, handler.newInstance(props));
     }
     
+    @Test
+    public void testFixedWidthPattern() throws Exception {
+        String[] zones = { "UTC", "America/New_York", "Australia/Lord_Howe", "GMT+1:00" };
+        String[] texts = { "20240229", "20230229", "20241301", "19000101", "20241103", "2024113", 
+            "2024-1-1", "20240310", "00010101", "99991231" };
+        for (String zone : zones) {
+            DateTypeHandler handler = new DateTypeHandler("yyyyMMdd");
+            handler.setTimeZoneId(zone);
+            SimpleDateFormat format = new SimpleDateFormat("yyyyMMdd");
+            format.setLenient(false);
+            format.setTimeZone(TimeZone.getTimeZone(zone));
+            for (String text : texts) {
+                assertEquals(zone + " " + text, parse(format, text), parse(handler, text));
+            }
+            
+            handler.setPattern("yyyy-MM-dd HH:mm:ss.SSS");
+            format.applyPattern("yyyy-MM-dd HH:mm:ss.SSS");
+            for (String text : new String[] { "2024-11-03 01:30:00.000", "2024-03-10 02:30:00.000", 
+                "2024-07-01 23:59:59.999", "2024-07-01 24:00:00.000", "2024-07-01 12:00:60.000" }) {
+                assertEquals(zone + " " + text, parse(format, text), parse(handler, text));
+            }
+        }
+    }
+    
+    private Object parse(DateFormat format, String text) {
+        ParsePosition pp = new ParsePosition(0);
+        Date date = format.parse(text, pp);
+        return pp.getErrorIndex() >= 0 || pp.getIndex() != text.length() ? "Invalid date" : date;
+    }
+    
+    private Object parse(DateTypeHandler handler, String text) {
+        try {
+            return handler.parse(text);
+        }
+        catch (TypeConversionException ex) {
+            return ex.getMessage();
+        }
+    }
+    
     @Test(expected=IllegalArgumentException.class)
     public void testInvalidPattern() {
         DateTypeHandler handler = new DateTypeHandler();
@@ -16,7 +16,9 @@
 package org.beanio.types;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
 
+import java.math.BigDecimal;
 import java.util.Properties;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ForkJoinPool;
@@ -78,6 +80,86 @@ public class NumberTypeHandlerTest {
         handler.setPattern("0.00.00");
     }
 
+    @Test
+    public void testParsePrimitive() throws TypeConversionException {
+        IntegerTypeHandler intHandler = new IntegerTypeHandler();
+        LongTypeHandler longHandler = new LongTypeHandler();
+        DoubleTypeHandler doubleHandler = new DoubleTypeHandler();
+        
+        for (String text : new String[] { "0", "-0", "+7", "42", "-2147483648", "2147483647", 
+            "9223372036854775807", "-9223372036854775808", "1.50", "-0.0", ".5", "5.", "1e3",
+            "123456789012345", "0.1234567890123456789", "1234567.890", "\u0661\u0662" }) {
+            String s = "[" + text + "]";
+            assertParsePrimitive(intHandler, s, text);
+            assertParsePrimitive(longHandler, s, text);
+            assertParsePrimitive(doubleHandler, s, text);
+        }
+        for (String text : new String[] { "-", "+", ".", "1.2.3", " 1", "1 ", "x", "2147483648",
+            "9223372036854775808", "-9223372036854775809" }) {
+            String s = "[" + text + "]";
+            assertParsePrimitive(intHandler, s, text);
+            assertParsePrimitive(longHandler, s, text);
+        }
+        
+        intHandler.setPattern("#,##0");
+        assertEquals(1234, intHandler.parseInt("1,234", 0, 5));
+    }
+    
+    private void assertParsePrimitive(NumberTypeHandler handler, String s, String text) {
+        Object expected;
+        try {
+            expected = handler.parse(text);
+        }
+        catch (TypeConversionException ex) {
+            expected = ex.getMessage();
+        }
+        
+        Object actual;
+        try {
+            int end = s.length() - 1;
+            if (handler instanceof IntegerTypeHandler) {
+                actual = ((IntegerTypeHandler) handler).parseInt(s, 1, end);
+            }
+            else if (handler instanceof LongTypeHandler) {
+                actual = ((LongTypeHandler) handler).parseLong(s, 1, end);
+            }
+            else {
+                actual = ((DoubleTypeHandler) handler).parseDouble(s, 1, end);
+            }
+        }
+        catch (TypeConversionException ex) {
+            actual = ex.getMessage();
+        }
+        assertEquals(text, expected, actual);
+    }
+    
+    @Test
+    public void testParseWithPattern() throws TypeConversionException {
+        BigDecimalTypeHandler handler = new BigDecimalTypeHandler();
+        handler.setPattern("#,##0.00");
+        assertEquals(new BigDecimal("12.50"), handler.parse("12.50"));
+        assertEquals(new BigDecimal("-0.0"), handler.parse("-0.0"));
+        assertEquals(new BigDecimal("100"), handler.parse("100"));
+        assertEquals(new BigDecimal("0.5"), handler.parse(".5"));
+        assertEquals(new BigDecimal("1234"), handler.parse("1,234"));
+        assertEquals(new BigDecimal("1234567890123456789.5"), handler.parse("1234567890123456789.5"));
+        
+        handler.setLocale("de_DE");
+        assertEquals(new BigDecimal("1234.5"), handler.parse("1.234,5"));
+        assertEquals(new BigDecimal("-12.345"), handler.parse("-12,345"));
+        
+        IntegerTypeHandler intHandler = new IntegerTypeHandler();
+        intHandler.setPattern("#0.00");
+        assertEquals(Integer.valueOf(12), intHandler.parse("12.00"));
+        try {
+            intHandler.parse("12.5");
+            fail("Expected TypeConversionException");
+        }
+        catch (TypeConversionException ex) {
+            assertEquals("Invalid Integer value '12.5'", ex.getMessage());
+        }
+    }
+    
     @Test
     public void testDifferentThreads() throws InterruptedException, ExecutionException {
         IntegerTypeHandler handler = new IntegerTypeHandler();
@@ -0,0 +1,55 @@
+package org.beanio.util;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.beanio.internal.util.BatchWriter;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for the <tt>BatchWriter</tt> class.
+ *
+ * @since 3.3.0
+ */
+public class BatchWriterTest {
+
+    @Test
+    public void testPassThrough() throws IOException {
+        StringWriter text = new StringWriter();
+        BatchWriter out = new BatchWriter(text, 4);
+        out.write("abc");
+        assertEquals("abc", text.toString());
+        out.write('d');
+        assertEquals("abcd", text.toString());
+    }
+    
+    @Test
+    public void testBatch() throws IOException {
+        StringWriter text = new StringWriter();
+        BatchWriter out = new BatchWriter(text, 4);
+        out.beginBatch();
+        out.write("ab");
+        out.write('c');
+        assertEquals("", text.toString());
+        out.write("de");
+        assertEquals("abc", text.toString());
+        out.write("fghijk".toCharArray());
+        assertEquals("abcdefghijk", text.toString());
+        out.write("l");
+        out.endBatch();
+        assertEquals("abcdefghijkl", text.toString());
+        out.write("m");
+        assertEquals("abcdefghijklm", text.toString());
+    }
+    
+    @Test
+    public void testClose() throws IOException {
+        StringWriter text = new StringWriter();
+        BatchWriter out = new BatchWriter(text);
+        out.beginBatch();
+        out.write("abc");
+        out.close();
+        assertEquals("abc", text.toString());
+    }
+}
@@ -15,7 +15,10 @@
  */
 package org.beanio.util;
 
+import static org.junit.Assert.*;
+
 import java.io.*;
+import java.nio.charset.*;
 
 import org.beanio.internal.util.IOUtil;
 import org.junit.Test;
@@ -76,4 +79,14 @@ public class IOUtilTest {
         IOUtil.closeQuietly(out);
         IOUtil.closeQuietly(new ByteArrayOutputStream());
     }
+    
+    @Test
+    public void testIsAsciiCompatible() {
+        assertTrue(IOUtil.isAsciiCompatible(StandardCharsets.UTF_8));
+        assertTrue(IOUtil.isAsciiCompatible(StandardCharsets.US_ASCII));
+        assertTrue(IOUtil.isAsciiCompatible(StandardCharsets.ISO_8859_1));
+        assertTrue(IOUtil.isAsciiCompatible(Charset.forName("windows-1252")));
+        assertFalse(IOUtil.isAsciiCompatible(StandardCharsets.UTF_16));
+        assertFalse(IOUtil.isAsciiCompatible(StandardCharsets.UTF_16LE));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package org.beanio.util;
+
+import static org.junit.Assert.*;
+
+import java.io.*;
+import java.nio.file.*;
+
+import org.beanio.internal.util.MappedFileInputStream;
+import org.junit.Test;
+
+/**
+ * JUnit test cases for the <tt>MappedFileInputStream</tt> class.
+ *
+ * @since 3.3.0
+ */
+public class MappedFileInputStreamTest {
+
+    @Test
+    public void testReadAcrossRegions() throws IOException {
+        byte[] data = new byte[1000];
+        for (int i=0; i<data.length; i++) {
+            data[i] = (byte) i;
+        }
+        Path file = Files.createTempFile("mapped", ".txt");
+        try {
+            Files.write(file, data);
+            
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (InputStream in = new MappedFileInputStream(file, 64)) {
+                assertEquals(0, in.read());
+                out.write(0);
+                
+                byte[] b = new byte[100];
+                int n;
+                while ((n = in.read(b, 0, b.length)) >= 0) {
+                    assertTrue(n <= 64);
+                    out.write(b, 0, n);
+                }
+                assertEquals(-1, in.read());
+            }
+            assertArrayEquals(data, out.toByteArray());
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+    
+    @Test
+    public void testEmptyFile() throws IOException {
+        Path file = Files.createTempFile("mapped", ".txt");
+        try (InputStream in = new MappedFileInputStream(file)) {
+            assertEquals(-1, in.read());
+            assertEquals(-1, in.read(new byte[10], 0, 10));
+        }
+        finally {
+            Files.delete(file);
+        }
+    }
+}